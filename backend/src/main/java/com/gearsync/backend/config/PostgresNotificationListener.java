@@ -0,0 +1,140 @@
+package com.gearsync.backend.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Holds one connection to the primary outside the pool and LISTENs on every channel registered
+ * through {@link #listen}. Every node runs one, which is how a change committed on one node
+ * reaches the others. After a lost connection it reconnects with backoff and calls each
+ * channel's resync callback, since notifications sent while nobody was listening are gone.
+ * Channels must be registered before the application is ready.
+ */
+@Slf4j
+@Component
+public class PostgresNotificationListener {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final int pollMillis;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread thread;
+
+    private record Channel(Consumer<String> handler, Runnable resync) {
+    }
+
+    public PostgresNotificationListener(DataSourceProperties dataSourceProperties,
+                                        @Value("${app.notify.listener.enabled:true}") boolean enabled,
+                                        @Value("${app.notify.listener.poll-ms:10000}") int pollMillis) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.pollMillis = pollMillis;
+    }
+
+    public void listen(String channel, Consumer<String> handler, Runnable resync) {
+        channels.put(channel, new Channel(handler, resync));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || channels.isEmpty()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "pg-notification-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(pollMillis + 1_000L);
+        }
+    }
+
+    private void run() {
+        long backoff = 1_000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : channels.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                log.info("Listening for notifications on {}", channels.keySet());
+                backoff = 1_000;
+                if (reconnecting) {
+                    channels.values().forEach(channel -> safely(channel.resync()));
+                }
+                reconnecting = true;
+                poll(connection.unwrap(PGConnection.class), connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Notification listener connection lost, retrying in {} ms", backoff, e);
+                }
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private void poll(PGConnection listener, Connection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = listener.getNotifications(pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                // A quiet channel and a dead socket look the same until something is written
+                if (!connection.isValid(5)) {
+                    throw new SQLException("Notification listener connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                Channel channel = channels.get(notification.getName());
+                if (channel != null) {
+                    safely(() -> channel.handler().accept(notification.getParameter()));
+                }
+            }
+        }
+    }
+
+    // A failing handler must not take the connection, and every other channel, down with it
+    private static void safely(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            log.error("Notification handler failed", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.gearsync.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Reads fall back
+ * to the primary while the replica is unhealthy or lagging, and for a short window after the same
+ * user committed a write, so they always see their own changes. Must sit behind a
+ * LazyConnectionDataSourceProxy: the read-only flag is only known once the transaction has begun.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final BooleanSupplier replicaUsable;
+    private final long readYourWritesMillis;
+    private final LongSupplier clock;
+
+    // Principal name -> epoch millis until which their reads stay on the primary
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(BooleanSupplier replicaUsable, long readYourWritesMillis) {
+        this(replicaUsable, readYourWritesMillis, System::currentTimeMillis);
+    }
+
+    ReadReplicaRoutingDataSource(BooleanSupplier replicaUsable, long readYourWritesMillis, LongSupplier clock) {
+        this.replicaUsable = replicaUsable;
+        this.readYourWritesMillis = readYourWritesMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+
+        String principal = currentPrincipal();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit(principal);
+            return Route.PRIMARY;
+        }
+
+        if (principal != null && isPinned(principal)) {
+            return Route.PRIMARY;
+        }
+        return replicaUsable.getAsBoolean() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredPins() {
+        long now = clock.getAsLong();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    int pinnedPrincipals() {
+        return pinnedUntil.size();
+    }
+
+    private boolean isPinned(String principal) {
+        Long until = pinnedUntil.get(principal);
+        return until != null && until > clock.getAsLong();
+    }
+
+    private void pinAfterCommit(String principal) {
+        if (principal == null || readYourWritesMillis <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedUntil.put(principal, clock.getAsLong() + readYourWritesMillis);
+            }
+        });
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
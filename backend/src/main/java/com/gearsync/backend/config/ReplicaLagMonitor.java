@@ -0,0 +1,66 @@
+package com.gearsync.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for its replay lag. The replica is only used for reads while it answers
+ * and stays within the configured lag threshold.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Zero when the replica has replayed everything it received, so an idle primary never reads as lag
+    private static final String LAG_QUERY = """
+            select case
+                when not pg_is_in_recovery() then 0
+                when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            end
+            """;
+
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMillis) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Number lag = replica.queryForObject(LAG_QUERY, Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0;
+            usable = lagMillis <= maxLagMillis;
+            if (wasUsable && !usable) {
+                log.warn("Replica lag {} ms exceeds {} ms, routing reads to the primary", lagMillis, maxLagMillis);
+            }
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica unreachable, routing reads to the primary", e);
+            }
+        }
+        if (!wasUsable && usable) {
+            log.info("Replica lag {} ms, routing read-only transactions to the replica", lagMillis);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gearsync.backend.config;
+
+import com.gearsync.backend.websocket.ProgressWebSocketHandler;
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.ServletContextAware;
+
+/**
+ * Registers the progress socket with the servlet container's own JSR-356 server. The container
+ * publishes its ServerContainer while starting, which happens before singletons finish
+ * initializing, so registration waits for that point.
+ */
+@Slf4j
+@Configuration
+public class WebSocketConfig implements ServletContextAware, SmartInitializingSingleton {
+
+    private final ProgressWebSocketHandler progressWebSocketHandler;
+    private ServletContext servletContext;
+
+    public WebSocketConfig(ProgressWebSocketHandler progressWebSocketHandler) {
+        this.progressWebSocketHandler = progressWebSocketHandler;
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (servletContext == null) {
+            return;
+        }
+        ServerContainer container = (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+        if (container == null) {
+            log.warn("No WebSocket container available, {} is disabled", ProgressWebSocketHandler.PATH);
+            return;
+        }
+        try {
+            container.addEndpoint(progressWebSocketHandler.endpointConfig());
+        } catch (DeploymentException e) {
+            throw new IllegalStateException("Could not register " + ProgressWebSocketHandler.PATH, e);
+        }
+    }
+}
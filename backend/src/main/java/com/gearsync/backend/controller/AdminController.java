@@ -7,13 +7,20 @@ import com.gearsync.backend.exception.UnauthorizedException;
 import com.gearsync.backend.model.Role;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.service.ActivityNoteService;
 import com.gearsync.backend.service.AdminServices;
+import com.gearsync.backend.service.AutoAssignmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +33,8 @@ public class AdminController {
 
     public final AdminServices adminServices;
     private final UserRepository userRepository;
+    private final ActivityNoteService activityNoteService;
+    private final AutoAssignmentService autoAssignmentService;
 
     @PostMapping("/employees")
     public ResponseEntity<?> addEmployee(@Valid @RequestBody EmployeeRegisterDTO employeeRegisterDTO) {
@@ -88,12 +97,12 @@ public class AdminController {
 
     @PutMapping("/appointments/{id}/assign")
     public ResponseEntity<?> assignEmployeeToAppointment(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody AssignAppointmentDTO request) {
         try {
             AppointmentResponseDTO response = adminServices.assignEmployeeToAppointment(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -113,15 +122,74 @@ public class AdminController {
     }
 
 
+    @PutMapping("/appointments/{id}/auto-assign")
+    public ResponseEntity<?> autoAssignAppointment(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id) {
+        try {
+            AppointmentResponseDTO response = autoAssignmentService.autoAssignAppointment(principal, id);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    // Assigns every unassigned appointment of the day, tomorrow unless a date is given
+    @PostMapping("/appointments/auto-assign")
+    public ResponseEntity<?> autoAssignDay(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            AutoAssignResultDTO result = autoAssignmentService.autoAssignDay(
+                    principal,
+                    date != null ? date : LocalDate.now().plusDays(1)
+            );
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/workload")
+    public ResponseEntity<?> getWorkload(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            List<EmployeeWorkloadDTO> workload = autoAssignmentService.getWorkload(
+                    principal,
+                    date != null ? date : LocalDate.now()
+            );
+            return ResponseEntity.ok(workload);
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/appointments/{id}/reassign")
     public ResponseEntity<?> reassignAppointmentEmployee(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody AssignAppointmentDTO request) {
 
         try {
             AppointmentResponseDTO response = adminServices.reassignAppointmentEmployee(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -142,13 +210,13 @@ public class AdminController {
 
     @DeleteMapping("/appointments/{id}/unassign")
     public ResponseEntity<?> unassignAppointmentEmployee(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
 
         try {
             AppointmentResponseDTO response = adminServices.unassignAppointmentEmployee(
-                    authentication.getName(),
+                    principal,
                     id
             );
 
@@ -167,13 +235,13 @@ public class AdminController {
 
     @PutMapping("/projects/{id}/approve")
     public ResponseEntity<?> approveAndAssignProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody ApproveProjectDTO request) {
 
         try {
             ProjectResponseDTO response = adminServices.approveAndAssignProject(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -192,14 +260,14 @@ public class AdminController {
 
     @PutMapping("/projects/{id}/reject")
     public ResponseEntity<?> rejectProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody RejectProjectDTO request) {
 
 
         try {
             ProjectResponseDTO response = adminServices.rejectProject(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -219,13 +287,13 @@ public class AdminController {
 
     @PutMapping("/projects/{id}/assign")
     public ResponseEntity<?> assignEmployeeToProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody AssignProjectDTO request) {
 
         try {
             ProjectResponseDTO response = adminServices.assignEmployeeToProject(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -244,13 +312,13 @@ public class AdminController {
 
     @DeleteMapping("/projects/{id}/unassign")
     public ResponseEntity<?> unassignProjectEmployee(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
 
         try {
             ProjectResponseDTO response = adminServices.unassignProjectEmployee(
-                    authentication.getName(),
+                    principal,
                     id
             );
 
@@ -266,30 +334,28 @@ public class AdminController {
         }
     }
 
-    @GetMapping("/appointments")
-    public ResponseEntity<?> getAllAppointments(Authentication authentication) {
+    @GetMapping({"/appointments", "/appointments/filter"})
+    public ResponseEntity<?> getAppointments(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<AppointmentSummaryDTO> appointments = adminServices.getAllAppointments(
-                    authentication.getName()
+            CursorPageDTO<AppointmentSummaryDTO> page = adminServices.getAppointmentsPage(
+                    principal,
+                    status,
+                    employeeId,
+                    customerId,
+                    from,
+                    to,
+                    cursor,
+                    limit
             );
-            return ResponseEntity.ok(appointments);
-        } catch (UnauthorizedException e) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
-        }
-    }
-
-    @GetMapping("/appointments/filter")
-    public ResponseEntity<?> getAppointmentsByStatus(
-            Authentication authentication,
-            @RequestParam String status) {
-        try {
-            List<AppointmentSummaryDTO> appointments = adminServices.getAppointmentsByStatus(
-                    authentication.getName(),
-                    status
-            );
-            return ResponseEntity.ok(appointments);
+            return ResponseEntity.ok(page);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (UnauthorizedException e) {
@@ -300,10 +366,10 @@ public class AdminController {
     }
 
     @GetMapping("/appointments/pending")
-    public ResponseEntity<?> getPendingAppointments(Authentication authentication) {
+    public ResponseEntity<?> getPendingAppointments(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<AppointmentSummaryDTO> appointments = adminServices.getPendingAppointments(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(appointments);
         } catch (UnauthorizedException e) {
@@ -314,10 +380,10 @@ public class AdminController {
     }
 
     @GetMapping("/projects")
-    public ResponseEntity<?> getAllProjects(Authentication authentication) {
+    public ResponseEntity<?> getAllProjects(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<ProjectSummaryDTO> projects = adminServices.getAllProjects(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(projects);
         } catch (UnauthorizedException e) {
@@ -329,11 +395,11 @@ public class AdminController {
 
     @GetMapping("/projects/filter")
     public ResponseEntity<?> getProjectsByStatus(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestParam String status) {
         try {
             List<ProjectSummaryDTO> projects = adminServices.getProjectsByStatus(
-                    authentication.getName(),
+                    principal,
                     status
             );
             return ResponseEntity.ok(projects);
@@ -347,10 +413,10 @@ public class AdminController {
     }
 
     @GetMapping("/projects/pending")
-    public ResponseEntity<?> getPendingProjects(Authentication authentication) {
+    public ResponseEntity<?> getPendingProjects(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<ProjectSummaryDTO> projects = adminServices.getPendingProjects(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(projects);
         } catch (UnauthorizedException e) {
@@ -362,11 +428,11 @@ public class AdminController {
 
     @GetMapping("/employees/{id}")
     public ResponseEntity<?> getEmployeeDetails(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
         try {
             EmployeeDetailDTO employee = adminServices.getEmployeeDetails(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(employee);
@@ -383,12 +449,12 @@ public class AdminController {
 
     @PutMapping("/employees/{id}")
     public ResponseEntity<?> updateEmployee(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody UpdateEmployeeDTO request) {
         try {
             EmployeeDetailDTO employee = adminServices.updateEmployee(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -404,11 +470,34 @@ public class AdminController {
         }
     }
 
+    @PutMapping("/employees/{id}/skills")
+    public ResponseEntity<?> updateEmployeeSkills(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @Valid @RequestBody EmployeeSkillsDTO request) {
+        try {
+            EmployeeSkillsDTO skills = autoAssignmentService.updateEmployeeSkills(
+                    principal,
+                    id,
+                    request
+            );
+            return ResponseEntity.ok(skills);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/employees/active")
-    public ResponseEntity<?> getActiveEmployees(Authentication authentication) {
+    public ResponseEntity<?> getActiveEmployees(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<UserDto> employees = adminServices.getActiveEmployees(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(employees);
         } catch (UnauthorizedException e) {
@@ -419,10 +508,10 @@ public class AdminController {
     }
 
     @GetMapping("/vehicles")
-    public ResponseEntity<?> getAllVehicles(Authentication authentication) {
+    public ResponseEntity<?> getAllVehicles(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<VehicleSummaryDTO> vehicles = adminServices.getAllVehicles(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(vehicles);
         } catch (UnauthorizedException e) {
@@ -433,10 +522,10 @@ public class AdminController {
     }
 
     @GetMapping("/customers")
-    public ResponseEntity<?> getAllCustomersWithVehicles(Authentication authentication) {
+    public ResponseEntity<?> getAllCustomersWithVehicles(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<CustomerWithVehiclesDTO> customers = adminServices.getAllCustomersWithVehicles(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(customers);
         } catch (UnauthorizedException e) {
@@ -448,11 +537,11 @@ public class AdminController {
 
     @GetMapping("/customers/{id}")
     public ResponseEntity<?> getCustomerWithVehicles(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
         try {
             CustomerWithVehiclesDTO customer = adminServices.getCustomerWithVehicles(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(customer);
@@ -467,4 +556,55 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/appointments/{id}/notes")
+    public ResponseEntity<?> getAppointmentNotes(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getAppointmentNotes(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/projects/{id}/notes")
+    public ResponseEntity<?> getProjectNotes(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getProjectNotes(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
 }
@@ -2,12 +2,17 @@ package com.gearsync.backend.controller;
 
 import com.gearsync.backend.dto.AppointmentSummaryDTO;
 import com.gearsync.backend.service.AdminDashboardService;
+import com.gearsync.backend.service.AdminDashboardStream;
+import com.gearsync.backend.service.MailDispatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -18,6 +23,27 @@ import java.util.List;
 public class AdminDashboardController {
 
     private final AdminDashboardService adminDashboardService;
+    private final AdminDashboardStream adminDashboardStream;
+    private final MailDispatcher mailDispatcher;
+
+    // One stream instead of polling every number; EventSource resends Last-Event-ID on reconnect
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(adminDashboardStream.subscribe(lastEventId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<?> snapshot() {
+        try {
+            return ResponseEntity.ok(adminDashboardService.snapshot());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
 
     @GetMapping("/user/count")
     public ResponseEntity<?> userCount() {
@@ -89,4 +115,13 @@ public class AdminDashboardController {
         }
     }
 
+    @GetMapping("/email-outbox")
+    public ResponseEntity<?> emailOutboxStats() {
+        try {
+            return ResponseEntity.ok(mailDispatcher.stats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
 }
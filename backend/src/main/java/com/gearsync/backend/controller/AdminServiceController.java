@@ -1,13 +1,16 @@
 package com.gearsync.backend.controller;
 
+import com.gearsync.backend.dto.ServiceCatalogStatsDTO;
 import com.gearsync.backend.dto.ServiceDTO;
 import com.gearsync.backend.exception.DuplicateResourceException;
+import com.gearsync.backend.service.ServiceCatalog;
 import com.gearsync.backend.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminServiceController {
 
     private final TaskService taskService;
+    private final ServiceCatalog serviceCatalog;
 
     @PostMapping
     public ResponseEntity<?> addService(Authentication authentication, @Valid @RequestBody ServiceDTO serviceDTO){
@@ -36,4 +40,9 @@ public class AdminServiceController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
+
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<ServiceCatalogStatsDTO> getCatalogStats() {
+        return ResponseEntity.ok(serviceCatalog.getStats());
+    }
 }
@@ -2,14 +2,18 @@ package com.gearsync.backend.controller;
 
 import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.security.JwtUtil;
+import com.gearsync.backend.security.TokenRevocationList;
 import com.gearsync.backend.service.AuthService;
 import com.gearsync.backend.service.EmailService;
 import com.gearsync.backend.service.PasswordManagementService;
+import com.gearsync.backend.service.RefreshTokenService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -28,6 +32,8 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
 
     @GetMapping("/test")
     public String test() {
@@ -55,10 +61,12 @@ public class AuthController {
         User user = authService.findByEmail(loginRequest.getEmail());
         user.setLastLoginAt(java.time.LocalDateTime.now());
         userRepository.save(user);
-        String jwtToken = jwtUtil.generateToken(user.getEmail(), user.getRole());
+        String jwtToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+        String refreshToken = refreshTokenService.issue(user);
         return ResponseEntity.ok(Map.of(
                 "isFirstLogin", user.getIsFirstLogin(),
                 "token", jwtToken,
+                "refreshToken", refreshToken,
                 "role", user.getRole().name()
         ));
     }
@@ -78,15 +86,32 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<?> refresh(Authentication authentication) {
-        String email = authentication.getName();
-        User user = authService.findByEmail(email);
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
-        return ResponseEntity.ok(Map.of("token", token));
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            User user = rotation.user();
+            String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+            return ResponseEntity.ok(Map.of(
+                    "token", token,
+                    "refreshToken", rotation.refreshToken()
+            ));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", e.getMessage()));
+        }
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequestDTO request) {
+
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            jwtUtil.verify(authorization.substring(7))
+                    .ifPresent(claims -> tokenRevocationList.revoke(claims.tokenId(), claims.expiresAt()));
+        }
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
         return ResponseEntity.ok(Map.of("message", "Logged out"));
     }
 
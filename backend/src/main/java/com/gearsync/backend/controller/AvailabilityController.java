@@ -0,0 +1,39 @@
+package com.gearsync.backend.controller;
+
+import com.gearsync.backend.dto.AvailabilityDTO;
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.service.AppointmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/service/availability")
+public class AvailabilityController {
+
+    private final AppointmentService appointmentService;
+
+    @GetMapping
+    public ResponseEntity<?> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) List<Long> serviceIds,
+            @RequestParam(required = false) Integer durationMinutes) {
+        try {
+            AvailabilityDTO availability = appointmentService.getAvailability(date, serviceIds, durationMinutes);
+            return ResponseEntity.ok(availability);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.gearsync.backend.controller;
 
+import com.gearsync.backend.dto.ActivityNoteDTO;
 import com.gearsync.backend.dto.AppointmentRequestDTO;
 import com.gearsync.backend.dto.AppointmentResponseDTO;
+import com.gearsync.backend.dto.CursorPageDTO;
 import com.gearsync.backend.dto.MyAppointmentDTO;
+import com.gearsync.backend.dto.ProgressEntryDTO;
 import com.gearsync.backend.dto.UpdateAppointmentRequestDTO;
 import com.gearsync.backend.exception.*;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.service.ActivityNoteService;
+import com.gearsync.backend.service.AppointmentBookingService;
 import com.gearsync.backend.service.AppointmentService;
+import com.gearsync.backend.service.ProgressTimelineService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,15 +28,17 @@ import java.util.List;
 public class CustomerAppointmentsController {
 
     private final AppointmentService appointmentService;
+    private final AppointmentBookingService appointmentBookingService;
+    private final ProgressTimelineService progressTimelineService;
+    private final ActivityNoteService activityNoteService;
 
     @PostMapping
     public ResponseEntity<?> bookAppointment(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody AppointmentRequestDTO request) {
 
         try {
-            String email = authentication.getName();
-            AppointmentResponseDTO appointmentResponseDTO = appointmentService.bookAppointment(email, request);
+            AppointmentResponseDTO appointmentResponseDTO = appointmentBookingService.bookAppointment(principal, request);
             return ResponseEntity.ok(appointmentResponseDTO);
         } catch (UserNotFoundException | VehicleNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -37,15 +46,17 @@ public class CustomerAppointmentsController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         } catch (DuplicateResourceException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<MyAppointmentDTO>> getMyAppointments(Authentication authentication) {
+    public ResponseEntity<List<MyAppointmentDTO>> getMyAppointments(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            List<MyAppointmentDTO> response = appointmentService.getMyAppointments(authentication.getName());
+            List<MyAppointmentDTO> response = appointmentService.getMyAppointments(principal);
             return ResponseEntity.ok(response);
         } catch (ResourceNotFoundException ex) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
@@ -55,11 +66,10 @@ public class CustomerAppointmentsController {
 
     @GetMapping("/{id}")
     public ResponseEntity<MyAppointmentDTO> getAppointmentById(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
         try {
-            String email = authentication.getName();
-            MyAppointmentDTO appointmentDTO = appointmentService.getAppointmentById(email, id);
+            MyAppointmentDTO appointmentDTO = appointmentService.getAppointmentById(principal, id);
             return ResponseEntity.ok(appointmentDTO);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
@@ -70,13 +80,13 @@ public class CustomerAppointmentsController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateAppointment(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody UpdateAppointmentRequestDTO request) {
 
         try {
             UpdateAppointmentRequestDTO response = appointmentService.updateAppointment(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -88,17 +98,19 @@ public class CustomerAppointmentsController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (DuplicateResourceException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
     }
 
     @PutMapping("/{id}/cancel")
     public ResponseEntity<?> cancelAppointment(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
         try {
             AppointmentResponseDTO response = appointmentService.cancelAppointment(
-                    authentication.getName(),
+                    principal,
                     id);
             return ResponseEntity.ok(response);
         } catch (ResourceNotFoundException | UnauthorizedException e) {
@@ -110,11 +122,11 @@ public class CustomerAppointmentsController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteAppointment(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
         try {
-            appointmentService.deleteAppointment(authentication.getName(), id);
+            appointmentService.deleteAppointment(principal, id);
             return ResponseEntity.noContent().build();
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -126,4 +138,56 @@ public class CustomerAppointmentsController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
         }
     }
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<?> getAppointmentProgress(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ProgressEntryDTO> page = progressTimelineService.getAppointmentTimeline(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/notes")
+    public ResponseEntity<?> getAppointmentNotes(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getAppointmentNotes(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
 }
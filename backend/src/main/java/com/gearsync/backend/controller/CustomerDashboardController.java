@@ -1,11 +1,12 @@
 package com.gearsync.backend.controller;
 
 import com.gearsync.backend.dto.MyAppointmentDTO;
+import com.gearsync.backend.security.AuthenticatedUser;
 import com.gearsync.backend.service.CustomerDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,10 +21,19 @@ public class CustomerDashboardController {
 
     private final CustomerDashboardService customerDashboardService;
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<?> snapshot(@AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            return ResponseEntity.ok(customerDashboardService.snapshot(principal));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/appointment/count")
-    public ResponseEntity<?> myAppointmentCount(Authentication authentication) {
+    public ResponseEntity<?> myAppointmentCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try{
-            return ResponseEntity.ok(customerDashboardService.myAppointmentCount(authentication.getName()));
+            return ResponseEntity.ok(customerDashboardService.myAppointmentCount(principal));
         }
         catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -31,36 +41,36 @@ public class CustomerDashboardController {
     }
 
     @GetMapping("/appointments/active/count")
-    public ResponseEntity<?> activeAppointmentCount(Authentication auth) {
+    public ResponseEntity<?> activeAppointmentCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            return ResponseEntity.ok(customerDashboardService.activeAppointmentCount(auth.getName()));
+            return ResponseEntity.ok(customerDashboardService.activeAppointmentCount(principal));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
 
     @GetMapping("/services/completed/count")
-    public ResponseEntity<?> completedServicesCount(Authentication auth) {
+    public ResponseEntity<?> completedServicesCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            return ResponseEntity.ok(customerDashboardService.completedServicesCount(auth.getName()));
+            return ResponseEntity.ok(customerDashboardService.completedServicesCount(principal));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
 
     @GetMapping("/vehicles/count")
-    public ResponseEntity<?> myVehicleCount(Authentication auth) {
+    public ResponseEntity<?> myVehicleCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            return ResponseEntity.ok(customerDashboardService.myVehicleCount(auth.getName()));
+            return ResponseEntity.ok(customerDashboardService.myVehicleCount(principal));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
 
     @GetMapping("/spent/total")
-    public ResponseEntity<?> totalSpent(Authentication auth) {
+    public ResponseEntity<?> totalSpent(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            BigDecimal total = customerDashboardService.totalSpentAmount(auth.getName());
+            BigDecimal total = customerDashboardService.totalSpentAmount(principal);
             return ResponseEntity.ok(total);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -68,9 +78,9 @@ public class CustomerDashboardController {
     }
 
     @GetMapping("/appointments/upcoming")
-    public ResponseEntity<?> upcomingAppointments(Authentication authentication) {
+    public ResponseEntity<?> upcomingAppointments(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            List<MyAppointmentDTO> list = customerDashboardService.upcomingAppointments(authentication.getName());
+            List<MyAppointmentDTO> list = customerDashboardService.upcomingAppointments(principal);
             return ResponseEntity.ok(list);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -1,16 +1,22 @@
 package com.gearsync.backend.controller;
 
+import com.gearsync.backend.dto.ActivityNoteDTO;
+import com.gearsync.backend.dto.CursorPageDTO;
+import com.gearsync.backend.dto.ProgressEntryDTO;
 import com.gearsync.backend.dto.ProjectRequestDTO;
 import com.gearsync.backend.dto.ProjectResponseDTO;
 import com.gearsync.backend.dto.ProjectUpdateRequestDTO;
 import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.service.ActivityNoteService;
+import com.gearsync.backend.service.ProgressTimelineService;
 import com.gearsync.backend.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
@@ -22,15 +28,17 @@ import java.util.List;
 public class CustomerProjectController {
 
     private final ProjectService projectService;
+    private final ProgressTimelineService progressTimelineService;
+    private final ActivityNoteService activityNoteService;
 
     @PostMapping
     public ResponseEntity<?> createProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody ProjectRequestDTO request) {
 
         try {
             ProjectResponseDTO response = projectService.createProject(
-                    authentication.getName(),
+                    principal,
                     request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (UnauthorizedException | ResourceNotFoundException e) {
@@ -42,11 +50,11 @@ public class CustomerProjectController {
 
 
     @GetMapping
-    public ResponseEntity<List<?>> getMyProjects(Authentication authentication) {
+    public ResponseEntity<List<?>> getMyProjects(@AuthenticationPrincipal AuthenticatedUser principal) {
 
         try {
             List<ProjectResponseDTO> projects = projectService.getMyProjects(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(projects);
         } catch (ResourceNotFoundException e) {
@@ -56,21 +64,21 @@ public class CustomerProjectController {
 
 
     @GetMapping("/active")
-    public ResponseEntity<List<ProjectResponseDTO>> getMyActiveProjects(Authentication authentication) {
+    public ResponseEntity<List<ProjectResponseDTO>> getMyActiveProjects(@AuthenticationPrincipal AuthenticatedUser principal) {
         List<ProjectResponseDTO> projects = projectService.getMyActiveProjects(
-                authentication.getName()
+                principal
         );
         return ResponseEntity.ok(projects);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getProjectById(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
         try {
             ProjectResponseDTO project = projectService.getProjectById(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(project);
@@ -83,14 +91,14 @@ public class CustomerProjectController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody ProjectUpdateRequestDTO request) {
 
 
         try {
             ProjectResponseDTO response = projectService.updateProject(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -106,11 +114,11 @@ public class CustomerProjectController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteProject(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
         try {
-            projectService.deleteProject(authentication.getName(), id);
+            projectService.deleteProject(principal, id);
             return ResponseEntity.noContent().build();
         } catch (ResourceNotFoundException | UnauthorizedException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -120,4 +128,56 @@ public class CustomerProjectController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred");
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<?> getProjectProgress(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ProgressEntryDTO> page = progressTimelineService.getProjectTimeline(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/notes")
+    public ResponseEntity<?> getProjectNotes(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getProjectNotes(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+}
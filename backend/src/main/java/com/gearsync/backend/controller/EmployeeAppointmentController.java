@@ -1,17 +1,24 @@
 package com.gearsync.backend.controller;
 
+import com.gearsync.backend.dto.ActivityNoteDTO;
 import com.gearsync.backend.dto.AppointmentResponseDTO;
+import com.gearsync.backend.dto.CursorPageDTO;
 import com.gearsync.backend.dto.EmployeeStatusUpdateDTO;
+import com.gearsync.backend.dto.ProgressEntryDTO;
+import com.gearsync.backend.dto.ProgressEntryRequestDTO;
 import com.gearsync.backend.dto.TimeLogResponseDTO;
 import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.service.ActivityNoteService;
 import com.gearsync.backend.service.EmployeeAppointmentService;
 import com.gearsync.backend.service.EmployeeTimeLogService;
+import com.gearsync.backend.service.ProgressTimelineService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
@@ -23,12 +30,14 @@ import java.util.List;
 public class EmployeeAppointmentController {
     private final EmployeeAppointmentService appointmentService;
     private final EmployeeTimeLogService timeLogService;
+    private final ProgressTimelineService progressTimelineService;
+    private final ActivityNoteService activityNoteService;
 
     @GetMapping
-    public ResponseEntity<List<?>> getMyAssignedAppointments(Authentication authentication) {
+    public ResponseEntity<List<?>> getMyAssignedAppointments(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<AppointmentResponseDTO> appointments = appointmentService.getMyAssignedAppointments(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(appointments);
         } catch (UnauthorizedException | ResourceNotFoundException e) {
@@ -39,11 +48,11 @@ public class EmployeeAppointmentController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getAppointmentDetails(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
         try {
             AppointmentResponseDTO appointment = appointmentService.getAppointmentDetails(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(appointment);
@@ -57,13 +66,13 @@ public class EmployeeAppointmentController {
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateAppointmentStatus(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody EmployeeStatusUpdateDTO request) {
 
         try {
             AppointmentResponseDTO response = appointmentService.updateAppointmentStatus(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -81,12 +90,12 @@ public class EmployeeAppointmentController {
 
     @GetMapping("/{id}/timelogs")
     public ResponseEntity<List<?>> getAppointmentTimeLogs(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
         try {
             List<TimeLogResponseDTO> timeLogs = timeLogService.getTimeLogsForAppointment(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(timeLogs);
@@ -98,4 +107,80 @@ public class EmployeeAppointmentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonList(e.getMessage()));
         }
     }
+
+    @PostMapping("/{id}/progress")
+    public ResponseEntity<?> addAppointmentProgress(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @Valid @RequestBody ProgressEntryRequestDTO request) {
+
+        try {
+            ProgressEntryDTO entry = progressTimelineService.appendToAppointment(
+                    principal,
+                    id,
+                    request
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<?> getAppointmentProgress(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ProgressEntryDTO> page = progressTimelineService.getAppointmentTimeline(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/notes")
+    public ResponseEntity<?> getAppointmentNotes(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getAppointmentNotes(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
 }
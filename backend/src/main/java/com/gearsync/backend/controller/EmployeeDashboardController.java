@@ -1,10 +1,11 @@
 package com.gearsync.backend.controller;
 
+import com.gearsync.backend.security.AuthenticatedUser;
 import com.gearsync.backend.service.EmployeeDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,10 +17,19 @@ public class EmployeeDashboardController {
 
     private final EmployeeDashboardService employeeDashboardService;
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<?> snapshot(@AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            return ResponseEntity.ok(employeeDashboardService.snapshot(principal));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/assigned/appointment/count")
-    public ResponseEntity<?> assignedAppointmentCount(Authentication authentication) {
+    public ResponseEntity<?> assignedAppointmentCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try{
-            return ResponseEntity.ok(employeeDashboardService.assignedAppointmentCount(authentication.getName()));
+            return ResponseEntity.ok(employeeDashboardService.assignedAppointmentCount(principal));
         }
         catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -27,9 +37,9 @@ public class EmployeeDashboardController {
     }
 
     @GetMapping("/completed/appointment/count")
-    public ResponseEntity<?> completedAppointmentCount(Authentication authentication) {
+    public ResponseEntity<?> completedAppointmentCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try{
-            return ResponseEntity.ok(employeeDashboardService.completedAppointmentCount(authentication.getName()));
+            return ResponseEntity.ok(employeeDashboardService.completedAppointmentCount(principal));
         }
         catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -37,9 +47,9 @@ public class EmployeeDashboardController {
     }
 
     @GetMapping("/ongoing/appointment/count")
-    public ResponseEntity<?> inProgressAppointmentCount(Authentication authentication) {
+    public ResponseEntity<?> inProgressAppointmentCount(@AuthenticationPrincipal AuthenticatedUser principal) {
         try{
-            return ResponseEntity.ok(employeeDashboardService.inProgressAppointmentCount(authentication.getName()));
+            return ResponseEntity.ok(employeeDashboardService.inProgressAppointmentCount(principal));
         }
         catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
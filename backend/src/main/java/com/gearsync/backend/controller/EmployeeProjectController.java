@@ -1,17 +1,24 @@
 package com.gearsync.backend.controller;
 
+import com.gearsync.backend.dto.ActivityNoteDTO;
+import com.gearsync.backend.dto.CursorPageDTO;
 import com.gearsync.backend.dto.EmployeeStatusUpdateDTO;
+import com.gearsync.backend.dto.ProgressEntryDTO;
+import com.gearsync.backend.dto.ProgressEntryRequestDTO;
 import com.gearsync.backend.dto.ProjectResponseDTO;
 import com.gearsync.backend.dto.TimeLogResponseDTO;
 import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.service.ActivityNoteService;
 import com.gearsync.backend.service.EmployeeProjectService;
 import com.gearsync.backend.service.EmployeeTimeLogService;
+import com.gearsync.backend.service.ProgressTimelineService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
@@ -24,12 +31,14 @@ class EmployeeProjectController {
 
     private final EmployeeProjectService projectService;
     private final EmployeeTimeLogService timeLogService;
+    private final ProgressTimelineService progressTimelineService;
+    private final ActivityNoteService activityNoteService;
 
     @GetMapping
-    public ResponseEntity<List<?>> getMyAssignedProjects(Authentication authentication) {
+    public ResponseEntity<List<?>> getMyAssignedProjects(@AuthenticationPrincipal AuthenticatedUser principal) {
         try {
             List<ProjectResponseDTO> projects = projectService.getMyAssignedProjects(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(projects);
         } catch (ResourceNotFoundException e) {
@@ -44,12 +53,12 @@ class EmployeeProjectController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getProjectDetails(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
         try {
             ProjectResponseDTO project = projectService.getProjectDetails(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(project);
@@ -65,14 +74,14 @@ class EmployeeProjectController {
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateProjectStatus(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody EmployeeStatusUpdateDTO request) {
 
 
         try {
             ProjectResponseDTO response = projectService.updateProjectStatus(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -93,13 +102,13 @@ class EmployeeProjectController {
 
     @GetMapping("/{id}/timelogs")
     public ResponseEntity<List<?>> getProjectTimeLogs(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
 
         try {
             List<TimeLogResponseDTO> timeLogs = timeLogService.getTimeLogsForProject(
-                    authentication.getName(),
+                    principal,
                     id
             );
             return ResponseEntity.ok(timeLogs);
@@ -111,4 +120,80 @@ class EmployeeProjectController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonList(e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/{id}/progress")
+    public ResponseEntity<?> addProjectProgress(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @Valid @RequestBody ProgressEntryRequestDTO request) {
+
+        try {
+            ProgressEntryDTO entry = progressTimelineService.appendToProject(
+                    principal,
+                    id,
+                    request
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<?> getProjectProgress(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ProgressEntryDTO> page = progressTimelineService.getProjectTimeline(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/notes")
+    public ResponseEntity<?> getProjectNotes(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        try {
+            CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getProjectNotes(
+                    principal,
+                    id,
+                    cursor,
+                    limit
+            );
+            return ResponseEntity.ok(page);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+}
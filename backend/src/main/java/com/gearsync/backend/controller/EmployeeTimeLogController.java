@@ -4,12 +4,13 @@ import com.gearsync.backend.dto.TimeLogResponseDTO;
 import com.gearsync.backend.dto.TimeLogUpdateDTO;
 import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.security.AuthenticatedUser;
 import com.gearsync.backend.service.EmployeeTimeLogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import java.util.Collections;
 import java.util.List;
@@ -23,12 +24,12 @@ class EmployeeTimeLogController {
 
     @PostMapping
     public ResponseEntity<?> createTimeLog(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @Valid @RequestBody TimeLogRequestDTO request) {
 
         try {
             TimeLogResponseDTO response = timeLogService.createTimeLog(
-                    authentication.getName(),
+                    principal,
                     request
             );
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -46,11 +47,11 @@ class EmployeeTimeLogController {
     }
 
     @GetMapping
-    public ResponseEntity<List<?>> getMyTimeLogs(Authentication authentication) {
+    public ResponseEntity<List<?>> getMyTimeLogs(@AuthenticationPrincipal AuthenticatedUser principal) {
 
         try {
             List<TimeLogResponseDTO> timeLogs = timeLogService.getMyTimeLogs(
-                    authentication.getName()
+                    principal
             );
             return ResponseEntity.ok(timeLogs);
         } catch (IllegalArgumentException e) {
@@ -69,12 +70,12 @@ class EmployeeTimeLogController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTimeLog(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id,
             @Valid @RequestBody TimeLogUpdateDTO request) {
         try {
             TimeLogResponseDTO response = timeLogService.updateTimeLog(
-                    authentication.getName(),
+                    principal,
                     id,
                     request
             );
@@ -95,12 +96,12 @@ class EmployeeTimeLogController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTimeLog(
-            Authentication authentication,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @PathVariable Long id) {
 
 
         try {
-            timeLogService.deleteTimeLog(authentication.getName(), id);
+            timeLogService.deleteTimeLog(principal, id);
             return ResponseEntity.noContent().build();
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonList(e.getMessage()));
@@ -0,0 +1,64 @@
+package com.gearsync.backend.controller;
+
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/{type}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PathVariable String type,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            ExportService.ExportRequest request = exportService.prepareExport(
+                    principal, type, format, from, to, gzip);
+
+            StreamingResponseBody body = out -> exportService.writeExport(request, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(request.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(request.fileName()).build().toString())
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return message(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (UnauthorizedException e) {
+            return message(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            return message(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return message(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    // The handler only streams when the declared body type is StreamingResponseBody, so errors use it too
+    private ResponseEntity<StreamingResponseBody> message(HttpStatus status, String message) {
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(bytes));
+    }
+}
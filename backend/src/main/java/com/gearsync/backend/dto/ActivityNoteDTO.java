@@ -0,0 +1,19 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityNoteDTO {
+    private Long id;
+    private String type;
+    private String body;
+    private String authorName;
+    private String authorRole;
+    private LocalDateTime createdAt;
+}
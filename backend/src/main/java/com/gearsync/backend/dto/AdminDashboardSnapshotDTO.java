@@ -0,0 +1,18 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminDashboardSnapshotDTO {
+    private Long userCount;
+    private Long appointmentCount;
+    private Long vehicleCount;
+    private BigDecimal totalEarnings;
+    private Long activeServiceCount;
+}
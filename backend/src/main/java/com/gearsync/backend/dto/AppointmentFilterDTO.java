@@ -0,0 +1,21 @@
+package com.gearsync.backend.dto;
+
+import com.gearsync.backend.model.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilterDTO {
+    private AppointmentStatus status;
+    private Long employeeId;
+    private Long customerId;
+
+    // Inclusive lower bound / exclusive upper bound on scheduledDateTime
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,12 @@
+package com.gearsync.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AutoAssignResultDTO(
+        LocalDate date,
+        Integer pending,
+        Integer assigned,
+        List<Long> unassignedAppointmentIds,
+        List<EmployeeWorkloadDTO> workload
+) {}
@@ -0,0 +1,11 @@
+package com.gearsync.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AvailabilityDTO(
+        LocalDate date,
+        Integer durationMinutes,
+        Integer slotMinutes,
+        List<AvailableSlotDTO> slots
+) {}
@@ -0,0 +1,9 @@
+package com.gearsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record AvailableSlotDTO(
+        LocalDateTime start,
+        LocalDateTime end,
+        Integer freeBays
+) {}
@@ -0,0 +1,18 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+
+    // Opaque token to pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerDashboardSnapshotDTO {
+    private Long appointmentCount;
+    private Long activeAppointmentCount;
+    private Long completedServicesCount;
+    private Long vehicleCount;
+    private BigDecimal totalSpent;
+}
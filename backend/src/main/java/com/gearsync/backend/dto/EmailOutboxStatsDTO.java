@@ -0,0 +1,20 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxStatsDTO {
+    private Long queued;
+    private Long deadLettered;
+    private Long sent;
+    private Long failedAttempts;
+    private Long averageSendMillis;
+    private Long maxSendMillis;
+    private Long sentLastMinute;
+    private Long smtpConnectionsOpened;
+    private Long rateLimitedMillis;
+}
@@ -0,0 +1,14 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDashboardSnapshotDTO {
+    private Long assignedAppointmentCount;
+    private Long completedAppointmentCount;
+    private Long inProgressAppointmentCount;
+}
@@ -0,0 +1,25 @@
+package com.gearsync.backend.dto;
+
+import com.gearsync.backend.model.ServiceCategory;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSkillsDTO {
+
+    // Empty means the employee takes every category
+    @NotNull(message = "Skills are required")
+    private Set<ServiceCategory> skills;
+
+    // Both or neither; neither means the workshop's opening hours
+    private LocalTime shiftStart;
+
+    private LocalTime shiftEnd;
+}
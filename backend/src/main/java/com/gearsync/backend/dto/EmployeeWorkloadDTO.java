@@ -0,0 +1,15 @@
+package com.gearsync.backend.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+public record EmployeeWorkloadDTO(
+        Long employeeId,
+        String employeeName,
+        List<String> skills,
+        LocalTime shiftStart,
+        LocalTime shiftEnd,
+        Integer scheduledMinutes,
+        Integer capacityMinutes,
+        Integer appointments
+) {}
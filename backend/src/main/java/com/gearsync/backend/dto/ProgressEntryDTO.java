@@ -0,0 +1,24 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressEntryDTO {
+    private Long id;
+    private Long appointmentId;
+    private Long projectId;
+    private String status;
+    private Integer progressPercentage;
+    private String message;
+
+    // Internal; cleared before entries are shown to customers
+    private String technicalNotes;
+    private String employeeName;
+    private LocalDateTime timestamp;
+}
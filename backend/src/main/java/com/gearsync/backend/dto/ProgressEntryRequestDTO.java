@@ -0,0 +1,28 @@
+package com.gearsync.backend.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressEntryRequestDTO {
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "^(STARTED|IN_PROGRESS|AWAITING_PARTS|ON_HOLD|QUALITY_CHECK|COMPLETED|ISSUE_FOUND|CUSTOMER_APPROVAL_NEEDED)$",
+            message = "Status must be one of STARTED, IN_PROGRESS, AWAITING_PARTS, ON_HOLD, QUALITY_CHECK, COMPLETED, ISSUE_FOUND or CUSTOMER_APPROVAL_NEEDED")
+    private String status;
+
+    @NotNull(message = "Progress percentage is required")
+    @Min(value = 0, message = "Progress percentage must be between 0-100")
+    @Max(value = 100, message = "Progress percentage must be between 0-100")
+    private Integer progressPercentage;
+
+    @NotBlank(message = "Message is required")
+    @Size(max = 1000, message = "Message cannot exceed 1000 characters")
+    private String message;
+
+    @Size(max = 500, message = "Technical notes cannot exceed 500 characters")
+    private String technicalNotes;
+}
@@ -0,0 +1,20 @@
+package com.gearsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressUpdateDTO {
+    // APPOINTMENT or PROJECT
+    private String type;
+    private Long id;
+    private Long customerId;
+    private String status;
+    private Integer progressPercentage;
+    private LocalDateTime updatedAt;
+}
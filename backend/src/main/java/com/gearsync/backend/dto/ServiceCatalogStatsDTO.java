@@ -0,0 +1,12 @@
+package com.gearsync.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record ServiceCatalogStatsDTO(
+        Integer size,
+        Long hits,
+        Long misses,
+        Long rebuilds,
+        LocalDateTime lastRebuiltAt,
+        Long lastRebuildMillis
+) {}
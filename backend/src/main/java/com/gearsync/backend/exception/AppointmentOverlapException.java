@@ -0,0 +1,26 @@
+package com.gearsync.backend.exception;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+/**
+ * A booking overlaps another active appointment of the same customer or vehicle. Raised by the
+ * pre-check, or translated from the V10 exclusion constraints when a concurrent booking got there
+ * first; a {@link DuplicateResourceException} so the existing 409 mappings apply.
+ */
+public class AppointmentOverlapException extends DuplicateResourceException {
+
+    private static final List<String> CONSTRAINTS = List.of(
+            "ex_appointments_vehicle_overlap", "ex_appointments_customer_overlap");
+
+    public AppointmentOverlapException(String message) {
+        super(message);
+    }
+
+    public static boolean isOverlap(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && CONSTRAINTS.stream().anyMatch(message::contains);
+    }
+}
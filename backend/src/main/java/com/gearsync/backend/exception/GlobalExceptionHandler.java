@@ -1,5 +1,6 @@
 package com.gearsync.backend.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -23,4 +24,14 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
+
+    // Overlaps caught by the exclusion constraints at commit, on paths that do not translate them themselves
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!AppointmentOverlapException.isOverlap(ex)) {
+            throw ex;
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("The appointment overlaps another active appointment for the same customer or vehicle");
+    }
 }
@@ -0,0 +1,66 @@
+package com.gearsync.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One note or audit entry on an appointment or project. Rows are only ever inserted; history is
+ * read a page at a time instead of living in a growing text column on the owner.
+ */
+@Entity
+@Table(name = "activity_notes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityNote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_notes_id_seq")
+    @SequenceGenerator(name = "activity_notes_id_seq", sequenceName = "activity_notes_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private NoteType type;
+
+    @Column(length = 2000, nullable = false)
+    private String body;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id", nullable = false)
+    private User author;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id")
+    private Appointment appointment;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id")
+    private Project project;
+
+
+    public enum NoteType {
+        EMPLOYEE_NOTE,
+        ADMIN_NOTE,
+        CUSTOMER_NOTE,
+        APPROVAL,
+        REJECTION,
+        ASSIGNMENT
+    }
+
+    @PrePersist
+    private void validateRelationship() {
+        if ((appointment == null) == (project == null)) {
+            throw new IllegalStateException("ActivityNote must be associated with either an Appointment or a Project");
+        }
+    }
+}
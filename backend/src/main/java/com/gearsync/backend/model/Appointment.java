@@ -2,6 +2,7 @@ package com.gearsync.backend.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.math.BigDecimal;
@@ -10,7 +11,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_scheduled_id", columnList = "scheduled_date_time, id"),
+        @Index(name = "idx_appointments_status_scheduled_id", columnList = "status, scheduled_date_time, id"),
+        @Index(name = "idx_appointments_employee_scheduled_id", columnList = "assigned_employee_id, scheduled_date_time, id"),
+        @Index(name = "idx_appointments_customer_scheduled_id", columnList = "customer_id, scheduled_date_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,12 +24,17 @@ import java.util.Set;
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_id_seq")
+    @SequenceGenerator(name = "appointments_id_seq", sequenceName = "appointments_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private LocalDateTime scheduledDateTime;
 
+    // Start plus the services' estimated minutes; the overlap exclusion constraints in V10 range over the two
+    @Column(nullable = false)
+    private LocalDateTime scheduledEndDateTime;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AppointmentStatus status = AppointmentStatus.SCHEDULED;
@@ -43,6 +54,15 @@ public class Appointment {
     @Column(nullable = false)
     private Integer progressPercentage = 0;
 
+    // Maintained by EmployeeTimeLogService and TimeLogTotalsReconciler via bulk updates only
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer loggedMinutes = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer timeLogCount = 0;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,8 @@
+package com.gearsync.backend.model;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
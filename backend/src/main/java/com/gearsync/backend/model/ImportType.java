@@ -0,0 +1,7 @@
+package com.gearsync.backend.model;
+
+public enum ImportType {
+    CUSTOMERS,
+    VEHICLES,
+    EMPLOYEES
+}
@@ -0,0 +1,8 @@
+package com.gearsync.backend.model;
+
+public enum OutboxEmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
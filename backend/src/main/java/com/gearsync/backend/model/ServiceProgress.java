@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +15,8 @@ import java.time.LocalDateTime;
 public class ServiceProgress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_progress_id_seq")
+    @SequenceGenerator(name = "service_progress_id_seq", sequenceName = "service_progress_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -32,7 +32,7 @@ public class ServiceProgress {
     @Column(length = 500)
     private String technicalNotes;
 
-    @CreationTimestamp
+    // Stamped by ProgressTimelineWriter as the entry is written, so the timeline reads back in write order
     @Column(nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
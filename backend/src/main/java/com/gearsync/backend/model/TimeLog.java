@@ -8,14 +8,18 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "time_logs")
+@Table(name = "time_logs", indexes = {
+        @Index(name = "idx_time_logs_appointment", columnList = "appointment_id"),
+        @Index(name = "idx_time_logs_project", columnList = "project_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimeLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_logs_id_seq")
+    @SequenceGenerator(name = "time_logs_id_seq", sequenceName = "time_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -20,7 +21,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -77,6 +79,21 @@ public class User {
     @Column(name = "password_reset_token_expiry")
     private LocalDateTime passwordResetTokenExpiry;
 
+    // Shift used by automatic assignment; null falls back to the workshop's opening hours
+    @Column(name = "shift_start")
+    private LocalTime shiftStart;
+
+    @Column(name = "shift_end")
+    private LocalTime shiftEnd;
+
+    // Service categories this employee takes; empty means any
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "employee_skills", joinColumns = @JoinColumn(name = "user_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false, length = 30)
+    @JsonIgnore
+    private Set<ServiceCategory> skills = new HashSet<>();
+
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private Set<Vehicle> vehicles = new HashSet<>();
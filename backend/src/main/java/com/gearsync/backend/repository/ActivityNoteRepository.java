@@ -0,0 +1,63 @@
+package com.gearsync.backend.repository;
+
+import com.gearsync.backend.dto.ActivityNoteDTO;
+import com.gearsync.backend.model.ActivityNote;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ActivityNoteRepository extends JpaRepository<ActivityNote, Long> {
+
+    // Builds ActivityNoteDTO in SQL, so only the requested page of notes is read
+    String NOTE_PROJECTION = """
+           select new com.gearsync.backend.dto.ActivityNoteDTO(
+               n.id,
+               cast(n.type as String),
+               n.body,
+               concat(u.firstName, ' ', u.lastName),
+               cast(u.role as String),
+               n.createdAt)
+           from ActivityNote n
+           join n.author u
+           """;
+
+    // Newest first, served by idx_activity_notes_appointment_created (V8); pass the page size + 1
+    @Query(NOTE_PROJECTION + """
+           where n.appointment.id = :appointmentId
+           order by n.createdAt desc, n.id desc
+           """)
+    List<ActivityNoteDTO> findAppointmentNotes(@Param("appointmentId") Long appointmentId, Pageable page);
+
+    @Query(NOTE_PROJECTION + """
+           where n.appointment.id = :appointmentId
+           and (n.createdAt < :at or (n.createdAt = :at and n.id < :id))
+           order by n.createdAt desc, n.id desc
+           """)
+    List<ActivityNoteDTO> findAppointmentNotesAfter(@Param("appointmentId") Long appointmentId,
+                                                    @Param("at") LocalDateTime at,
+                                                    @Param("id") Long id,
+                                                    Pageable page);
+
+    // Newest first, served by idx_activity_notes_project_created (V8)
+    @Query(NOTE_PROJECTION + """
+           where n.project.id = :projectId
+           order by n.createdAt desc, n.id desc
+           """)
+    List<ActivityNoteDTO> findProjectNotes(@Param("projectId") Long projectId, Pageable page);
+
+    @Query(NOTE_PROJECTION + """
+           where n.project.id = :projectId
+           and (n.createdAt < :at or (n.createdAt = :at and n.id < :id))
+           order by n.createdAt desc, n.id desc
+           """)
+    List<ActivityNoteDTO> findProjectNotesAfter(@Param("projectId") Long projectId,
+                                                @Param("at") LocalDateTime at,
+                                                @Param("id") Long id,
+                                                Pageable page);
+}
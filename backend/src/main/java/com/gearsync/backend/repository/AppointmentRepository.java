@@ -1,26 +1,54 @@
 package com.gearsync.backend.repository;
 
+import com.gearsync.backend.dto.AppointmentSummaryDTO;
 import com.gearsync.backend.model.Appointment;
 import com.gearsync.backend.model.AppointmentStatus;
 import com.gearsync.backend.model.Services;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.service.AppointmentService;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRepositoryCustom {
+
+    // Builds AppointmentSummaryDTO in SQL; time-log figures are the denormalized counters, not the collection
+    String SUMMARY_PROJECTION = """
+           select new com.gearsync.backend.dto.AppointmentSummaryDTO(
+               a.id,
+               a.scheduledDateTime,
+               cast(a.status as String),
+               concat(c.firstName, ' ', c.lastName),
+               c.email,
+               v.registrationNumber,
+               v.make,
+               v.model,
+               coalesce(concat(e.firstName, ' ', e.lastName), 'Unassigned'),
+               a.progressPercentage,
+               a.createdAt,
+               a.timeLogCount,
+               a.loggedMinutes)
+           from Appointment a
+           join a.customer c
+           join a.vehicle v
+           left join a.assignedEmployee e
+           """;
+
     List<Appointment> findByCustomer(User customer);
     List<Appointment> findByAssignedEmployee(User employee);
-    boolean existsByCustomerAndScheduledDateTime(User customer, LocalDateTime scheduledDateTime);
 
     List<Appointment> findAllByCustomerId(Long customerId);
 
@@ -31,8 +59,147 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     List<Appointment> findByAssignedEmployeeId(Long employeeId);
 
+    boolean existsByIdAndCustomerId(Long id, Long customerId);
+
+    boolean existsByIdAndAssignedEmployeeId(Long id, Long employeeId);
+
     List<Appointment> findByStatus(AppointmentStatus status);
 
+    @Query(SUMMARY_PROJECTION + """
+           where a.status = :status
+           and a.assignedEmployee is null
+           order by a.scheduledDateTime desc, a.id desc
+           """)
+    List<AppointmentSummaryDTO> findUnassignedSummariesByStatus(@Param("status") AppointmentStatus status);
+
+    // Shifts the denormalized time-log totals in place so concurrent loggers never lose an increment
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update Appointment a
+           set a.loggedMinutes = a.loggedMinutes + :minutes,
+               a.timeLogCount = a.timeLogCount + :count
+           where a.id = :id
+           """)
+    int adjustTimeLogTotals(@Param("id") Long id, @Param("minutes") int minutes, @Param("count") int count);
+
+    // Locks one id range so time log adjustments to it wait until its totals are repaired
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from Appointment a where a.id between :fromId and :toId order by a.id")
+    List<Long> lockIdsBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Totals that drifted from time_logs within one id range: id, summed minutes, log count
+    @Query("""
+           select a.id, coalesce(sum(t.durationMinutes), 0), count(t)
+           from Appointment a left join TimeLog t on t.appointment = a
+           where a.id between :fromId and :toId
+           group by a.id, a.loggedMinutes, a.timeLogCount
+           having a.loggedMinutes <> coalesce(sum(t.durationMinutes), 0) or a.timeLogCount <> count(t)
+           """)
+    List<Object[]> findDriftedTimeLogTotals(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("update Appointment a set a.loggedMinutes = :minutes, a.timeLogCount = :count where a.id = :id")
+    int setTimeLogTotals(@Param("id") Long id, @Param("minutes") int minutes, @Param("count") int count);
+
+    @Query("select coalesce(max(a.id), 0) from Appointment a")
+    Long findMaxId();
+
+    // Seeds and reconciles OperationalCounters: status, count, sum of final cost
+    @Query("select a.status, count(a), sum(a.finalCost) from Appointment a group by a.status")
+    List<Object[]> countAndSumFinalCostByStatus();
+
+    // Loads SlotAvailability: id, start and the summed service minutes of every appointment holding a bay
+    @Query("""
+           select a.id, a.scheduledDateTime, coalesce(sum(s.estimatedDurationMinutes), 0)
+           from Appointment a
+           left join a.appointmentServices s
+           where a.scheduledDateTime >= :from
+           and a.status in :statuses
+           group by a.id, a.scheduledDateTime
+           """)
+    List<Object[]> findBookedDurationsFrom(@Param("from") LocalDateTime from,
+                                           @Param("statuses") Collection<AppointmentStatus> statuses);
+
+    // SlotAvailability.lockAcrossNodes: transaction-scoped advisory locks on consecutive slot keys, taken in ascending order
+    @Query(value = """
+           select count(pg_advisory_xact_lock(:namespace, k)) from generate_series(:firstKey, :lastKey) k
+           """, nativeQuery = true)
+    long lockSlots(@Param("namespace") int namespace,
+                   @Param("firstKey") int firstKey,
+                   @Param("lastKey") int lastKey);
+
+    // Bays committed bookings hold in the busiest 15-minute slot from firstSlot to lastSlot (slot starts),
+    // planned on idx_appointments_occupying_range; excludeId skips the appointment being moved (0 for a new one)
+    @Query(value = """
+           select coalesce(max(t.taken), 0) from (
+               select count(a.id) as taken
+               from generate_series(cast(:firstSlot as timestamp), cast(:lastSlot as timestamp), interval '15 minutes') s(slot_start)
+               left join appointments a
+                   on a.status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS', 'ON_HOLD', 'RESCHEDULED')
+                   and a.id <> :excludeId
+                   and tsrange(a.scheduled_date_time, a.scheduled_end_date_time)
+                       && tsrange(s.slot_start, s.slot_start + interval '15 minutes')
+               group by s.slot_start) t
+           """, nativeQuery = true)
+    long countBusiestSlot(@Param("excludeId") Long excludeId,
+                          @Param("firstSlot") LocalDateTime firstSlot,
+                          @Param("lastSlot") LocalDateTime lastSlot);
+
+    // Loads WorkloadBalancer: id, employee, start and summed service minutes of every assigned job still ahead
+    @Query("""
+           select a.id, a.assignedEmployee.id, a.scheduledDateTime, coalesce(sum(s.estimatedDurationMinutes), 0)
+           from Appointment a
+           left join a.appointmentServices s
+           where a.scheduledDateTime >= :from
+           and a.status in :statuses
+           and a.assignedEmployee is not null
+           group by a.id, a.assignedEmployee.id, a.scheduledDateTime
+           """)
+    List<Object[]> findAssignedDurationsFrom(@Param("from") LocalDateTime from,
+                                             @Param("statuses") Collection<AppointmentStatus> statuses);
+
+    // Claims the unassigned appointments in a window for batch assignment; rows another batch holds are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+           select a.id from Appointment a
+           where a.status = :status and a.assignedEmployee is null
+           and a.scheduledDateTime >= :from and a.scheduledDateTime < :to
+           """)
+    List<Long> lockUnassignedIdsBetween(@Param("status") AppointmentStatus status,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+
+    // One row per booked service: id, start, category, minutes; appointments without services get one null row
+    @Query("""
+           select a.id, a.scheduledDateTime, s.category, s.estimatedDurationMinutes
+           from Appointment a
+           left join a.appointmentServices s
+           where a.id in :ids
+           """)
+    List<Object[]> findJobServices(@Param("ids") Collection<Long> ids);
+
+    // What the confirmation email needs: id, customer email, first and last name, registration, start, final cost
+    @Query("""
+           select a.id, c.email, c.firstName, c.lastName, v.registrationNumber, a.scheduledDateTime, a.finalCost
+           from Appointment a
+           join a.customer c
+           join a.vehicle v
+           where a.id in :ids
+           """)
+    List<Object[]> findConfirmationDetails(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+           update Appointment a
+           set a.assignedEmployee = :employee, a.status = :confirmed, a.updatedAt = :now
+           where a.id in :ids
+           """)
+    int assignEmployee(@Param("ids") Collection<Long> ids,
+                       @Param("employee") User employee,
+                       @Param("confirmed") AppointmentStatus confirmed,
+                       @Param("now") LocalDateTime now);
+
     List<Appointment> findByVehicleId(Long vehicleId);
 
     List<Appointment> findByScheduledDateTimeBetween(LocalDateTime start, LocalDateTime end);
@@ -53,40 +220,30 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("currentDateTime") LocalDateTime currentDateTime
     );
 
-    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Appointment a " +
-            "WHERE a.customer.id = :customerId " +
-            "AND a.scheduledDateTime = :scheduledDateTime " +
-            "AND a.status NOT IN ('CANCELLED', 'COMPLETED')")
-    boolean existsByCustomerAndScheduledDateTime(
-            @Param("customerId") Long customerId,
-            @Param("scheduledDateTime") LocalDateTime scheduledDateTime
-    );
+    // Same operator, range expression and status list as the V10 exclusion constraints, so both arms
+    // of the or are gist index scans; excludeId skips the appointment being moved (0 for a new one)
+    @Query(value = """
+           select exists (
+               select 1 from appointments a
+               where (a.customer_id = :customerId or a.vehicle_id = :vehicleId)
+               and a.id <> :excludeId
+               and a.status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS', 'ON_HOLD', 'RESCHEDULED')
+               and tsrange(a.scheduled_date_time, a.scheduled_end_date_time) && tsrange(:start, :end))
+           """, nativeQuery = true)
+    boolean existsOverlapping(@Param("customerId") Long customerId,
+                              @Param("vehicleId") Long vehicleId,
+                              @Param("excludeId") Long excludeId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end);
 
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.customer.id = :customerId " +
             "AND a.status IN ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS')")
     long countActiveAppointmentsByCustomer(@Param("customerId") Long customerId);
 
-    long countByStatus(AppointmentStatus status);
-
     List<Appointment> findByStatusOrderByScheduledDateTimeAsc(AppointmentStatus status);
 
     List<Appointment> findByScheduledDateTimeBetweenOrderByScheduledDateTimeAsc(LocalDateTime start, LocalDateTime end);
 
-    @Query("""
-           select coalesce(sum(a.finalCost), 0)
-           from Appointment a
-           where a.status = :status
-           """)
-    BigDecimal sumFinalCostByStatus(AppointmentStatus status);
-
-
-    long countByCustomer_Email(String email);
-
-    long countByCustomer_EmailAndStatus(String email, AppointmentStatus status);
-
-    @Query("select coalesce(sum(a.finalCost), 0) from Appointment a where a.customer.email = :email and a.status = com.gearsync.backend.model.AppointmentStatus.COMPLETED")
-    BigDecimal sumSpentByCustomerCompleted(String email);
-
     List<Appointment> findAllByCustomerIdAndScheduledDateTimeGreaterThanEqualOrderByScheduledDateTimeAsc(
             Long customerId, LocalDateTime scheduledFrom);
 
@@ -102,8 +259,4 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findAllWithDetails();
 
     List<Appointment> findByCustomerId(Long customerId);
-
-    Long countByAssignedEmployee_Email(String email);
-
-    Long countByAssignedEmployee_EmailAndStatus(String email, AppointmentStatus status);
 }
@@ -0,0 +1,23 @@
+package com.gearsync.backend.repository;
+
+import com.gearsync.backend.dto.AdminDashboardSnapshotDTO;
+import com.gearsync.backend.dto.AppointmentFilterDTO;
+import com.gearsync.backend.dto.AppointmentSummaryDTO;
+import com.gearsync.backend.dto.CustomerDashboardSnapshotDTO;
+import com.gearsync.backend.dto.EmployeeDashboardSnapshotDTO;
+import com.gearsync.backend.util.KeysetCursor;
+
+import java.util.List;
+
+public interface AppointmentRepositoryCustom {
+
+    // Newest first on (scheduledDateTime, id); rows strictly after the cursor, no count query
+    List<AppointmentSummaryDTO> findSummaryPage(AppointmentFilterDTO filter, KeysetCursor after, int limit);
+
+    // Dashboard counters, each in a single conditional-aggregation statement
+    AdminDashboardSnapshotDTO adminDashboardSnapshot();
+
+    CustomerDashboardSnapshotDTO customerDashboardSnapshot(Long customerId);
+
+    EmployeeDashboardSnapshotDTO employeeDashboardSnapshot(Long employeeId);
+}
@@ -0,0 +1,123 @@
+package com.gearsync.backend.repository;
+
+import com.gearsync.backend.dto.AdminDashboardSnapshotDTO;
+import com.gearsync.backend.dto.AppointmentFilterDTO;
+import com.gearsync.backend.dto.AppointmentSummaryDTO;
+import com.gearsync.backend.dto.CustomerDashboardSnapshotDTO;
+import com.gearsync.backend.dto.EmployeeDashboardSnapshotDTO;
+import com.gearsync.backend.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+
+    // One pass over appointments; users and vehicles are plain counts beside it
+    private static final String ADMIN_SNAPSHOT = """
+            select (select count(*) from users),
+                   count(*),
+                   (select count(*) from vehicles),
+                   coalesce(sum(final_cost) filter (where status = 'COMPLETED'), 0),
+                   count(*) filter (where status = 'IN_PROGRESS')
+            from appointments
+            """;
+
+    private static final String CUSTOMER_SNAPSHOT = """
+            select count(*),
+                   count(*) filter (where status = 'IN_PROGRESS'),
+                   count(*) filter (where status = 'COMPLETED'),
+                   (select count(*) from vehicles where owner_id = :customerId),
+                   coalesce(sum(final_cost) filter (where status = 'COMPLETED'), 0)
+            from appointments
+            where customer_id = :customerId
+            """;
+
+    // Answered from idx_appointments_employee_status alone
+    private static final String EMPLOYEE_SNAPSHOT = """
+            select count(*),
+                   count(*) filter (where status = 'COMPLETED'),
+                   count(*) filter (where status = 'IN_PROGRESS')
+            from appointments
+            where assigned_employee_id = :employeeId
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentSummaryDTO> findSummaryPage(AppointmentFilterDTO filter, KeysetCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(AppointmentRepository.SUMMARY_PROJECTION).append("where 1 = 1");
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (filter.getStatus() != null) {
+            jpql.append(" and a.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getEmployeeId() != null) {
+            jpql.append(" and a.assignedEmployee.id = :employeeId");
+            params.put("employeeId", filter.getEmployeeId());
+        }
+        if (filter.getCustomerId() != null) {
+            jpql.append(" and a.customer.id = :customerId");
+            params.put("customerId", filter.getCustomerId());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" and a.scheduledDateTime >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" and a.scheduledDateTime < :to");
+            params.put("to", filter.getTo());
+        }
+        if (after != null) {
+            jpql.append(" and (a.scheduledDateTime < :afterScheduled")
+                    .append(" or (a.scheduledDateTime = :afterScheduled and a.id < :afterId))");
+            params.put("afterScheduled", after.at());
+            params.put("afterId", after.id());
+        }
+        jpql.append(" order by a.scheduledDateTime desc, a.id desc");
+
+        TypedQuery<AppointmentSummaryDTO> query =
+                entityManager.createQuery(jpql.toString(), AppointmentSummaryDTO.class);
+        params.forEach(query::setParameter);
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public AdminDashboardSnapshotDTO adminDashboardSnapshot() {
+        Object[] row = (Object[]) entityManager.createNativeQuery(ADMIN_SNAPSHOT).getSingleResult();
+        return new AdminDashboardSnapshotDTO(
+                count(row[0]), count(row[1]), count(row[2]), amount(row[3]), count(row[4]));
+    }
+
+    @Override
+    public CustomerDashboardSnapshotDTO customerDashboardSnapshot(Long customerId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(CUSTOMER_SNAPSHOT)
+                .setParameter("customerId", customerId)
+                .getSingleResult();
+        return new CustomerDashboardSnapshotDTO(
+                count(row[0]), count(row[1]), count(row[2]), count(row[3]), amount(row[4]));
+    }
+
+    @Override
+    public EmployeeDashboardSnapshotDTO employeeDashboardSnapshot(Long employeeId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(EMPLOYEE_SNAPSHOT)
+                .setParameter("employeeId", employeeId)
+                .getSingleResult();
+        return new EmployeeDashboardSnapshotDTO(count(row[0]), count(row[1]), count(row[2]));
+    }
+
+    private static Long count(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static BigDecimal amount(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,52 @@
+package com.gearsync.backend.repository;
+
+import com.gearsync.backend.model.OutboxEmail;
+import com.gearsync.backend.model.OutboxEmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    // Returns 0 when an identical message is still waiting to be sent
+    @Modifying
+    @Query(value = """
+            insert into email_outbox (dedup_key, recipient, subject, body, status, attempts, next_attempt_at, created_at)
+            values (:dedupKey, :recipient, :subject, :body, 'PENDING', 0, :now, :now)
+            on conflict (dedup_key) where status in ('PENDING', 'SENDING') do nothing
+            """, nativeQuery = true)
+    int enqueue(@Param("dedupKey") String dedupKey,
+                @Param("recipient") String recipient,
+                @Param("subject") String subject,
+                @Param("body") String body,
+                @Param("now") LocalDateTime now);
+
+    // Rows locked by another dispatcher are skipped, so several nodes can drain the same table
+    @Query(value = """
+            select * from email_outbox
+            where status in ('PENDING', 'SENDING') and next_attempt_at <= :now
+            order by next_attempt_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<OutboxEmail> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatusIn(Collection<OutboxEmailStatus> statuses);
+
+    long countByStatus(OutboxEmailStatus status);
+
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = com.gearsync.backend.model.OutboxEmailStatus.SENT, e.sentAt = :now, e.body = NULL, e.lastError = NULL WHERE e.id = :id")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = com.gearsync.backend.model.OutboxEmailStatus.SENT AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,8 +1,12 @@
 package com.gearsync.backend.repository;
 
+import com.gearsync.backend.dto.ProjectSummaryDTO;
 import com.gearsync.backend.model.Project;
 import com.gearsync.backend.model.ProjectStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +26,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find all projects by assigned employee
     List<Project> findByAssignedEmployeeId(Long employeeId);
 
+    // Ownership checks for progress subscriptions
+    boolean existsByIdAndCustomerId(Long id, Long customerId);
+
+    boolean existsByIdAndAssignedEmployeeId(Long id, Long employeeId);
+
     // Find all projects by status
     List<Project> findByStatus(ProjectStatus status);
 
@@ -55,11 +64,77 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find projects by customer and vehicle
     List<Project> findByCustomerIdAndVehicleId(Long customerId, Long vehicleId);
 
-    // Find all projects with timeLogs eagerly loaded
-    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.timeLogs")
-    List<Project> findAllWithTimeLogs();
-
-    // Find projects by status with timeLogs eagerly loaded
-    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.timeLogs WHERE p.status = :status")
-    List<Project> findByStatusWithTimeLogs(@Param("status") ProjectStatus status);
-}
\ No newline at end of file
+    // Admin summaries built in SQL; time-log figures are the denormalized counters, not the collection
+    String SUMMARY_PROJECTION = """
+           select new com.gearsync.backend.dto.ProjectSummaryDTO(
+               p.id,
+               p.projectName,
+               p.description,
+               cast(p.status as String),
+               concat(c.firstName, ' ', c.lastName),
+               c.email,
+               c.phoneNumber,
+               c.id,
+               v.registrationNumber,
+               v.make,
+               v.model,
+               cast(v.year as String),
+               v.id,
+               coalesce(concat(e.firstName, ' ', e.lastName), 'Unassigned'),
+               e.email,
+               e.id,
+               p.estimatedCost,
+               p.actualCost,
+               p.estimatedDurationHours,
+               p.progressPercentage,
+               p.startDate,
+               p.completionDate,
+               p.expectedCompletionDate,
+               p.createdAt,
+               p.updatedAt,
+               p.timeLogCount,
+               cast(p.loggedMinutes as Double) / 60.0)
+           from Project p
+           join p.customer c
+           join p.vehicle v
+           left join p.assignedEmployee e
+           """;
+
+    @Query(SUMMARY_PROJECTION + "order by p.createdAt desc, p.id desc")
+    List<ProjectSummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY_PROJECTION + "where p.status = :status order by p.createdAt desc, p.id desc")
+    List<ProjectSummaryDTO> findSummariesByStatus(@Param("status") ProjectStatus status);
+
+    // Shifts the denormalized time-log totals in place so concurrent loggers never lose an increment
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update Project p
+           set p.loggedMinutes = p.loggedMinutes + :minutes,
+               p.timeLogCount = p.timeLogCount + :count
+           where p.id = :id
+           """)
+    int adjustTimeLogTotals(@Param("id") Long id, @Param("minutes") int minutes, @Param("count") int count);
+
+    // Locks one id range so time log adjustments to it wait until its totals are repaired
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.id from Project p where p.id between :fromId and :toId order by p.id")
+    List<Long> lockIdsBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // Totals that drifted from time_logs within one id range: id, summed minutes, log count
+    @Query("""
+           select p.id, coalesce(sum(t.durationMinutes), 0), count(t)
+           from Project p left join TimeLog t on t.project = p
+           where p.id between :fromId and :toId
+           group by p.id, p.loggedMinutes, p.timeLogCount
+           having p.loggedMinutes <> coalesce(sum(t.durationMinutes), 0) or p.timeLogCount <> count(t)
+           """)
+    List<Object[]> findDriftedTimeLogTotals(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("update Project p set p.loggedMinutes = :minutes, p.timeLogCount = :count where p.id = :id")
+    int setTimeLogTotals(@Param("id") Long id, @Param("minutes") int minutes, @Param("count") int count);
+
+    @Query("select coalesce(max(p.id), 0) from Project p")
+    Long findMaxId();
+}
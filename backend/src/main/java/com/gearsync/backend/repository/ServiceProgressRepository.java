@@ -0,0 +1,66 @@
+package com.gearsync.backend.repository;
+
+import com.gearsync.backend.dto.ProgressEntryDTO;
+import com.gearsync.backend.model.ServiceProgress;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ServiceProgressRepository extends JpaRepository<ServiceProgress, Long> {
+
+    // Builds ProgressEntryDTO in SQL; appointment/project ids come from the foreign keys, not a join
+    String TIMELINE_PROJECTION = """
+           select new com.gearsync.backend.dto.ProgressEntryDTO(
+               p.id,
+               p.appointment.id,
+               p.project.id,
+               cast(p.status as String),
+               p.progressPercentage,
+               p.message,
+               p.technicalNotes,
+               concat(e.firstName, ' ', e.lastName),
+               p.timestamp)
+           from ServiceProgress p
+           join p.updatedByEmployee e
+           """;
+
+    // Newest first, served by idx_service_progress_appointment_timeline (V7); pass the page size + 1
+    @Query(TIMELINE_PROJECTION + """
+           where p.appointment.id = :appointmentId
+           order by p.timestamp desc, p.id desc
+           """)
+    List<ProgressEntryDTO> findAppointmentTimeline(@Param("appointmentId") Long appointmentId, Pageable page);
+
+    @Query(TIMELINE_PROJECTION + """
+           where p.appointment.id = :appointmentId
+           and (p.timestamp < :at or (p.timestamp = :at and p.id < :id))
+           order by p.timestamp desc, p.id desc
+           """)
+    List<ProgressEntryDTO> findAppointmentTimelineAfter(@Param("appointmentId") Long appointmentId,
+                                                        @Param("at") LocalDateTime at,
+                                                        @Param("id") Long id,
+                                                        Pageable page);
+
+    // Newest first, served by idx_service_progress_project_timeline (V7)
+    @Query(TIMELINE_PROJECTION + """
+           where p.project.id = :projectId
+           order by p.timestamp desc, p.id desc
+           """)
+    List<ProgressEntryDTO> findProjectTimeline(@Param("projectId") Long projectId, Pageable page);
+
+    @Query(TIMELINE_PROJECTION + """
+           where p.project.id = :projectId
+           and (p.timestamp < :at or (p.timestamp = :at and p.id < :id))
+           order by p.timestamp desc, p.id desc
+           """)
+    List<ProgressEntryDTO> findProjectTimelineAfter(@Param("projectId") Long projectId,
+                                                    @Param("at") LocalDateTime at,
+                                                    @Param("id") Long id,
+                                                    Pageable page);
+}
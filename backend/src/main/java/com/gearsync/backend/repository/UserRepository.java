@@ -2,8 +2,11 @@ package com.gearsync.backend.repository;
 import com.gearsync.backend.model.Role;
 import com.gearsync.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +15,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByPasswordResetToken(String resetToken);
     boolean existsByEmail(String email);
+
+    // Set-based duplicate check for bulk imports
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    // Seeds and reconciles OperationalCounters: role, count
+    @Query("select u.role, count(u) from User u group by u.role")
+    List<Object[]> countGroupedByRole();
+
+    // Loads WorkloadBalancer: id, first name, last name, shift start and shift end
+    @Query("select u.id, u.firstName, u.lastName, u.shiftStart, u.shiftEnd from User u where u.role = :role and u.isActive = true order by u.id")
+    List<Object[]> findActiveShiftsByRole(@Param("role") Role role);
+
+    // Loads WorkloadBalancer: one row per skill, id and category
+    @Query("select u.id, s from User u join u.skills s where u.role = :role and u.isActive = true")
+    List<Object[]> findActiveSkillsByRole(@Param("role") Role role);
+
     List<User> findByRole(Role role);
     default List<User> findAllEmployees() {
         return findByRole(Role.EMPLOYEE);
@@ -2,7 +2,10 @@ package com.gearsync.backend.repository;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.model.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -10,7 +13,9 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     List<Vehicle> findByOwner(User owner);
     boolean existsByRegistrationNumber(String registrationNumber);
 
-    long countByOwner_Email(String email);
+    // Set-based duplicate check for bulk imports
+    @Query("select v.registrationNumber from Vehicle v where v.registrationNumber in :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(@Param("registrationNumbers") Collection<String> registrationNumbers);
 
     List<Vehicle> findByOwnerId(Long ownerId);
 
@@ -0,0 +1,30 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.User;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The caller of the current request, resolved once from the JWT by {@link JwtAuthenticationFilter}.
+ * Services take it in place of an email so they don't have to look the user up again.
+ */
+public record AuthenticatedUser(Long userId, String email, Role role, boolean active) implements AuthenticatedPrincipal {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    public boolean hasRole(Role expected) {
+        return role == expected;
+    }
+
+    public String authority() {
+        return "ROLE_" + role.name();
+    }
+
+    // Authentication.getName() resolves to this, so callers that only need the email keep working
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -16,15 +16,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // The only endpoint that takes ?token=; query strings end up in access logs, so no other path may
+    static final String DASHBOARD_STREAM_PATH = "/api/admin/dashboard/stream";
+
     private final JwtUtil jwtUtil;
+    private final UserDirectory userDirectory;
+    private final TokenRevocationList tokenRevocationList;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDirectory userDirectory, TokenRevocationList tokenRevocationList) {
         this.jwtUtil = jwtUtil;
+        this.userDirectory = userDirectory;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
@@ -33,22 +41,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
                                     throws ServletException, IOException {
 
-        String authHeader = request.getHeader("Authorization");
+        String token = bearerToken(request);
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            String email = jwtUtil.validateTokenAndGetEmail(token);
-
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String role = jwtUtil.extractRole(token);
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, List.of(authority));
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            Optional<JwtClaims> claims = jwtUtil.verify(token)
+                    .filter(verified -> !tokenRevocationList.isRevoked(verified.tokenId()));
+
+            if (claims.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Role and active flag come from the directory, so deactivation and role changes apply to live tokens
+                userDirectory.find(claims.get().email())
+                        .filter(AuthenticatedUser::active)
+                        .filter(user -> claims.get().userId() == null || claims.get().userId().equals(user.userId()))
+                        .ifPresent(user -> {
+                            SimpleGrantedAuthority authority = new SimpleGrantedAuthority(user.authority());
+                            UsernamePasswordAuthenticationToken authentication =
+                                    new UsernamePasswordAuthenticationToken(user, null, List.of(authority));
+                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                        });
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    static String bearerToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        // EventSource cannot set headers, so the dashboard stream may carry the token as ?token=
+        if ("GET".equals(request.getMethod())
+                && request.getRequestURI().equals(request.getContextPath() + DASHBOARD_STREAM_PATH)) {
+            return request.getParameter("token");
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.model.Role;
+
+/**
+ * The claims of a verified token. {@code userId} and {@code tokenId} (the jti, used for revocation)
+ * are null for tokens issued before they were added.
+ */
+public record JwtClaims(String tokenId, String email, Role role, Long userId, long expiresAt) {
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
@@ -1,6 +1,8 @@
 package com.gearsync.backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,51 +11,131 @@ import org.springframework.stereotype.Component;
 import com.gearsync.backend.model.Role;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // Decoded once: the key and parser are immutable and safe to share across requests
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMs;
+    private final int verifiedCacheSize;
 
-    private long expirationMs = 7 * 24 * 60 * 60 * 1000;
+    LongSupplier clock = System::currentTimeMillis;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // SHA-256 of the token -> claims it verified to; a hit skips parsing and the HMAC check
+    private final Map<String, JwtClaims> verified = new ConcurrentHashMap<>();
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize,
+                   @Value("${jwt.access-token-ttl-ms:900000}") long expirationMs) {
+        this.signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.expirationMs = expirationMs;
     }
 
-    public String generateToken(String email, Role role) {
+    public String generateToken(Long userId, String email, Role role) {
+        long now = clock.getAsLong();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .claim("role", "ROLE_" + role)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .claim("uid", userId)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String validateTokenAndGetEmail(String token) {
+    /**
+     * Parses and verifies the token once. Returns empty for anything malformed, tampered with or expired.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        long now = clock.getAsLong();
+        String digest = digest(token);
+        JwtClaims cached = verified.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verified.remove(digest);
+            return Optional.empty();
+        }
+
+        JwtClaims claims;
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getSubject();
-        } catch (Exception e) {
+            claims = toClaims(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims == null || claims.isExpired(now)) {
+            return Optional.empty();
+        }
+
+        if (verifiedCacheSize > 0) {
+            if (verified.size() >= verifiedCacheSize) {
+                evict(now);
+            }
+            verified.put(digest, claims);
+        }
+        return Optional.of(claims);
+    }
+
+    int verifiedCacheSize() {
+        return verified.size();
+    }
+
+    private static JwtClaims toClaims(Claims body) {
+        String role = body.get("role", String.class);
+        if (body.getSubject() == null || role == null || body.getExpiration() == null) {
             return null;
         }
+        Number userId = body.get("uid", Number.class);
+        return new JwtClaims(
+                body.getId(),
+                body.getSubject(),
+                Role.valueOf(role.startsWith("ROLE_") ? role.substring(5) : role),
+                userId != null ? userId.longValue() : null,
+                body.getExpiration().getTime()
+        );
     }
 
-    public String extractRole(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("role", String.class);
+    // Expired entries first; if that frees nothing, the tenth of the cache closest to expiry
+    private void evict(long now) {
+        verified.values().removeIf(claims -> claims.isExpired(now));
+        if (verified.size() < verifiedCacheSize) {
+            return;
+        }
+        verified.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                .limit(Math.max(1, verifiedCacheSize / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(verified::remove);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
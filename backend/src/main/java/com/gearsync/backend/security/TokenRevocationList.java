@@ -0,0 +1,131 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.model.RevokedToken;
+import com.gearsync.backend.repository.RevokedTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Access tokens revoked before they expire, keyed by jti. Lookups are a single map probe, so the
+ * JWT filter never touches the database. Entries are grouped into one-minute expiry buckets and
+ * dropped a bucket at a time once the tokens in it could no longer verify anyway.
+ *
+ * <p>Revocations are written to revoked_tokens; every node loads the table at startup and polls it
+ * for rows other nodes added.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private static final long BUCKET_MILLIS = 60_000;
+    // Re-read a little of the already synced window so a row committed late by another node is not missed
+    private static final long SYNC_OVERLAP_MILLIS = 30_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    // jti -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // expiry bucket -> jtis expiring in it
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private volatile long syncedUpTo;
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, long expiresAt) {
+        long now = clock.getAsLong();
+        if (tokenId == null || expiresAt <= now || isRevoked(tokenId)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, toDateTime(expiresAt), toDateTime(now)));
+        // Only once the row is committed, so a revocation rolled back with the caller's transaction
+        // does not stay in effect on this node while every other node ignores it
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(tokenId, expiresAt);
+                }
+            });
+        } else {
+            remember(tokenId, expiresAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long now = clock.getAsLong();
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(toDateTime(now));
+        rows.forEach(this::remember);
+        syncedUpTo = now;
+        log.info("Loaded {} revoked access tokens", rows.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation-sync-ms:5000}", initialDelayString = "${app.auth.revocation-sync-ms:5000}")
+    @Transactional(readOnly = true)
+    public void sync() {
+        long now = clock.getAsLong();
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(
+                        toDateTime(syncedUpTo - SYNC_OVERLAP_MILLIS), toDateTime(now))
+                .forEach(this::remember);
+        syncedUpTo = now;
+    }
+
+    @Scheduled(fixedDelay = BUCKET_MILLIS)
+    @Transactional
+    public void purgeExpired() {
+        long now = clock.getAsLong();
+        NavigableMap<Long, Set<String>> expired = buckets.headMap(bucketOf(now), false);
+        expired.values().forEach(tokenIds -> tokenIds.forEach(revoked::remove));
+        expired.clear();
+        revokedTokenRepository.deleteExpired(toDateTime(now));
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void remember(RevokedToken row) {
+        remember(row.getTokenId(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void remember(String tokenId, long expiresAt) {
+        if (revoked.putIfAbsent(tokenId, expiresAt) == null) {
+            buckets.computeIfAbsent(bucketOf(expiresAt), bucket -> ConcurrentHashMap.newKeySet()).add(tokenId);
+        }
+    }
+
+    // A bucket is only dropped once its whole minute has passed
+    private static long bucketOf(long epochMillis) {
+        return epochMillis / BUCKET_MILLIS;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,98 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, expiring cache of email -> {@link AuthenticatedUser}, so authenticating a request
+ * does not cost a users query. Anything that changes a user's role, active flag or credentials
+ * must call {@link #invalidate(String)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.user-directory.ttl-ms:300000}")
+    private long ttlMillis = 300_000;
+
+    @Value("${app.user-directory.max-size:10000}")
+    private int maxSize = 10_000;
+
+    LongSupplier clock = System::currentTimeMillis;
+
+    private final Map<String, Cached> entries = new ConcurrentHashMap<>();
+
+    private record Cached(AuthenticatedUser user, long expiresAt) {
+    }
+
+    public Optional<AuthenticatedUser> find(String email) {
+        long now = clock.getAsLong();
+        Cached cached = entries.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return Optional.of(cached.user());
+        }
+
+        // Unknown emails are not cached, so a user registered a moment ago is found immediately
+        Optional<AuthenticatedUser> loaded = userRepository.findByEmail(email).map(AuthenticatedUser::of);
+        loaded.ifPresentOrElse(
+                user -> put(email, new Cached(user, now + ttlMillis)),
+                () -> entries.remove(email));
+        return loaded;
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a concurrent
+     * request cannot re-cache the pre-commit row in between.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        entries.remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(email);
+                }
+            });
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void put(String email, Cached cached) {
+        if (entries.size() >= maxSize && !entries.containsKey(email)) {
+            evict(cached.expiresAt() - ttlMillis);
+        }
+        entries.put(email, cached);
+    }
+
+    // Expired entries first; if that frees nothing, the tenth of the cache closest to expiry
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        if (entries.size() < maxSize) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                .limit(Math.max(1, maxSize / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+}
@@ -0,0 +1,127 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.ActivityNoteDTO;
+import com.gearsync.backend.dto.CursorPageDTO;
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.ActivityNote;
+import com.gearsync.backend.model.ActivityNote.NoteType;
+import com.gearsync.backend.model.Appointment;
+import com.gearsync.backend.model.Project;
+import com.gearsync.backend.repository.ActivityNoteRepository;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.ProjectRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Notes and audit entries on appointments and projects, kept as their own rows. Adding one is a
+ * single insert in the caller's transaction, so it commits or rolls back with the change it
+ * describes; reading them is a keyset page, newest first, loaded only when asked for.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActivityNoteService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ActivityNoteRepository activityNoteRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+
+    @Transactional
+    public void addAppointmentNote(Appointment appointment, Long authorId, NoteType type, String body) {
+        ActivityNote note = note(authorId, type, body);
+        note.setAppointment(appointment);
+        activityNoteRepository.save(note);
+    }
+
+    @Transactional
+    public void addProjectNote(Project project, Long authorId, NoteType type, String body) {
+        ActivityNote note = note(authorId, type, body);
+        note.setProject(project);
+        activityNoteRepository.save(note);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ActivityNoteDTO> getAppointmentNotes(AuthenticatedUser user, Long appointmentId,
+                                                              String cursor, Integer limit) {
+        boolean allowed = switch (user.role()) {
+            case ADMIN -> appointmentRepository.existsById(appointmentId);
+            case EMPLOYEE -> appointmentRepository.existsByIdAndAssignedEmployeeId(appointmentId, user.userId());
+            default -> appointmentRepository.existsByIdAndCustomerId(appointmentId, user.userId());
+        };
+        if (!allowed) {
+            throw appointmentRepository.existsById(appointmentId)
+                    ? new UnauthorizedException("You do not have access to this appointment")
+                    : new ResourceNotFoundException("Appointment not found with ID: " + appointmentId);
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+        List<ActivityNoteDTO> rows = after == null
+                ? activityNoteRepository.findAppointmentNotes(appointmentId, page)
+                : activityNoteRepository.findAppointmentNotesAfter(appointmentId, after.at(), after.id(), page);
+        return toPage(rows, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ActivityNoteDTO> getProjectNotes(AuthenticatedUser user, Long projectId,
+                                                          String cursor, Integer limit) {
+        boolean allowed = switch (user.role()) {
+            case ADMIN -> projectRepository.existsById(projectId);
+            case EMPLOYEE -> projectRepository.existsByIdAndAssignedEmployeeId(projectId, user.userId());
+            default -> projectRepository.existsByIdAndCustomerId(projectId, user.userId());
+        };
+        if (!allowed) {
+            throw projectRepository.existsById(projectId)
+                    ? new UnauthorizedException("You do not have access to this project")
+                    : new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+        List<ActivityNoteDTO> rows = after == null
+                ? activityNoteRepository.findProjectNotes(projectId, page)
+                : activityNoteRepository.findProjectNotesAfter(projectId, after.at(), after.id(), page);
+        return toPage(rows, pageSize);
+    }
+
+    // The author is a reference, not a load: the insert only needs its id
+    private ActivityNote note(Long authorId, NoteType type, String body) {
+        ActivityNote note = new ActivityNote();
+        note.setAuthor(userRepository.getReferenceById(authorId));
+        note.setType(type);
+        note.setBody(body.trim());
+        return note;
+    }
+
+    // Fetched one row past the page to learn whether another page exists without a count query
+    private static CursorPageDTO<ActivityNoteDTO> toPage(List<ActivityNoteDTO> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ActivityNoteDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ActivityNoteDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+}
@@ -1,11 +1,10 @@
 package com.gearsync.backend.service;
 
+import com.gearsync.backend.dto.AdminDashboardSnapshotDTO;
 import com.gearsync.backend.dto.AppointmentSummaryDTO;
 import com.gearsync.backend.model.Appointment;
 import com.gearsync.backend.model.AppointmentStatus;
 import com.gearsync.backend.repository.AppointmentRepository;
-import com.gearsync.backend.repository.UserRepository;
-import com.gearsync.backend.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,34 +19,46 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AdminDashboardService {
 
-    private final UserRepository userRepository;
     private final AppointmentRepository appointmentRepository;
-    private final VehicleRepository vehicleRepository;
+    private final OperationalCounters operationalCounters;
 
+    // Read from the in-memory counters; the single-number getters below are views of it
+    public AdminDashboardSnapshotDTO snapshot() {
+        if (!operationalCounters.isSeeded()) {
+            return querySnapshot();
+        }
+        return new AdminDashboardSnapshotDTO(
+                operationalCounters.users(),
+                operationalCounters.appointments(),
+                operationalCounters.vehicles(),
+                operationalCounters.completedEarnings(),
+                operationalCounters.appointments(AppointmentStatus.IN_PROGRESS));
+    }
+
+    // Every counter from one statement; exact across nodes, unlike the counters between reconciliations
     @Transactional(readOnly = true)
+    public AdminDashboardSnapshotDTO querySnapshot() {
+        return appointmentRepository.adminDashboardSnapshot();
+    }
+
     public Long getUserCount() {
-        return userRepository.count();
+        return snapshot().getUserCount();
     }
 
-    @Transactional(readOnly = true)
     public Long getAppointmentCount() {
-        return appointmentRepository.count();
+        return snapshot().getAppointmentCount();
     }
 
-    @Transactional(readOnly = true)
     public Long getVehicleCount() {
-        return vehicleRepository.count();
+        return snapshot().getVehicleCount();
     }
 
-    @Transactional(readOnly = true)
     public BigDecimal getTotalEarningsCompleted() {
-        BigDecimal result = appointmentRepository.sumFinalCostByStatus(AppointmentStatus.COMPLETED);
-        return result != null ? result : BigDecimal.ZERO;
+        return snapshot().getTotalEarnings();
     }
 
-    @Transactional(readOnly = true)
     public Long getActiveServiceCountInProgress() {
-        return appointmentRepository.countByStatus(AppointmentStatus.IN_PROGRESS);
+        return snapshot().getActiveServiceCount();
     }
 
     @Transactional(readOnly = true)
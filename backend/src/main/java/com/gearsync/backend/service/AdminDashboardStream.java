@@ -0,0 +1,314 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.config.PostgresNotificationListener;
+import com.gearsync.backend.dto.AdminDashboardSnapshotDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Server-sent admin dashboard. The numbers are computed once per change on this node, not once
+ * per open dashboard: writes to users, vehicles and appointments raise a {@value #CHANNEL}
+ * notification (see V6__dashboard_change_notify.sql), the affected values are recomputed after a
+ * short debounce, and only the ones that moved go out as a {@code delta} event.
+ *
+ * <p>Event ids are {@code {epoch}-{sequence}}. A client reconnecting with {@code Last-Event-ID}
+ * gets the deltas it missed from a bounded replay buffer, or a full {@code snapshot} event when
+ * they are no longer available or the id came from another node or an earlier run.
+ */
+@Slf4j
+@Service
+public class AdminDashboardStream {
+
+    public static final String CHANNEL = "dashboard_changes";
+
+    static final String USER_COUNT = "userCount";
+    static final String APPOINTMENT_COUNT = "appointmentCount";
+    static final String VEHICLE_COUNT = "vehicleCount";
+    static final String TOTAL_EARNINGS = "totalEarnings";
+    static final String ACTIVE_SERVICES = "activeServices";
+    static final String CONFIRMED_APPOINTMENTS = "confirmedAppointments";
+    static final String TODAY_APPOINTMENTS = "todayAppointments";
+
+    private static final int USERS = 1;
+    private static final int VEHICLES = 2;
+    private static final int APPOINTMENTS = 4;
+    private static final int ALL = USERS | VEHICLES | APPOINTMENTS;
+
+    private static final long RETRY_MS = 5_000;
+
+    private final AdminDashboardService adminDashboardService;
+    private final long timeoutMillis;
+    private final long debounceMillis;
+    private final int replaySize;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    LongFunction<SseEmitter> emitterFactory = SseEmitter::new;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // Guarded by this. Only the refresher thread replaces values, so they are applied in commit order.
+    private Map<String, Object> snapshot;
+    private final Deque<Delta> recent = new ArrayDeque<>();
+    private long sequence;
+
+    private final AtomicInteger dirty = new AtomicInteger();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Delta(long sequence, Map<String, Object> values) {
+    }
+
+    public AdminDashboardStream(AdminDashboardService adminDashboardService,
+                                PostgresNotificationListener notificationListener,
+                                @Value("${app.dashboard.stream.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${app.dashboard.stream.debounce-ms:250}") long debounceMillis,
+                                @Value("${app.dashboard.stream.replay-size:256}") int replaySize) {
+        this.adminDashboardService = adminDashboardService;
+        this.timeoutMillis = timeoutMillis;
+        this.debounceMillis = debounceMillis;
+        this.replaySize = Math.max(1, replaySize);
+        notificationListener.listen(CHANNEL, this::onChange, () -> markDirty(ALL));
+    }
+
+    /**
+     * Opens a stream for one admin, starting with either the missed deltas or a full snapshot.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = emitterFactory.apply(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        while (true) {
+            ensureSnapshot();
+            synchronized (this) {
+                // Dropped again by a refresh that found no subscribers; load it once more
+                if (snapshot == null) {
+                    continue;
+                }
+                List<Delta> missed = replayAfter(lastEventId);
+                if (missed == null) {
+                    send(emitter, SseEmitter.event().id(eventId(sequence)).name("snapshot")
+                            .data(new LinkedHashMap<>(snapshot), MediaType.APPLICATION_JSON));
+                } else {
+                    for (Delta delta : missed) {
+                        send(emitter, deltaEvent(delta));
+                    }
+                }
+                emitters.add(emitter);
+                return emitter;
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    // Keeps proxies from closing idle streams; carries no data, so it costs no queries
+    @Scheduled(fixedRateString = "${app.dashboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    // Today's appointments change at midnight without any write
+    @Scheduled(cron = "0 0 0 * * *")
+    public void dayChanged() {
+        markDirty(APPOINTMENTS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    void onChange(String table) {
+        switch (table) {
+            case "users" -> markDirty(USERS);
+            case "vehicles" -> markDirty(VEHICLES);
+            case "appointments" -> markDirty(APPOINTMENTS);
+            default -> markDirty(ALL);
+        }
+    }
+
+    void markDirty(int bits) {
+        dirty.getAndAccumulate(bits, (current, added) -> current | added);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.schedule(this::refresh, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void refresh() {
+        refreshScheduled.set(false);
+        int bits = dirty.getAndSet(0);
+        if (bits == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                return;
+            }
+            // Nobody is watching: forget the numbers instead of keeping them current
+            if (emitters.isEmpty()) {
+                snapshot = null;
+                recent.clear();
+                sequence++;
+                return;
+            }
+        }
+
+        Map<String, Object> values;
+        try {
+            values = compute(bits);
+        } catch (RuntimeException e) {
+            log.warn("Dashboard refresh failed, retrying in {} ms", RETRY_MS, e);
+            dirty.getAndAccumulate(bits, (current, added) -> current | added);
+            if (refreshScheduled.compareAndSet(false, true)) {
+                refresher.schedule(this::refresh, RETRY_MS, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        apply(values);
+    }
+
+    private synchronized void apply(Map<String, Object> values) {
+        if (snapshot == null) {
+            return;
+        }
+        Map<String, Object> changed = new LinkedHashMap<>();
+        values.forEach((field, value) -> {
+            if (!Objects.equals(snapshot.get(field), value)) {
+                changed.put(field, value);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        snapshot.putAll(changed);
+        Delta delta = new Delta(++sequence, changed);
+        recent.addLast(delta);
+        while (recent.size() > replaySize) {
+            recent.removeFirst();
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, deltaEvent(delta));
+        }
+    }
+
+    // The first subscriber pays for the full snapshot, on the refresher so it cannot overtake a refresh
+    private void ensureSnapshot() {
+        synchronized (this) {
+            if (snapshot != null) {
+                return;
+            }
+        }
+        try {
+            refresher.submit(() -> {
+                synchronized (this) {
+                    if (snapshot != null) {
+                        return;
+                    }
+                }
+                Map<String, Object> full = compute(ALL);
+                synchronized (this) {
+                    snapshot = full;
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the dashboard", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load the dashboard", e.getCause());
+        }
+    }
+
+    private Map<String, Object> compute(int bits) {
+        // Changes may come from other nodes, so the counters come from the database in one statement;
+        // unchanged ones are filtered out in apply()
+        AdminDashboardSnapshotDTO counters = adminDashboardService.querySnapshot();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(USER_COUNT, counters.getUserCount());
+        values.put(VEHICLE_COUNT, counters.getVehicleCount());
+        values.put(APPOINTMENT_COUNT, counters.getAppointmentCount());
+        values.put(TOTAL_EARNINGS, counters.getTotalEarnings());
+        values.put(ACTIVE_SERVICES, counters.getActiveServiceCount());
+        if ((bits & APPOINTMENTS) != 0) {
+            values.put(CONFIRMED_APPOINTMENTS, adminDashboardService.getConfirmedAppointments());
+            values.put(TODAY_APPOINTMENTS, adminDashboardService.getTodayScheduledAppointments());
+        }
+        return values;
+    }
+
+    // Null when the client has to start over from a snapshot
+    private List<Delta> replayAfter(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        long seen;
+        try {
+            seen = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (seen > sequence) {
+            return null;
+        }
+        if (seen < sequence && (recent.isEmpty() || recent.peekFirst().sequence() > seen + 1)) {
+            return null;
+        }
+        List<Delta> missed = new ArrayList<>();
+        for (Delta delta : recent) {
+            if (delta.sequence() > seen) {
+                missed.add(delta);
+            }
+        }
+        return missed;
+    }
+
+    private SseEmitter.SseEventBuilder deltaEvent(Delta delta) {
+        return SseEmitter.event().id(eventId(delta.sequence())).name("delta")
+                .data(delta.values(), MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+}
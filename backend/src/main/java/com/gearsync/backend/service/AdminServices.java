@@ -9,6 +9,9 @@ import com.gearsync.backend.repository.AppointmentRepository;
 import com.gearsync.backend.repository.ProjectRepository;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.security.UserDirectory;
+import com.gearsync.backend.util.KeysetCursor;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -31,6 +34,9 @@ public class AdminServices {
 //    private static final String ALL = UPPERCASE + LOWERCASE + DIGITS + SPECIALS;
 //    private static final SecureRandom random = new SecureRandom();
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
 
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
@@ -40,6 +46,10 @@ public class AdminServices {
     private final AppointmentRepository appointmentRepository;
     private final ProjectRepository projectRepository;
     private final VehicleRepository vehicleRepository;
+    private final UserDirectory userDirectory;
+    private final OperationalCounters operationalCounters;
+    private final ActivityNoteService activityNoteService;
+    private final WorkloadBalancer workloadBalancer;
 
 
     @Transactional
@@ -53,6 +63,7 @@ public class AdminServices {
             user.setPassword(passwordEncoder.encode(generatedPassword));
             user.setIsFirstLogin(true);
             User savedUser = userRepository.save(user);
+            operationalCounters.userAdded(savedUser.getRole());
             String username = savedUser.getFirstName() + " " + savedUser.getLastName();
             emailService.sendEmployeeWelcomeEmail(savedUser.getEmail(), username, generatedPassword, "Employee");
             Map<String, Object> response = new HashMap<>();
@@ -75,6 +86,7 @@ public class AdminServices {
             user.setPassword(passwordEncoder.encode(generatedPassword));
             user.setIsFirstLogin(true);
             User savedUser = userRepository.save(user);
+            operationalCounters.userAdded(savedUser.getRole());
             String username = savedUser.getFirstName() + savedUser.getLastName();
             emailService.sendEmployeeWelcomeEmail(savedUser.getEmail(), username, generatedPassword, "Admin");
             Map<String, Object> response = new HashMap<>();
@@ -88,14 +100,11 @@ public class AdminServices {
 
     @Transactional
     public AppointmentResponseDTO assignEmployeeToAppointment(
-            String adminEmail,
+            AuthenticatedUser admin,
             Long appointmentId,
             AssignAppointmentDTO request) {
 
-        User admin = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
-
-        if (admin.getRole() != Role.ADMIN) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can assign employees to appointments");
         }
 
@@ -122,6 +131,8 @@ public class AdminServices {
             throw new IllegalArgumentException("Cannot assign inactive employee");
         }
 
+        AppointmentStatus previousStatus = appointment.getStatus();
+        BigDecimal previousCost = appointment.getFinalCost();
         appointment.setAssignedEmployee(employee);
 
         if (appointment.getStatus() == AppointmentStatus.SCHEDULED) {
@@ -132,17 +143,18 @@ public class AdminServices {
             appointment.setFinalCost(request.getFinalCost());
         }
 
+        Appointment updated = appointmentRepository.save(appointment);
         if (request.getAdminNotes() != null && !request.getAdminNotes().isEmpty()) {
-            String timestamp = LocalDateTime.now().toString();
-            String note = String.format("[%s] Admin: %s", timestamp, request.getAdminNotes());
-
-            String existingNotes = appointment.getEmployeeNotes() != null ?
-                    appointment.getEmployeeNotes() : "";
-            appointment.setEmployeeNotes(
-                    existingNotes.isEmpty() ? note : existingNotes + "\n" + note
-            );
+            activityNoteService.addAppointmentNote(updated, admin.userId(), ActivityNote.NoteType.ADMIN_NOTE, request.getAdminNotes());
         }
-        Appointment updated = appointmentRepository.save(appointment);
+        operationalCounters.appointmentChanged(previousStatus, previousCost, updated.getStatus(), updated.getFinalCost());
+        List<Services> services = new ArrayList<>(appointment.getAppointmentServices());
+        workloadBalancer.recordAssignment(updated.getId(), employee.getId(), updated.getScheduledDateTime(),
+                services.stream()
+                        .map(Services::getEstimatedDurationMinutes)
+                        .filter(Objects::nonNull)
+                        .mapToInt(Integer::intValue)
+                        .sum());
         String customerEmail = appointment.getCustomer().getEmail();
         String vehicleRegistrationNumber = appointment.getVehicle().getRegistrationNumber();
         String customerName = appointment.getCustomer().getFirstName() + " " + appointment.getCustomer().getLastName();
@@ -150,28 +162,24 @@ public class AdminServices {
                 appointment.getFinalCost() : BigDecimal.ZERO;
         LocalDateTime scheduledDateTime = appointment.getScheduledDateTime();
         emailService.sendCustomerAppointmentConfirmation(customerEmail,vehicleRegistrationNumber,customerName,scheduledDateTime,finalCost);
-        List<Services> services = new ArrayList<>(appointment.getAppointmentServices());
         return convertAppointmentToResponseDTO(updated, services);
     }
 
 
     @Transactional
     public AppointmentResponseDTO reassignAppointmentEmployee(
-            String adminEmail,
+            AuthenticatedUser admin,
             Long appointmentId,
             AssignAppointmentDTO request) {
 
-        return assignEmployeeToAppointment(adminEmail, appointmentId, request);
+        return assignEmployeeToAppointment(admin, appointmentId, request);
     }
 
 
     @Transactional
-    public AppointmentResponseDTO unassignAppointmentEmployee(String adminEmail, Long appointmentId) {
-
-        User admin = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+    public AppointmentResponseDTO unassignAppointmentEmployee(AuthenticatedUser admin, Long appointmentId) {
 
-        if (admin.getRole() != Role.ADMIN) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can unassign employees");
         }
 
@@ -182,6 +190,7 @@ public class AdminServices {
             throw new IllegalStateException("Cannot unassign employee from appointment in progress");
         }
 
+        AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setAssignedEmployee(null);
 
         if (appointment.getStatus() == AppointmentStatus.CONFIRMED) {
@@ -189,6 +198,8 @@ public class AdminServices {
         }
 
         Appointment updated = appointmentRepository.save(appointment);
+        operationalCounters.appointmentChanged(previousStatus, updated.getFinalCost(), updated.getStatus(), updated.getFinalCost());
+        workloadBalancer.release(updated.getId());
 
         List<Services> services = new ArrayList<>(appointment.getAppointmentServices());
         return convertAppointmentToResponseDTO(updated, services);
@@ -197,14 +208,11 @@ public class AdminServices {
 
     @Transactional
     public ProjectResponseDTO approveAndAssignProject(
-            String adminEmail,
+            AuthenticatedUser admin,
             Long projectId,
             ApproveProjectDTO request) {
 
-        User admin = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
-
-        if (admin.getRole() != Role.ADMIN) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can approve projects");
         }
 
@@ -237,40 +245,34 @@ public class AdminServices {
             project.setExpectedCompletionDate(request.getExpectedCompletionDate());
         }
 
+        Project updated = projectRepository.save(project);
+
         if (request.getApprovalNotes() != null && !request.getApprovalNotes().isEmpty()) {
-            String timestamp = LocalDateTime.now().toString();
             String approvalNote = String.format(
-                    "\n\n[%s] APPROVED by Admin - Assigned to: %s %s\n" +
+                    "Assigned to: %s %s\n" +
                             "Estimated Cost: $%.2f | Duration: %d hours\n" +
                             "Notes: %s",
-                    timestamp,
                     employee.getFirstName(),
                     employee.getLastName(),
                     request.getEstimatedCost(),
                     request.getEstimatedDurationHours(),
                     request.getApprovalNotes()
             );
-
-            project.setDescription(project.getDescription() + approvalNote);
+            activityNoteService.addProjectNote(updated, admin.userId(), ActivityNote.NoteType.APPROVAL, approvalNote);
         }
 
-        Project updated = projectRepository.save(project);
-
         return convertProjectToResponseDTO(updated);
     }
 
 
     @Transactional
     public ProjectResponseDTO rejectProject(
-            String adminEmail,
+            AuthenticatedUser admin,
             Long projectId,
             RejectProjectDTO request) {
 
 
-        User admin = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
-
-        if (admin.getRole() != Role.ADMIN) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can reject projects");
         }
 
@@ -285,16 +287,9 @@ public class AdminServices {
 
         project.setStatus(ProjectStatus.REJECTED);
 
-        String timestamp = LocalDateTime.now().toString();
-        String rejectionNote = String.format(
-                "\n\n[%s] REJECTED by Admin\nReason: %s",
-                timestamp,
-                request.getRejectionReason()
-        );
-
-        project.setDescription(project.getDescription() + rejectionNote);
-
         Project updated = projectRepository.save(project);
+        activityNoteService.addProjectNote(updated, admin.userId(), ActivityNote.NoteType.REJECTION,
+                "Reason: " + request.getRejectionReason());
         String customerEmail = project.getCustomer().getEmail();
         String customerName = project.getCustomer().getFirstName() + " " + project.getCustomer().getLastName();
         String projectName = project.getProjectName();
@@ -309,15 +304,12 @@ public class AdminServices {
 
     @Transactional
     public ProjectResponseDTO assignEmployeeToProject(
-            String adminEmail,
+            AuthenticatedUser admin,
             Long projectId,
             AssignProjectDTO request) {
 
 
-        User admin = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
-
-        if (admin.getRole() != Role.ADMIN) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can assign employees to projects");
         }
 
@@ -348,32 +340,26 @@ public class AdminServices {
         project.setEstimatedCost(request.getEstimatedCost());
         project.setEstimatedDurationHours(request.getEstimatedDurationHours());
 
+        Project updated = projectRepository.save(project);
+
         if (request.getAdminNotes() != null && !request.getAdminNotes().isEmpty()) {
-            String timestamp = LocalDateTime.now().toString();
             String note = String.format(
-                    "\n\n[%s] Assignment Update - Assigned to: %s %s\nNotes: %s",
-                    timestamp,
+                    "Assigned to: %s %s\nNotes: %s",
                     employee.getFirstName(),
                     employee.getLastName(),
                     request.getAdminNotes()
             );
-
-            project.setDescription(project.getDescription() + note);
+            activityNoteService.addProjectNote(updated, admin.userId(), ActivityNote.NoteType.ASSIGNMENT, note);
         }
 
-        Project updated = projectRepository.save(project);
-
         return convertProjectToResponseDTO(updated);
     }
 
 
     @Transactional
-    public ProjectResponseDTO unassignProjectEmployee(String adminEmail, Long projectId) {
-
-        User admin = userRepository.findByEmail(adminEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+    public ProjectResponseDTO unassignProjectEmployee(AuthenticatedUser admin, Long projectId) {
 
-        if (admin.getRole() != Role.ADMIN) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can unassign employees");
         }
 
@@ -491,28 +477,53 @@ public class AdminServices {
     }
 
     @Transactional
-    public List<AppointmentSummaryDTO> getAllAppointments(String adminEmail) {
-        validateAdmin(adminEmail);
-        List<Appointment> appointments = appointmentRepository.findAll();
-        return appointments.stream()
-                .map(this::convertToAppointmentSummary)
-                .collect(Collectors.toList());
-    }
+    public CursorPageDTO<AppointmentSummaryDTO> getAppointmentsPage(
+            AuthenticatedUser admin,
+            String status,
+            Long employeeId,
+            Long customerId,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            Integer limit) {
 
-    @Transactional
-    public List<AppointmentSummaryDTO> getAppointmentsByStatus(
-            String adminEmail,
-            String status) {
+        validateAdmin(admin);
 
-        validateAdmin(adminEmail);
+        AppointmentFilterDTO filter = new AppointmentFilterDTO();
+        filter.setStatus(parseAppointmentStatus(status));
+        filter.setEmployeeId(employeeId);
+        filter.setCustomerId(customerId);
+        filter.setFrom(from);
+        filter.setTo(to);
 
-        try {
-            AppointmentStatus appointmentStatus = AppointmentStatus.valueOf(status.toUpperCase());
-            List<Appointment> appointments = appointmentRepository.findByStatus(appointmentStatus);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
 
-            return appointments.stream()
-                    .map(this::convertToAppointmentSummary)
-                    .collect(Collectors.toList());
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<AppointmentSummaryDTO> rows = appointmentRepository.findSummaryPage(
+                filter, KeysetCursor.decode(cursor), pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AppointmentSummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AppointmentSummaryDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getScheduledDateTime(), last.getId()).encode();
+        }
+
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    private AppointmentStatus parseAppointmentStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return AppointmentStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status: " + status +
                     ". Valid statuses: SCHEDULED, CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED, NO_SHOW, RESCHEDULED");
@@ -520,31 +531,23 @@ public class AdminServices {
     }
 
     @Transactional
-    public List<ProjectSummaryDTO> getAllProjects(String adminEmail) {
-
-        validateAdmin(adminEmail);
-        List<Project> projects = projectRepository.findAllWithTimeLogs();
+    public List<ProjectSummaryDTO> getAllProjects(AuthenticatedUser admin) {
 
-        return projects.stream()
-                .map(this::convertToProjectSummary)
-                .collect(Collectors.toList());
+        validateAdmin(admin);
+        return projectRepository.findAllSummaries();
     }
 
 
     @Transactional
     public List<ProjectSummaryDTO> getProjectsByStatus(
-            String adminEmail,
+            AuthenticatedUser admin,
             String status) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         try {
             ProjectStatus projectStatus = ProjectStatus.valueOf(status.toUpperCase());
-            List<Project> projects = projectRepository.findByStatusWithTimeLogs(projectStatus);
-
-            return projects.stream()
-                    .map(this::convertToProjectSummary)
-                    .collect(Collectors.toList());
+            return projectRepository.findSummariesByStatus(projectStatus);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status: " + status +
                     ". Valid statuses: PENDING, APPROVED, IN_PROGRESS, ON_HOLD, COMPLETED, CANCELLED, REJECTED");
@@ -552,33 +555,23 @@ public class AdminServices {
     }
 
     @Transactional
-    public List<AppointmentSummaryDTO> getPendingAppointments(String adminEmail) {
-        validateAdmin(adminEmail);
-        List<Appointment> appointments = appointmentRepository.findByStatus(AppointmentStatus.SCHEDULED);
-
-        return appointments.stream()
-                .filter(a -> a.getAssignedEmployee() == null)
-                .map(this::convertToAppointmentSummary)
-                .collect(Collectors.toList());
+    public List<AppointmentSummaryDTO> getPendingAppointments(AuthenticatedUser admin) {
+        validateAdmin(admin);
+        return appointmentRepository.findUnassignedSummariesByStatus(AppointmentStatus.SCHEDULED);
     }
 
     @Transactional
-    public List<ProjectSummaryDTO> getPendingProjects(String adminEmail) {
-
-        validateAdmin(adminEmail);
+    public List<ProjectSummaryDTO> getPendingProjects(AuthenticatedUser admin) {
 
-        List<Project> projects = projectRepository.findByStatus(ProjectStatus.PENDING);
-
-        return projects.stream()
-                .map(this::convertToProjectSummary)
-                .collect(Collectors.toList());
+        validateAdmin(admin);
+        return projectRepository.findSummariesByStatus(ProjectStatus.PENDING);
     }
 
 
     @Transactional
-    public EmployeeDetailDTO getEmployeeDetails(String adminEmail, Long employeeId) {
+    public EmployeeDetailDTO getEmployeeDetails(AuthenticatedUser admin, Long employeeId) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         User employee = userRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
@@ -620,12 +613,12 @@ public class AdminServices {
 
     @Transactional
     public EmployeeDetailDTO updateEmployee(
-            String adminEmail,
+            AuthenticatedUser admin,
             Long employeeId,
             UpdateEmployeeDTO request) {
 
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         User employee = userRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
@@ -640,14 +633,16 @@ public class AdminServices {
         employee.setIsActive(request.getIsActive());
 
         userRepository.save(employee);
+        userDirectory.invalidate(employee.getEmail());
+        workloadBalancer.employeeChanged(employee);
 
-        return getEmployeeDetails(adminEmail, employeeId);
+        return getEmployeeDetails(admin, employeeId);
     }
 
     @Transactional
-    public List<UserDto> getAllEmployees(String adminEmail) {
+    public List<UserDto> getAllEmployees(AuthenticatedUser admin) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         List<User> employees = userRepository.findAllEmployees();
 
@@ -666,9 +661,9 @@ public class AdminServices {
 
 
     @Transactional
-    public List<UserDto> getActiveEmployees(String adminEmail) {
+    public List<UserDto> getActiveEmployees(AuthenticatedUser admin) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         List<User> employees = userRepository.findActiveEmployees();
 
@@ -685,125 +680,13 @@ public class AdminServices {
                 .collect(Collectors.toList());
     }
 
-    private void validateAdmin(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (user.getRole() != Role.ADMIN) {
+    // The /api/admin/** matcher already enforces this; kept as an in-memory check on the resolved principal
+    private void validateAdmin(AuthenticatedUser admin) {
+        if (!admin.hasRole(Role.ADMIN)) {
             throw new UnauthorizedException("Only admins can access this resource");
         }
     }
 
-    private AppointmentSummaryDTO convertToAppointmentSummary(Appointment appointment) {
-        AppointmentSummaryDTO dto = new AppointmentSummaryDTO();
-        dto.setId(appointment.getId());
-        dto.setScheduledDateTime(appointment.getScheduledDateTime());
-        dto.setStatus(appointment.getStatus().name());
-        dto.setCustomerName(appointment.getCustomer().getFirstName() + " " + appointment.getCustomer().getLastName());
-        dto.setCustomerEmail(appointment.getCustomer().getEmail());
-        dto.setVehicleRegistrationNumber(appointment.getVehicle().getRegistrationNumber());
-        dto.setVehicleMake(appointment.getVehicle().getMake());
-        dto.setVehicleModel(appointment.getVehicle().getModel());
-
-        if (appointment.getAssignedEmployee() != null) {
-            dto.setAssignedEmployeeName(
-                    appointment.getAssignedEmployee().getFirstName() + " " +
-                            appointment.getAssignedEmployee().getLastName()
-            );
-        } else {
-            dto.setAssignedEmployeeName("Unassigned");
-        }
-
-        dto.setProgressPercentage(appointment.getProgressPercentage());
-        dto.setCreatedAt(appointment.getCreatedAt());
-        
-        // Calculate time log statistics
-        if (appointment.getTimeLogs() != null && !appointment.getTimeLogs().isEmpty()) {
-            dto.setTimeLogsCount(appointment.getTimeLogs().size());
-            int totalMinutes = appointment.getTimeLogs().stream()
-                    .mapToInt(timeLog -> {
-                        long minutes = java.time.Duration.between(
-                                timeLog.getStartTime(),
-                                timeLog.getEndTime()
-                        ).toMinutes();
-                        return (int) minutes;
-                    })
-                    .sum();
-            dto.setTotalTimeLoggedMinutes(totalMinutes);
-        } else {
-            dto.setTimeLogsCount(0);
-            dto.setTotalTimeLoggedMinutes(0);
-        }
-
-        return dto;
-    }
-
-    private ProjectSummaryDTO convertToProjectSummary(Project project) {
-        ProjectSummaryDTO dto = new ProjectSummaryDTO();
-        dto.setId(project.getId());
-        dto.setProjectName(project.getProjectName());
-        dto.setDescription(project.getDescription());
-        dto.setStatus(project.getStatus().name());
-        
-        // Customer info
-        dto.setCustomerId(project.getCustomer().getId());
-        dto.setCustomerName(project.getCustomer().getFirstName() + " " + project.getCustomer().getLastName());
-        dto.setCustomerEmail(project.getCustomer().getEmail());
-        dto.setCustomerPhone(project.getCustomer().getPhoneNumber());
-        
-        // Vehicle info
-        dto.setVehicleId(project.getVehicle().getId());
-        dto.setVehicleRegistrationNumber(project.getVehicle().getRegistrationNumber());
-        dto.setVehicleMake(project.getVehicle().getMake());
-        dto.setVehicleModel(project.getVehicle().getModel());
-        dto.setVehicleYear(project.getVehicle().getYear() != null ? String.valueOf(project.getVehicle().getYear()) : null);
-
-        // Employee assignment
-        if (project.getAssignedEmployee() != null) {
-            dto.setAssignedEmployeeId(project.getAssignedEmployee().getId());
-            dto.setAssignedEmployeeName(
-                    project.getAssignedEmployee().getFirstName() + " " +
-                            project.getAssignedEmployee().getLastName()
-            );
-            dto.setAssignedEmployeeEmail(project.getAssignedEmployee().getEmail());
-        } else {
-            dto.setAssignedEmployeeName("Unassigned");
-        }
-
-        // Cost and duration
-        dto.setEstimatedCost(project.getEstimatedCost());
-        dto.setActualCost(project.getActualCost());
-        dto.setEstimatedDurationHours(project.getEstimatedDurationHours());
-        dto.setProgressPercentage(project.getProgressPercentage());
-        
-        // Dates
-        dto.setStartDate(project.getStartDate());
-        dto.setCompletionDate(project.getCompletionDate());
-        dto.setExpectedCompletionDate(project.getExpectedCompletionDate());
-        dto.setCreatedAt(project.getCreatedAt());
-        dto.setUpdatedAt(project.getUpdatedAt());
-        
-        // Calculate time log statistics
-        if (project.getTimeLogs() != null && !project.getTimeLogs().isEmpty()) {
-            dto.setTimeLogsCount(project.getTimeLogs().size());
-            double totalHours = project.getTimeLogs().stream()
-                    .mapToDouble(timeLog -> {
-                        long minutes = java.time.Duration.between(
-                                timeLog.getStartTime(),
-                                timeLog.getEndTime()
-                        ).toMinutes();
-                        return minutes / 60.0;
-                    })
-                    .sum();
-            dto.setTotalTimeLoggedHours(totalHours);
-        } else {
-            dto.setTimeLogsCount(0);
-            dto.setTotalTimeLoggedHours(0.0);
-        }
-
-        return dto;
-    }
-
     @Transactional
     public List<AppointmentResponseDTO> getAllAppointments() {
         List<Appointment> all = appointmentRepository.findAllWithDetails();
@@ -821,9 +704,9 @@ public class AdminServices {
     }
 
     @Transactional
-    public List<VehicleSummaryDTO> getAllVehicles(String adminEmail) {
+    public List<VehicleSummaryDTO> getAllVehicles(AuthenticatedUser admin) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         List<Vehicle> vehicles = vehicleRepository.findAll();
 
@@ -833,9 +716,9 @@ public class AdminServices {
     }
 
     @Transactional
-    public List<CustomerWithVehiclesDTO> getAllCustomersWithVehicles(String adminEmail) {
+    public List<CustomerWithVehiclesDTO> getAllCustomersWithVehicles(AuthenticatedUser admin) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         List<User> customers = userRepository.findByRole(Role.CUSTOMER);
 
@@ -845,9 +728,9 @@ public class AdminServices {
     }
 
     @Transactional
-    public CustomerWithVehiclesDTO getCustomerWithVehicles(String adminEmail, Long customerId) {
+    public CustomerWithVehiclesDTO getCustomerWithVehicles(AuthenticatedUser admin, Long customerId) {
 
-        validateAdmin(adminEmail);
+        validateAdmin(admin);
 
         User customer = userRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId));
@@ -0,0 +1,42 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AppointmentRequestDTO;
+import com.gearsync.backend.dto.AppointmentResponseDTO;
+import com.gearsync.backend.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Entry point for customer bookings. Holds the bays in {@link SlotAvailability} before
+ * {@link AppointmentService#bookAppointment} opens its transaction, so when a burst of customers
+ * asks for the same few slots everyone past capacity is turned away in memory, without taking a
+ * connection or a row lock.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentBookingService {
+
+    private final AppointmentService appointmentService;
+    private final ServiceCatalog serviceCatalog;
+    private final SlotAvailability slotAvailability;
+
+    public AppointmentResponseDTO bookAppointment(AuthenticatedUser customer, AppointmentRequestDTO request) {
+        List<Long> serviceIds = request.getServiceIds();
+        // Requests the hold cannot size are left to the transactional path, which rejects them with the usual errors
+        if (request.getScheduledDateTime() == null || serviceIds == null || serviceIds.isEmpty()) {
+            return appointmentService.bookAppointment(customer, request);
+        }
+        List<ServiceCatalog.Entry> services = serviceCatalog.findAll(serviceIds);
+        if (services.size() != new HashSet<>(serviceIds).size()) {
+            return appointmentService.bookAppointment(customer, request);
+        }
+
+        try (SlotAvailability.Hold hold = slotAvailability.hold(request.getScheduledDateTime(),
+                AppointmentService.durationMinutes(services))) {
+            return appointmentService.bookAppointment(customer, request, hold);
+        }
+    }
+}
@@ -7,16 +7,20 @@ import com.gearsync.backend.repository.AppointmentRepository;
 import com.gearsync.backend.repository.ServiceRepository;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,20 +32,32 @@ public class AppointmentService {
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final ServiceRepository serviceRepository;
+    private final ServiceCatalog serviceCatalog;
+    private final OperationalCounters operationalCounters;
+    private final SlotAvailability slotAvailability;
     private final ModelMapper modelMapper;
 
     private static final Set<String> ALLOWED_CUSTOMER_STATUSES = new HashSet<>( List.of("SCHEDULED", "CONFIRMED", "RESCHEDULED") );
 
     @Transactional
-    public AppointmentResponseDTO bookAppointment(String customerEmail, AppointmentRequestDTO request) {
+    public AppointmentResponseDTO bookAppointment(AuthenticatedUser customer, AppointmentRequestDTO request) {
+        return bookAppointment(customer, request, null);
+    }
+
+    /**
+     * Books the appointment on bays already held by {@link AppointmentBookingService}, or takes
+     * them here when there is no hold or it was taken for a different booking.
+     */
+    @Transactional
+    public AppointmentResponseDTO bookAppointment(AuthenticatedUser customer, AppointmentRequestDTO request,
+                                                  SlotAvailability.Hold hold) {
 
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new UserNotFoundException("Customer not found"));
+        User customerRef = userRepository.getReferenceById(customer.userId());
 
         Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found with ID: " + request.getVehicleId()));
 
-        if (!vehicle.getOwner().getId().equals(customer.getId())) {
+        if (!vehicle.getOwner().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only book appointments for your own vehicles");
         }
 
@@ -49,57 +65,130 @@ public class AppointmentService {
             throw new IllegalArgumentException("Cannot schedule appointment in the past");
         }
 
-        if (appointmentRepository.existsByCustomerAndScheduledDateTime(
-                customer, request.getScheduledDateTime())) {
-            throw new DuplicateResourceException(
-                    "You already have an appointment scheduled at " + request.getScheduledDateTime()
-            );
-        }
-
         if (request.getServiceIds().isEmpty()) {
             throw new IllegalArgumentException("At least one service must be selected");
         }
 
-        List<Services> services = serviceRepository.findAllById(request.getServiceIds());
+        List<ServiceCatalog.Entry> services = serviceCatalog.findAll(request.getServiceIds());
 
         if (services.size() != request.getServiceIds().size()) {
             throw new ResourceNotFoundException("One or more services not found");
         }
 
-        for (Services service : services) {
-            if (!service.getIsActive()) {
-                throw new IllegalArgumentException("Services '" + service.getServiceName() + "' is not available");
+        for (ServiceCatalog.Entry service : services) {
+            if (!service.active()) {
+                throw new IllegalArgumentException("Services '" + service.serviceName() + "' is not available");
             }
         }
 
+        int durationMinutes = durationMinutes(services);
+        LocalDateTime scheduledEnd = scheduledEnd(request.getScheduledDateTime(), durationMinutes);
+        ensureNoOverlap(customer.userId(), vehicle.getId(), 0L, request.getScheduledDateTime(), scheduledEnd);
+        slotAvailability.lockAcrossNodes(0L, request.getScheduledDateTime(), durationMinutes);
+
         BigDecimal estimatedCost = services.stream()
-                .map(Services::getBasePrice)
+                .map(ServiceCatalog.Entry::basePrice)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        Integer totalDuration = services.stream()
-                .mapToInt(Services::getEstimatedDurationMinutes)
-                .sum();
-
-
         Appointment appointment = new Appointment();
-        appointment.setCustomer(customer);
+        appointment.setCustomer(customerRef);
         appointment.setVehicle(vehicle);
         appointment.setScheduledDateTime(request.getScheduledDateTime());
+        appointment.setScheduledEndDateTime(scheduledEnd);
         appointment.setStatus(AppointmentStatus.SCHEDULED);
         appointment.setCustomerNotes(request.getCustomerNotes());
         appointment.setProgressPercentage(0);
         appointment.setFinalCost(estimatedCost);
 
-        appointment.setAppointmentServices(new HashSet<>(services));
+        appointment.setAppointmentServices(serviceReferences(services));
+
+        Appointment savedAppointment = saveAndCheckOverlap(appointment);
+        if (hold != null && hold.matches(savedAppointment.getScheduledDateTime(), durationMinutes)) {
+            slotAvailability.claim(hold, savedAppointment.getId());
+        } else {
+            slotAvailability.reserve(savedAppointment.getId(), savedAppointment.getScheduledDateTime(), durationMinutes);
+        }
+        operationalCounters.appointmentCreated(savedAppointment.getStatus(), savedAppointment.getFinalCost());
+
+        return convertToResponseDTO(savedAppointment, services.stream()
+                .map(ServiceCatalog.Entry::toSummary)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Free start times on a day for the given services, or for a plain duration when no services
+     * are named. Served from {@link SlotAvailability} without a database round trip.
+     */
+    public AvailabilityDTO getAvailability(LocalDate date, List<Long> serviceIds, Integer durationMinutes) {
+        if (serviceIds != null && !serviceIds.isEmpty()) {
+            List<ServiceCatalog.Entry> services = serviceCatalog.findAll(serviceIds);
+            if (services.size() != new HashSet<>(serviceIds).size()) {
+                throw new ResourceNotFoundException("One or more services not found");
+            }
+            return slotAvailability.availability(date, durationMinutes(services));
+        }
+        if (durationMinutes == null || durationMinutes < 1) {
+            throw new IllegalArgumentException("Either serviceIds or a positive durationMinutes is required");
+        }
+        return slotAvailability.availability(date, durationMinutes);
+    }
+
+    // Index-backed pre-check for a readable 409. The native query auto-flushes pending changes first,
+    // so on an update the exclusion constraints may be what answers it
+    private void ensureNoOverlap(Long customerId, Long vehicleId, Long excludeId, LocalDateTime start, LocalDateTime end) {
+        boolean overlapping;
+        try {
+            overlapping = appointmentRepository.existsOverlapping(customerId, vehicleId, excludeId, start, end);
+        } catch (DataIntegrityViolationException e) {
+            if (!AppointmentOverlapException.isOverlap(e)) {
+                throw e;
+            }
+            overlapping = true;
+        }
+        if (overlapping) {
+            throw new AppointmentOverlapException("You already have an appointment for you or this vehicle between "
+                    + start + " and " + end);
+        }
+    }
+
+    // A concurrent booking that passed the same pre-check is only stopped by the exclusion constraints;
+    // flushing here turns that into a 409 inside the request instead of a failed commit
+    private Appointment saveAndCheckOverlap(Appointment appointment) {
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (AppointmentOverlapException.isOverlap(e)) {
+                throw new AppointmentOverlapException("Another booking for you or this vehicle overlaps "
+                        + appointment.getScheduledDateTime() + " to " + appointment.getScheduledEndDateTime());
+            }
+            throw e;
+        }
+    }
+
+    // Matches the span SlotAvailability holds a bay for, so an appointment never has an empty range
+    static LocalDateTime scheduledEnd(LocalDateTime start, int durationMinutes) {
+        return start.plusMinutes(Math.max(durationMinutes, 1));
+    }
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+    // A bay is held for the summed estimates of the booked services
+    static int durationMinutes(Collection<ServiceCatalog.Entry> services) {
+        return services.stream()
+                .map(ServiceCatalog.Entry::estimatedDurationMinutes)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
 
-        return convertToResponseDTO(savedAppointment, services);
+    // Catalog entries are validated in memory; the join rows only need the ids, so no select is issued
+    private Set<Services> serviceReferences(List<ServiceCatalog.Entry> services) {
+        return services.stream()
+                .map(service -> serviceRepository.getReferenceById(service.id()))
+                .collect(Collectors.toCollection(HashSet::new));
     }
 
     private AppointmentResponseDTO convertToResponseDTO(
             Appointment appointment,
-            List<Services> services) {
+            List<ServiceSummaryDTO> serviceSummaries) {
 
         AppointmentResponseDTO dto = new AppointmentResponseDTO();
         dto.setId(appointment.getId());
@@ -123,21 +212,10 @@ public class AppointmentService {
         dto.setVehicleModel(vehicle.getModel());
         dto.setVehicleYear(String.valueOf(vehicle.getYear()));
 
-        List<ServiceSummaryDTO> serviceSummaries = services.stream()
-                .map(service -> {
-                    ServiceSummaryDTO summary = new ServiceSummaryDTO();
-                    summary.setId(service.getId());
-                    summary.setServiceName(service.getServiceName());
-                    summary.setCategory(service.getCategory().name());
-                    summary.setBasePrice(service.getBasePrice());
-                    summary.setEstimatedDurationMinutes(service.getEstimatedDurationMinutes());
-                    return summary;
-                })
-                .collect(Collectors.toList());
         dto.setServices(serviceSummaries);
 
-        BigDecimal estimatedCost = services.stream()
-                .map(Services::getBasePrice)
+        BigDecimal estimatedCost = serviceSummaries.stream()
+                .map(ServiceSummaryDTO::getBasePrice)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         dto.setEstimatedCost(estimatedCost);
 
@@ -157,11 +235,8 @@ public class AppointmentService {
     }
 
     @Transactional
-    public List<MyAppointmentDTO> getMyAppointments(String customerEmail) {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
-        List<Appointment> appointments = appointmentRepository.findAllByCustomerId(customer.getId());
+    public List<MyAppointmentDTO> getMyAppointments(AuthenticatedUser customer) {
+        List<Appointment> appointments = appointmentRepository.findAllByCustomerId(customer.userId());
 
         return appointments.stream().map(appointment -> {
             MyAppointmentDTO dto = new MyAppointmentDTO();
@@ -185,14 +260,11 @@ public class AppointmentService {
     }
 
     @Transactional
-    public MyAppointmentDTO getAppointmentById(String customerEmail, Long appointmentId) {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
+    public MyAppointmentDTO getAppointmentById(AuthenticatedUser customer, Long appointmentId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
 
-        if (!appointment.getCustomer().getId().equals(customer.getId())) {
+        if (!appointment.getCustomer().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only view your own appointments");
         }
 
@@ -202,17 +274,14 @@ public class AppointmentService {
 
     @Transactional
     public UpdateAppointmentRequestDTO updateAppointment(
-            String customerEmail,
+            AuthenticatedUser customer,
             Long appointmentId,
             UpdateAppointmentRequestDTO request) {
 
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with ID: " + appointmentId));
 
-        if (!appointment.getCustomer().getId().equals(customer.getId())) {
+        if (!appointment.getCustomer().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only update your own appointments");
         }
 
@@ -228,34 +297,39 @@ public class AppointmentService {
             throw new IllegalStateException("Cannot update a cancelled appointment");
         }
 
+        AppointmentStatus previousStatus = appointment.getStatus();
         boolean isUpdated = false;
+        boolean vehicleChanged = false;
+        Integer newDurationMinutes = null;
 
         if (request.getVehicleId() != null && !request.getVehicleId().equals(appointment.getVehicle().getId())) {
             Vehicle newVehicle = vehicleRepository.findById(request.getVehicleId())
                     .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + request.getVehicleId()));
 
-            if (!newVehicle.getOwner().getId().equals(customer.getId())) {
+            if (!newVehicle.getOwner().getId().equals(customer.userId())) {
                 throw new UnauthorizedException("You can only select your own vehicles");
             }
 
             appointment.setVehicle(newVehicle);
+            vehicleChanged = true;
             isUpdated = true;
         }
 
         if (request.getServiceIds() != null && !request.getServiceIds().isEmpty()) {
-            List<Services> newServices = serviceRepository.findAllById(request.getServiceIds());
+            List<ServiceCatalog.Entry> newServices = serviceCatalog.findAll(request.getServiceIds());
 
             if (newServices.size() != request.getServiceIds().size()) {
                 throw new ResourceNotFoundException("One or more services not found");
             }
 
-            for (Services service : newServices) {
-                if (!service.getIsActive()) {
-                    throw new IllegalArgumentException("Service '" + service.getServiceName() + "' is not available");
+            for (ServiceCatalog.Entry service : newServices) {
+                if (!service.active()) {
+                    throw new IllegalArgumentException("Service '" + service.serviceName() + "' is not available");
                 }
             }
             appointment.getAppointmentServices().clear();
-            appointment.setAppointmentServices(new HashSet<>(newServices));
+            appointment.setAppointmentServices(serviceReferences(newServices));
+            newDurationMinutes = durationMinutes(newServices);
             isUpdated = true;
         }
 
@@ -266,27 +340,15 @@ public class AppointmentService {
                 throw new IllegalArgumentException("Cannot schedule appointment in the past");
             }
 
-            boolean hasConflict = appointmentRepository.existsByCustomerAndScheduledDateTime(
-                    customer.getId(), request.getScheduledDateTime());
-
-            if (hasConflict) {
-                List<Appointment> conflictingAppointments = appointmentRepository
-                        .findByCustomerIdAndStatus(customer.getId(), AppointmentStatus.SCHEDULED);
-
-                boolean isDifferentAppointment = conflictingAppointments.stream()
-                        .filter(a -> a.getScheduledDateTime().equals(request.getScheduledDateTime()))
-                        .anyMatch(a -> !a.getId().equals(appointmentId));
-
-                if (isDifferentAppointment) {
-                    throw new DuplicateResourceException(
-                            "You already have an appointment scheduled at " + request.getScheduledDateTime()
-                    );
-                }
-            }
             appointment.setScheduledDateTime(request.getScheduledDateTime());
             if (appointment.getStatus() == AppointmentStatus.CONFIRMED) {
                 appointment.setStatus(AppointmentStatus.RESCHEDULED);
             }
+            if (newDurationMinutes == null) {
+                newDurationMinutes = durationMinutes(serviceCatalog.findAll(appointment.getAppointmentServices().stream()
+                        .map(Services::getId)
+                        .collect(Collectors.toList())));
+            }
             isUpdated = true;
         }
 
@@ -299,7 +361,25 @@ public class AppointmentService {
             throw new IllegalArgumentException("No valid fields provided for update");
         }
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        if (newDurationMinutes != null) {
+            appointment.setScheduledEndDateTime(scheduledEnd(appointment.getScheduledDateTime(), newDurationMinutes));
+        }
+
+        // Only a new range or vehicle can start to overlap; the flush below settles any race with the constraints
+        if ((newDurationMinutes != null || vehicleChanged) && SlotAvailability.OCCUPYING.contains(appointment.getStatus())) {
+            ensureNoOverlap(customer.userId(), appointment.getVehicle().getId(), appointmentId,
+                    appointment.getScheduledDateTime(), appointment.getScheduledEndDateTime());
+        }
+
+        // A new time or service list moves the booked bay; a full range rejects the whole update
+        if (newDurationMinutes != null && SlotAvailability.OCCUPYING.contains(appointment.getStatus())) {
+            slotAvailability.lockAcrossNodes(appointmentId, appointment.getScheduledDateTime(), newDurationMinutes);
+            slotAvailability.reserve(appointmentId, appointment.getScheduledDateTime(), newDurationMinutes);
+        }
+
+        Appointment updatedAppointment = saveAndCheckOverlap(appointment);
+        operationalCounters.appointmentChanged(previousStatus, updatedAppointment.getFinalCost(),
+                updatedAppointment.getStatus(), updatedAppointment.getFinalCost());
         UpdateAppointmentRequestDTO updateAppointmentRequestDTO = new UpdateAppointmentRequestDTO();
         updateAppointmentRequestDTO.setVehicleId(updatedAppointment.getVehicle().getId());
         updateAppointmentRequestDTO.setScheduledDateTime(updatedAppointment.getScheduledDateTime());
@@ -313,15 +393,12 @@ public class AppointmentService {
     }
 
     @Transactional
-    public AppointmentResponseDTO cancelAppointment(String customerEmail, Long appointmentId) {
-
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    public AppointmentResponseDTO cancelAppointment(AuthenticatedUser customer, Long appointmentId) {
 
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
 
-        if (!appointment.getCustomer().getId().equals(customer.getId())) {
+        if (!appointment.getCustomer().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only cancel your own appointments");
         }
 
@@ -333,17 +410,24 @@ public class AppointmentService {
             throw new IllegalStateException("Cannot cancel a completed appointment");
         }
 
+        AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(AppointmentStatus.CANCELLED);
         Appointment updated = appointmentRepository.save(appointment);
-        List<Services> services = new ArrayList<>(appointment.getAppointmentServices());
+        slotAvailability.release(appointmentId);
+        operationalCounters.appointmentChanged(previousStatus, updated.getFinalCost(), updated.getStatus(), updated.getFinalCost());
+        List<ServiceSummaryDTO> services = appointment.getAppointmentServices().stream()
+                .map(service -> new ServiceSummaryDTO(
+                        service.getId(),
+                        service.getServiceName(),
+                        service.getCategory().name(),
+                        service.getBasePrice(),
+                        service.getEstimatedDurationMinutes()))
+                .collect(Collectors.toList());
         return convertToResponseDTO(updated, services);
     }
 
     @Transactional
-    public void deleteAppointment(String customerEmail, Long appointmentId) {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
+    public void deleteAppointment(AuthenticatedUser customer, Long appointmentId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
 
@@ -353,12 +437,14 @@ public class AppointmentService {
             throw new IllegalStateException("Only appointments with status SCHEDULED, CONFIRMED, or RESCHEDULED can be deleted");
         }
 
-        if (!appointment.getCustomer().getId().equals(customer.getId())) {
+        if (!appointment.getCustomer().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only delete your own appointments");
         }
 
         appointmentRepository.deleteById(appointment.getId());
         appointmentRepository.flush();
+        slotAvailability.release(appointment.getId());
+        operationalCounters.appointmentDeleted(appointment.getStatus(), appointment.getFinalCost());
     }
 
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
+    private final OperationalCounters operationalCounters;
 
     public boolean isEmailRegistered(String email) {
         return userRepository.findByEmail(email).isPresent();
@@ -23,7 +24,9 @@ public class AuthService {
     public User register(UserRegisterDTO userRegisterDTO) {
         User user = modelMapper.map(userRegisterDTO, User.class);
         user.setPassword(passwordEncoder.encode(userRegisterDTO.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        operationalCounters.userAdded(saved.getRole());
+        return saved;
     }
 
     public boolean authenticate(String email, String rawPassword) {
@@ -0,0 +1,222 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AppointmentResponseDTO;
+import com.gearsync.backend.dto.AssignAppointmentDTO;
+import com.gearsync.backend.dto.AutoAssignResultDTO;
+import com.gearsync.backend.dto.EmployeeSkillsDTO;
+import com.gearsync.backend.dto.EmployeeWorkloadDTO;
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.Appointment;
+import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.ServiceCategory;
+import com.gearsync.backend.model.Services;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns appointments to employees through {@link WorkloadBalancer}: one at a time, reusing the
+ * manual assignment path, or every unassigned appointment of a day at once. The batch claims its
+ * rows with {@code for update skip locked}, plans them in memory and writes one update per
+ * employee, so thousands of appointments cost a handful of statements rather than a round trip
+ * each.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutoAssignmentService {
+
+    // Bound on ids per in-list, well below the driver's bind parameter limit
+    static final int CHUNK_SIZE = 1000;
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final WorkloadBalancer workloadBalancer;
+    private final AdminServices adminServices;
+    private final OperationalCounters operationalCounters;
+    private final EmailService emailService;
+
+    @Transactional
+    public AppointmentResponseDTO autoAssignAppointment(AuthenticatedUser admin, Long appointmentId) {
+        validateAdmin(admin);
+
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with ID: " + appointmentId));
+
+        if (!SlotAvailability.OCCUPYING.contains(appointment.getStatus())
+                || appointment.getStatus() == AppointmentStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Cannot assign an employee to an appointment that is " + appointment.getStatus());
+        }
+
+        if (appointment.getAssignedEmployee() != null) {
+            throw new IllegalStateException("Appointment already has an assigned employee");
+        }
+
+        int minutes = 0;
+        List<ServiceCategory> categories = new ArrayList<>();
+        for (Services service : appointment.getAppointmentServices()) {
+            minutes += service.getEstimatedDurationMinutes() != null ? service.getEstimatedDurationMinutes() : 0;
+            categories.add(service.getCategory());
+        }
+
+        Long employeeId = workloadBalancer.autoAssign(new WorkloadBalancer.Job(
+                appointmentId, appointment.getScheduledDateTime(), minutes, WorkloadBalancer.skillMask(categories)));
+        if (employeeId == null) {
+            throw new IllegalStateException("No employee with the required skills is free at " + appointment.getScheduledDateTime());
+        }
+        requireAssignable(List.of(employeeId));
+
+        return adminServices.assignEmployeeToAppointment(admin, appointmentId, new AssignAppointmentDTO(employeeId, null, null));
+    }
+
+    /**
+     * Assigns every unassigned, scheduled appointment on the given day. Appointments nobody can
+     * take (missing skills, outside every shift, no free employee) are left for the admin and
+     * listed in the result.
+     */
+    @Transactional
+    public AutoAssignResultDTO autoAssignDay(AuthenticatedUser admin, LocalDate date) {
+        validateAdmin(admin);
+
+        List<Long> ids = appointmentRepository.lockUnassignedIdsBetween(
+                AppointmentStatus.SCHEDULED, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+        Map<Long, WorkloadBalancer.Job> jobs = new LinkedHashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            Map<Long, List<ServiceCategory>> categories = new HashMap<>();
+            Map<Long, Integer> minutes = new HashMap<>();
+            Map<Long, LocalDateTime> starts = new LinkedHashMap<>();
+            for (Object[] row : appointmentRepository.findJobServices(chunk)) {
+                Long id = (Long) row[0];
+                starts.put(id, (LocalDateTime) row[1]);
+                categories.computeIfAbsent(id, key -> new ArrayList<>()).add((ServiceCategory) row[2]);
+                minutes.merge(id, row[3] != null ? ((Number) row[3]).intValue() : 0, Integer::sum);
+            }
+            starts.forEach((id, start) -> jobs.put(id, new WorkloadBalancer.Job(
+                    id, start, minutes.get(id), WorkloadBalancer.skillMask(categories.get(id)))));
+        }
+
+        Map<Long, Long> plan = workloadBalancer.autoAssignAll(new ArrayList<>(jobs.values()));
+
+        Map<Long, List<Long>> byEmployee = new LinkedHashMap<>();
+        plan.forEach((appointmentId, employeeId) ->
+                byEmployee.computeIfAbsent(employeeId, key -> new ArrayList<>()).add(appointmentId));
+        requireAssignable(byEmployee.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        byEmployee.forEach((employeeId, appointmentIds) -> {
+            User employee = userRepository.getReferenceById(employeeId);
+            for (List<Long> chunk : chunks(appointmentIds)) {
+                appointmentRepository.assignEmployee(chunk, employee, AppointmentStatus.CONFIRMED, now);
+            }
+        });
+
+        for (List<Long> chunk : chunks(new ArrayList<>(plan.keySet()))) {
+            for (Object[] row : appointmentRepository.findConfirmationDetails(chunk)) {
+                BigDecimal finalCost = row[6] != null ? (BigDecimal) row[6] : BigDecimal.ZERO;
+                operationalCounters.appointmentChanged(AppointmentStatus.SCHEDULED, finalCost,
+                        AppointmentStatus.CONFIRMED, finalCost);
+                emailService.sendCustomerAppointmentConfirmation((String) row[1], (String) row[4],
+                        row[2] + " " + row[3], (LocalDateTime) row[5], finalCost);
+            }
+        }
+
+        List<Long> unassigned = new ArrayList<>();
+        for (Long id : ids) {
+            if (!plan.containsKey(id)) {
+                unassigned.add(id);
+            }
+        }
+        return new AutoAssignResultDTO(date, ids.size(), plan.size(), unassigned, workloadBalancer.workload(date));
+    }
+
+    public List<EmployeeWorkloadDTO> getWorkload(AuthenticatedUser admin, LocalDate date) {
+        validateAdmin(admin);
+        return workloadBalancer.workload(date);
+    }
+
+    @Transactional
+    public EmployeeSkillsDTO updateEmployeeSkills(AuthenticatedUser admin, Long employeeId, EmployeeSkillsDTO request) {
+        validateAdmin(admin);
+
+        if ((request.getShiftStart() == null) != (request.getShiftEnd() == null)) {
+            throw new IllegalArgumentException("Shift start and end must be given together");
+        }
+        if (request.getShiftStart() != null && !request.getShiftStart().isBefore(request.getShiftEnd())) {
+            throw new IllegalArgumentException("Shift start must be before shift end");
+        }
+
+        User employee = userRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
+
+        if (employee.getRole() != Role.EMPLOYEE && employee.getRole() != Role.ADMIN) {
+            throw new IllegalArgumentException("User is not an employee");
+        }
+
+        employee.getSkills().clear();
+        employee.getSkills().addAll(request.getSkills());
+        employee.setShiftStart(request.getShiftStart());
+        employee.setShiftEnd(request.getShiftEnd());
+        userRepository.save(employee);
+        workloadBalancer.employeeChanged(employee);
+
+        return new EmployeeSkillsDTO(new HashSet<>(employee.getSkills()), employee.getShiftStart(), employee.getShiftEnd());
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    // The /api/admin/** matcher already enforces this; kept as an in-memory check on the resolved principal
+    /**
+     * The balancer's worker set is only as fresh as its last reload. An employee it picked who has
+     * since been deactivated or changed role is dropped from it and the request fails, rolling back
+     * the in-memory booking; retrying then plans without them. Checked here rather than left to
+     * the assignment path, whose rejection would already have doomed the transaction.
+     */
+    private void requireAssignable(Collection<Long> employeeIds) {
+        Set<Long> assignable = new HashSet<>();
+        for (User employee : userRepository.findAllById(employeeIds)) {
+            if (employee.getRole() == Role.EMPLOYEE && Boolean.TRUE.equals(employee.getIsActive())) {
+                assignable.add(employee.getId());
+            }
+        }
+
+        List<Long> stale = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            if (!assignable.contains(employeeId)) {
+                workloadBalancer.forgetWorker(employeeId);
+                stale.add(employeeId);
+            }
+        }
+        if (!stale.isEmpty()) {
+            throw new IllegalStateException("Employees " + stale + " can no longer take appointments; try again");
+        }
+    }
+
+    private void validateAdmin(AuthenticatedUser admin) {
+        if (!admin.hasRole(Role.ADMIN)) {
+            throw new UnauthorizedException("Only admins can access this resource");
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.ImportJobDTO;
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.*;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Streams admin CSV uploads of customers, vehicles or employees into the database.
+ * The upload is spooled to a temp file and processed on a background worker in chunks.
+ * Each chunk is validated, checked for duplicates with one set-based query and written
+ * through {@link BulkWriteService}. Welcome mails for new accounts are queued in the email outbox.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 200;
+
+    // How long a finished job's report stays pollable before it is dropped from memory
+    static final Duration JOB_RETENTION = Duration.ofHours(24);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    // Never matches a BCrypt check; imported users choose their password through forgot-password
+    static final String UNUSABLE_PASSWORD = "!";
+
+    private static final Map<ImportType, List<String>> REQUIRED_COLUMNS = Map.of(
+            ImportType.CUSTOMERS, List.of("email", "firstname", "lastname", "phonenumber"),
+            ImportType.EMPLOYEES, List.of("email", "firstname", "lastname", "phonenumber"),
+            ImportType.VEHICLES, List.of("owneremail", "registrationnumber", "make", "model", "year", "color")
+    );
+
+    private final UserRepository userRepository;
+    private final VehicleRepository vehicleRepository;
+    private final BulkWriteService bulkWriteService;
+    private final EmailService emailService;
+    private final OperationalCounters operationalCounters;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    public ImportJobDTO startImport(AuthenticatedUser admin, String type, MultipartFile file) throws IOException {
+        requireAdmin(admin);
+
+        ImportType importType = parseImportType(type);
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is required");
+        }
+
+        Path upload = Files.createTempFile("gearsync-import-", ".csv");
+        file.transferTo(upload);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), importType, file.getOriginalFilename());
+        jobs.put(job.id, job);
+        worker.submit(() -> runImport(job, upload));
+        return job.toDTO();
+    }
+
+    public ImportJobDTO getImportJob(AuthenticatedUser admin, String jobId) {
+        requireAdmin(admin);
+
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Scheduled(fixedDelayString = "${app.import.job-eviction-ms:3600000}")
+    public void evictFinishedJobs() {
+        evictFinishedJobs(LocalDateTime.now());
+    }
+
+    void evictFinishedJobs(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    void runImport(ImportJob job, Path upload) {
+        job.status = ImportStatus.RUNNING;
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(upload, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(csv, job.type);
+            Set<String> seenKeys = new HashSet<>();
+            List<CsvRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+            int rowNumber = 1;
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                rowNumber++;
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                chunk.add(new CsvRow(rowNumber, record, columns));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(job, chunk, seenKeys);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, seenKeys);
+            }
+            job.status = ImportStatus.COMPLETED;
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.id, e);
+            job.addError(e.getMessage());
+            job.status = ImportStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            // Imported rows bypass the per-write counter updates
+            reconcileCounters(job);
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import upload {}", upload, e);
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader(CsvReader csv, ImportType type) throws IOException {
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT).replace("_", "");
+            columns.putIfAbsent(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS.get(type)) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private void processChunk(ImportJob job, List<CsvRow> chunk, Set<String> seenKeys) {
+        switch (job.type) {
+            case CUSTOMERS -> importUsers(job, chunk, seenKeys, Role.CUSTOMER);
+            case EMPLOYEES -> importUsers(job, chunk, seenKeys, Role.EMPLOYEE);
+            case VEHICLES -> importVehicles(job, chunk, seenKeys);
+        }
+        job.processedRows.addAndGet(chunk.size());
+    }
+
+    private void importUsers(ImportJob job, List<CsvRow> chunk, Set<String> seenKeys, Role role) {
+        List<Pending<User>> candidates = new ArrayList<>();
+        for (CsvRow row : chunk) {
+            String email = row.get("email");
+            String firstName = row.get("firstname");
+            String lastName = row.get("lastname");
+            String phoneNumber = row.get("phonenumber");
+
+            if (email.isEmpty() || firstName.isEmpty() || lastName.isEmpty() || phoneNumber.isEmpty()) {
+                job.reject(row, "Email, first name, last name and phone number are required");
+            } else if (!EMAIL_PATTERN.matcher(email).matches()) {
+                job.reject(row, "Invalid email: " + email);
+            } else if (!seenKeys.add(email)) {
+                job.reject(row, "Duplicate email in file: " + email);
+            } else {
+                User user = new User();
+                user.setEmail(email);
+                user.setFirstName(firstName);
+                user.setLastName(lastName);
+                user.setPhoneNumber(phoneNumber);
+                user.setRole(role);
+                user.setPassword(UNUSABLE_PASSWORD);
+                user.setIsFirstLogin(true);
+                candidates.add(new Pending<>(row, user));
+            }
+        }
+
+        Set<String> existing = candidates.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingEmails(
+                        candidates.stream().map(p -> p.entity().getEmail()).toList()));
+
+        List<Pending<User>> fresh = new ArrayList<>(candidates.size());
+        for (Pending<User> candidate : candidates) {
+            if (existing.contains(candidate.entity().getEmail())) {
+                job.reject(candidate.row(), "Email already registered: " + candidate.entity().getEmail());
+            } else {
+                fresh.add(candidate);
+            }
+        }
+
+        List<User> saved = persist(job, fresh);
+        if (!saved.isEmpty()) {
+            // The accounts are already committed and the mails run in a transaction of their own,
+            // so a failed enqueue only loses this chunk's mails
+            try {
+                emailService.sendImportedAccountWelcomeEmails(saved, role == Role.CUSTOMER ? "Customer" : "Employee");
+            } catch (RuntimeException e) {
+                log.error("Could not queue {} welcome emails for import job {}", saved.size(), job.id, e);
+            }
+        }
+    }
+
+    private void importVehicles(ImportJob job, List<CsvRow> chunk, Set<String> seenKeys) {
+        List<Pending<Vehicle>> candidates = new ArrayList<>();
+        Map<Pending<Vehicle>, String> ownerEmails = new IdentityHashMap<>();
+        for (CsvRow row : chunk) {
+            String ownerEmail = row.get("owneremail");
+            String registrationNumber = row.get("registrationnumber");
+            String make = row.get("make");
+            String model = row.get("model");
+            String color = row.get("color");
+
+            if (ownerEmail.isEmpty() || registrationNumber.isEmpty() || make.isEmpty()
+                    || model.isEmpty() || color.isEmpty() || row.get("year").isEmpty()) {
+                job.reject(row, "Owner email, registration number, make, model, year and color are required");
+                continue;
+            }
+
+            Integer year = row.getInt("year");
+            Integer mileage = row.get("mileage").isEmpty() ? null : row.getInt("mileage");
+            if (year == null || (!row.get("mileage").isEmpty() && mileage == null)) {
+                job.reject(row, "Year and mileage must be whole numbers");
+            } else if (!seenKeys.add(registrationNumber)) {
+                job.reject(row, "Duplicate registration number in file: " + registrationNumber);
+            } else {
+                Vehicle vehicle = new Vehicle();
+                vehicle.setRegistrationNumber(registrationNumber);
+                vehicle.setMake(make);
+                vehicle.setModel(model);
+                vehicle.setYear(year);
+                vehicle.setColor(color);
+                vehicle.setVinNumber(row.get("vinnumber").isEmpty() ? null : row.get("vinnumber"));
+                vehicle.setMileage(mileage);
+                Pending<Vehicle> pending = new Pending<>(row, vehicle);
+                candidates.add(pending);
+                ownerEmails.put(pending, ownerEmail);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Map<String, User> owners = userRepository.findByEmailIn(new HashSet<>(ownerEmails.values())).stream()
+                .filter(user -> user.getRole() == Role.CUSTOMER)
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+        Set<String> existing = new HashSet<>(vehicleRepository.findExistingRegistrationNumbers(
+                candidates.stream().map(p -> p.entity().getRegistrationNumber()).toList()));
+
+        List<Pending<Vehicle>> fresh = new ArrayList<>(candidates.size());
+        for (Pending<Vehicle> candidate : candidates) {
+            User owner = owners.get(ownerEmails.get(candidate));
+            if (owner == null) {
+                job.reject(candidate.row(), "No customer with email: " + ownerEmails.get(candidate));
+            } else if (existing.contains(candidate.entity().getRegistrationNumber())) {
+                job.reject(candidate.row(), "Vehicle already registered: " + candidate.entity().getRegistrationNumber());
+            } else {
+                candidate.entity().setOwner(owner);
+                fresh.add(candidate);
+            }
+        }
+
+        persist(job, fresh);
+    }
+
+    private <T> List<T> persist(ImportJob job, List<Pending<T>> pending) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        List<T> entities = pending.stream().map(Pending::entity).toList();
+        try {
+            bulkWriteService.insertAll(entities);
+            job.importedRows.addAndGet(entities.size());
+            return entities;
+        } catch (RuntimeException e) {
+            // A concurrent write took one of the keys after the pre-check; isolate it row by row
+            log.warn("Import job {} batch insert failed, retrying rows individually", job.id, e);
+            List<T> saved = new ArrayList<>();
+            for (Pending<T> row : pending) {
+                try {
+                    bulkWriteService.insertAll(List.of(row.entity()));
+                    job.importedRows.incrementAndGet();
+                    saved.add(row.entity());
+                } catch (RuntimeException rowFailure) {
+                    job.reject(row.row(), "Could not be saved: " + rootMessage(rowFailure));
+                }
+            }
+            return saved;
+        }
+    }
+
+    private void reconcileCounters(ImportJob job) {
+        if (job.importedRows.get() == 0) {
+            return;
+        }
+        try {
+            operationalCounters.reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Counter reconciliation after import job {} failed", job.id, e);
+        }
+    }
+
+    private void requireAdmin(AuthenticatedUser admin) {
+        if (!admin.hasRole(Role.ADMIN)) {
+            throw new UnauthorizedException("Only admins can import data");
+        }
+    }
+
+    private ImportType parseImportType(String type) {
+        try {
+            return ImportType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid import type: " + type
+                    + ". Valid types are: customers, vehicles, employees");
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private record Pending<T>(CsvRow row, T entity) {
+    }
+
+    record CsvRow(int number, List<String> values, Map<String, Integer> columns) {
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return "";
+            }
+            return values.get(index).trim();
+        }
+
+        Integer getInt(String column) {
+            try {
+                return Integer.valueOf(get(column));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    static class ImportJob {
+        final String id;
+        final ImportType type;
+        final String fileName;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicInteger processedRows = new AtomicInteger();
+        final AtomicInteger importedRows = new AtomicInteger();
+        final AtomicInteger failedRows = new AtomicInteger();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        volatile ImportStatus status = ImportStatus.QUEUED;
+        volatile LocalDateTime finishedAt;
+
+        ImportJob(String id, ImportType type, String fileName) {
+            this.id = id;
+            this.type = type;
+            this.fileName = fileName;
+        }
+
+        void reject(CsvRow row, String reason) {
+            failedRows.incrementAndGet();
+            addError("Row " + row.number() + ": " + reason);
+        }
+
+        void addError(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        ImportJobDTO toDTO() {
+            List<String> errorSnapshot;
+            synchronized (errors) {
+                errorSnapshot = new ArrayList<>(errors);
+            }
+            return new ImportJobDTO(
+                    id,
+                    type.name(),
+                    status.name(),
+                    fileName,
+                    processedRows.get(),
+                    importedRows.get(),
+                    failedRows.get(),
+                    errorSnapshot,
+                    startedAt,
+                    finishedAt
+            );
+        }
+    }
+}
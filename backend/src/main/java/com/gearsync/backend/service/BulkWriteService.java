@@ -0,0 +1,57 @@
+package com.gearsync.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Write path for large batches of entities. Rows go through a StatelessSession, so nothing is
+ * tracked in a persistence context and inserts leave as JDBC batches. Each call runs in its own
+ * transaction on its own connection and commits before returning; it does not join a caller's
+ * transaction, and entity lifecycle callbacks (@PrePersist etc.) are not invoked.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkWriteService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    public <T> int insertAll(Iterable<T> entities) {
+        return write(entities, StatelessSession::insert);
+    }
+
+    public <T> int updateAll(Iterable<T> entities) {
+        return write(entities, StatelessSession::update);
+    }
+
+    private <T> int write(Iterable<T> entities, BiConsumer<StatelessSession, T> operation) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            Transaction transaction = session.beginTransaction();
+            try {
+                int written = 0;
+                for (T entity : entities) {
+                    operation.accept(session, entity);
+                    written++;
+                }
+                transaction.commit();
+                return written;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+    }
+}
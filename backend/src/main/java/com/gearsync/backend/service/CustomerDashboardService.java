@@ -1,14 +1,11 @@
 package com.gearsync.backend.service;
 
+import com.gearsync.backend.dto.CustomerDashboardSnapshotDTO;
 import com.gearsync.backend.dto.MyAppointmentDTO;
 import com.gearsync.backend.dto.ServiceSummaryDTO;
-import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.model.Appointment;
-import com.gearsync.backend.model.AppointmentStatus;
-import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.AppointmentRepository;
-import com.gearsync.backend.repository.UserRepository;
-import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,46 +21,41 @@ import java.util.stream.Collectors;
 public class CustomerDashboardService {
 
     private final AppointmentRepository appointmentRepository;
-    private final VehicleRepository vehicleRepository;
-    private final UserRepository userRepository;
 
+    // Every counter from one statement; the single-number methods below are views of it
     @Transactional(readOnly = true)
-    public Long myAppointmentCount(String email) {
-        return appointmentRepository.countByCustomer_Email(email);
+    public CustomerDashboardSnapshotDTO snapshot(AuthenticatedUser customer) {
+        return appointmentRepository.customerDashboardSnapshot(customer.userId());
     }
 
-    @Transactional(readOnly = true)
-    public Integer activeAppointmentCount(String email) {
-        long count = appointmentRepository.countByCustomer_EmailAndStatus(email, AppointmentStatus.IN_PROGRESS);
-        return Math.toIntExact(count);
+    public Long myAppointmentCount(AuthenticatedUser customer) {
+        return snapshot(customer).getAppointmentCount();
     }
 
-    @Transactional(readOnly = true)
-    public Integer completedServicesCount(String email) {
-        long count = appointmentRepository.countByCustomer_EmailAndStatus(email, AppointmentStatus.COMPLETED);
-        return Math.toIntExact(count);
+    public Integer activeAppointmentCount(AuthenticatedUser customer) {
+        return Math.toIntExact(snapshot(customer).getActiveAppointmentCount());
     }
 
-    @Transactional(readOnly = true)
-    public Long myVehicleCount(String email) {
-        return vehicleRepository.countByOwner_Email(email);
+    public Integer completedServicesCount(AuthenticatedUser customer) {
+        return Math.toIntExact(snapshot(customer).getCompletedServicesCount());
     }
 
-    @Transactional(readOnly = true)
-    public BigDecimal totalSpentAmount(String email) {
-        return appointmentRepository.sumSpentByCustomerCompleted(email);
+    public Long myVehicleCount(AuthenticatedUser customer) {
+        return snapshot(customer).getVehicleCount();
+    }
+
+    public BigDecimal totalSpentAmount(AuthenticatedUser customer) {
+        return snapshot(customer).getTotalSpent();
     }
 
     @Transactional(readOnly = true)
-    public List<MyAppointmentDTO> upcomingAppointments(String customerEmail) {
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    public List<MyAppointmentDTO> upcomingAppointments(AuthenticatedUser customer) {
 
         LocalDateTime startOfTomorrow = LocalDate.now().plusDays(1).atStartOfDay();
 
         List<Appointment> appointments =
                 appointmentRepository.findAllByCustomerIdAndScheduledDateTimeGreaterThanEqualOrderByScheduledDateTimeAsc(
-                        customer.getId(), startOfTomorrow);
+                        customer.userId(), startOfTomorrow);
 
         return appointments.stream().map(appointment -> {
             MyAppointmentDTO dto = new MyAppointmentDTO();
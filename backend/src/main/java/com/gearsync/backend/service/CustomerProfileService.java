@@ -7,6 +7,8 @@ import com.gearsync.backend.exception.UnauthorizedException;
 import com.gearsync.backend.model.Role;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.security.UserDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,11 +19,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomerProfileService {
 
     private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
 
     @Transactional(readOnly = true)
-    public UserDto getMyProfile(String email) {
+    public UserDto getMyProfile(AuthenticatedUser principal) {
 
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findById(principal.userId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         UserDto dto = new UserDto();
@@ -39,21 +42,22 @@ public class CustomerProfileService {
     }
 
     @Transactional
-    public UserDto updateMyProfile(String email, UpdateCustomerProfileDTO request) {
+    public UserDto updateMyProfile(AuthenticatedUser principal, UpdateCustomerProfileDTO request) {
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (user.getRole() != Role.CUSTOMER) {
+        if (!principal.hasRole(Role.CUSTOMER)) {
             throw new UnauthorizedException("Only customers can update profile via this endpoint");
         }
 
+        User user = userRepository.findById(principal.userId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
         user.setFirstName(request.getFirstName().trim());
         user.setLastName(request.getLastName().trim());
         user.setPhoneNumber(request.getPhoneNumber().trim());
 
         userRepository.save(user);
+        userDirectory.invalidate(user.getEmail());
 
-        return getMyProfile(email);
+        return getMyProfile(principal);
     }
 }
\ No newline at end of file
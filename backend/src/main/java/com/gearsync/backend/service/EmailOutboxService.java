@@ -0,0 +1,155 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.model.OutboxEmail;
+import com.gearsync.backend.model.OutboxEmailStatus;
+import com.gearsync.backend.repository.OutboxEmailRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Writes outgoing mail to the email_outbox table and tracks its delivery state. Enqueueing joins
+ * the caller's transaction, so a message exists exactly when the change it announces commits.
+ * The flip side is that a failed enqueue rolls that change back too: the transaction is marked
+ * rollback-only, and a caller that catches the exception and carries on gets an
+ * {@code UnexpectedRollbackException} at commit instead.
+ * {@link MailDispatcher} claims due rows and reports back through {@link #markSent} and
+ * {@link #markFailed}; failed sends are retried with exponential backoff and dead-lettered
+ * after {@code max-attempts}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${app.mail.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs = 30_000;
+
+    @Value("${app.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs = 3_600_000;
+
+    // How long a claimed row stays invisible to other dispatchers before it is retried
+    @Value("${app.mail.outbox.lease-ms:600000}")
+    private long leaseMs = 600_000;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private int retentionDays = 7;
+
+    /**
+     * Queues a message. An identical message (same recipient, subject and body) that has not been
+     * sent yet is not queued again, which absorbs double submits and retried requests.
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String htmlContent) {
+        int inserted = outboxEmailRepository.enqueue(dedupKey(to, subject, htmlContent), to, subject, htmlContent, LocalDateTime.now());
+        if (inserted == 0) {
+            log.debug("Skipped duplicate email '{}' to {}", subject, to);
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} due messages for sending. Claimed rows are leased rather than
+     * locked, so the transaction ends before any SMTP traffic starts.
+     */
+    @Transactional
+    public List<OutboxEmail> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> due = outboxEmailRepository.findDueForUpdate(now, limit);
+        for (OutboxEmail email : due) {
+            email.setStatus(OutboxEmailStatus.SENDING);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+        }
+        return due;
+    }
+
+    @Transactional
+    public void markSent(Long id) {
+        outboxEmailRepository.markSent(id, LocalDateTime.now());
+    }
+
+    /**
+     * Schedules the next attempt, or dead-letters the message when it has used all its attempts
+     * or the failure is permanent (a message that cannot be built will never send).
+     */
+    @Transactional
+    public void markFailed(Long id, Exception error, boolean permanent) {
+        OutboxEmail email = outboxEmailRepository.findById(id).orElse(null);
+        if (email == null) {
+            return;
+        }
+
+        email.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+        if (permanent || email.getAttempts() >= maxAttempts) {
+            email.setStatus(OutboxEmailStatus.DEAD);
+            log.error("Giving up on email {} to {} after {} attempts", id, email.getRecipient(), email.getAttempts(), error);
+        } else {
+            email.setStatus(OutboxEmailStatus.PENDING);
+            email.setNextAttemptAt(LocalDateTime.now().plus(backoff(email.getAttempts())));
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                    id, email.getRecipient(), email.getAttempts(), email.getNextAttemptAt(), error.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countQueued() {
+        return outboxEmailRepository.countByStatusIn(EnumSet.of(OutboxEmailStatus.PENDING, OutboxEmailStatus.SENDING));
+    }
+
+    @Transactional(readOnly = true)
+    public long countDead() {
+        return outboxEmailRepository.countByStatus(OutboxEmailStatus.DEAD);
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.cleanup.cron:0 45 4 * * *}")
+    @Transactional
+    public void purgeSent() {
+        int deleted = outboxEmailRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} sent emails from the outbox", deleted);
+        }
+    }
+
+    // initial, 2x, 4x, ... capped at max-backoff-ms
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Duration.ofMillis(Math.min(initialBackoffMs << doublings, maxBackoffMs));
+    }
+
+    static String dedupKey(String to, String subject, String htmlContent) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(to.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(subject.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(htmlContent.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
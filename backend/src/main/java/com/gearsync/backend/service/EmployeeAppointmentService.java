@@ -4,6 +4,8 @@ import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.*;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.websocket.ProgressPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,7 +21,11 @@ import java.util.stream.Collectors;
 public class EmployeeAppointmentService {
 
     private final AppointmentRepository appointmentRepository;
-    private final UserRepository userRepository;
+    private final ProgressPublisher progressPublisher;
+    private final OperationalCounters operationalCounters;
+    private final ProgressTimelineService progressTimelineService;
+    private final ActivityNoteService activityNoteService;
+    private final SlotAvailability slotAvailability;
 
     private static final Set<String> ALLOWED_EMPLOYEE_STATUSES = new HashSet<>(
             Arrays.asList("IN_PROGRESS", "COMPLETED", "ON_HOLD")
@@ -27,15 +33,13 @@ public class EmployeeAppointmentService {
 
 
     @Transactional(readOnly = true)
-    public List<AppointmentResponseDTO> getMyAssignedAppointments(String employeeEmail) {
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public List<AppointmentResponseDTO> getMyAssignedAppointments(AuthenticatedUser employee) {
 
-        if (employee.getRole() != Role.EMPLOYEE && employee.getRole() != Role.ADMIN) {
+        if (employee.role() != Role.EMPLOYEE && employee.role() != Role.ADMIN) {
             throw new UnauthorizedException("Only employees can access this endpoint");
         }
 
-        List<Appointment> appointments = appointmentRepository.findByAssignedEmployeeId(employee.getId());
+        List<Appointment> appointments = appointmentRepository.findByAssignedEmployeeId(employee.userId());
 
         return appointments.stream()
                 .map(appointment -> {
@@ -46,17 +50,14 @@ public class EmployeeAppointmentService {
     }
 
     @Transactional(readOnly = true)
-    public AppointmentResponseDTO getAppointmentDetails(String employeeEmail, Long appointmentId) {
-
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public AppointmentResponseDTO getAppointmentDetails(AuthenticatedUser employee, Long appointmentId) {
 
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with ID: " + appointmentId));
 
 
         if (appointment.getAssignedEmployee() == null ||
-                !appointment.getAssignedEmployee().getId().equals(employee.getId())) {
+                !appointment.getAssignedEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("This appointment is not assigned to you");
         }
 
@@ -66,18 +67,15 @@ public class EmployeeAppointmentService {
 
     @Transactional
     public AppointmentResponseDTO updateAppointmentStatus(
-            String employeeEmail,
+            AuthenticatedUser employee,
             Long appointmentId,
             EmployeeStatusUpdateDTO request) {
 
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found with ID: " + appointmentId));
 
         if (appointment.getAssignedEmployee() == null ||
-                !appointment.getAssignedEmployee().getId().equals(employee.getId())) {
+                !appointment.getAssignedEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("This appointment is not assigned to you");
         }
 
@@ -124,18 +122,17 @@ public class EmployeeAppointmentService {
             appointment.setProgressPercentage(request.getProgressPercentage());
         }
 
-        if (request.getNotes() != null && !request.getNotes().isEmpty()) {
-            String existingNotes = appointment.getEmployeeNotes() != null ?
-                    appointment.getEmployeeNotes() : "";
-            String timestamp = LocalDateTime.now().toString();
-            String newNote = String.format("[%s] %s: %s", timestamp, employee.getFirstName(), request.getNotes());
-
-            appointment.setEmployeeNotes(
-                    existingNotes.isEmpty() ? newNote : existingNotes + "\n" + newNote
-            );
-        }
-
         Appointment updated = appointmentRepository.save(appointment);
+        if (request.getNotes() != null && !request.getNotes().isBlank()) {
+            activityNoteService.addAppointmentNote(updated, employee.userId(), ActivityNote.NoteType.EMPLOYEE_NOTE, request.getNotes());
+        }
+        operationalCounters.appointmentChanged(currentStatus, updated.getFinalCost(), updated.getStatus(), updated.getFinalCost());
+        if (!SlotAvailability.OCCUPYING.contains(updated.getStatus())) {
+            slotAvailability.release(updated.getId());
+        }
+        progressPublisher.appointmentUpdated(updated);
+        progressTimelineService.recordAppointmentStatus(employee.userId(), updated.getId(),
+                ServiceProgress.ProgressStatus.valueOf(targetStatus.name()), updated.getProgressPercentage(), request.getNotes());
 
         List<Services> services = new ArrayList<>(appointment.getAppointmentServices());
         return convertToResponseDTO(updated, services);
@@ -1,9 +1,11 @@
 package com.gearsync.backend.service;
 
-import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.dto.EmployeeDashboardSnapshotDTO;
 import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -11,15 +13,21 @@ public class EmployeeDashboardService {
 
     private final AppointmentRepository appointmentRepository;
 
-    public Long assignedAppointmentCount(String email) {
-        return appointmentRepository.countByAssignedEmployee_Email(email);
+    // Every counter from one statement; the single-number methods below are views of it
+    @Transactional(readOnly = true)
+    public EmployeeDashboardSnapshotDTO snapshot(AuthenticatedUser employee) {
+        return appointmentRepository.employeeDashboardSnapshot(employee.userId());
     }
 
-    public Long completedAppointmentCount(String email) {
-        return appointmentRepository.countByAssignedEmployee_EmailAndStatus(email, AppointmentStatus.COMPLETED);
+    public Long assignedAppointmentCount(AuthenticatedUser employee) {
+        return snapshot(employee).getAssignedAppointmentCount();
     }
 
-    public Long inProgressAppointmentCount(String email) {
-        return appointmentRepository.countByAssignedEmployee_EmailAndStatus(email, AppointmentStatus.IN_PROGRESS);
+    public Long completedAppointmentCount(AuthenticatedUser employee) {
+        return snapshot(employee).getCompletedAppointmentCount();
+    }
+
+    public Long inProgressAppointmentCount(AuthenticatedUser employee) {
+        return snapshot(employee).getInProgressAppointmentCount();
     }
 }
@@ -4,6 +4,8 @@ import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.*;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.websocket.ProgressPublisher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,23 +22,22 @@ import java.util.stream.Collectors;
 public class EmployeeProjectService {
 
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final ProgressPublisher progressPublisher;
+    private final ProgressTimelineService progressTimelineService;
+    private final ActivityNoteService activityNoteService;
 
     private static final Set<String> ALLOWED_EMPLOYEE_STATUSES = new HashSet<>(
             Arrays.asList("IN_PROGRESS", "COMPLETED", "ON_HOLD")
     );
 
     @Transactional(readOnly = true)
-    public List<ProjectResponseDTO> getMyAssignedProjects(String employeeEmail) {
+    public List<ProjectResponseDTO> getMyAssignedProjects(AuthenticatedUser employee) {
 
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
-        if (employee.getRole() != Role.EMPLOYEE && employee.getRole() != Role.ADMIN) {
+        if (employee.role() != Role.EMPLOYEE && employee.role() != Role.ADMIN) {
             throw new UnauthorizedException("Only employees can access this endpoint");
         }
 
-        List<Project> projects = projectRepository.findByAssignedEmployeeId(employee.getId());
+        List<Project> projects = projectRepository.findByAssignedEmployeeId(employee.userId());
 
         return projects.stream()
                 .map(this::convertToResponseDTO)
@@ -45,16 +46,13 @@ public class EmployeeProjectService {
 
 
     @Transactional(readOnly = true)
-    public ProjectResponseDTO getProjectDetails(String employeeEmail, Long projectId) {
-
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public ProjectResponseDTO getProjectDetails(AuthenticatedUser employee, Long projectId) {
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + projectId));
 
         if (project.getAssignedEmployee() == null ||
-                !project.getAssignedEmployee().getId().equals(employee.getId())) {
+                !project.getAssignedEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("This project is not assigned to you");
         }
 
@@ -64,19 +62,16 @@ public class EmployeeProjectService {
 
     @Transactional
     public ProjectResponseDTO updateProjectStatus(
-            String employeeEmail,
+            AuthenticatedUser employee,
             Long projectId,
             EmployeeStatusUpdateDTO request) {
 
 
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + projectId));
 
         if (project.getAssignedEmployee() == null ||
-                !project.getAssignedEmployee().getId().equals(employee.getId())) {
+                !project.getAssignedEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("This project is not assigned to you");
         }
 
@@ -131,17 +126,13 @@ public class EmployeeProjectService {
             project.setProgressPercentage(request.getProgressPercentage());
         }
 
-        if (request.getNotes() != null && !request.getNotes().isEmpty()) {
-            String existingDescription = project.getDescription() != null ?
-                    project.getDescription() : "";
-            String timestamp = LocalDateTime.now().toString();
-            String newNote = String.format("\n\n[%s] Employee Update - %s: %s",
-                    timestamp, employee.getFirstName(), request.getNotes());
-
-            project.setDescription(existingDescription + newNote);
-        }
-
         Project updated = projectRepository.save(project);
+        if (request.getNotes() != null && !request.getNotes().isBlank()) {
+            activityNoteService.addProjectNote(updated, employee.userId(), ActivityNote.NoteType.EMPLOYEE_NOTE, request.getNotes());
+        }
+        progressPublisher.projectUpdated(updated);
+        progressTimelineService.recordProjectStatus(employee.userId(), updated.getId(),
+                ServiceProgress.ProgressStatus.valueOf(targetStatus.name()), updated.getProgressPercentage(), request.getNotes());
         return convertToResponseDTO(updated);
     }
 
@@ -4,6 +4,7 @@ import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.*;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,14 +22,13 @@ public class EmployeeTimeLogService {
     private final AppointmentRepository appointmentRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final OperationalCounters operationalCounters;
+    private final SlotAvailability slotAvailability;
 
     @Transactional
-    public TimeLogResponseDTO createTimeLog(String employeeEmail, TimeLogRequestDTO request) {
+    public TimeLogResponseDTO createTimeLog(AuthenticatedUser employee, TimeLogRequestDTO request) {
 
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
-        if (employee.getRole() != Role.EMPLOYEE && employee.getRole() != Role.ADMIN) {
+        if (employee.role() != Role.EMPLOYEE && employee.role() != Role.ADMIN) {
             throw new UnauthorizedException("Only employees can log time");
         }
 
@@ -50,7 +50,7 @@ public class EmployeeTimeLogService {
 
 
         TimeLog timeLog = new TimeLog();
-        timeLog.setEmployee(employee);
+        timeLog.setEmployee(userRepository.getReferenceById(employee.userId()));
         timeLog.setStartTime(request.getStartTime());
         timeLog.setEndTime(request.getEndTime());
         timeLog.setWorkDescription(request.getWorkDescription().trim());
@@ -66,7 +66,7 @@ public class EmployeeTimeLogService {
                     ));
 
             if (appointment.getAssignedEmployee() == null ||
-                    !appointment.getAssignedEmployee().getId().equals(employee.getId())) {
+                    !appointment.getAssignedEmployee().getId().equals(employee.userId())) {
                 throw new UnauthorizedException("This appointment is not assigned to you");
             }
             if(appointment.getScheduledDateTime().isBefore(request.getStartTime())){
@@ -77,12 +77,16 @@ public class EmployeeTimeLogService {
             
             // Automatically mark appointment as COMPLETED when time log is created
             if (appointment.getStatus() != AppointmentStatus.COMPLETED) {
+                AppointmentStatus previousStatus = appointment.getStatus();
                 appointment.setStatus(AppointmentStatus.COMPLETED);
                 appointment.setActualEndTime(request.getEndTime());
                 if (appointment.getActualStartTime() == null) {
                     appointment.setActualStartTime(request.getStartTime());
                 }
                 appointmentRepository.save(appointment);
+                slotAvailability.release(appointment.getId());
+                operationalCounters.appointmentChanged(previousStatus, appointment.getFinalCost(),
+                        AppointmentStatus.COMPLETED, appointment.getFinalCost());
             }
         } else {
             Project project = projectRepository.findById(request.getProjectId())
@@ -91,7 +95,7 @@ public class EmployeeTimeLogService {
                     ));
 
             if (project.getAssignedEmployee() == null ||
-                    !project.getAssignedEmployee().getId().equals(employee.getId())) {
+                    !project.getAssignedEmployee().getId().equals(employee.userId())) {
                 throw new UnauthorizedException("This project is not assigned to you");
             }
 
@@ -109,20 +113,18 @@ public class EmployeeTimeLogService {
         }
 
         TimeLog savedTimeLog = timeLogRepository.save(timeLog);
+        adjustTimeLogTotals(timeLog, timeLog.getDurationMinutes(), 1);
         return convertToResponseDTO(savedTimeLog);
     }
 
     @Transactional(readOnly = true)
-    public List<TimeLogResponseDTO> getTimeLogsForAppointment(String employeeEmail, Long appointmentId) {
-
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public List<TimeLogResponseDTO> getTimeLogsForAppointment(AuthenticatedUser employee, Long appointmentId) {
 
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
 
         if (appointment.getAssignedEmployee() == null ||
-                !appointment.getAssignedEmployee().getId().equals(employee.getId())) {
+                !appointment.getAssignedEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("This appointment is not assigned to you");
         }
 
@@ -134,16 +136,13 @@ public class EmployeeTimeLogService {
     }
 
     @Transactional(readOnly = true)
-    public List<TimeLogResponseDTO> getTimeLogsForProject(String employeeEmail, Long projectId) {
-
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public List<TimeLogResponseDTO> getTimeLogsForProject(AuthenticatedUser employee, Long projectId) {
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
         if (project.getAssignedEmployee() == null ||
-                !project.getAssignedEmployee().getId().equals(employee.getId())) {
+                !project.getAssignedEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("This project is not assigned to you");
         }
 
@@ -155,12 +154,9 @@ public class EmployeeTimeLogService {
     }
 
     @Transactional(readOnly = true)
-    public List<TimeLogResponseDTO> getMyTimeLogs(String employeeEmail) {
+    public List<TimeLogResponseDTO> getMyTimeLogs(AuthenticatedUser employee) {
 
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-
-        List<TimeLog> timeLogs = timeLogRepository.findByEmployeeId(employee.getId());
+        List<TimeLog> timeLogs = timeLogRepository.findByEmployeeId(employee.userId());
 
         return timeLogs.stream()
                 .map(this::convertToResponseDTO)
@@ -169,19 +165,17 @@ public class EmployeeTimeLogService {
 
 
     @Transactional
-    public TimeLogResponseDTO updateTimeLog(String employeeEmail, Long timeLogId, TimeLogUpdateDTO request) {
-
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public TimeLogResponseDTO updateTimeLog(AuthenticatedUser employee, Long timeLogId, TimeLogUpdateDTO request) {
 
         TimeLog timeLog = timeLogRepository.findById(timeLogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Time log not found with ID: " + timeLogId));
 
-        if (!timeLog.getEmployee().getId().equals(employee.getId())) {
+        if (!timeLog.getEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("You can only edit your own time logs");
         }
 
         boolean isUpdated = false;
+        int previousMinutes = timeLog.getDurationMinutes();
 
         if (request.getStartTime() != null) {
             if (request.getStartTime().isAfter(LocalDateTime.now())) {
@@ -222,25 +216,34 @@ public class EmployeeTimeLogService {
         }
 
         TimeLog updated = timeLogRepository.save(timeLog);
+        if (timeLog.getDurationMinutes() != previousMinutes) {
+            adjustTimeLogTotals(timeLog, timeLog.getDurationMinutes() - previousMinutes, 0);
+        }
 
         return convertToResponseDTO(updated);
     }
 
 
     @Transactional
-    public void deleteTimeLog(String employeeEmail, Long timeLogId) {
-
-        User employee = userRepository.findByEmail(employeeEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
+    public void deleteTimeLog(AuthenticatedUser employee, Long timeLogId) {
 
         TimeLog timeLog = timeLogRepository.findById(timeLogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Time log not found with ID: " + timeLogId));
 
-        if (!timeLog.getEmployee().getId().equals(employee.getId())) {
+        if (!timeLog.getEmployee().getId().equals(employee.userId())) {
             throw new UnauthorizedException("You can only delete your own time logs");
         }
 
         timeLogRepository.delete(timeLog);
+        adjustTimeLogTotals(timeLog, -timeLog.getDurationMinutes(), -1);
+    }
+
+    private void adjustTimeLogTotals(TimeLog timeLog, int minutes, int count) {
+        if (timeLog.getAppointment() != null) {
+            appointmentRepository.adjustTimeLogTotals(timeLog.getAppointment().getId(), minutes, count);
+        } else if (timeLog.getProject() != null) {
+            projectRepository.adjustTimeLogTotals(timeLog.getProject().getId(), minutes, count);
+        }
     }
 
 
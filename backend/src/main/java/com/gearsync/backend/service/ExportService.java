@@ -0,0 +1,284 @@
+package com.gearsync.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams full-history exports for accounting. Rows are read through a forward-only
+ * server-side cursor (StatelessSession, fixed fetch size) and written straight to the
+ * response, so memory stays flat no matter how many rows are exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+
+    public enum ExportType {
+        APPOINTMENTS("""
+                select a.id, a.scheduledDateTime, a.status, c.email, concat(c.firstName, ' ', c.lastName),
+                       v.registrationNumber, e.email, a.progressPercentage, a.finalCost,
+                       a.actualStartTime, a.actualEndTime, a.loggedMinutes, a.timeLogCount, a.createdAt
+                from Appointment a
+                join a.customer c
+                join a.vehicle v
+                left join a.assignedEmployee e
+                """, "a.scheduledDateTime", "a.id",
+                List.of("id", "scheduledDateTime", "status", "customerEmail", "customerName",
+                        "vehicleRegistrationNumber", "assignedEmployeeEmail", "progressPercentage", "finalCost",
+                        "actualStartTime", "actualEndTime", "loggedMinutes", "timeLogCount", "createdAt")),
+
+        PROJECTS("""
+                select p.id, p.projectName, p.status, c.email, v.registrationNumber, e.email,
+                       p.estimatedCost, p.actualCost, p.startDate, p.completionDate,
+                       p.progressPercentage, p.loggedMinutes, p.timeLogCount, p.createdAt
+                from Project p
+                join p.customer c
+                join p.vehicle v
+                left join p.assignedEmployee e
+                """, "p.createdAt", "p.id",
+                List.of("id", "projectName", "status", "customerEmail", "vehicleRegistrationNumber",
+                        "assignedEmployeeEmail", "estimatedCost", "actualCost", "startDate", "completionDate",
+                        "progressPercentage", "loggedMinutes", "timeLogCount", "createdAt")),
+
+        TIMELOGS("""
+                select t.id, e.email, a.id, p.id, t.startTime, t.endTime, t.durationMinutes,
+                       t.workDescription, t.notes, t.createdAt
+                from TimeLog t
+                join t.employee e
+                left join t.appointment a
+                left join t.project p
+                """, "t.startTime", "t.id",
+                List.of("id", "employeeEmail", "appointmentId", "projectId", "startTime", "endTime",
+                        "durationMinutes", "workDescription", "notes", "createdAt"));
+
+        private final String select;
+        private final String dateColumn;
+        private final String idColumn;
+        private final List<String> columns;
+
+        ExportType(String select, String dateColumn, String idColumn, List<String> columns) {
+            this.select = select;
+            this.dateColumn = dateColumn;
+            this.idColumn = idColumn;
+            this.columns = columns;
+        }
+    }
+
+    public enum ExportFormat {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        ExportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+    }
+
+    public record ExportRequest(ExportType type, ExportFormat format, LocalDateTime from, LocalDateTime to,
+                                boolean gzip) {
+
+        public String fileName() {
+            String name = type.name().toLowerCase(Locale.ROOT) + "-" + LocalDateTime.now().format(FILE_STAMP)
+                    + "." + format.extension;
+            return gzip ? name + ".gz" : name;
+        }
+
+        public String contentType() {
+            return gzip ? "application/gzip" : format.contentType;
+        }
+    }
+
+    public ExportRequest prepareExport(AuthenticatedUser admin, String type, String format,
+                                       LocalDateTime from, LocalDateTime to, boolean gzip) {
+        if (!admin.hasRole(Role.ADMIN)) {
+            throw new UnauthorizedException("Only admins can export data");
+        }
+
+        ExportType exportType = parseEnum(ExportType.class, type, "Invalid export type: " + type
+                + ". Valid types are: appointments, projects, timelogs");
+        ExportFormat exportFormat = format == null || format.isBlank()
+                ? ExportFormat.CSV
+                : parseEnum(ExportFormat.class, format, "Invalid format: " + format + ". Valid formats are: csv, ndjson");
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        return new ExportRequest(exportType, exportFormat, from, to, gzip);
+    }
+
+    public void writeExport(ExportRequest request, OutputStream out) throws IOException {
+        OutputStream target = request.gzip() ? new GZIPOutputStream(out, 64 * 1024) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = request.format() == ExportFormat.CSV
+                ? new CsvRowWriter(writer, request.type().columns)
+                : new NdjsonRowWriter(writer, request.type().columns, objectMapper);
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            // The cursor only stays server-side inside a transaction
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> rows = buildQuery(session, request).scroll(ScrollMode.FORWARD_ONLY)) {
+                rowWriter.writeHeader();
+                while (rows.next()) {
+                    rowWriter.writeRow(rows.get());
+                }
+            } finally {
+                transaction.rollback();
+            }
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        out.flush();
+    }
+
+    private SelectionQuery<Object[]> buildQuery(StatelessSession session, ExportRequest request) {
+        ExportType type = request.type();
+        StringBuilder hql = new StringBuilder(type.select).append("where 1 = 1");
+        if (request.from() != null) {
+            hql.append(" and ").append(type.dateColumn).append(" >= :from");
+        }
+        if (request.to() != null) {
+            hql.append(" and ").append(type.dateColumn).append(" < :to");
+        }
+        hql.append(" order by ").append(type.idColumn);
+
+        SelectionQuery<Object[]> query = session.createSelectionQuery(hql.toString(), Object[].class)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true);
+        if (request.from() != null) {
+            query.setParameter("from", request.from());
+        }
+        if (request.to() != null) {
+            query.setParameter("to", request.to());
+        }
+        return query;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumType, String value, String message) {
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    interface RowWriter {
+        void writeHeader() throws IOException;
+
+        void writeRow(Object[] row) throws IOException;
+    }
+
+    static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final List<String> columns;
+
+        CsvRowWriter(Writer writer, List<String> columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        public void writeRow(Object[] row) throws IOException {
+            writeLine(row);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(format(values[i])));
+            }
+            writer.write('\n');
+        }
+
+        static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    static class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final List<String> columns;
+        private final ObjectMapper objectMapper;
+
+        NdjsonRowWriter(Writer writer, List<String> columns, ObjectMapper objectMapper) {
+            this.writer = writer;
+            this.columns = columns;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(Object[] row) throws IOException {
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = row[i];
+                record.put(columns.get(i), value instanceof Enum<?> || value instanceof LocalDateTime ? format(value) : value);
+            }
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.write('\n');
+        }
+    }
+}
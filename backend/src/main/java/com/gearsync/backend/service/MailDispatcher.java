@@ -0,0 +1,152 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.EmailOutboxStatsDTO;
+import com.gearsync.backend.model.OutboxEmail;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the email outbox. Each poll claims due messages in batches and sends them on a fixed
+ * pool of workers, waiting for a batch to finish before claiming the next one. Messages go out
+ * over the long-lived connections of {@link SmtpTransportPool}.
+ */
+@Slf4j
+@Service
+public class MailDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+    private final JavaMailSender mailSender;
+    private final SmtpTransportPool smtpTransportPool;
+    private final String fromEmail;
+    private final int batchSize;
+    private final ExecutorService workers;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final LongAccumulator maxSendNanos = new LongAccumulator(Math::max, 0);
+    private volatile long queued;
+    private volatile long dead;
+
+    public MailDispatcher(EmailOutboxService emailOutboxService,
+                          JavaMailSender mailSender,
+                          SmtpTransportPool smtpTransportPool,
+                          @Value("${spring.mail.username}") String fromEmail,
+                          @Value("${app.mail.outbox.workers:4}") int workerCount,
+                          @Value("${app.mail.outbox.batch-size:50}") int batchSize) {
+        this.emailOutboxService = emailOutboxService;
+        this.mailSender = mailSender;
+        this.smtpTransportPool = smtpTransportPool;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount));
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:2000}", initialDelayString = "${app.mail.outbox.poll-ms:2000}")
+    public void drain() {
+        try {
+            List<OutboxEmail> batch;
+            do {
+                batch = emailOutboxService.claim(batchSize);
+                if (!batch.isEmpty()) {
+                    sendAll(batch);
+                }
+            } while (batch.size() == batchSize && !Thread.currentThread().isInterrupted());
+
+            queued = emailOutboxService.countQueued();
+            dead = emailOutboxService.countDead();
+        } catch (RuntimeException e) {
+            log.error("Email outbox poll failed", e);
+        }
+    }
+
+    public EmailOutboxStatsDTO stats() {
+        long sentCount = sent.sum();
+        return new EmailOutboxStatsDTO(
+                queued,
+                dead,
+                sentCount,
+                failed.sum(),
+                sentCount > 0 ? sendNanos.sum() / sentCount / 1_000_000 : 0,
+                maxSendNanos.get() / 1_000_000,
+                smtpTransportPool.getSentLastMinute(),
+                smtpTransportPool.getConnectionsOpened(),
+                smtpTransportPool.getThrottledMillis()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void sendAll(List<OutboxEmail> batch) {
+        List<Callable<Void>> sends = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            sends.add(() -> {
+                send(email);
+                return null;
+            });
+        }
+        try {
+            workers.invokeAll(sends);
+        } catch (InterruptedException e) {
+            // Unfinished rows keep their lease and are retried once it runs out
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void send(OutboxEmail email) {
+        MimeMessage message;
+        try {
+            message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(fromEmail);
+            helper.setTo(email.getRecipient());
+            helper.setSubject(email.getSubject());
+            helper.setText(email.getBody(), true);
+        } catch (MessagingException | MailParseException | MailPreparationException e) {
+            // A message that cannot be built will never send
+            failed.increment();
+            emailOutboxService.markFailed(email.getId(), e, true);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            smtpTransportPool.send(message);
+        } catch (MessagingException | RuntimeException e) {
+            failed.increment();
+            emailOutboxService.markFailed(email.getId(), e, false);
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        sent.increment();
+        sendNanos.add(elapsed);
+        maxSendNanos.accumulate(elapsed);
+        try {
+            emailOutboxService.markSent(email.getId());
+        } catch (RuntimeException e) {
+            // The lease runs out and the message goes again: delivery is at-least-once
+            log.error("Sent email {} but could not mark it sent", email.getId(), e);
+        }
+    }
+}
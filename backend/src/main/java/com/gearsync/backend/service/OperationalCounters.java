@@ -0,0 +1,276 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory operational totals: appointments by status, completed earnings, users by role and
+ * vehicles. Services report each change and it is applied once their transaction commits, so
+ * reading a total is a sum over a few {@link LongAdder} cells instead of a table scan.
+ *
+ * <p>The totals are seeded from the database when the application is ready and reconciled on a
+ * schedule. Whatever this node did not see (writes on other nodes, bulk imports, manual SQL) is
+ * logged as drift and corrected then.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OperationalCounters {
+
+    private static final AppointmentStatus[] STATUSES = AppointmentStatus.values();
+    private static final Role[] ROLES = Role.values();
+
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final VehicleRepository vehicleRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final LongAdder[] appointmentsByStatus = adders(STATUSES.length);
+    private final LongAdder[] usersByRole = adders(ROLES.length);
+    private final LongAdder vehicles = new LongAdder();
+    // Earnings are kept in cents so they can be added without allocating
+    private final LongAdder completedEarningsCents = new LongAdder();
+
+    // Reconciliation only overwrites the counters if no change was pending or applied while it read the database
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong corrections = new AtomicLong();
+    private volatile boolean seeded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            reconcileOnce();
+        } catch (RuntimeException e) {
+            log.warn("Operational counters could not be seeded, dashboards query the database until they are", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.reconcile-ms:300000}",
+            initialDelayString = "${app.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        if (!reconcileOnce()) {
+            log.debug("Operational counters changed during reconciliation, retrying next round");
+        }
+    }
+
+    /** False until the first reconciliation; callers should query the database instead. */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long appointments() {
+        long total = 0;
+        for (LongAdder adder : appointmentsByStatus) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public long appointments(AppointmentStatus status) {
+        return appointmentsByStatus[status.ordinal()].sum();
+    }
+
+    public BigDecimal completedEarnings() {
+        return BigDecimal.valueOf(completedEarningsCents.sum(), 2);
+    }
+
+    public long users() {
+        long total = 0;
+        for (LongAdder adder : usersByRole) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public long users(Role role) {
+        return usersByRole[role.ordinal()].sum();
+    }
+
+    public long vehicles() {
+        return vehicles.sum();
+    }
+
+    public long getCorrections() {
+        return corrections.get();
+    }
+
+    public void appointmentCreated(AppointmentStatus status, BigDecimal finalCost) {
+        appointmentChanged(null, null, status, finalCost);
+    }
+
+    public void appointmentDeleted(AppointmentStatus status, BigDecimal finalCost) {
+        appointmentChanged(status, finalCost, null, null);
+    }
+
+    /**
+     * Records one appointment moving between states; either side may be null for an insert or delete.
+     * Nothing is counted when status and cost are unchanged.
+     */
+    public void appointmentChanged(AppointmentStatus fromStatus, BigDecimal fromCost,
+                                   AppointmentStatus toStatus, BigDecimal toCost) {
+        long fromEarnings = fromStatus == AppointmentStatus.COMPLETED ? cents(fromCost) : 0;
+        long toEarnings = toStatus == AppointmentStatus.COMPLETED ? cents(toCost) : 0;
+        if (fromStatus == toStatus && fromEarnings == toEarnings) {
+            return;
+        }
+        record(() -> {
+            if (fromStatus != null) {
+                appointmentsByStatus[fromStatus.ordinal()].decrement();
+            }
+            if (toStatus != null) {
+                appointmentsByStatus[toStatus.ordinal()].increment();
+            }
+            completedEarningsCents.add(toEarnings - fromEarnings);
+        });
+    }
+
+    public void userAdded(Role role) {
+        if (role != null) {
+            record(() -> usersByRole[role.ordinal()].increment());
+        }
+    }
+
+    public void vehicleAdded() {
+        record(vehicles::increment);
+    }
+
+    public void vehicleRemoved() {
+        record(vehicles::decrement);
+    }
+
+    // Applied after commit so rolled-back work never shows; without a transaction it is applied now
+    private void record(Runnable delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        pending.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    private void apply(Runnable delta) {
+        lock.readLock().lock();
+        try {
+            delta.run();
+            applied.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean reconcileOnce() {
+        long appliedBefore = applied.get();
+        if (pending.get() > 0) {
+            return false;
+        }
+        Totals truth = load();
+
+        lock.writeLock().lock();
+        try {
+            if (pending.get() > 0 || applied.get() != appliedBefore) {
+                return false;
+            }
+            for (AppointmentStatus status : STATUSES) {
+                correct("appointments." + status, appointmentsByStatus[status.ordinal()], truth.appointmentsByStatus()[status.ordinal()]);
+            }
+            for (Role role : ROLES) {
+                correct("users." + role, usersByRole[role.ordinal()], truth.usersByRole()[role.ordinal()]);
+            }
+            correct("vehicles", vehicles, truth.vehicles());
+            correct("completedEarningsCents", completedEarningsCents, truth.completedEarningsCents());
+            if (!seeded) {
+                log.info("Operational counters seeded: {} appointments, {} users, {} vehicles",
+                        appointments(), users(), vehicles());
+                seeded = true;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock, so nothing else moves the adder while it is corrected
+    private void correct(String name, LongAdder adder, long truth) {
+        long current = adder.sum();
+        if (current == truth) {
+            return;
+        }
+        if (seeded) {
+            log.warn("Operational counter {} drifted: {} in memory, {} in the database", name, current, truth);
+            corrections.incrementAndGet();
+        }
+        adder.add(truth - current);
+    }
+
+    // One repeatable-read transaction on the primary, so the three reads agree and no replica lag leaks in
+    private Totals load() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transaction.execute(status -> {
+            long[] byStatus = new long[STATUSES.length];
+            long earnings = 0;
+            for (Object[] row : appointmentRepository.countAndSumFinalCostByStatus()) {
+                AppointmentStatus appointmentStatus = (AppointmentStatus) row[0];
+                byStatus[appointmentStatus.ordinal()] = ((Number) row[1]).longValue();
+                if (appointmentStatus == AppointmentStatus.COMPLETED) {
+                    earnings = cents((BigDecimal) row[2]);
+                }
+            }
+            long[] byRole = new long[ROLES.length];
+            for (Object[] row : userRepository.countGroupedByRole()) {
+                if (row[0] != null) {
+                    byRole[((Role) row[0]).ordinal()] = ((Number) row[1]).longValue();
+                }
+            }
+            return new Totals(byStatus, byRole, vehicleRepository.count(), earnings);
+        });
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private record Totals(long[] appointmentsByStatus, long[] usersByRole, long vehicles, long completedEarningsCents) {
+    }
+}
@@ -5,6 +5,7 @@ import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.exception.UnauthorizedException;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.UserDirectory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,8 @@ public class PasswordManagementService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final UserDirectory userDirectory;
+    private final RefreshTokenService refreshTokenService;
 
     private static final int OTP_EXPIRY_MINUTES = 10;
     private static final int RESET_TOKEN_EXPIRY_MINUTES = 30;
@@ -50,6 +53,8 @@ public class PasswordManagementService {
         user.setPasswordChangedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        userDirectory.invalidate(email);
+        refreshTokenService.revokeAllForUser(user.getId());
 
         String userName = user.getFirstName() + " " + user.getLastName();
         emailService.sendPasswordChangedConfirmation(email, userName);
@@ -141,6 +146,8 @@ public class PasswordManagementService {
         user.setPasswordResetTokenExpiry(null);
 
         userRepository.save(user);
+        userDirectory.invalidate(user.getEmail());
+        refreshTokenService.revokeAllForUser(user.getId());
 
         String userName = user.getFirstName() + " " + user.getLastName();
         emailService.sendPasswordChangedConfirmation(user.getEmail(), userName);
@@ -0,0 +1,233 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.CursorPageDTO;
+import com.gearsync.backend.dto.ProgressEntryDTO;
+import com.gearsync.backend.dto.ProgressEntryRequestDTO;
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.Appointment;
+import com.gearsync.backend.model.Project;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.ServiceProgress;
+import com.gearsync.backend.model.ServiceProgress.ProgressStatus;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.ProjectRepository;
+import com.gearsync.backend.repository.ServiceProgressRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Append-only progress timeline for appointments and projects. Employees add entries; customers,
+ * the assigned employee and admins read them newest first in keyset pages. Writes are batched by
+ * {@link ProgressTimelineWriter}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressTimelineService {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    private static final long WRITE_TIMEOUT_SECONDS = 10;
+
+    private final ServiceProgressRepository serviceProgressRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final ProgressTimelineWriter progressTimelineWriter;
+
+    // Not transactional: the writer commits on its own connection, and none is held while waiting for it
+    public ProgressEntryDTO appendToAppointment(AuthenticatedUser employee, Long appointmentId, ProgressEntryRequestDTO request) {
+        if (!appointmentRepository.existsByIdAndAssignedEmployeeId(appointmentId, employee.userId())) {
+            throw appointmentRepository.existsById(appointmentId)
+                    ? new UnauthorizedException("This appointment is not assigned to you")
+                    : new ResourceNotFoundException("Appointment not found with ID: " + appointmentId);
+        }
+        ServiceProgress entry = entry(employee.userId(), parseStatus(request.getStatus()), request.getProgressPercentage(),
+                request.getMessage(), request.getTechnicalNotes());
+        entry.setAppointment(appointmentReference(appointmentId));
+        return toDTO(await(progressTimelineWriter.append(entry)), employeeName(employee.userId()));
+    }
+
+    public ProgressEntryDTO appendToProject(AuthenticatedUser employee, Long projectId, ProgressEntryRequestDTO request) {
+        if (!projectRepository.existsByIdAndAssignedEmployeeId(projectId, employee.userId())) {
+            throw projectRepository.existsById(projectId)
+                    ? new UnauthorizedException("This project is not assigned to you")
+                    : new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+        ServiceProgress entry = entry(employee.userId(), parseStatus(request.getStatus()), request.getProgressPercentage(),
+                request.getMessage(), request.getTechnicalNotes());
+        entry.setProject(projectReference(projectId));
+        return toDTO(await(progressTimelineWriter.append(entry)), employeeName(employee.userId()));
+    }
+
+    /**
+     * Records an employee status change on the timeline once the surrounding transaction commits.
+     */
+    public void recordAppointmentStatus(Long employeeId, Long appointmentId, ProgressStatus status,
+                                        Integer progressPercentage, String notes) {
+        ServiceProgress entry = entry(employeeId, status, progressPercentage, statusMessage(status, notes), null);
+        entry.setAppointment(appointmentReference(appointmentId));
+        progressTimelineWriter.appendAfterCommit(entry);
+    }
+
+    public void recordProjectStatus(Long employeeId, Long projectId, ProgressStatus status,
+                                    Integer progressPercentage, String notes) {
+        ServiceProgress entry = entry(employeeId, status, progressPercentage, statusMessage(status, notes), null);
+        entry.setProject(projectReference(projectId));
+        progressTimelineWriter.appendAfterCommit(entry);
+    }
+
+    /**
+     * One page of an appointment's timeline, newest first. Without a cursor this is the latest
+     * {@code limit} entries, read with a single query on the timeline index.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressEntryDTO> getAppointmentTimeline(AuthenticatedUser user, Long appointmentId,
+                                                                  String cursor, Integer limit) {
+        boolean allowed = switch (user.role()) {
+            case ADMIN -> appointmentRepository.existsById(appointmentId);
+            case EMPLOYEE -> appointmentRepository.existsByIdAndAssignedEmployeeId(appointmentId, user.userId());
+            default -> appointmentRepository.existsByIdAndCustomerId(appointmentId, user.userId());
+        };
+        if (!allowed) {
+            throw appointmentRepository.existsById(appointmentId)
+                    ? new UnauthorizedException("You do not have access to this appointment")
+                    : new ResourceNotFoundException("Appointment not found with ID: " + appointmentId);
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+        List<ProgressEntryDTO> rows = after == null
+                ? serviceProgressRepository.findAppointmentTimeline(appointmentId, page)
+                : serviceProgressRepository.findAppointmentTimelineAfter(appointmentId, after.at(), after.id(), page);
+        return toPage(rows, pageSize, user);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProgressEntryDTO> getProjectTimeline(AuthenticatedUser user, Long projectId,
+                                                              String cursor, Integer limit) {
+        boolean allowed = switch (user.role()) {
+            case ADMIN -> projectRepository.existsById(projectId);
+            case EMPLOYEE -> projectRepository.existsByIdAndAssignedEmployeeId(projectId, user.userId());
+            default -> projectRepository.existsByIdAndCustomerId(projectId, user.userId());
+        };
+        if (!allowed) {
+            throw projectRepository.existsById(projectId)
+                    ? new UnauthorizedException("You do not have access to this project")
+                    : new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+        List<ProgressEntryDTO> rows = after == null
+                ? serviceProgressRepository.findProjectTimeline(projectId, page)
+                : serviceProgressRepository.findProjectTimelineAfter(projectId, after.at(), after.id(), page);
+        return toPage(rows, pageSize, user);
+    }
+
+    // Fetched one row past the page to learn whether another page exists without a count query
+    private CursorPageDTO<ProgressEntryDTO> toPage(List<ProgressEntryDTO> rows, int pageSize, AuthenticatedUser user) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ProgressEntryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        if (user.role() == Role.CUSTOMER) {
+            items.forEach(item -> item.setTechnicalNotes(null));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ProgressEntryDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    private ServiceProgress await(CompletableFuture<ServiceProgress> write) {
+        try {
+            return write.get(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while saving the progress entry", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not save the progress entry", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Saving the progress entry timed out", e);
+        }
+    }
+
+    // Associations are id-only references: the batch insert needs their keys, not loaded rows
+    private static ServiceProgress entry(Long employeeId, ProgressStatus status, Integer progressPercentage,
+                                         String message, String technicalNotes) {
+        User employee = new User();
+        employee.setId(employeeId);
+
+        ServiceProgress entry = new ServiceProgress();
+        entry.setUpdatedByEmployee(employee);
+        entry.setStatus(status);
+        entry.setProgressPercentage(progressPercentage != null ? progressPercentage : 0);
+        entry.setMessage(message);
+        entry.setTechnicalNotes(technicalNotes);
+        return entry;
+    }
+
+    private static Appointment appointmentReference(Long appointmentId) {
+        Appointment appointment = new Appointment();
+        appointment.setId(appointmentId);
+        return appointment;
+    }
+
+    private static Project projectReference(Long projectId) {
+        Project project = new Project();
+        project.setId(projectId);
+        return project;
+    }
+
+    private static String statusMessage(ProgressStatus status, String notes) {
+        return notes != null && !notes.isBlank() ? notes : "Status changed to " + status.name();
+    }
+
+    private static ProgressStatus parseStatus(String status) {
+        try {
+            return ProgressStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid progress status: " + status);
+        }
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private String employeeName(Long employeeId) {
+        return userRepository.findById(employeeId)
+                .map(user -> user.getFirstName() + " " + user.getLastName())
+                .orElse(null);
+    }
+
+    private static ProgressEntryDTO toDTO(ServiceProgress entry, String employeeName) {
+        return new ProgressEntryDTO(
+                entry.getId(),
+                entry.getAppointment() != null ? entry.getAppointment().getId() : null,
+                entry.getProject() != null ? entry.getProject().getId() : null,
+                entry.getStatus().name(),
+                entry.getProgressPercentage(),
+                entry.getMessage(),
+                entry.getTechnicalNotes(),
+                employeeName,
+                entry.getTimestamp());
+    }
+}
@@ -0,0 +1,172 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.model.ServiceProgress;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for progress timeline entries. Appends are queued and a single flusher
+ * thread writes whatever has accumulated as one JDBC batch through {@link BulkWriteService}, so
+ * concurrent updates share an insert round trip instead of each opening a transaction.
+ *
+ * <p>The flusher does not wait for a batch to fill: a lone append is written straight away, and
+ * batches only grow while a previous write is in flight. Each append gets a future that completes
+ * once its row is committed. The queue is bounded; when it is full the append fails instead of
+ * holding memory for rows that cannot be written.
+ */
+@Slf4j
+@Service
+public class ProgressTimelineWriter {
+
+    private static final long POLL_MS = 250;
+    private static final long SHUTDOWN_MS = 5_000;
+
+    private final BulkWriteService bulkWriteService;
+    private final int batchSize;
+    private final BlockingQueue<Pending> queue;
+    private final Thread flusher;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile boolean running = true;
+
+    private record Pending(ServiceProgress entry, CompletableFuture<ServiceProgress> result) {
+    }
+
+    public ProgressTimelineWriter(BulkWriteService bulkWriteService,
+                                  @Value("${app.progress.timeline.batch-size:50}") int batchSize,
+                                  @Value("${app.progress.timeline.capacity:10000}") int capacity) {
+        this.bulkWriteService = bulkWriteService;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.flusher = new Thread(this::flushLoop, "progress-timeline-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues an entry; the future completes with it (id assigned) once its batch has committed.
+     */
+    public CompletableFuture<ServiceProgress> append(ServiceProgress entry) {
+        Pending pending = new Pending(entry, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.result().completeExceptionally(
+                    new IllegalStateException("Progress timeline is not accepting entries right now"));
+        }
+        return pending.result();
+    }
+
+    /**
+     * Queues an entry once the caller's transaction commits, so a rolled-back change leaves no
+     * trace on the timeline. Failures are logged rather than reported to the caller.
+     */
+    public void appendAfterCommit(ServiceProgress entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendLogged(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                appendLogged(entry);
+            }
+        });
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            flusher.join(SHUTDOWN_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Progress timeline writer stopped"));
+        }
+    }
+
+    private void appendLogged(ServiceProgress entry) {
+        append(entry).whenComplete((saved, error) -> {
+            if (error != null) {
+                log.warn("Progress timeline entry could not be written", error);
+            }
+        });
+    }
+
+    // Drains until shutdown, then writes what is still queued
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Progress timeline flush failed", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        // Stamped as the batch is written, so entries reach the table in timestamp order
+        LocalDateTime now = LocalDateTime.now();
+        batch.forEach(pending -> pending.entry().setTimestamp(now));
+
+        try {
+            bulkWriteService.insertAll(batch.stream().map(Pending::entry).toList());
+            batches.incrementAndGet();
+            written.addAndGet(batch.size());
+            batch.forEach(pending -> pending.result().complete(pending.entry()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // One bad row fails the whole batch; isolate it so the others still land
+            log.warn("Progress timeline batch of {} failed, retrying entries individually", batch.size(), e);
+            for (Pending pending : batch) {
+                pending.entry().setId(null);
+                try {
+                    bulkWriteService.insertAll(List.of(pending.entry()));
+                    batches.incrementAndGet();
+                    written.incrementAndGet();
+                    pending.result().complete(pending.entry());
+                } catch (RuntimeException rowFailure) {
+                    pending.result().completeExceptionally(rowFailure);
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.*;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,28 +21,25 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
+    private final ActivityNoteService activityNoteService;
 
 
     @Transactional
-    public ProjectResponseDTO createProject(String customerEmail, ProjectRequestDTO request) {
+    public ProjectResponseDTO createProject(AuthenticatedUser customer, ProjectRequestDTO request) {
 
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
-        if (customer.getRole() != Role.CUSTOMER) {
+        if (customer.role() != Role.CUSTOMER) {
             throw new UnauthorizedException("Only customers can create project requests");
         }
 
         Vehicle vehicle = vehicleRepository.findById(request.getVehicleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + request.getVehicleId()));
 
-        if (!vehicle.getOwner().getId().equals(customer.getId())) {
+        if (!vehicle.getOwner().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only create projects for your own vehicles");
         }
 
-
         Project project = new Project();
-        project.setCustomer(customer);
+        project.setCustomer(userRepository.getReferenceById(customer.userId()));
         project.setVehicle(vehicle);
         project.setProjectName(capitalizeWords(request.getProjectName().trim()));
         project.setDescription(request.getDescription().trim());
@@ -50,22 +48,19 @@ public class ProjectService {
         project.setEstimatedCost(java.math.BigDecimal.ZERO);
         project.setEstimatedDurationHours(0);
 
-        if (request.getAdditionalNotes() != null && !request.getAdditionalNotes().isEmpty()) {
-            project.setDescription(project.getDescription() + "\n\nAdditional Notes: " + request.getAdditionalNotes().trim());
-        }
-
         Project savedProject = projectRepository.save(project);
 
+        if (request.getAdditionalNotes() != null && !request.getAdditionalNotes().isBlank()) {
+            activityNoteService.addProjectNote(savedProject, customer.userId(), ActivityNote.NoteType.CUSTOMER_NOTE, request.getAdditionalNotes());
+        }
+
         return convertToResponseDTO(savedProject);
     }
 
     @Transactional(readOnly = true)
-    public List<ProjectResponseDTO> getMyProjects(String customerEmail) {
+    public List<ProjectResponseDTO> getMyProjects(AuthenticatedUser customer) {
 
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-
-        List<Project> projects = projectRepository.findByCustomerId(customer.getId());
+        List<Project> projects = projectRepository.findByCustomerId(customer.userId());
 
         return projects.stream()
                 .map(this::convertToResponseDTO)
@@ -73,12 +68,9 @@ public class ProjectService {
     }
 
     @Transactional(readOnly = true)
-    public List<ProjectResponseDTO> getMyActiveProjects(String customerEmail) {
-
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    public List<ProjectResponseDTO> getMyActiveProjects(AuthenticatedUser customer) {
 
-        List<Project> projects = projectRepository.findActiveProjectsByCustomer(customer.getId());
+        List<Project> projects = projectRepository.findActiveProjectsByCustomer(customer.userId());
 
         return projects.stream()
                 .map(this::convertToResponseDTO)
@@ -86,16 +78,13 @@ public class ProjectService {
     }
 
     @Transactional(readOnly = true)
-    public ProjectResponseDTO getProjectById(String userEmail, Long projectId) {
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public ProjectResponseDTO getProjectById(AuthenticatedUser user, Long projectId) {
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + projectId));
 
-        if (user.getRole() == Role.CUSTOMER) {
-            if (!project.getCustomer().getId().equals(user.getId())) {
+        if (user.role() == Role.CUSTOMER) {
+            if (!project.getCustomer().getId().equals(user.userId())) {
                 throw new UnauthorizedException("You don't have permission to view this project");
             }
         }
@@ -105,15 +94,12 @@ public class ProjectService {
 
 
     @Transactional
-    public ProjectResponseDTO updateProject(String customerEmail, Long projectId, ProjectUpdateRequestDTO request) {
-
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    public ProjectResponseDTO updateProject(AuthenticatedUser customer, Long projectId, ProjectUpdateRequestDTO request) {
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + projectId));
 
-        if (!project.getCustomer().getId().equals(customer.getId())) {
+        if (!project.getCustomer().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only update your own projects");
         }
 
@@ -133,19 +119,12 @@ public class ProjectService {
         }
 
         if (request.getDescription() != null && !request.getDescription().isEmpty()) {
-            String newDescription = request.getDescription().trim();
-
-            if (request.getAdditionalNotes() != null && !request.getAdditionalNotes().isEmpty()) {
-                newDescription += "\n\nAdditional Notes: " + request.getAdditionalNotes().trim();
-            }
-
-            project.setDescription(newDescription);
-            isUpdated = true;
-        } else if (request.getAdditionalNotes() != null) {
-            project.setDescription(project.getDescription() + "\n\nAdditional Notes: " + request.getAdditionalNotes().trim());
+            project.setDescription(request.getDescription().trim());
             isUpdated = true;
         }
-        if (!isUpdated) {
+
+        boolean hasNotes = request.getAdditionalNotes() != null && !request.getAdditionalNotes().isBlank();
+        if (!isUpdated && !hasNotes) {
             throw new IllegalArgumentException("No valid fields provided for update");
         }
 
@@ -155,20 +134,21 @@ public class ProjectService {
         }
 
         Project updatedProject = projectRepository.save(project);
+        if (hasNotes) {
+            activityNoteService.addProjectNote(updatedProject, customer.userId(), ActivityNote.NoteType.CUSTOMER_NOTE, request.getAdditionalNotes());
+        }
         return convertToResponseDTO(updatedProject);
     }
 
     @Transactional
-    public void deleteProject(String customerEmail, Long projectId) {
-        log.info("Deleting project {} for customer: {}", projectId, customerEmail);
+    public void deleteProject(AuthenticatedUser customer, Long projectId) {
+        log.info("Deleting project {} for customer: {}", projectId, customer.email());
 
-        User customer = userRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + projectId));
 
-        if (!project.getCustomer().getId().equals(customer.getId())) {
+        if (!project.getCustomer().getId().equals(customer.userId())) {
             throw new UnauthorizedException("You can only delete your own projects");
         }
 
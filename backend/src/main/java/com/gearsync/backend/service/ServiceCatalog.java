@@ -0,0 +1,166 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.ServiceCatalogStatsDTO;
+import com.gearsync.backend.dto.ServiceResponseDTO;
+import com.gearsync.backend.dto.ServiceSummaryDTO;
+import com.gearsync.backend.model.ServiceCategory;
+import com.gearsync.backend.model.Services;
+import com.gearsync.backend.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory copy of the services table. Readers get an immutable snapshot through a single
+ * volatile read; catalog edits rebuild the snapshot after their transaction commits and swap it in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ServiceCatalog {
+
+    private static final Sort BY_NAME = Sort.by(Sort.Direction.ASC, "serviceName");
+
+    private final ServiceRepository serviceRepository;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Service catalog warm-up failed, it will load on first use", e);
+        }
+    }
+
+    /** All services, sorted by name. */
+    public List<ServiceResponseDTO> services() {
+        return current().services();
+    }
+
+    /** The services for the given ids, skipping ids that are not in the catalog. */
+    public List<Entry> findAll(Collection<Long> ids) {
+        Map<Long, Entry> byId = current().byId();
+        return ids.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Schedules a rebuild once the surrounding transaction commits, so the snapshot never
+     * shows rolled-back edits. Without a transaction the rebuild runs immediately.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    public ServiceCatalogStatsDTO getStats() {
+        Snapshot current = snapshot;
+        return new ServiceCatalogStatsDTO(
+                current != null ? current.services().size() : 0,
+                hits.sum(),
+                misses.sum(),
+                rebuilds.get(),
+                current != null ? current.builtAt() : null,
+                current != null ? current.buildMillis() : null
+        );
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return rebuild();
+    }
+
+    // Serialized so a slow rebuild can never overwrite the result of a later one
+    synchronized Snapshot rebuild() {
+        long started = System.nanoTime();
+        List<Services> rows = serviceRepository.findAll(BY_NAME);
+
+        Map<Long, Entry> byId = new LinkedHashMap<>();
+        for (Services row : rows) {
+            byId.put(row.getId(), Entry.of(row));
+        }
+        List<ServiceResponseDTO> services = byId.values().stream()
+                .map(Entry::toResponse)
+                .toList();
+
+        Snapshot rebuilt = new Snapshot(services, Map.copyOf(byId), LocalDateTime.now(),
+                (System.nanoTime() - started) / 1_000_000);
+        snapshot = rebuilt;
+        rebuilds.incrementAndGet();
+        log.debug("Service catalog rebuilt with {} services in {} ms", services.size(), rebuilt.buildMillis());
+        return rebuilt;
+    }
+
+    private record Snapshot(List<ServiceResponseDTO> services, Map<Long, Entry> byId,
+                            LocalDateTime builtAt, long buildMillis) {
+    }
+
+    /** Immutable copy of one services row; detached from any persistence context. */
+    public record Entry(
+            Long id,
+            String serviceName,
+            String description,
+            BigDecimal basePrice,
+            Integer estimatedDurationMinutes,
+            ServiceCategory category,
+            boolean active
+    ) {
+
+        static Entry of(Services service) {
+            return new Entry(
+                    service.getId(),
+                    service.getServiceName(),
+                    service.getDescription(),
+                    service.getBasePrice(),
+                    service.getEstimatedDurationMinutes(),
+                    service.getCategory(),
+                    Boolean.TRUE.equals(service.getIsActive())
+            );
+        }
+
+        public ServiceResponseDTO toResponse() {
+            return new ServiceResponseDTO(id, serviceName, description, basePrice, estimatedDurationMinutes, category);
+        }
+
+        public ServiceSummaryDTO toSummary() {
+            return new ServiceSummaryDTO(id, serviceName, category.name(), basePrice, estimatedDurationMinutes);
+        }
+    }
+}
@@ -0,0 +1,674 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AvailabilityDTO;
+import com.gearsync.backend.dto.AvailableSlotDTO;
+import com.gearsync.backend.exception.SlotUnavailableException;
+import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bay occupancy, the one place bookings are checked against capacity. Each open day is
+ * cut into 15-minute slots; a day keeps how many bays every slot has taken plus a bitmap of the
+ * slots with none left, so checking a booking is one mask test and listing a day's free starts
+ * never touches the database. Changes to a (day, slot) serialize on one of a fixed set of striped
+ * locks, so bookings for different slots of the same day do not wait on each other.
+ *
+ * <p>Bookings, moves and releases are applied as they happen: a reservation takes effect at once
+ * and is undone if its transaction rolls back, a release waits for the commit. A new booking is
+ * admitted by a {@link Hold} before its transaction opens, so a burst for one slot is turned away
+ * here instead of queueing on the database. The occupancy is loaded from the appointments table
+ * when the application is ready and reloaded on a schedule, which is how bookings made on other
+ * nodes show up here; with {@code app.availability.cluster-locks} on, {@link #lockAcrossNodes}
+ * makes the check exact across nodes with Postgres advisory locks.
+ */
+@Slf4j
+@Service
+public class SlotAvailability {
+
+    public static final int SLOT_MINUTES = 15;
+
+    /** Statuses that keep a bay booked; moving to any other status frees it. */
+    public static final Set<AppointmentStatus> OCCUPYING = Collections.unmodifiableSet(EnumSet.of(
+            AppointmentStatus.SCHEDULED,
+            AppointmentStatus.CONFIRMED,
+            AppointmentStatus.IN_PROGRESS,
+            AppointmentStatus.ON_HOLD,
+            AppointmentStatus.RESCHEDULED));
+
+    // Power of two above the slots in a day, so the slots of one day never share a stripe
+    static final int STRIPES = 256;
+
+    // First key of pg_advisory_xact_lock(int, int); the second is epoch day * 64 + slot
+    static final int CLUSTER_LOCK_NAMESPACE = 0x5107;
+
+    private final AppointmentRepository appointmentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final boolean clusterLocks;
+    private final int bays;
+    private final LocalTime opening;
+    private final LocalTime closing;
+    private final int slotsPerDay;
+    private final Set<DayOfWeek> closedDays;
+
+    // A reload only replaces the occupancy if nothing was pending or applied while it read the database
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong holdKeys = new AtomicLong();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private volatile Occupancy occupancy = new Occupancy();
+    private volatile boolean loaded;
+
+    // Slots first .. first + count - 1 of one day
+    private record Booking(LocalDate date, int first, int count) {
+        long mask() {
+            return SlotAvailability.mask(first, count);
+        }
+    }
+
+    // Slot i is only written under its stripe; full has bit i set once slot i has no free bay
+    private static final class Day {
+        private final AtomicIntegerArray taken;
+        private final AtomicLong full = new AtomicLong();
+
+        private Day(int slots) {
+            this.taken = new AtomicIntegerArray(slots);
+        }
+    }
+
+    // Whether the booking went in, and what it replaced for the same key
+    private record Placement(boolean placed, Booking previous) {
+    }
+
+    /**
+     * Bays held for a booking that has no appointment row yet. {@link #claim} hands them to the
+     * appointment inside its transaction; closing the hold gives back whatever was not claimed.
+     */
+    public final class Hold implements AutoCloseable {
+        private final Long key;
+        private final LocalDateTime start;
+        private final int durationMinutes;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Hold(Long key, LocalDateTime start, int durationMinutes) {
+            this.key = key;
+            this.start = start;
+            this.durationMinutes = durationMinutes;
+        }
+
+        /** Whether this hold was taken for exactly this booking. */
+        public boolean matches(LocalDateTime start, int durationMinutes) {
+            return this.start.equals(start) && this.durationMinutes == durationMinutes;
+        }
+
+        @Override
+        public void close() {
+            if (done.compareAndSet(false, true)) {
+                try {
+                    releaseNow(key);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private final class Occupancy {
+        private final ConcurrentHashMap<LocalDate, Day> days = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, Booking> bookings = new ConcurrentHashMap<>();
+
+        private Day day(LocalDate date) {
+            return days.computeIfAbsent(date, key -> new Day(slotsPerDay));
+        }
+    }
+
+    public SlotAvailability(AppointmentRepository appointmentRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.availability.bays:4}") int bays,
+                            @Value("${app.availability.opening:08:00}") String opening,
+                            @Value("${app.availability.closing:18:00}") String closing,
+                            @Value("${app.availability.closed-days:SUNDAY}") String closedDays,
+                            @Value("${app.availability.cluster-locks:false}") boolean clusterLocks) {
+        this.appointmentRepository = appointmentRepository;
+        this.transactionManager = transactionManager;
+        this.clusterLocks = clusterLocks;
+        this.bays = Math.max(1, bays);
+        this.opening = LocalTime.parse(opening);
+        this.closing = LocalTime.parse(closing);
+        this.slotsPerDay = (int) Duration.between(this.opening, this.closing).toMinutes() / SLOT_MINUTES;
+        if (slotsPerDay < 1 || slotsPerDay > Long.SIZE) {
+            throw new IllegalStateException("Opening hours must cover between 1 and " + Long.SIZE + " slots of "
+                    + SLOT_MINUTES + " minutes, got " + opening + "-" + closing);
+        }
+        this.closedDays = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : closedDays.split(",")) {
+            if (!day.isBlank()) {
+                this.closedDays.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            log.warn("Slot availability could not be loaded, the first booking or lookup retries", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability.reload-ms:60000}",
+            initialDelayString = "${app.availability.reload-ms:60000}")
+    public void reload() {
+        if (!loaded) {
+            seed();
+        } else if (!reloadOnce(false)) {
+            log.debug("Slot availability changed during reload, retrying next round");
+        }
+    }
+
+    /**
+     * Every start on the given day where a job of this length still fits, with the number of bays
+     * left at its busiest slot. Closed days and starts that have already passed are left out.
+     */
+    public AvailabilityDTO availability(LocalDate date, int durationMinutes) {
+        int minutes = Math.max(durationMinutes, 1);
+        int needed = Math.floorDiv(minutes + SLOT_MINUTES - 1, SLOT_MINUTES);
+        List<AvailableSlotDTO> slots = new ArrayList<>();
+        if (closedDays.contains(date.getDayOfWeek()) || needed > slotsPerDay) {
+            return new AvailabilityDTO(date, minutes, SLOT_MINUTES, slots);
+        }
+        ensureLoaded();
+
+        // Read without the stripes: a slot changing mid-scan is the same as a booking a moment later
+        Day day = occupancy.days.get(date);
+        long full = day == null ? 0 : day.full.get();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime opensAt = date.atTime(opening);
+        for (int first = 0; first + needed <= slotsPerDay; first++) {
+            LocalDateTime start = opensAt.plusMinutes((long) first * SLOT_MINUTES);
+            if ((full & mask(first, needed)) != 0 || !start.isAfter(now)) {
+                continue;
+            }
+            int busiest = 0;
+            for (int slot = first; day != null && slot < first + needed; slot++) {
+                busiest = Math.max(busiest, day.taken.get(slot));
+            }
+            slots.add(new AvailableSlotDTO(start, start.plusMinutes(minutes), bays - busiest));
+        }
+        return new AvailabilityDTO(date, minutes, SLOT_MINUTES, slots);
+    }
+
+    /**
+     * Books a bay for the appointment, or moves its existing booking, in one step. Throws
+     * {@link SlotUnavailableException} when any slot in the range is full and
+     * {@link IllegalArgumentException} when the range falls outside opening hours. Inside a
+     * transaction the booking is undone again if the transaction rolls back.
+     */
+    public void reserve(Long appointmentId, LocalDateTime start, int durationMinutes) {
+        Booking wanted = requestedBooking(start, durationMinutes);
+        ensureLoaded();
+
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        // Counted before the change so a reload that has already read the database cannot swap it away
+        if (inTransaction) {
+            pending.incrementAndGet();
+        }
+        Placement placement = null;
+        try {
+            placement = place(appointmentId, wanted);
+            if (!placement.placed()) {
+                throw unavailable(start, durationMinutes);
+            }
+        } finally {
+            if (inTransaction && (placement == null || !placement.placed())) {
+                pending.decrementAndGet();
+            }
+        }
+
+        if (!inTransaction) {
+            return;
+        }
+        if (wanted.equals(placement.previous())) {
+            pending.decrementAndGet();
+        } else {
+            undoOnRollback(appointmentId, wanted, placement.previous());
+        }
+    }
+
+    /**
+     * Takes bays for a booking before its transaction opens, so a full slot is rejected without a
+     * database round trip. Throws like {@link #reserve}. The hold must be closed, normally with
+     * try-with-resources around the transactional call that {@link #claim claims} it.
+     */
+    public Hold hold(LocalDateTime start, int durationMinutes) {
+        Booking wanted = requestedBooking(start, durationMinutes);
+        ensureLoaded();
+
+        // Negative keys never collide with appointment ids
+        Long key = holdKeys.decrementAndGet();
+        pending.incrementAndGet();
+        boolean placed = false;
+        try {
+            placed = place(key, wanted).placed();
+            if (!placed) {
+                throw unavailable(start, durationMinutes);
+            }
+            return new Hold(key, start, durationMinutes);
+        } finally {
+            if (!placed) {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Hands a hold's bays to the appointment just written in the current transaction. If the
+     * transaction rolls back the bays are freed; closing the hold afterwards does nothing.
+     */
+    public void claim(Hold hold, Long appointmentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A hold can only be claimed inside a transaction");
+        }
+        if (!hold.done.compareAndSet(false, true)) {
+            throw new IllegalStateException("The hold has already been claimed or closed");
+        }
+
+        Booking claimed;
+        lock.readLock().lock();
+        try {
+            Occupancy current = occupancy;
+            claimed = current.bookings.get(hold.key);
+            if (claimed != null) {
+                int[] locked = lockStripes(claimed, null);
+                try {
+                    if (current.bookings.remove(hold.key, claimed)) {
+                        current.bookings.put(appointmentId, claimed);
+                    } else {
+                        claimed = null;
+                    }
+                } finally {
+                    unlockStripes(locked);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (claimed == null) {
+            // Only a forced initial load drops holds; book the bays afresh, as reserve would have
+            pending.decrementAndGet();
+            reserve(appointmentId, hold.start, hold.durationMinutes);
+            return;
+        }
+        // The hold's pending count now belongs to the transaction
+        undoOnRollback(appointmentId, claimed, null);
+    }
+
+    /**
+     * With {@code app.availability.cluster-locks} on, makes the booking's capacity check exact
+     * across nodes: takes a transaction-scoped advisory lock on each of its (day, slot) keys in
+     * ascending order, then counts the bays committed rows already hold there. Call inside the
+     * booking's transaction before its row is written; the locks are released at commit. Does
+     * nothing when cluster locks are off, as on a single node the in-memory check is already exact.
+     */
+    public void lockAcrossNodes(Long appointmentId, LocalDateTime start, int durationMinutes) {
+        if (!clusterLocks) {
+            return;
+        }
+        Booking wanted = requestedBooking(start, durationMinutes);
+        int base = (int) (wanted.date().toEpochDay() * Long.SIZE);
+        appointmentRepository.lockSlots(CLUSTER_LOCK_NAMESPACE, base + wanted.first(),
+                base + wanted.first() + wanted.count() - 1);
+
+        LocalDateTime firstSlot = wanted.date().atTime(opening).plusMinutes((long) wanted.first() * SLOT_MINUTES);
+        long busiest = appointmentRepository.countBusiestSlot(appointmentId, firstSlot,
+                firstSlot.plusMinutes((long) (wanted.count() - 1) * SLOT_MINUTES));
+        if (busiest >= bays) {
+            throw unavailable(start, durationMinutes);
+        }
+    }
+
+    /**
+     * Frees the appointment's bay once the caller's transaction commits; without a transaction it is
+     * freed now. Appointments this node does not hold are ignored.
+     */
+    public void release(Long appointmentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseNow(appointmentId);
+            return;
+        }
+        pending.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseNow(appointmentId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    public int getBays() {
+        return bays;
+    }
+
+    public LocalTime getOpening() {
+        return opening;
+    }
+
+    public LocalTime getClosing() {
+        return closing;
+    }
+
+    /**
+     * The day's slots a job starting then would cover, as a bitmap in the same layout the
+     * occupancy uses, clipped to opening hours. Zero on a closed day or outside opening hours.
+     */
+    public long slotMask(LocalDateTime start, int durationMinutes) {
+        LocalDate date = start.toLocalDate();
+        if (closedDays.contains(date.getDayOfWeek())) {
+            return 0;
+        }
+        Booking booking = booking(date, (int) Duration.between(date.atTime(opening), start).toMinutes(),
+                Math.max(durationMinutes, 1));
+        return booking == null ? 0 : booking.mask();
+    }
+
+    /** The slots between two times of day, clipped to opening hours. */
+    public long slotMask(LocalTime from, LocalTime to) {
+        Booking booking = booking(null, (int) Duration.between(opening, from).toMinutes(),
+                (int) Duration.between(from, to).toMinutes());
+        return booking == null ? 0 : booking.mask();
+    }
+
+    // Moves the key's booking to wanted under the stripes of both ranges, retrying if it changed meanwhile
+    private Placement place(Long key, Booking wanted) {
+        lock.readLock().lock();
+        try {
+            Occupancy current = occupancy;
+            while (true) {
+                Booking previous = current.bookings.get(key);
+                if (wanted.equals(previous)) {
+                    return new Placement(true, previous);
+                }
+                int[] locked = lockStripes(wanted, previous);
+                try {
+                    if (!Objects.equals(current.bookings.get(key), previous)) {
+                        continue;
+                    }
+                    Day from = previous == null ? null : current.day(previous.date());
+                    Day to = current.day(wanted.date());
+                    if (previous != null) {
+                        take(from, previous, -1);
+                    }
+                    if ((to.full.get() & wanted.mask()) != 0) {
+                        if (previous != null) {
+                            take(from, previous, 1);
+                        }
+                        return new Placement(false, previous);
+                    }
+                    take(to, wanted, 1);
+                    current.bookings.put(key, wanted);
+                    changes.incrementAndGet();
+                    return new Placement(true, previous);
+                } finally {
+                    unlockStripes(locked);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Pending was counted by the caller; it is given back once the transaction completes either way
+    private void undoOnRollback(Long appointmentId, Booking wanted, Booking previous) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        restore(appointmentId, wanted, previous);
+                    }
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    // Puts back what the rolled-back transaction replaced, even if the slot has filled up since
+    private void restore(Long appointmentId, Booking wanted, Booking previous) {
+        lock.readLock().lock();
+        try {
+            Occupancy current = occupancy;
+            int[] locked = lockStripes(wanted, previous);
+            try {
+                if (!current.bookings.remove(appointmentId, wanted)) {
+                    return;
+                }
+                take(current.day(wanted.date()), wanted, -1);
+                if (previous != null) {
+                    take(current.day(previous.date()), previous, 1);
+                    current.bookings.put(appointmentId, previous);
+                }
+            } finally {
+                unlockStripes(locked);
+            }
+            changes.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void releaseNow(Long appointmentId) {
+        lock.readLock().lock();
+        try {
+            Occupancy current = occupancy;
+            Booking booking = current.bookings.get(appointmentId);
+            if (booking == null) {
+                return;
+            }
+            int[] locked = lockStripes(booking, null);
+            try {
+                if (current.bookings.remove(appointmentId, booking)) {
+                    take(current.day(booking.date()), booking, -1);
+                    changes.incrementAndGet();
+                }
+            } finally {
+                unlockStripes(locked);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the stripes of the booking's slots
+    private void take(Day day, Booking booking, int delta) {
+        for (int slot = booking.first(); slot < booking.first() + booking.count(); slot++) {
+            int taken = Math.max(0, day.taken.get(slot) + delta);
+            day.taken.set(slot, taken);
+            long bit = 1L << slot;
+            if (taken >= bays) {
+                day.full.getAndUpdate(full -> full | bit);
+            } else {
+                day.full.getAndUpdate(full -> full & ~bit);
+            }
+        }
+    }
+
+    // Locks the stripes of every slot in both bookings in index order, which keeps any two callers from deadlocking
+    private int[] lockStripes(Booking booking, Booking other) {
+        boolean[] wanted = new boolean[STRIPES];
+        int count = markStripes(wanted, booking) + markStripes(wanted, other);
+        int[] locked = new int[count];
+        int next = 0;
+        for (int i = 0; i < STRIPES && next < count; i++) {
+            if (wanted[i]) {
+                stripes[i].lock();
+                locked[next++] = i;
+            }
+        }
+        return locked;
+    }
+
+    private int markStripes(boolean[] wanted, Booking booking) {
+        if (booking == null) {
+            return 0;
+        }
+        int marked = 0;
+        long base = booking.date().toEpochDay() * slotsPerDay;
+        for (int slot = booking.first(); slot < booking.first() + booking.count(); slot++) {
+            int stripe = (int) Math.floorMod(base + slot, (long) STRIPES);
+            if (!wanted[stripe]) {
+                wanted[stripe] = true;
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    private void unlockStripes(int[] locked) {
+        for (int i = locked.length - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+
+    private static SlotUnavailableException unavailable(LocalDateTime start, int durationMinutes) {
+        return new SlotUnavailableException("No bay is free between " + start.toLocalTime() + " and "
+                + start.plusMinutes(Math.max(durationMinutes, 1)).toLocalTime() + " on " + start.toLocalDate());
+    }
+
+    private Booking requestedBooking(LocalDateTime start, int durationMinutes) {
+        LocalDate date = start.toLocalDate();
+        if (closedDays.contains(date.getDayOfWeek())) {
+            throw new IllegalArgumentException("The workshop is closed on "
+                    + date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + "s");
+        }
+        int minutes = Math.max(durationMinutes, 1);
+        LocalDateTime opensAt = date.atTime(opening);
+        if (start.isBefore(opensAt) || start.plusMinutes(minutes).isAfter(date.atTime(closing))) {
+            throw new IllegalArgumentException("Appointments must start and finish between " + opening + " and " + closing);
+        }
+        return booking(date, (int) Duration.between(opensAt, start).toMinutes(), minutes);
+    }
+
+    // Rounded out to whole slots and clipped to opening hours; null when nothing is left
+    private Booking booking(LocalDate date, int offsetMinutes, int minutes) {
+        int first = Math.max(0, Math.floorDiv(offsetMinutes, SLOT_MINUTES));
+        int end = Math.min(slotsPerDay, Math.floorDiv(offsetMinutes + minutes + SLOT_MINUTES - 1, SLOT_MINUTES));
+        return first < end ? new Booking(date, first, end - first) : null;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                reloadOnce(true);
+            }
+        }
+    }
+
+    boolean reloadOnce(boolean initial) {
+        long changesBefore = changes.get();
+        if (!initial && pending.get() > 0) {
+            return false;
+        }
+        Occupancy fresh = load();
+
+        lock.writeLock().lock();
+        try {
+            if (!initial && (pending.get() > 0 || changes.get() != changesBefore)) {
+                return false;
+            }
+            occupancy = fresh;
+            if (!loaded) {
+                log.info("Slot availability loaded: {} bookings over {} days, {} bays",
+                        fresh.bookings.size(), fresh.days.size(), bays);
+                loaded = true;
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Its own transaction on the primary: only committed bookings, and no replica lag
+    private Occupancy load() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Object[]> rows = transaction.execute(status ->
+                appointmentRepository.findBookedDurationsFrom(LocalDate.now().atStartOfDay(), OCCUPYING));
+
+        Occupancy fresh = new Occupancy();
+        int overbooked = 0;
+        for (Object[] row : Objects.requireNonNull(rows)) {
+            LocalDateTime start = (LocalDateTime) row[1];
+            LocalDate date = start.toLocalDate();
+            if (closedDays.contains(date.getDayOfWeek())) {
+                continue;
+            }
+            int offset = (int) Duration.between(date.atTime(opening), start).toMinutes();
+            Booking booking = booking(date, offset, Math.max(((Number) row[2]).intValue(), 1));
+            if (booking == null) {
+                continue;
+            }
+            Day day = fresh.day(date);
+            if ((day.full.get() & booking.mask()) != 0) {
+                overbooked++;
+            }
+            take(day, booking, 1);
+            fresh.bookings.put((Long) row[0], booking);
+        }
+        if (overbooked > 0) {
+            log.warn("{} booked appointments overlap slots that already had every bay taken", overbooked);
+        }
+        return fresh;
+    }
+
+    private static long mask(int first, int count) {
+        long bits = count >= Long.SIZE ? -1L : (1L << count) - 1;
+        return bits << first;
+    }
+}
@@ -0,0 +1,205 @@
+package com.gearsync.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a few authenticated SMTP connections open and sends many messages over each, instead of
+ * a connect, STARTTLS and AUTH round trip per message. Connections are recycled after
+ * {@code max-messages-per-connection} messages or {@code max-idle-ms} of idleness, and sends are
+ * paced to {@code max-per-minute} so bursts stay inside the provider's quota.
+ */
+@Slf4j
+@Service
+public class SmtpTransportPool {
+
+    // Reused connections idle for longer than this get a NOOP before carrying a message
+    private static final long PROBE_AFTER_IDLE_MS = 5_000;
+
+    private final JavaMailSenderImpl mailSender;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleMs;
+    private final long permitIntervalNanos;
+    private final long burstNanos;
+
+    private final BlockingQueue<PooledTransport> idle = new LinkedBlockingQueue<>();
+    private final Semaphore connections;
+    private long nextPermitAt = System.nanoTime();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder throttledNanos = new LongAdder();
+    // Messages sent per second over the last minute, indexed by epoch second % 60
+    private final AtomicLongArray sentPerSecond = new AtomicLongArray(60);
+    private final AtomicLongArray bucketSecond = new AtomicLongArray(60);
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${app.mail.smtp.pool-size:4}") int poolSize,
+                             @Value("${app.mail.smtp.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                             @Value("${app.mail.smtp.max-idle-ms:60000}") long maxIdleMs,
+                             @Value("${app.mail.smtp.max-per-minute:0}") int maxPerMinute) {
+        this.mailSender = mailSender;
+        this.connections = new Semaphore(Math.max(1, poolSize), true);
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.maxIdleMs = maxIdleMs;
+        this.permitIntervalNanos = maxPerMinute > 0 ? TimeUnit.MINUTES.toNanos(1) / maxPerMinute : 0;
+        this.burstNanos = permitIntervalNanos * Math.max(1, poolSize);
+    }
+
+    /**
+     * Sends one message over a pooled connection. A connection that fails is closed rather than
+     * returned, so the next send starts on a fresh one.
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        throttle();
+        try {
+            connections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        PooledTransport pooled = null;
+        try {
+            pooled = borrow();
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.sent++;
+            pooled.lastUsed = System.currentTimeMillis();
+            recordSent();
+            if (pooled.sent < maxMessagesPerConnection) {
+                idle.offer(pooled);
+                pooled = null;
+            }
+        } finally {
+            if (pooled != null) {
+                close(pooled);
+            }
+            connections.release();
+        }
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public long getThrottledMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledNanos.sum());
+    }
+
+    public long getSentLastMinute() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        for (int i = 0; i < 60; i++) {
+            if (now - bucketSecond.get(i) < 60) {
+                total += sentPerSecond.get(i);
+            }
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            close(pooled);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            long idleFor = System.currentTimeMillis() - pooled.lastUsed;
+            if (idleFor <= maxIdleMs && (idleFor < PROBE_AFTER_IDLE_MS || pooled.transport.isConnected())) {
+                return pooled;
+            }
+            close(pooled);
+        }
+        return open();
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Session session = mailSender.getSession();
+        String protocol = mailSender.getProtocol() != null
+                ? mailSender.getProtocol()
+                : session.getProperty("mail.transport.protocol");
+        Transport transport = session.getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connectionsOpened.increment();
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection", e);
+        }
+    }
+
+    // Spaces sends permitIntervalNanos apart, allowing a burst of one slot per pooled connection
+    private void throttle() throws MessagingException {
+        if (permitIntervalNanos == 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            nextPermitAt = Math.max(nextPermitAt, now - burstNanos);
+            wait = nextPermitAt - now;
+            nextPermitAt += permitIntervalNanos;
+        }
+        if (wait > 0) {
+            throttledNanos.add(wait);
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted while waiting for the send rate limit", e);
+            }
+        }
+    }
+
+    private void recordSent() {
+        sent.increment();
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % 60);
+        long stamped = bucketSecond.get(slot);
+        if (stamped != second && bucketSecond.compareAndSet(slot, stamped, second)) {
+            sentPerSecond.set(slot, 0);
+        }
+        sentPerSecond.incrementAndGet(slot);
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int sent;
+        private long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.gearsync.backend.exception.DuplicateResourceException;
 import com.gearsync.backend.model.Services;
 import com.gearsync.backend.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +16,7 @@ import java.util.List;
 public class TaskService {
 
     private final ServiceRepository serviceRepository;
+    private final ServiceCatalog serviceCatalog;
 
     @Transactional
     public void newServiceAdd(ServiceDTO serviceDTO) {
@@ -32,21 +32,10 @@ public class TaskService {
         services.setCategory(serviceDTO.getCategory());
 
         serviceRepository.save(services);
+        serviceCatalog.refresh();
     }
 
-    @Transactional(readOnly = true)
     public List<ServiceResponseDTO> getAllServiceDetails() {
-        return serviceRepository
-                .findAll(Sort.by(Sort.Direction.ASC, "serviceName"))
-                .stream()
-                .map(service -> new ServiceResponseDTO(
-                        service.getId(),
-                        service.getServiceName(),
-                        service.getDescription(),
-                        service.getBasePrice(),
-                        service.getEstimatedDurationMinutes(),
-                        service.getCategory()
-                ))
-                .toList();
+        return serviceCatalog.services();
     }
 }
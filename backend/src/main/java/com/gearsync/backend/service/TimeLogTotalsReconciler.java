@@ -0,0 +1,107 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Repairs drift between the denormalized loggedMinutes/timeLogCount columns and time_logs.
+ * The id space is split into ranges that are reconciled in parallel, each in its own transaction.
+ *
+ * <p>A range is locked before its sums are read. Under READ COMMITTED every statement takes a new
+ * snapshot, so sums read after the locks are held include every time log whose total adjustment has
+ * committed, while an adjustment still in flight waits on the lock and lands on top of the repaired
+ * value. Comparing and rewriting in one UPDATE would recheck a row unlocked by such an adjustment
+ * against sums from the statement's older snapshot and overwrite it with the stale total.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimeLogTotalsReconciler {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ProjectRepository projectRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.time-log-totals.reconcile.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    @Value("${app.time-log-totals.reconcile.parallelism:4}")
+    private int parallelism = 4;
+
+    @Scheduled(cron = "${app.time-log-totals.reconcile.cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        int appointments = reconcile(appointmentRepository.findMaxId(), this::repairAppointments);
+        int projects = reconcile(projectRepository.findMaxId(), this::repairProjects);
+        if (appointments > 0 || projects > 0) {
+            log.warn("Repaired time log totals for {} appointments and {} projects", appointments, projects);
+        }
+    }
+
+    int reconcile(Long maxId, RangeRepair repair) {
+        if (maxId == null || maxId <= 0) {
+            return 0;
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<Integer>> ranges = new ArrayList<>();
+            for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                long lo = fromId;
+                long hi = Math.min(fromId + chunkSize - 1, maxId);
+                ranges.add(pool.submit(() -> transaction.execute(status -> repair.apply(lo, hi))));
+            }
+
+            int repaired = 0;
+            for (Future<Integer> range : ranges) {
+                Integer count = range.get();
+                repaired += count != null ? count : 0;
+            }
+            return repaired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Time log reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Time log reconciliation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    int repairAppointments(Long fromId, Long toId) {
+        appointmentRepository.lockIdsBetween(fromId, toId);
+        List<Object[]> drifted = appointmentRepository.findDriftedTimeLogTotals(fromId, toId);
+        for (Object[] row : drifted) {
+            appointmentRepository.setTimeLogTotals((Long) row[0], ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+        }
+        return drifted.size();
+    }
+
+    int repairProjects(Long fromId, Long toId) {
+        projectRepository.lockIdsBetween(fromId, toId);
+        List<Object[]> drifted = projectRepository.findDriftedTimeLogTotals(fromId, toId);
+        for (Object[] row : drifted) {
+            projectRepository.setTimeLogTotals((Long) row[0], ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+        }
+        return drifted.size();
+    }
+
+    @FunctionalInterface
+    interface RangeRepair {
+        int apply(Long fromId, Long toId);
+    }
+}
@@ -2,13 +2,12 @@ package com.gearsync.backend.service;
 
 import com.gearsync.backend.dto.VehicleRequestDTO;
 import com.gearsync.backend.dto.VehicleResponseDTO;
-import com.gearsync.backend.exception.UserNotFoundException;
 import com.gearsync.backend.exception.VehicleAlreadyExistsException;
 import com.gearsync.backend.exception.VehicleNotFoundException;
-import com.gearsync.backend.model.User;
 import com.gearsync.backend.model.Vehicle;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
@@ -24,40 +23,38 @@ public class VehicleService {
     private final VehicleRepository vehicleRepository;
     private final UserRepository userRepository;
     private final ModelMapper modelMapper;
+    private final OperationalCounters operationalCounters;
 
-    public List<Vehicle> listMyVehicles(String email) {
-        User me = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-        return vehicleRepository.findByOwner(me);
+    public List<Vehicle> listMyVehicles(AuthenticatedUser me) {
+        return vehicleRepository.findByOwnerId(me.userId());
     }
 
-    public Vehicle getMyVehicle(String email, Long id) {
-        User me = userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+    public Vehicle getMyVehicle(AuthenticatedUser me, Long id) {
         Vehicle v = vehicleRepository.findById(id).orElseThrow(() -> new RuntimeException("Vehicle not found"));
-        if (!v.getOwner().getId().equals(me.getId())) throw new RuntimeException("Forbidden");
+        if (!v.getOwner().getId().equals(me.userId())) throw new RuntimeException("Forbidden");
         return v;
     }
 
     @Transactional
-    public VehicleResponseDTO addMyVehicle(String email, VehicleRequestDTO payload) {
-        User me = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    public VehicleResponseDTO addMyVehicle(AuthenticatedUser me, VehicleRequestDTO payload) {
         if (vehicleRepository.existsByRegistrationNumber(payload.getRegistrationNumber())) {
             throw new VehicleAlreadyExistsException(
                     "Vehicle with registration number " + payload.getRegistrationNumber() + " already exists");
         }
         Vehicle vehicle = modelMapper.map(payload, Vehicle.class);
-        vehicle.setOwner(me);
+        vehicle.setOwner(userRepository.getReferenceById(me.userId()));
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        operationalCounters.vehicleAdded();
         VehicleResponseDTO response = modelMapper.map(savedVehicle, VehicleResponseDTO.class);
-        response.setOwnerEmail(me.getEmail());
+        response.setOwnerEmail(me.email());
         return response;
     }
 
 
 
     @Transactional
-    public Vehicle updateMyVehicle(String email, Long id, VehicleRequestDTO update) {
-        Vehicle existing = getMyVehicle(email, id);
+    public Vehicle updateMyVehicle(AuthenticatedUser me, Long id, VehicleRequestDTO update) {
+        Vehicle existing = getMyVehicle(me, id);
         if (update.getMake() != null) existing.setMake(update.getMake());
         if (update.getModel() != null) existing.setModel(update.getModel());
         if (update.getColor() != null) existing.setColor(update.getColor());
@@ -69,12 +66,11 @@ public class VehicleService {
     }
 
     @Transactional
-    public void deleteMyVehicle(String email, Long id) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    public void deleteMyVehicle(AuthenticatedUser me, Long id) {
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found"));
         vehicleRepository.delete(vehicle);
+        operationalCounters.vehicleRemoved();
     }
 
 
@@ -0,0 +1,429 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.EmployeeWorkloadDTO;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.ServiceCategory;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory view of each employee's booked work, used to assign appointments automatically.
+ * An employee carries their skills as a bitmask over {@link ServiceCategory} and their shift as
+ * a bitmap of the workshop's 15-minute slots; for every working day they hold the slots they are
+ * busy and the minutes booked. Picking an employee is a scan over a few dozen records, and a
+ * batch of thousands of appointments is planned in one pass without a database round trip.
+ *
+ * <p>Assignments made here are applied at once and undone if their transaction rolls back;
+ * unassignments and employee edits wait for the commit. Cancellations, completions, reschedules
+ * and changes on other nodes reach the balancer on its next reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WorkloadBalancer {
+
+    private static final ServiceCategory[] CATEGORIES = ServiceCategory.values();
+    static final int ALL_SKILLS = (1 << CATEGORIES.length) - 1;
+
+    private final UserRepository userRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotAvailability slotAvailability;
+    private final PlatformTransactionManager transactionManager;
+
+    // Guarded by this; a reload only replaces the state if nothing was pending or applied while it read the database
+    private State state = new State();
+    private int pending;
+    private long changes;
+    private volatile boolean loaded;
+
+    /** An appointment to place: its start, how long it runs and the skills it needs. */
+    public record Job(Long appointmentId, LocalDateTime start, int minutes, int skills) {
+    }
+
+    private record Worker(Long id, String name, int skills, LocalTime shiftStart, LocalTime shiftEnd, long shift) {
+        int capacityMinutes() {
+            return Long.bitCount(shift) * SlotAvailability.SLOT_MINUTES;
+        }
+
+        boolean covers(int requiredSkills, long mask) {
+            return (skills & requiredSkills) == requiredSkills && (shift & mask) == mask;
+        }
+    }
+
+    // One employee's day; taken counts jobs per slot so overlapping manual assignments release cleanly
+    private static final class Load {
+        private final short[] taken = new short[Long.SIZE];
+        private long busy;
+        private int minutes;
+        private int jobs;
+    }
+
+    private record Assignment(Long employeeId, LocalDate date, long mask, int minutes) {
+    }
+
+    private record Change(Long appointmentId, Assignment previous) {
+    }
+
+    private static final class State {
+        private final Map<Long, Worker> workers = new LinkedHashMap<>();
+        private final Map<Long, Map<LocalDate, Load>> loads = new HashMap<>();
+        private final Map<Long, Assignment> assignments = new HashMap<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            log.warn("Workload balancer could not be loaded, the first assignment retries", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.workload.reload-ms:60000}",
+            initialDelayString = "${app.workload.reload-ms:60000}")
+    public void reload() {
+        if (!loaded) {
+            seed();
+        } else if (!reloadOnce(false)) {
+            log.debug("Workload changed during reload, retrying next round");
+        }
+    }
+
+    /** The skills a job needs, one bit per category. */
+    public static int skillMask(Collection<ServiceCategory> categories) {
+        int mask = 0;
+        for (ServiceCategory category : categories) {
+            if (category != null) {
+                mask |= 1 << category.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /** Every active employee with the minutes booked on the given day, least loaded first. */
+    public List<EmployeeWorkloadDTO> workload(LocalDate date) {
+        ensureLoaded();
+        synchronized (this) {
+            List<EmployeeWorkloadDTO> workload = new ArrayList<>();
+            for (Worker worker : state.workers.values()) {
+                Load load = load(worker.id(), date);
+                List<String> skills = new ArrayList<>();
+                for (ServiceCategory category : CATEGORIES) {
+                    if ((worker.skills() & (1 << category.ordinal())) != 0) {
+                        skills.add(category.name());
+                    }
+                }
+                workload.add(new EmployeeWorkloadDTO(worker.id(), worker.name(), skills,
+                        worker.shiftStart(), worker.shiftEnd(),
+                        load == null ? 0 : load.minutes, worker.capacityMinutes(), load == null ? 0 : load.jobs));
+            }
+            workload.sort(Comparator.comparing(EmployeeWorkloadDTO::scheduledMinutes));
+            return workload;
+        }
+    }
+
+    /**
+     * Picks the least loaded employee who has the skills, works the whole job and is free for
+     * it, and books the job to them. Returns null when nobody fits.
+     */
+    public Long autoAssign(Job job) {
+        return autoAssignAll(List.of(job)).get(job.appointmentId());
+    }
+
+    /**
+     * Plans a batch in one pass. Jobs that fewer employees could take are placed first, longer
+     * ones before shorter, so the flexible work fills in around them; each goes to the least
+     * loaded employee still free. Returns appointment id to employee id for the jobs placed.
+     */
+    public Map<Long, Long> autoAssignAll(List<Job> jobs) {
+        ensureLoaded();
+        synchronized (this) {
+            record Ranked(Job job, LocalDate date, long mask, int candidates) {
+            }
+            List<Ranked> ranked = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                long mask = slotAvailability.slotMask(job.start(), job.minutes());
+                int candidates = 0;
+                for (Worker worker : state.workers.values()) {
+                    if (mask != 0 && worker.covers(job.skills(), mask)) {
+                        candidates++;
+                    }
+                }
+                if (candidates > 0) {
+                    ranked.add(new Ranked(job, job.start().toLocalDate(), mask, candidates));
+                }
+            }
+            ranked.sort(Comparator.comparingInt(Ranked::candidates)
+                    .thenComparing(r -> -r.job().minutes())
+                    .thenComparing(r -> r.job().start())
+                    .thenComparing(r -> r.job().appointmentId()));
+
+            Map<Long, Long> assigned = new LinkedHashMap<>();
+            List<Change> applied = new ArrayList<>();
+            for (Ranked candidate : ranked) {
+                Worker worker = pick(candidate.job(), candidate.date(), candidate.mask());
+                if (worker != null) {
+                    Assignment next = new Assignment(worker.id(), candidate.date(), candidate.mask(), candidate.job().minutes());
+                    applied.add(new Change(candidate.job().appointmentId(), apply(candidate.job().appointmentId(), next)));
+                    assigned.put(candidate.job().appointmentId(), worker.id());
+                }
+            }
+            undoOnRollback(applied);
+            return assigned;
+        }
+    }
+
+    /** Books a hand-picked assignment as is, even past the employee's shift or capacity. */
+    public void recordAssignment(Long appointmentId, Long employeeId, LocalDateTime start, int minutes) {
+        ensureLoaded();
+        Assignment next = new Assignment(employeeId, start.toLocalDate(), slotAvailability.slotMask(start, minutes), minutes);
+        synchronized (this) {
+            if (next.equals(state.assignments.get(appointmentId))) {
+                return;
+            }
+            undoOnRollback(List.of(new Change(appointmentId, apply(appointmentId, next))));
+        }
+    }
+
+    /** Frees the appointment's time on its employee once the caller's transaction commits. */
+    public void release(Long appointmentId) {
+        afterCommit(() -> apply(appointmentId, null));
+    }
+
+    /** Picks up an employee's new skills, shift or active flag once the caller's transaction commits. */
+    public void employeeChanged(User employee) {
+        Long id = employee.getId();
+        Worker worker = employee.getRole() == Role.EMPLOYEE && Boolean.TRUE.equals(employee.getIsActive())
+                ? worker(id, employee.getFirstName(), employee.getLastName(), skillMask(employee.getSkills()),
+                employee.getShiftStart(), employee.getShiftEnd())
+                : null;
+        afterCommit(() -> {
+            if (worker == null) {
+                state.workers.remove(id);
+            } else {
+                state.workers.put(id, worker);
+            }
+            changes++;
+        });
+    }
+
+    /**
+     * Drops an employee the database no longer lets take work (deactivated or moved off the
+     * employee role, possibly on another node) without waiting for the next reload.
+     */
+    public void forgetWorker(Long employeeId) {
+        ensureLoaded();
+        synchronized (this) {
+            if (state.workers.remove(employeeId) != null) {
+                changes++;
+            }
+        }
+    }
+
+    // Least booked minutes wins; on a tie the employee with fewer skills, keeping generalists free
+    private Worker pick(Job job, LocalDate date, long mask) {
+        Worker best = null;
+        int bestMinutes = 0;
+        for (Worker worker : state.workers.values()) {
+            if (!worker.covers(job.skills(), mask)) {
+                continue;
+            }
+            Load load = load(worker.id(), date);
+            int minutes = load == null ? 0 : load.minutes;
+            if ((load != null && (load.busy & mask) != 0) || minutes + job.minutes() > worker.capacityMinutes()) {
+                continue;
+            }
+            if (best == null || minutes < bestMinutes
+                    || (minutes == bestMinutes && Integer.bitCount(worker.skills()) < Integer.bitCount(best.skills()))) {
+                best = worker;
+                bestMinutes = minutes;
+            }
+        }
+        return best;
+    }
+
+    // Caller holds this; returns what the appointment had before
+    private Assignment apply(Long appointmentId, Assignment next) {
+        Assignment previous = next == null
+                ? state.assignments.remove(appointmentId)
+                : state.assignments.put(appointmentId, next);
+        if (previous != null) {
+            take(state, previous, -1);
+        }
+        if (next != null) {
+            take(state, next, 1);
+        }
+        changes++;
+        return previous;
+    }
+
+    private static void take(State state, Assignment assignment, int delta) {
+        Load load = state.loads.computeIfAbsent(assignment.employeeId(), id -> new HashMap<>())
+                .computeIfAbsent(assignment.date(), date -> new Load());
+        for (long bits = assignment.mask(); bits != 0; bits &= bits - 1) {
+            int slot = Long.numberOfTrailingZeros(bits);
+            int taken = Math.max(0, load.taken[slot] + delta);
+            load.taken[slot] = (short) taken;
+            if (taken > 0) {
+                load.busy |= 1L << slot;
+            } else {
+                load.busy &= ~(1L << slot);
+            }
+        }
+        load.minutes = Math.max(0, load.minutes + delta * assignment.minutes());
+        load.jobs = Math.max(0, load.jobs + delta);
+    }
+
+    private Load load(Long employeeId, LocalDate date) {
+        Map<LocalDate, Load> days = state.loads.get(employeeId);
+        return days == null ? null : days.get(date);
+    }
+
+    // Caller holds this; puts back what each change replaced, newest first, if the transaction rolls back
+    private void undoOnRollback(List<Change> applied) {
+        if (applied.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pending++;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (WorkloadBalancer.this) {
+                    try {
+                        if (status != STATUS_COMMITTED) {
+                            for (int i = applied.size() - 1; i >= 0; i--) {
+                                apply(applied.get(i).appointmentId(), applied.get(i).previous());
+                            }
+                        }
+                    } finally {
+                        pending--;
+                    }
+                }
+            }
+        });
+    }
+
+    // Applied after commit so rolled-back work never shows; without a transaction it is applied now
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                change.run();
+            }
+            return;
+        }
+        synchronized (this) {
+            pending++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (WorkloadBalancer.this) {
+                    change.run();
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (WorkloadBalancer.this) {
+                    pending--;
+                }
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                reloadOnce(true);
+            }
+        }
+    }
+
+    boolean reloadOnce(boolean initial) {
+        long changesBefore;
+        synchronized (this) {
+            if (!initial && pending > 0) {
+                return false;
+            }
+            changesBefore = changes;
+        }
+        State fresh = load();
+
+        synchronized (this) {
+            if (!initial && (pending > 0 || changes != changesBefore)) {
+                return false;
+            }
+            state = fresh;
+            if (!loaded) {
+                log.info("Workload balancer loaded: {} employees, {} assigned appointments",
+                        fresh.workers.size(), fresh.assignments.size());
+                loaded = true;
+            }
+            return true;
+        }
+    }
+
+    // Its own transaction on the primary: only committed assignments, and no replica lag
+    private State load() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return Objects.requireNonNull(transaction.execute(status -> {
+            Map<Long, Integer> skills = new HashMap<>();
+            for (Object[] row : userRepository.findActiveSkillsByRole(Role.EMPLOYEE)) {
+                skills.merge((Long) row[0], 1 << ((ServiceCategory) row[1]).ordinal(), (a, b) -> a | b);
+            }
+
+            State fresh = new State();
+            for (Object[] row : userRepository.findActiveShiftsByRole(Role.EMPLOYEE)) {
+                Long id = (Long) row[0];
+                fresh.workers.put(id, worker(id, (String) row[1], (String) row[2], skills.getOrDefault(id, 0),
+                        (LocalTime) row[3], (LocalTime) row[4]));
+            }
+            for (Object[] row : appointmentRepository.findAssignedDurationsFrom(
+                    LocalDate.now().atStartOfDay(), SlotAvailability.OCCUPYING)) {
+                LocalDateTime start = (LocalDateTime) row[2];
+                int minutes = ((Number) row[3]).intValue();
+                Assignment assignment = new Assignment((Long) row[1], start.toLocalDate(),
+                        slotAvailability.slotMask(start, minutes), minutes);
+                fresh.assignments.put((Long) row[0], assignment);
+                take(fresh, assignment, 1);
+            }
+            return fresh;
+        }));
+    }
+
+    // No skill rows means every category; no shift means the workshop's opening hours
+    private Worker worker(Long id, String firstName, String lastName, int skills, LocalTime shiftStart, LocalTime shiftEnd) {
+        LocalTime start = shiftStart != null ? shiftStart : slotAvailability.getOpening();
+        LocalTime end = shiftEnd != null ? shiftEnd : slotAvailability.getClosing();
+        return new Worker(id, firstName + " " + lastName, skills == 0 ? ALL_SKILLS : skills,
+                start, end, slotAvailability.slotMask(start, end));
+    }
+}
@@ -0,0 +1,168 @@
+package com.gearsync.backend.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * HTML template with {@code {{name}}} placeholders, parsed once into alternating static chunks
+ * and parameter slots. Rendering copies the chunks and the HTML-escaped values into a per-thread
+ * buffer, so the only allocation per message is the resulting String.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(16 * 1024));
+
+    private final String name;
+    private final String[] parameters;
+    // chunks.length == slots.length + 1; slots[i] is the parameter rendered between chunks[i] and chunks[i + 1]
+    private final String[] chunks;
+    private final int[] slots;
+    private final int staticLength;
+
+    private EmailTemplate(String name, String[] parameters, String[] chunks, int[] slots) {
+        this.name = name;
+        this.parameters = parameters;
+        this.chunks = chunks;
+        this.slots = slots;
+        this.staticLength = Arrays.stream(chunks).mapToInt(String::length).sum();
+    }
+
+    /** Loads {@code templates/email/<name>.html} from the classpath and compiles it. */
+    public static EmailTemplate load(String name, String... parameters) {
+        String resource = "templates/email/" + name + ".html";
+        try (InputStream in = EmailTemplate.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Email template not found: " + resource);
+            }
+            return compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8), parameters);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read email template " + resource, e);
+        }
+    }
+
+    /**
+     * Parses {@code source}. Every placeholder must name one of {@code parameters}; values are
+     * later passed to {@link #render} in that order.
+     */
+    public static EmailTemplate compile(String name, String source, String... parameters) {
+        List<String> chunks = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template " + name);
+            }
+            String placeholder = source.substring(open + OPEN.length(), close).trim();
+            int slot = Arrays.asList(parameters).indexOf(placeholder);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + placeholder + "}} in email template " + name);
+            }
+            chunks.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        chunks.add(source.substring(position));
+        return new EmailTemplate(name, parameters.clone(), chunks.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Fixes a parameter that is the same for every message (application name, base URL) and folds
+     * it into the static chunks. The returned template no longer takes that parameter.
+     */
+    public EmailTemplate bind(String parameter, Object value) {
+        int bound = Arrays.asList(parameters).indexOf(parameter);
+        if (bound < 0) {
+            throw new IllegalArgumentException("Email template " + name + " has no parameter " + parameter);
+        }
+
+        String[] remaining = new String[parameters.length - 1];
+        for (int i = 0, j = 0; i < parameters.length; i++) {
+            if (i != bound) {
+                remaining[j++] = parameters[i];
+            }
+        }
+
+        List<String> newChunks = new ArrayList<>();
+        List<Integer> newSlots = new ArrayList<>();
+        StringBuilder pending = new StringBuilder(chunks[0]);
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == bound) {
+                appendEscaped(pending, value);
+            } else {
+                newChunks.add(pending.toString());
+                newSlots.add(slots[i] > bound ? slots[i] - 1 : slots[i]);
+                pending.setLength(0);
+            }
+            pending.append(chunks[i + 1]);
+        }
+        newChunks.add(pending.toString());
+        return new EmailTemplate(name, remaining, newChunks.toArray(String[]::new),
+                newSlots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /** Renders the template; {@code values} follow the parameter order given at compile time. */
+    public String render(Object... values) {
+        if (values.length != parameters.length) {
+            throw new IllegalArgumentException("Email template " + name + " takes " + parameters.length
+                    + " values " + Arrays.toString(parameters) + ", got " + values.length);
+        }
+
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(staticLength + 512);
+        out.append(chunks[0]);
+        for (int i = 0; i < slots.length; i++) {
+            appendEscaped(out, values[slots[i]]);
+            out.append(chunks[i + 1]);
+        }
+        String html = out.toString();
+
+        // A runaway value should not pin a huge buffer to the thread
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return html;
+    }
+
+    public List<String> parameters() {
+        return List.of(parameters);
+    }
+
+    private static void appendEscaped(StringBuilder out, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Integer number) {
+            out.append(number.intValue());
+            return;
+        }
+        if (value instanceof Long number) {
+            out.append(number.longValue());
+            return;
+        }
+        CharSequence text = value instanceof CharSequence chars ? chars : value.toString();
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
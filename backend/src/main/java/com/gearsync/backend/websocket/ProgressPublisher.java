@@ -0,0 +1,62 @@
+package com.gearsync.backend.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearsync.backend.dto.ProgressUpdateDTO;
+import com.gearsync.backend.model.Appointment;
+import com.gearsync.backend.model.Project;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Announces appointment and project progress changes on the {@value #CHANNEL} Postgres channel.
+ * The NOTIFY runs inside the caller's transaction, so Postgres delivers it only on commit and
+ * drops it on rollback; every node's {@link WebSocketEventListener} then pushes it to its own
+ * subscribers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProgressPublisher {
+
+    public static final String CHANNEL = "progress_updates";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void appointmentUpdated(Appointment appointment) {
+        publish(new ProgressUpdateDTO(
+                "APPOINTMENT",
+                appointment.getId(),
+                appointment.getCustomer().getId(),
+                appointment.getStatus().name(),
+                appointment.getProgressPercentage(),
+                LocalDateTime.now()));
+    }
+
+    public void projectUpdated(Project project) {
+        publish(new ProgressUpdateDTO(
+                "PROJECT",
+                project.getId(),
+                project.getCustomer().getId(),
+                project.getStatus().name(),
+                project.getProgressPercentage(),
+                LocalDateTime.now()));
+    }
+
+    void publish(ProgressUpdateDTO update) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize progress update for {} {}", update.getType(), update.getId(), e);
+            return;
+        }
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> {
+        }, CHANNEL, payload);
+    }
+}
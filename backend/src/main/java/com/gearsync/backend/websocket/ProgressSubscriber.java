@@ -0,0 +1,99 @@
+package com.gearsync.backend.websocket;
+
+import com.gearsync.backend.security.AuthenticatedUser;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open progress socket. Outgoing frames wait in a bounded queue and go out one async send at
+ * a time, so a client that stops reading fills its own queue instead of blocking the sender.
+ */
+@Slf4j
+final class ProgressSubscriber {
+
+    private final Session session;
+    private final AuthenticatedUser user;
+    private final BlockingQueue<String> outbound;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Set<String> topics = ConcurrentHashMap.newKeySet();
+
+    ProgressSubscriber(Session session, AuthenticatedUser user, int bufferSize) {
+        this.session = session;
+        this.user = user;
+        this.outbound = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+    }
+
+    Session session() {
+        return session;
+    }
+
+    AuthenticatedUser user() {
+        return user;
+    }
+
+    Set<String> topics() {
+        return topics;
+    }
+
+    /**
+     * Queues a frame; false when the subscriber is closed or its buffer is full.
+     */
+    boolean offer(String frame) {
+        if (closed.get() || !outbound.offer(frame)) {
+            return false;
+        }
+        flush();
+        return true;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void close(CloseReason reason) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        outbound.clear();
+        try {
+            session.close(reason);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Error closing progress socket {}", session.getId(), e);
+        }
+    }
+
+    // Only one async send may be in flight per session; its completion starts the next one
+    private void flush() {
+        while (!closed.get() && !outbound.isEmpty() && sending.compareAndSet(false, true)) {
+            String frame = outbound.poll();
+            if (frame == null) {
+                sending.set(false);
+                continue;
+            }
+            try {
+                session.getAsyncRemote().sendText(frame, result -> {
+                    sending.set(false);
+                    if (result.isOK()) {
+                        flush();
+                    } else {
+                        log.debug("Progress send to {} failed", session.getId(), result.getException());
+                        close(new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Send failed"));
+                    }
+                });
+            } catch (IllegalStateException e) {
+                sending.set(false);
+                close(new CloseReason(CloseReason.CloseCodes.UNEXPECTED_CONDITION, "Send failed"));
+            }
+            return;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.gearsync.backend.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gearsync.backend.dto.ProgressUpdateDTO;
+import com.gearsync.backend.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Topic registry for the progress sockets on this node. Topics are {@code appointment:{id}},
+ * {@code project:{id}} and {@code customer:{id}}; an update goes to its own topic and to its
+ * customer's topic, at most once per socket. A socket whose buffer is full is closed with 1013
+ * (try again later) rather than allowed to hold back everyone else.
+ */
+@Slf4j
+@Component
+public class ProgressSubscriptions {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+
+    private final Map<Session, ProgressSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<ProgressSubscriber>> topics = new ConcurrentHashMap<>();
+    // Closing can block on a stuck socket, so it never runs on the dispatching thread
+    private final ExecutorService closer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-socket-closer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    public ProgressSubscriptions(ObjectMapper objectMapper,
+                                 @Value("${app.progress.ws.buffer-size:64}") int bufferSize) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+    }
+
+    public static String appointmentTopic(Long appointmentId) {
+        return "appointment:" + appointmentId;
+    }
+
+    public static String projectTopic(Long projectId) {
+        return "project:" + projectId;
+    }
+
+    public static String customerTopic(Long customerId) {
+        return "customer:" + customerId;
+    }
+
+    ProgressSubscriber register(Session session, AuthenticatedUser user) {
+        ProgressSubscriber subscriber = new ProgressSubscriber(session, user, bufferSize);
+        subscribers.put(session, subscriber);
+        return subscriber;
+    }
+
+    void subscribe(ProgressSubscriber subscriber, String topic) {
+        if (subscriber.isClosed()) {
+            return;
+        }
+        topics.computeIfAbsent(topic, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.topics().add(topic);
+    }
+
+    void unsubscribe(ProgressSubscriber subscriber, String topic) {
+        subscriber.topics().remove(topic);
+        topics.computeIfPresent(topic, (key, members) -> {
+            members.remove(subscriber);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    void remove(Session session) {
+        ProgressSubscriber subscriber = subscribers.remove(session);
+        if (subscriber != null) {
+            for (String topic : Set.copyOf(subscriber.topics())) {
+                unsubscribe(subscriber, topic);
+            }
+        }
+    }
+
+    /**
+     * Pushes an update to every socket watching the entity or its customer.
+     */
+    public void dispatch(ProgressUpdateDTO update) {
+        String entityTopic = "PROJECT".equals(update.getType())
+                ? projectTopic(update.getId())
+                : appointmentTopic(update.getId());
+
+        Set<ProgressSubscriber> targets = new LinkedHashSet<>(topics.getOrDefault(entityTopic, Set.of()));
+        if (update.getCustomerId() != null) {
+            targets.addAll(topics.getOrDefault(customerTopic(update.getCustomerId()), Set.of()));
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        ObjectNode frame = objectMapper.createObjectNode();
+        frame.put("type", "progress");
+        frame.set("data", objectMapper.valueToTree(update));
+        send(targets, frame);
+    }
+
+    /**
+     * Tells every socket that updates may have been missed, e.g. after the notification
+     * connection was re-established, so clients refetch once.
+     */
+    public void resync() {
+        ObjectNode frame = objectMapper.createObjectNode();
+        frame.put("type", "resync");
+        send(subscribers.values(), frame);
+    }
+
+    boolean reply(ProgressSubscriber subscriber, ObjectNode frame) {
+        return send(Set.of(subscriber), frame) == 1;
+    }
+
+    public int getSessionCount() {
+        return subscribers.size();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getDroppedSubscribers() {
+        return droppedSubscribers.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closer.shutdownNow();
+    }
+
+    private int send(Iterable<ProgressSubscriber> targets, ObjectNode frame) {
+        String text;
+        try {
+            text = objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize progress frame", e);
+            return 0;
+        }
+
+        int sent = 0;
+        for (ProgressSubscriber subscriber : targets) {
+            if (subscriber.offer(text)) {
+                sent++;
+            } else if (!subscriber.isClosed()) {
+                drop(subscriber);
+            }
+        }
+        delivered.add(sent);
+        return sent;
+    }
+
+    private void drop(ProgressSubscriber subscriber) {
+        droppedSubscribers.increment();
+        log.info("Dropping slow progress subscriber {} (user {})", subscriber.session().getId(), subscriber.user().userId());
+        remove(subscriber.session());
+        CloseReason reason = new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Slow consumer");
+        closer.execute(() -> subscriber.close(reason));
+    }
+}
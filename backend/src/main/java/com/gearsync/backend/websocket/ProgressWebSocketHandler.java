@@ -1,5 +1,207 @@
 package com.gearsync.backend.websocket;
 
-public class ProgressWebSocketHandler {
-    
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.ProjectRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.security.JwtClaims;
+import com.gearsync.backend.security.JwtUtil;
+import com.gearsync.backend.security.TokenRevocationList;
+import com.gearsync.backend.security.UserDirectory;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.HandshakeResponse;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.HandshakeRequest;
+import jakarta.websocket.server.ServerEndpointConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code /ws/progress} socket. Browsers cannot set an Authorization header on a WebSocket,
+ * so the access token comes as {@code ?token=} and is checked during the handshake the same way
+ * {@link com.gearsync.backend.security.JwtAuthenticationFilter} checks the header.
+ *
+ * <p>Clients send {@code {"action":"subscribe","topic":"appointment:42"}} (or {@code unsubscribe});
+ * customers are subscribed to their own {@code customer:{id}} topic on connect. Pushed frames are
+ * {@code {"type":"progress","data":{...}}}, plus {@code resync} when updates may have been missed.
+ */
+@Slf4j
+@Component
+public class ProgressWebSocketHandler extends Endpoint {
+
+    public static final String PATH = "/ws/progress";
+
+    private static final String USER_PROPERTY = AuthenticatedUser.class.getName();
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserDirectory userDirectory;
+    private final AppointmentRepository appointmentRepository;
+    private final ProjectRepository projectRepository;
+    private final ProgressSubscriptions subscriptions;
+    private final ObjectMapper objectMapper;
+    private final long sendTimeoutMillis;
+
+    public ProgressWebSocketHandler(JwtUtil jwtUtil,
+                                    TokenRevocationList tokenRevocationList,
+                                    UserDirectory userDirectory,
+                                    AppointmentRepository appointmentRepository,
+                                    ProjectRepository projectRepository,
+                                    ProgressSubscriptions subscriptions,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.progress.ws.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationList = tokenRevocationList;
+        this.userDirectory = userDirectory;
+        this.appointmentRepository = appointmentRepository;
+        this.projectRepository = projectRepository;
+        this.subscriptions = subscriptions;
+        this.objectMapper = objectMapper;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    public ServerEndpointConfig endpointConfig() {
+        return ServerEndpointConfig.Builder.create(ProgressWebSocketHandler.class, PATH)
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public void modifyHandshake(ServerEndpointConfig config, HandshakeRequest request, HandshakeResponse response) {
+                        List<String> tokens = request.getParameterMap().get("token");
+                        if (tokens != null && !tokens.isEmpty()) {
+                            authenticate(tokens.get(0)).ifPresent(user -> config.getUserProperties().put(USER_PROPERTY, user));
+                        }
+                    }
+
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        return endpointClass.cast(ProgressWebSocketHandler.this);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void onOpen(Session session, EndpointConfig config) {
+        AuthenticatedUser user = (AuthenticatedUser) session.getUserProperties().get(USER_PROPERTY);
+        if (user == null) {
+            close(session, new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "Unauthorized"));
+            return;
+        }
+
+        session.getAsyncRemote().setSendTimeout(sendTimeoutMillis);
+        ProgressSubscriber subscriber = subscriptions.register(session, user);
+        session.addMessageHandler(String.class, message -> handle(subscriber, message));
+        if (user.role() == Role.CUSTOMER) {
+            subscriptions.subscribe(subscriber, ProgressSubscriptions.customerTopic(user.userId()));
+        }
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        subscriptions.remove(session);
+    }
+
+    @Override
+    public void onError(Session session, Throwable error) {
+        log.debug("Progress socket {} failed", session.getId(), error);
+        subscriptions.remove(session);
+    }
+
+    Optional<AuthenticatedUser> authenticate(String token) {
+        Optional<JwtClaims> claims = jwtUtil.verify(token)
+                .filter(verified -> !tokenRevocationList.isRevoked(verified.tokenId()));
+        return claims.flatMap(verified -> userDirectory.find(verified.email())
+                .filter(AuthenticatedUser::active)
+                .filter(user -> verified.userId() == null || verified.userId().equals(user.userId())));
+    }
+
+    void handle(ProgressSubscriber subscriber, String message) {
+        String action;
+        String topic;
+        try {
+            JsonNode command = objectMapper.readTree(message);
+            action = command.path("action").asText("");
+            topic = command.path("topic").asText("");
+        } catch (IOException e) {
+            subscriptions.reply(subscriber, error("Malformed message"));
+            return;
+        }
+
+        switch (action) {
+            case "subscribe" -> {
+                if (!mayWatch(subscriber.user(), topic)) {
+                    subscriptions.reply(subscriber, error("Not allowed to watch " + topic));
+                    return;
+                }
+                subscriptions.subscribe(subscriber, topic);
+                subscriptions.reply(subscriber, ack("subscribed", topic));
+            }
+            case "unsubscribe" -> {
+                subscriptions.unsubscribe(subscriber, topic);
+                subscriptions.reply(subscriber, ack("unsubscribed", topic));
+            }
+            default -> subscriptions.reply(subscriber, error("Unknown action: " + action));
+        }
+    }
+
+    boolean mayWatch(AuthenticatedUser user, String topic) {
+        int separator = topic.indexOf(':');
+        if (separator < 0) {
+            return false;
+        }
+        long id;
+        try {
+            id = Long.parseLong(topic.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        String kind = topic.substring(0, separator);
+        if (!kind.equals("appointment") && !kind.equals("project") && !kind.equals("customer")) {
+            return false;
+        }
+        if (user.role() == Role.ADMIN) {
+            return true;
+        }
+        return switch (kind) {
+            case "customer" -> user.role() == Role.CUSTOMER && user.userId().equals(id);
+            case "appointment" -> user.role() == Role.CUSTOMER
+                    ? appointmentRepository.existsByIdAndCustomerId(id, user.userId())
+                    : appointmentRepository.existsByIdAndAssignedEmployeeId(id, user.userId());
+            default -> user.role() == Role.CUSTOMER
+                    ? projectRepository.existsByIdAndCustomerId(id, user.userId())
+                    : projectRepository.existsByIdAndAssignedEmployeeId(id, user.userId());
+        };
+    }
+
+    private ObjectNode ack(String type, String topic) {
+        ObjectNode frame = objectMapper.createObjectNode();
+        frame.put("type", type);
+        frame.put("topic", topic);
+        return frame;
+    }
+
+    private ObjectNode error(String message) {
+        ObjectNode frame = objectMapper.createObjectNode();
+        frame.put("type", "error");
+        frame.put("message", message);
+        return frame;
+    }
+
+    private static void close(Session session, CloseReason reason) {
+        try {
+            session.close(reason);
+        } catch (IOException e) {
+            log.debug("Error closing progress socket {}", session.getId(), e);
+        }
+    }
 }
@@ -1,5 +1,37 @@
 package com.gearsync.backend.websocket;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearsync.backend.config.PostgresNotificationListener;
+import com.gearsync.backend.dto.ProgressUpdateDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Feeds {@value ProgressPublisher#CHANNEL} notifications, from this node or any other, to the
+ * progress sockets open on this node. After the listener reconnects, clients are told to resync.
+ */
+@Slf4j
+@Component
 public class WebSocketEventListener {
-    
+
+    private final ProgressSubscriptions subscriptions;
+    private final ObjectMapper objectMapper;
+
+    public WebSocketEventListener(PostgresNotificationListener notificationListener,
+                                  ProgressSubscriptions subscriptions,
+                                  ObjectMapper objectMapper) {
+        this.subscriptions = subscriptions;
+        this.objectMapper = objectMapper;
+        notificationListener.listen(ProgressPublisher.CHANNEL, this::deliver, subscriptions::resync);
+    }
+
+    void deliver(String payload) {
+        try {
+            subscriptions.dispatch(objectMapper.readValue(payload, ProgressUpdateDTO.class));
+        } catch (IOException e) {
+            log.warn("Ignoring malformed progress notification: {}", payload, e);
+        }
+    }
 }
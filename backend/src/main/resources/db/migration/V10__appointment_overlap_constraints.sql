@@ -0,0 +1,49 @@
+-- Each appointment stores when it ends (start plus its services' estimates, at least a minute, the
+-- same span SlotAvailability holds a bay for) so overlap can be enforced by the database rather
+-- than by the old exact-timestamp check, which missed overlaps and raced under concurrent bookings.
+create extension if not exists btree_gist;
+
+alter table appointments add column scheduled_end_date_time timestamp(6);
+
+update appointments a
+set scheduled_end_date_time = a.scheduled_date_time + make_interval(mins => greatest(coalesce((
+        select sum(s.estimated_duration_minutes)
+        from appointment_services aps
+        join services s on s.id = aps.service_id
+        where aps.appointment_id = a.id), 0), 1)::int);
+
+alter table appointments alter column scheduled_end_date_time set not null;
+
+alter table appointments add constraint chk_appointments_scheduled_range
+    check (scheduled_end_date_time > scheduled_date_time);
+
+-- Fail with a readable message instead of a bare constraint error when live bookings already clash;
+-- they have to be rescheduled or cancelled by hand before the constraints can go in
+do $$
+declare
+    clashes bigint;
+begin
+    select count(*) into clashes
+    from appointments a
+    join appointments b on b.id > a.id
+        and (b.customer_id = a.customer_id or b.vehicle_id = a.vehicle_id)
+        and tsrange(b.scheduled_date_time, b.scheduled_end_date_time)
+            && tsrange(a.scheduled_date_time, a.scheduled_end_date_time)
+    where a.status in ('SCHEDULED','CONFIRMED','IN_PROGRESS','ON_HOLD','RESCHEDULED')
+      and b.status in ('SCHEDULED','CONFIRMED','IN_PROGRESS','ON_HOLD','RESCHEDULED');
+    if clashes > 0 then
+        raise exception '% pairs of active appointments overlap for the same customer or vehicle', clashes;
+    end if;
+end
+$$;
+
+-- A vehicle can only be in one booking at a time. The status list matches SlotAvailability.OCCUPYING;
+-- existsOverlapping repeats it verbatim so its range scans are planned on these indexes.
+alter table appointments add constraint ex_appointments_vehicle_overlap
+    exclude using gist (vehicle_id with =, tsrange(scheduled_date_time, scheduled_end_date_time) with &&)
+    where (status in ('SCHEDULED','CONFIRMED','IN_PROGRESS','ON_HOLD','RESCHEDULED'));
+
+-- Nor can a customer, which replaces the exact-timestamp existsByCustomerAndScheduledDateTime check
+alter table appointments add constraint ex_appointments_customer_overlap
+    exclude using gist (customer_id with =, tsrange(scheduled_date_time, scheduled_end_date_time) with &&)
+    where (status in ('SCHEDULED','CONFIRMED','IN_PROGRESS','ON_HOLD','RESCHEDULED'));
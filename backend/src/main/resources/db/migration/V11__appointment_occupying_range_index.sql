@@ -0,0 +1,6 @@
+-- Bays taken per slot across nodes: AppointmentRepository.countBusiestSlot probes this for every
+-- 15-minute slot of a booking while it holds that slot's advisory lock. The exclusion constraint
+-- indexes lead with customer_id and vehicle_id and cannot answer a range-only probe efficiently.
+create index idx_appointments_occupying_range
+    on appointments using gist (tsrange(scheduled_date_time, scheduled_end_date_time))
+    where status in ('SCHEDULED','CONFIRMED','IN_PROGRESS','ON_HOLD','RESCHEDULED');
@@ -0,0 +1,232 @@
+-- Baseline: the schema as Hibernate generated it under ddl-auto=update.
+-- Databases that already existed before migrations were introduced are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and only receive V2 onwards.
+
+create sequence appointments_id_seq start with 1 increment by 50;
+
+create sequence service_progress_id_seq start with 1 increment by 50;
+
+create sequence time_logs_id_seq start with 1 increment by 50;
+
+create sequence users_id_seq start with 1 increment by 50;
+
+create sequence vehicles_id_seq start with 1 increment by 50;
+
+create table appointment_services (
+    appointment_id bigint not null,
+    service_id bigint not null,
+    primary key (appointment_id, service_id)
+);
+
+create table appointments (
+    final_cost numeric(38,2),
+    logged_minutes integer default 0 not null,
+    progress_percentage integer not null,
+    time_log_count integer default 0 not null,
+    actual_end_time timestamp(6),
+    actual_start_time timestamp(6),
+    assigned_employee_id bigint,
+    created_at timestamp(6) not null,
+    customer_id bigint not null,
+    id bigint not null,
+    scheduled_date_time timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    vehicle_id bigint not null,
+    customer_notes varchar(1000),
+    employee_notes varchar(1000),
+    status varchar(255) not null check (status in ('SCHEDULED','CONFIRMED','IN_PROGRESS','COMPLETED','CANCELLED','NO_SHOW','ON_HOLD','RESCHEDULED')),
+    primary key (id)
+);
+
+create table projects (
+    actual_cost numeric(38,2),
+    estimated_cost numeric(38,2) not null,
+    estimated_duration_hours integer not null,
+    logged_minutes integer default 0 not null,
+    progress_percentage integer not null,
+    time_log_count integer default 0 not null,
+    assigned_employee_id bigint,
+    completion_date timestamp(6),
+    created_at timestamp(6) not null,
+    customer_id bigint not null,
+    expected_completion_date timestamp(6),
+    id bigserial not null,
+    start_date timestamp(6),
+    updated_at timestamp(6) not null,
+    vehicle_id bigint not null,
+    description varchar(2000) not null,
+    project_name varchar(255) not null,
+    status varchar(255) not null check (status in ('PENDING','APPROVED','IN_PROGRESS','ON_HOLD','COMPLETED','CANCELLED','REJECTED')),
+    primary key (id)
+);
+
+create table service_progress (
+    progress_percentage integer not null,
+    appointment_id bigint,
+    id bigint not null,
+    project_id bigint,
+    timestamp timestamp(6) not null,
+    updated_by_employee_id bigint not null,
+    technical_notes varchar(500),
+    message varchar(1000) not null,
+    status varchar(255) not null check (status in ('STARTED','IN_PROGRESS','AWAITING_PARTS','ON_HOLD','QUALITY_CHECK','COMPLETED','ISSUE_FOUND','CUSTOMER_APPROVAL_NEEDED')),
+    primary key (id)
+);
+
+create table services (
+    base_price numeric(38,2) not null,
+    estimated_duration_minutes integer not null,
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    id bigserial not null,
+    updated_at timestamp(6) not null,
+    description varchar(1000),
+    category varchar(255) not null check (category in ('MAINTENANCE','REPAIR','INSPECTION','TIRE_SERVICE','ELECTRICAL','BODYWORK','DIAGNOSTIC','OTHER')),
+    service_name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table time_logs (
+    duration_minutes integer not null,
+    appointment_id bigint,
+    created_at timestamp(6) not null,
+    employee_id bigint not null,
+    end_time timestamp(6) not null,
+    id bigint not null,
+    project_id bigint,
+    start_time timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    notes varchar(500),
+    work_description varchar(1000),
+    primary key (id)
+);
+
+create table users (
+    is_active boolean not null,
+    is_first_login boolean,
+    is_password_changed boolean,
+    reset_otp varchar(6),
+    created_at timestamp(6) not null,
+    id bigint not null,
+    last_login_at timestamp(6),
+    otp_expiry timestamp(6),
+    password_changed_at timestamp(6),
+    password_reset_token_expiry timestamp(6),
+    updated_at timestamp(6) not null,
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    password_reset_token varchar(255),
+    phone_number varchar(255) not null,
+    role varchar(255) not null check (role in ('ADMIN','EMPLOYEE','CUSTOMER')),
+    primary key (id)
+);
+
+create table vehicles (
+    mileage integer,
+    year integer not null,
+    created_at timestamp(6) not null,
+    id bigint not null,
+    owner_id bigint not null,
+    updated_at timestamp(6) not null,
+    color varchar(255) not null,
+    make varchar(255) not null,
+    model varchar(255) not null,
+    registration_number varchar(255) not null unique,
+    vin_number varchar(255),
+    primary key (id)
+);
+
+create index idx_appointments_scheduled_id
+    on appointments (scheduled_date_time, id);
+
+create index idx_appointments_status_scheduled_id
+    on appointments (status, scheduled_date_time, id);
+
+create index idx_appointments_employee_scheduled_id
+    on appointments (assigned_employee_id, scheduled_date_time, id);
+
+create index idx_appointments_customer_scheduled_id
+    on appointments (customer_id, scheduled_date_time, id);
+
+create index idx_time_logs_appointment
+    on time_logs (appointment_id);
+
+create index idx_time_logs_project
+    on time_logs (project_id);
+
+alter table if exists appointment_services
+    add constraint FK68fbfnf0iy7uq0tfb5mjmm2hx
+    foreign key (service_id)
+    references services;
+
+alter table if exists appointment_services
+    add constraint FK7smp9csy21h26g51aii9gvfn8
+    foreign key (appointment_id)
+    references appointments;
+
+alter table if exists appointments
+    add constraint FKjyjyv2q3qow15fyphcv64fajj
+    foreign key (assigned_employee_id)
+    references users;
+
+alter table if exists appointments
+    add constraint FK4q5rt20vvnkv7eohwq22l3ayy
+    foreign key (customer_id)
+    references users;
+
+alter table if exists appointments
+    add constraint FKalpncq8pxtwld2wmgw4sxct70
+    foreign key (vehicle_id)
+    references vehicles;
+
+alter table if exists projects
+    add constraint FKmjb5gyw5tj7fq41atfe7fhnvy
+    foreign key (assigned_employee_id)
+    references users;
+
+alter table if exists projects
+    add constraint FK5t81yf4oxm1m4at389l9na0fy
+    foreign key (customer_id)
+    references users;
+
+alter table if exists projects
+    add constraint FKtnynpq1ufq9m06883v1xa8xcs
+    foreign key (vehicle_id)
+    references vehicles;
+
+alter table if exists service_progress
+    add constraint FK8wnc67xbnvwfxnnay5a8a0r7o
+    foreign key (appointment_id)
+    references appointments;
+
+alter table if exists service_progress
+    add constraint FKlhkw5ugudebmfsqvu8owj561w
+    foreign key (project_id)
+    references projects;
+
+alter table if exists service_progress
+    add constraint FK52na526dn3345jl1dfrh96ng9
+    foreign key (updated_by_employee_id)
+    references users;
+
+alter table if exists time_logs
+    add constraint FKdxb89uct34qvj58e7obs3095j
+    foreign key (appointment_id)
+    references appointments;
+
+alter table if exists time_logs
+    add constraint FKsfh5edja6hq2rx1n16cmno0oj
+    foreign key (employee_id)
+    references users;
+
+alter table if exists time_logs
+    add constraint FKbp8f52gb5peecc1ur20ea38ix
+    foreign key (project_id)
+    references projects;
+
+alter table if exists vehicles
+    add constraint FKi251m7sfpn4k64pif7wk70jlu
+    foreign key (owner_id)
+    references users;
@@ -0,0 +1,49 @@
+-- Brings databases that were managed by ddl-auto=update before migrations existed up to
+-- the V1 baseline. Every statement is idempotent, so on a fresh database this is a no-op.
+
+-- Denormalized time-log totals on appointments and projects
+alter table appointments add column if not exists logged_minutes integer default 0 not null;
+alter table appointments add column if not exists time_log_count integer default 0 not null;
+alter table projects add column if not exists logged_minutes integer default 0 not null;
+alter table projects add column if not exists time_log_count integer default 0 not null;
+
+update appointments a
+set logged_minutes = t.minutes, time_log_count = t.logs
+from (select appointment_id, sum(duration_minutes) as minutes, count(*) as logs
+      from time_logs where appointment_id is not null group by appointment_id) t
+where t.appointment_id = a.id
+  and (a.logged_minutes <> t.minutes or a.time_log_count <> t.logs);
+
+update projects p
+set logged_minutes = t.minutes, time_log_count = t.logs
+from (select project_id, sum(duration_minutes) as minutes, count(*) as logs
+      from time_logs where project_id is not null group by project_id) t
+where t.project_id = p.id
+  and (p.logged_minutes <> t.minutes or p.time_log_count <> t.logs);
+
+-- Pooled id allocation: blocks of 50 ids, matching allocationSize on the entities.
+-- Older databases already own these sequences through their identity columns.
+create sequence if not exists appointments_id_seq start with 1 increment by 50;
+create sequence if not exists service_progress_id_seq start with 1 increment by 50;
+create sequence if not exists time_logs_id_seq start with 1 increment by 50;
+create sequence if not exists users_id_seq start with 1 increment by 50;
+create sequence if not exists vehicles_id_seq start with 1 increment by 50;
+alter sequence appointments_id_seq increment by 50;
+alter sequence service_progress_id_seq increment by 50;
+alter sequence time_logs_id_seq increment by 50;
+alter sequence users_id_seq increment by 50;
+alter sequence vehicles_id_seq increment by 50;
+
+-- Keyset pagination and summary indexes
+create index if not exists idx_appointments_scheduled_id
+    on appointments (scheduled_date_time, id);
+create index if not exists idx_appointments_status_scheduled_id
+    on appointments (status, scheduled_date_time, id);
+create index if not exists idx_appointments_employee_scheduled_id
+    on appointments (assigned_employee_id, scheduled_date_time, id);
+create index if not exists idx_appointments_customer_scheduled_id
+    on appointments (customer_id, scheduled_date_time, id);
+create index if not exists idx_time_logs_appointment
+    on time_logs (appointment_id);
+create index if not exists idx_time_logs_project
+    on time_logs (project_id);
@@ -0,0 +1,45 @@
+-- Indexes for the filters the dashboards and listings run on every request.
+-- appointments(customer_id, scheduled_date_time) and appointments(status, scheduled_date_time)
+-- are already served by the keyset indexes from V1.
+
+-- Employee dashboard counts: countByAssignedEmployee_EmailAndStatus
+create index idx_appointments_employee_status
+    on appointments (assigned_employee_id, status);
+
+-- Admin pending queue: findUnassignedSummariesByStatus, newest first
+create index idx_appointments_unassigned_status_scheduled
+    on appointments (status, scheduled_date_time desc, id desc)
+    where assigned_employee_id is null;
+
+-- Customer dashboard: countActiveAppointmentsByCustomer
+create index idx_appointments_customer_active
+    on appointments (customer_id)
+    where status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS');
+
+-- Customer dashboard: sumSpentByCustomerCompleted, answered from the index alone
+create index idx_appointments_customer_completed_cost
+    on appointments (customer_id) include (final_cost)
+    where status = 'COMPLETED';
+
+-- Employee time sheets and worked-minutes totals, answered from the index alone
+create index idx_time_logs_employee_start
+    on time_logs (employee_id, start_time) include (end_time, duration_minutes);
+
+-- Customer project lists and counts
+create index idx_projects_customer_status
+    on projects (customer_id, status);
+
+-- findActiveProjectsByCustomer / countActiveProjectsByCustomer
+create index idx_projects_customer_active_created
+    on projects (customer_id, created_at desc)
+    where status in ('PENDING', 'APPROVED', 'IN_PROGRESS', 'ON_HOLD');
+
+-- Admin project listing by status: findSummariesByStatus, countPendingProjects
+create index idx_projects_status_created_id
+    on projects (status, created_at desc, id desc);
+
+create index idx_projects_assigned_employee
+    on projects (assigned_employee_id);
+
+create index idx_vehicles_owner
+    on vehicles (owner_id);
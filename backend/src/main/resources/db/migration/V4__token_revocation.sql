@@ -0,0 +1,31 @@
+-- Rotating refresh tokens. Only a SHA-256 of the token is stored; every rotation of one login
+-- shares a family_id so reuse of a spent token can revoke the whole chain.
+create table refresh_tokens (
+    id bigserial not null,
+    user_id bigint not null,
+    family_id varchar(36) not null,
+    token_hash varchar(64) not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    used_at timestamp(6),
+    revoked_at timestamp(6),
+    primary key (id),
+    constraint uk_refresh_tokens_hash unique (token_hash),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users
+);
+
+create index idx_refresh_tokens_user on refresh_tokens (user_id);
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
+create index idx_refresh_tokens_expires on refresh_tokens (expires_at);
+
+-- Access tokens revoked before they expire, by jti. Every node loads the unexpired rows at
+-- startup and polls by revoked_at for the ones other nodes add.
+create table revoked_tokens (
+    token_id varchar(64) not null,
+    expires_at timestamp(6) not null,
+    revoked_at timestamp(6) not null,
+    primary key (token_id)
+);
+
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+create index idx_revoked_tokens_expires on revoked_tokens (expires_at);
@@ -0,0 +1,25 @@
+-- Transactional outbox for mail. Rows are written in the same transaction as the change that
+-- triggers them and drained by MailDispatcher; nothing talks to SMTP while a request holds locks.
+create table email_outbox (
+    id bigserial not null,
+    dedup_key varchar(64) not null,
+    recipient varchar(255) not null,
+    subject varchar(500) not null,
+    body text,
+    status varchar(20) not null,
+    attempts integer not null default 0,
+    next_attempt_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    last_error varchar(1000),
+    primary key (id),
+    constraint email_outbox_status_check check (status in ('PENDING', 'SENDING', 'SENT', 'DEAD'))
+);
+
+-- An identical message that is still waiting to go out is not queued a second time
+create unique index uk_email_outbox_dedup_open on email_outbox (dedup_key) where status in ('PENDING', 'SENDING');
+
+-- Due work for the dispatcher; SENDING rows whose lease ran out are picked up again
+create index idx_email_outbox_due on email_outbox (next_attempt_at) where status in ('PENDING', 'SENDING');
+
+create index idx_email_outbox_status on email_outbox (status);
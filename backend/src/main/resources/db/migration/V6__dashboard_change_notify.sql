@@ -0,0 +1,24 @@
+-- Announces writes that can move an admin dashboard number on the dashboard_changes channel. One
+-- notification per statement, and Postgres folds identical ones within a transaction, so a bulk
+-- import costs a single recompute. Delivered on commit to every node's PostgresNotificationListener.
+create or replace function notify_dashboard_change() returns trigger as $$
+begin
+    perform pg_notify('dashboard_changes', tg_table_name);
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger users_dashboard_change
+    after insert or delete or truncate on users
+    for each statement execute function notify_dashboard_change();
+
+create trigger vehicles_dashboard_change
+    after insert or delete or truncate on vehicles
+    for each statement execute function notify_dashboard_change();
+
+-- The time log counters are updated on their own columns, so logging time does not wake the dashboard
+create trigger appointments_dashboard_change
+    after insert or delete or truncate
+        or update of status, final_cost, scheduled_date_time, progress_percentage, assigned_employee_id
+    on appointments
+    for each statement execute function notify_dashboard_change();
@@ -0,0 +1,30 @@
+-- Append-only progress timeline for appointments and projects.
+-- Entries are read newest first, a page at a time, so each owner gets an index that returns
+-- the latest rows in order and continues from a (timestamp, id) keyset.
+
+-- Every entry belongs to exactly one of an appointment or a project
+alter table service_progress
+    add constraint chk_service_progress_owner
+    check ((appointment_id is null) <> (project_id is null));
+
+-- Entries belong to their appointment or project and go with it; deleting an appointment that
+-- already has progress must not fail on the foreign key
+alter table service_progress drop constraint FK8wnc67xbnvwfxnnay5a8a0r7o;
+alter table service_progress
+    add constraint fk_service_progress_appointment
+    foreign key (appointment_id) references appointments on delete cascade;
+
+alter table service_progress drop constraint FKlhkw5ugudebmfsqvu8owj561w;
+alter table service_progress
+    add constraint fk_service_progress_project
+    foreign key (project_id) references projects on delete cascade;
+
+-- Appointment timeline: findAppointmentTimeline / findAppointmentTimelineAfter
+create index idx_service_progress_appointment_timeline
+    on service_progress (appointment_id, timestamp desc, id desc)
+    where appointment_id is not null;
+
+-- Project timeline: findProjectTimeline / findProjectTimelineAfter
+create index idx_service_progress_project_timeline
+    on service_progress (project_id, timestamp desc, id desc)
+    where project_id is not null;
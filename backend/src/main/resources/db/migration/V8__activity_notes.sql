@@ -0,0 +1,26 @@
+-- Append-only notes and audit entries for appointments and projects. They used to be appended
+-- to appointments.employee_notes and projects.description, which rewrote the whole text on
+-- every note and overflowed the column; those columns keep what was written before.
+create sequence activity_notes_id_seq start with 1 increment by 50;
+
+create table activity_notes (
+    id bigint not null,
+    type varchar(30) not null check (type in ('EMPLOYEE_NOTE','ADMIN_NOTE','CUSTOMER_NOTE','APPROVAL','REJECTION','ASSIGNMENT')),
+    body varchar(2000) not null,
+    created_at timestamp(6) not null,
+    author_id bigint not null references users,
+    appointment_id bigint references appointments on delete cascade,
+    project_id bigint references projects on delete cascade,
+    primary key (id),
+    constraint chk_activity_notes_owner check ((appointment_id is null) <> (project_id is null))
+);
+
+-- Appointment notes, newest first: findAppointmentNotes / findAppointmentNotesAfter
+create index idx_activity_notes_appointment_created
+    on activity_notes (appointment_id, created_at desc, id desc)
+    where appointment_id is not null;
+
+-- Project notes, newest first: findProjectNotes / findProjectNotesAfter
+create index idx_activity_notes_project_created
+    on activity_notes (project_id, created_at desc, id desc)
+    where project_id is not null;
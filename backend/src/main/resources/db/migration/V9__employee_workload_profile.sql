@@ -0,0 +1,11 @@
+-- What the automatic assignment needs to know about an employee: the service categories they
+-- take and their shift. An employee without skill rows takes every category, and an employee
+-- without shift times works the workshop's opening hours.
+alter table users add column shift_start time(6);
+alter table users add column shift_end time(6);
+
+create table employee_skills (
+    user_id bigint not null references users on delete cascade,
+    category varchar(30) not null check (category in ('MAINTENANCE','REPAIR','INSPECTION','TIRE_SERVICE','ELECTRICAL','BODYWORK','DIAGNOSTIC','OTHER')),
+    primary key (user_id, category)
+);
@@ -0,0 +1,137 @@
+package com.gearsync.backend.benchmark;
+
+import com.gearsync.backend.model.Appointment;
+import com.gearsync.backend.model.TimeLog;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.service.BulkWriteService;
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Rows/sec for inserting time logs through each write path. Run with {@code mvn test -Pbenchmark};
+ * the row count defaults to 100k and can be changed with {@code -Dbench.rows=N}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 100_000);
+    private static final String MARKER = "bulk-insert-benchmark";
+
+    @Autowired
+    private BulkWriteService bulkWriteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Appointment appointment;
+    private User employee;
+
+    @BeforeAll
+    static void loadEnvironment() {
+        Dotenv.configure().ignoreIfMissing().load().entries()
+                .forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Appointment> assigned = entityManager.createQuery(
+                        "select a from Appointment a join fetch a.assignedEmployee", Appointment.class)
+                .setMaxResults(1)
+                .getResultList();
+        assumeTrue(!assigned.isEmpty(), "needs at least one assigned appointment");
+        appointment = assigned.get(0);
+        employee = appointment.getAssignedEmployee();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from time_logs where work_description = ?", MARKER);
+    }
+
+    @Test
+    void rowAtATime() {
+        // What IDENTITY ids force on Hibernate: one INSERT ... RETURNING round trip per row
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        report("row-at-a-time (identity)", () -> transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                jdbcTemplate.queryForObject("""
+                        insert into time_logs (start_time, end_time, duration_minutes, work_description,
+                                               created_at, updated_at, employee_id, appointment_id)
+                        values (?, ?, 60, ?, ?, ?, ?, ?) returning id
+                        """, Long.class, now, now, MARKER, now, now, employee.getId(), appointment.getId());
+            }
+        }));
+    }
+
+    @Test
+    void jpaBatched() {
+        report("JPA persist, batched", () -> transactionTemplate.executeWithoutResult(status -> {
+            Appointment ref = entityManager.getReference(Appointment.class, appointment.getId());
+            User employeeRef = entityManager.getReference(User.class, employee.getId());
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(timeLog(ref, employeeRef));
+                if ((i + 1) % 1000 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }));
+    }
+
+    @Test
+    void statelessBulk() {
+        List<TimeLog> logs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            logs.add(timeLog(appointment, employee));
+        }
+        report("StatelessSession bulk", () -> bulkWriteService.insertAll(logs));
+    }
+
+    private TimeLog timeLog(Appointment appointment, User employee) {
+        LocalDateTime now = LocalDateTime.now();
+        TimeLog log = new TimeLog();
+        log.setAppointment(appointment);
+        log.setEmployee(employee);
+        log.setStartTime(now.minusHours(1));
+        log.setEndTime(now);
+        log.setDurationMinutes(60);
+        log.setWorkDescription(MARKER);
+        return log;
+    }
+
+    private void report(String path, Runnable insert) {
+        long start = System.nanoTime();
+        insert.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Integer written = jdbcTemplate.queryForObject(
+                "select count(*) from time_logs where work_description = ?", Integer.class, MARKER);
+        assertThat(written).isEqualTo(ROWS);
+        System.out.printf("%-28s %,9d rows in %6.2fs -> %,10.0f rows/sec%n", path, ROWS, seconds, ROWS / seconds);
+    }
+}
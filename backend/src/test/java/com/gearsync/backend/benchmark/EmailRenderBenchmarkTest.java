@@ -0,0 +1,87 @@
+package com.gearsync.backend.benchmark;
+
+import com.gearsync.backend.util.EmailTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Render throughput and allocation per email for the appointment confirmation: String.format over
+ * the HTML (what EmailService used to do) against the precompiled template. Run with
+ * {@code mvn test -Pbenchmark}; iterations default to 50k and can be changed with
+ * {@code -Dbench.emails=N}.
+ */
+@Tag("benchmark")
+class EmailRenderBenchmarkTest {
+
+    private static final int EMAILS = Integer.getInteger("bench.emails", 50_000);
+    private static final int WARMUP = Math.min(EMAILS, 10_000);
+    private static final String APP_NAME = "GearSync Automobile Service";
+    private static final String APP_URL = "http://localhost:3000";
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private String legacyFormat;
+    private EmailTemplate template;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String source;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("templates/email/appointment-confirmation.html")) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // The same document as a format string, with the argument order the old builder used
+        legacyFormat = source.replace("%", "%%").replaceAll("\\{\\{[a-zA-Z]+}}", "%s");
+        template = EmailTemplate.load("appointment-confirmation",
+                        "customerName", "scheduledAt", "registrationNumber", "finalCost", "email", "year", "appName", "appUrl")
+                .bind("appName", APP_NAME)
+                .bind("appUrl", APP_URL);
+    }
+
+    @Test
+    void legacyStringFormat() {
+        report("String.format", () -> {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm a");
+            return String.format(legacyFormat, APP_NAME, "Nimal Perera", formatter.format(LocalDateTime.now()), "CAB-1234",
+                    "12500.00", "customer@example.com", APP_URL, APP_NAME, LocalDateTime.now().getYear(), APP_NAME);
+        });
+    }
+
+    @Test
+    void precompiledTemplate() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm a");
+        report("precompiled template", () -> template.render("Nimal Perera", formatter.format(LocalDateTime.now()),
+                "CAB-1234", "12500.00", "customer@example.com", LocalDateTime.now().getYear()));
+    }
+
+    private void report(String path, Supplier<String> render) {
+        long length = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            length += render.get().length();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < EMAILS; i++) {
+            length += render.get().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        assertThat(length).isPositive();
+        System.out.printf("%-22s %,8d emails -> %,8.0f emails/s, %,7d bytes allocated/email%n",
+                path, EMAILS, EMAILS / (elapsed / 1e9), allocated / EMAILS);
+    }
+}
@@ -0,0 +1,116 @@
+package com.gearsync.backend.benchmark;
+
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.repository.RevokedTokenRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.JwtAuthenticationFilter;
+import com.gearsync.backend.security.JwtUtil;
+import com.gearsync.backend.security.TokenRevocationList;
+import com.gearsync.backend.security.UserDirectory;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Per-request cost of the JWT filter. Run with {@code mvn test -Pbenchmark}; iterations default
+ * to 200k and can be changed with {@code -Dbench.requests=N}. No database needed.
+ */
+@Tag("benchmark")
+class JwtFilterBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 200_000);
+    private static final int WARMUP = Math.min(REQUESTS, 20_000);
+    private static final String SECRET = Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret".getBytes());
+
+    private final FilterChain chain = (request, response) -> SecurityContextHolder.clearContext();
+
+    private String token;
+    private UserDirectory userDirectory;
+    private TokenRevocationList tokenRevocationList;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("employee@example.com");
+        user.setRole(Role.EMPLOYEE);
+        user.setIsActive(true);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        userDirectory = new UserDirectory(userRepository);
+        tokenRevocationList = new TokenRevocationList(mock(RevokedTokenRepository.class));
+
+        token = new JwtUtil(SECRET, 0, 900_000).generateToken(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    @Test
+    void legacyDoubleParse() {
+        // What the filter did before: decode the secret and parse/verify the token twice
+        report("decode key + parse twice", () -> {
+            String email = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)))
+                    .build().parseClaimsJws(token).getBody().getSubject();
+            String role = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)))
+                    .build().parseClaimsJws(token).getBody().get("role", String.class);
+            if (email == null || role == null) {
+                throw new IllegalStateException();
+            }
+        });
+    }
+
+    @Test
+    void filterSingleParse() {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtUtil(SECRET, 0, 900_000), userDirectory, tokenRevocationList);
+        report("filter, parse once", () -> runFilter(filter));
+    }
+
+    @Test
+    void filterVerifiedCache() {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(new JwtUtil(SECRET, 10_000, 900_000), userDirectory, tokenRevocationList);
+        report("filter, verified-token cache", () -> runFilter(filter));
+    }
+
+    private void runFilter(JwtAuthenticationFilter filter) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employee/appointments");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain assertAuthenticated = (req, res) -> {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                throw new IllegalStateException("request was not authenticated");
+            }
+            chain.doFilter(req, res);
+        };
+        try {
+            filter.doFilter(request, response, assertAuthenticated);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void report(String path, Runnable perRequest) {
+        for (int i = 0; i < WARMUP; i++) {
+            perRequest.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            perRequest.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(elapsed).isPositive();
+        System.out.printf("%-30s %,9d requests -> %,8.0f ns/request%n", path, REQUESTS, (double) elapsed / REQUESTS);
+    }
+}
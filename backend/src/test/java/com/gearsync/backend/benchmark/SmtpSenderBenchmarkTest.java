@@ -0,0 +1,106 @@
+package com.gearsync.backend.benchmark;
+
+import com.gearsync.backend.service.FakeSmtpServer;
+import com.gearsync.backend.service.SmtpTransportPool;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Burst of notification mails against a local SMTP stand-in: one session per message (what
+ * JavaMailSender.send does) against the pooled transports. Run with {@code mvn test -Pbenchmark};
+ * the burst defaults to 1k messages and can be changed with {@code -Dbench.messages=N}.
+ */
+@Tag("benchmark")
+class SmtpSenderBenchmarkTest {
+
+    private static final int MESSAGES = Integer.getInteger("bench.messages", 1_000);
+    private static final int WORKERS = 4;
+
+    private FakeSmtpServer smtp;
+    private JavaMailSenderImpl mailSender;
+    private ExecutorService workers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+        workers = Executors.newFixedThreadPool(WORKERS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        workers.shutdownNow();
+        smtp.close();
+    }
+
+    @Test
+    void sessionPerMessage() throws Exception {
+        report("session per message", message -> mailSender.send(message));
+    }
+
+    @Test
+    void pooledTransports() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, WORKERS, 100, 60_000, 0);
+        try {
+            report("pooled transports", pool::send);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void report(String path, Sender sender) throws Exception {
+        List<MimeMessage> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(message("customer" + i + "@example.com"));
+        }
+
+        long start = System.nanoTime();
+        List<Future<?>> sends = new ArrayList<>(MESSAGES);
+        for (MimeMessage message : messages) {
+            sends.add(workers.submit(() -> {
+                sender.send(message);
+                return null;
+            }));
+        }
+        for (Future<?> send : sends) {
+            send.get();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(smtp.getMessages()).hasSize(MESSAGES);
+        System.out.printf("%-22s %,6d messages -> %,8.0f messages/s, %,5d connections%n",
+                path, MESSAGES, MESSAGES / (elapsed / 1e9), smtp.getConnections());
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@gearsync.test");
+        helper.setTo(to);
+        helper.setSubject("Appointment Confirmation");
+        helper.setText("<p>Your appointment is confirmed</p>", true);
+        return message;
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(MimeMessage message) throws MessagingException;
+    }
+}
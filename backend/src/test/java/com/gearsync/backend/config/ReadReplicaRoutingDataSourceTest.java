@@ -0,0 +1,138 @@
+package com.gearsync.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadReplicaRoutingDataSource(replicaUsable::get, 5_000, now::get);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("customer@test.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoutesToReplica() {
+        // Given
+        beginTransaction(true);
+
+        // When/Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void testReadWriteTransaction_RoutesToPrimary() {
+        // Given
+        beginTransaction(false);
+
+        // When/Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    void testNoTransaction_RoutesToPrimary() {
+        // When/Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    void testLaggingReplica_FallsBackToPrimary() {
+        // Given
+        replicaUsable.set(false);
+        beginTransaction(true);
+
+        // When/Then
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    void testCommittedWrite_PinsSameUserToPrimaryUntilWindowExpires() {
+        // Given
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        commit();
+
+        // When/Then
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.PRIMARY);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@test.com", null, List.of()));
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.REPLICA);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("customer@test.com", null, List.of()));
+        now.addAndGet(5_001);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void testRolledBackWrite_DoesNotPin() {
+        // Given
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When/Then
+        beginTransaction(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void testEvictExpiredPins() {
+        // Given
+        beginTransaction(false);
+        routing.determineCurrentLookupKey();
+        commit();
+        assertThat(routing.pinnedPrincipals()).isEqualTo(1);
+
+        // When
+        now.addAndGet(5_001);
+        routing.evictExpiredPins();
+
+        // Then
+        assertThat(routing.pinnedPrincipals()).isZero();
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,69 @@
+package com.gearsync.backend.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * Runs against two PostgreSQL instances: DATASOURCE_URL as the primary and DATASOURCE_REPLICA_URL
+ * as the replica (a plain second instance works, it reports zero lag). Run with
+ * {@code mvn test -Pintegration}; skipped when no replica is configured.
+ */
+@Tag("integration")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "app.datasource.replica.enabled=true"})
+class ReadReplicaRoutingTest {
+
+    private static final String SERVER_PORT = "select current_setting('port')";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void loadEnvironment() {
+        Dotenv.configure().ignoreIfMissing().load().entries()
+                .forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+        String replicaUrl = System.getProperty("DATASOURCE_REPLICA_URL", System.getenv("DATASOURCE_REPLICA_URL"));
+        assumeTrue(replicaUrl != null && !replicaUrl.isBlank(), "DATASOURCE_REPLICA_URL is not set");
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseTheReplica() {
+        // Given
+        String primaryPort = new JdbcTemplate(primaryDataSource).queryForObject(SERVER_PORT, String.class);
+        String replicaPort = new JdbcTemplate(replicaDataSource).queryForObject(SERVER_PORT, String.class);
+        assumeFalse(primaryPort.equals(replicaPort), "primary and replica must listen on different ports");
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // When
+        String readOnlyPort = readOnly.execute(status -> jdbcTemplate.queryForObject(SERVER_PORT, String.class));
+        String readWritePort = readWrite.execute(status -> jdbcTemplate.queryForObject(SERVER_PORT, String.class));
+
+        // Then
+        assertThat(readOnlyPort).isEqualTo(replicaPort);
+        assertThat(readWritePort).isEqualTo(primaryPort);
+    }
+}
@@ -0,0 +1,210 @@
+package com.gearsync.backend.repository;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import org.assertj.core.api.SoftAssertions;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the migrated schema is current and that the hot repository queries are planned
+ * on their indexes. The SQL mirrors what Hibernate emits for each repository method, with the
+ * bind parameters inlined. Run with {@code mvn test -Pintegration} (needs the .env datasource).
+ */
+@Tag("integration")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class QueryPlanTest {
+
+    private static final List<ExpectedPlan> EXPECTED_PLANS = new ArrayList<>();
+
+    static {
+        expect("AppointmentRepository.findUpcomingAppointmentsByCustomer", """
+                select * from appointments
+                where customer_id = -60 and scheduled_date_time > now() - interval '30 days'
+                order by scheduled_date_time
+                """, "idx_appointments_customer_scheduled_id");
+        expect("AppointmentRepositoryImpl.employeeDashboardSnapshot", """
+                select count(*),
+                       count(*) filter (where status = 'COMPLETED'),
+                       count(*) filter (where status = 'IN_PROGRESS')
+                from appointments
+                where assigned_employee_id = -7
+                """, "idx_appointments_employee_status");
+        expect("AppointmentRepository.findSummaryPage (status filter)", """
+                select * from appointments
+                where status = 'CONFIRMED'
+                order by scheduled_date_time desc, id desc
+                limit 21
+                """, "idx_appointments_status_scheduled_id");
+        expect("AppointmentRepository.findUnassignedSummariesByStatus", """
+                select * from appointments
+                where status = 'SCHEDULED' and assigned_employee_id is null
+                order by scheduled_date_time desc, id desc
+                """, "idx_appointments_unassigned_status_scheduled");
+        expect("AppointmentRepository.lockUnassignedIdsBetween", """
+                select id from appointments
+                where status = 'SCHEDULED' and assigned_employee_id is null
+                and scheduled_date_time >= now() and scheduled_date_time < now() + interval '1 day'
+                for update skip locked
+                """, "idx_appointments_unassigned_status_scheduled");
+        expect("AppointmentRepository.countActiveAppointmentsByCustomer", """
+                select count(*) from appointments
+                where customer_id = -60 and status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS')
+                """, "idx_appointments_customer_active");
+        expect("AppointmentRepository.findBookedDurationsFrom", """
+                select a.id, a.scheduled_date_time, coalesce(sum(s.estimated_duration_minutes), 0)
+                from appointments a
+                left join appointment_services aps on aps.appointment_id = a.id
+                left join services s on s.id = aps.service_id
+                where a.scheduled_date_time >= now()
+                and a.status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS', 'ON_HOLD', 'RESCHEDULED')
+                group by a.id, a.scheduled_date_time
+                """, "idx_appointments_status_scheduled_id");
+        expect("AppointmentRepository.existsOverlapping", """
+                select exists (
+                    select 1 from appointments a
+                    where (a.customer_id = -60 or a.vehicle_id = -61)
+                    and a.id <> 0
+                    and a.status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS', 'ON_HOLD', 'RESCHEDULED')
+                    and tsrange(a.scheduled_date_time, a.scheduled_end_date_time)
+                        && tsrange(now()::timestamp, now()::timestamp + interval '1 hour'))
+                """, "ex_appointments_customer_overlap");
+        expect("AppointmentRepository.countBusiestSlot", """
+                select coalesce(max(t.taken), 0) from (
+                    select count(a.id) as taken
+                    from generate_series(now()::timestamp, now()::timestamp + interval '1 hour', interval '15 minutes') s(slot_start)
+                    left join appointments a
+                        on a.status in ('SCHEDULED', 'CONFIRMED', 'IN_PROGRESS', 'ON_HOLD', 'RESCHEDULED')
+                        and a.id <> 0
+                        and tsrange(a.scheduled_date_time, a.scheduled_end_date_time)
+                            && tsrange(s.slot_start, s.slot_start + interval '15 minutes')
+                    group by s.slot_start) t
+                """, "idx_appointments_occupying_range");
+        expect("AppointmentRepositoryImpl.customerDashboardSnapshot", """
+                select count(*),
+                       count(*) filter (where status = 'IN_PROGRESS'),
+                       count(*) filter (where status = 'COMPLETED'),
+                       coalesce(sum(final_cost) filter (where status = 'COMPLETED'), 0)
+                from appointments
+                where customer_id = -60
+                """, "idx_appointments_customer_scheduled_id");
+        expect("TimeLogRepository.getTotalMinutesWorkedByEmployeeInRange", """
+                select coalesce(sum(duration_minutes), 0) from time_logs
+                where employee_id = -7 and start_time >= now() - interval '7 days' and end_time <= now()
+                """, "idx_time_logs_employee_start");
+        expect("ProjectRepository.findByCustomerIdAndStatus", """
+                select * from projects
+                where customer_id = -60 and status = 'APPROVED'
+                """, "idx_projects_customer_status");
+        expect("ProjectRepository.findActiveProjectsByCustomer", """
+                select * from projects
+                where customer_id = -60 and status in ('PENDING', 'APPROVED', 'IN_PROGRESS', 'ON_HOLD')
+                order by created_at desc
+                """, "idx_projects_customer_active_created");
+        expect("ProjectRepository.findSummariesByStatus", """
+                select * from projects
+                where status = 'PENDING'
+                order by created_at desc, id desc
+                """, "idx_projects_status_created_id");
+        expect("VehicleRepository.findByOwnerId", """
+                select * from vehicles where owner_id = -60
+                """, "idx_vehicles_owner");
+        expect("ServiceProgressRepository.findAppointmentTimelineAfter", """
+                select * from service_progress
+                where appointment_id = -60
+                and (timestamp < now() or (timestamp = now() and id < 0))
+                order by timestamp desc, id desc
+                fetch first 21 rows only
+                """, "idx_service_progress_appointment_timeline");
+        expect("ServiceProgressRepository.findProjectTimeline", """
+                select * from service_progress
+                where project_id = -60
+                order by timestamp desc, id desc
+                fetch first 21 rows only
+                """, "idx_service_progress_project_timeline");
+        expect("ActivityNoteRepository.findAppointmentNotes", """
+                select * from activity_notes
+                where appointment_id = -60
+                order by created_at desc, id desc
+                fetch first 21 rows only
+                """, "idx_activity_notes_appointment_created");
+        expect("ActivityNoteRepository.findProjectNotesAfter", """
+                select * from activity_notes
+                where project_id = -60
+                and (created_at < now() or (created_at = now() and id < 0))
+                order by created_at desc, id desc
+                fetch first 21 rows only
+                """, "idx_activity_notes_project_created");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    // Repository method, the SQL shape Hibernate emits for it, and the index its plan must use
+    private record ExpectedPlan(String query, String sql, String index) {
+    }
+
+    private static void expect(String query, String sql, String index) {
+        EXPECTED_PLANS.add(new ExpectedPlan(query, sql, index));
+    }
+
+    @BeforeAll
+    static void loadEnvironment() {
+        Dotenv.configure().ignoreIfMissing().load().entries()
+                .forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @Test
+    void testSchemaIsMigratedToLatestVersion() {
+        // When
+        MigrationInfoService info = flyway.info();
+
+        // Then
+        assertThat(info.pending()).isEmpty();
+        assertThat(info.applied()).allMatch(migration -> migration.getState().isApplied() && !migration.getState().isFailed());
+        assertThat(info.current()).isNotNull();
+    }
+
+    @Test
+    void testHotQueriesUseTheirIndexes() {
+        SoftAssertions softly = new SoftAssertions();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Given
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-seed.sql"));
+                return null;
+            });
+
+            // When/Then
+            for (ExpectedPlan expected : EXPECTED_PLANS) {
+                String plan = String.join("\n", jdbcTemplate.queryForList("explain " + expected.sql(), String.class));
+                softly.assertThat(plan).as("%s plan:%n%s", expected.query(), plan).contains(" on " + expected.index());
+            }
+
+            status.setRollbackOnly();
+        });
+
+        softly.assertAll();
+    }
+}
@@ -0,0 +1,37 @@
+package com.gearsync.backend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    @Test
+    void testBearerToken_PrefersAuthorizationHeader() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", JwtAuthenticationFilter.DASHBOARD_STREAM_PATH);
+        request.addHeader("Authorization", "Bearer header-token");
+        request.setParameter("token", "query-token");
+
+        // When & Then
+        assertThat(JwtAuthenticationFilter.bearerToken(request)).isEqualTo("header-token");
+    }
+
+    @Test
+    void testBearerToken_QueryTokenOnlyOnDashboardStream() {
+        // Given
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/app" + JwtAuthenticationFilter.DASHBOARD_STREAM_PATH);
+        stream.setContextPath("/app");
+        stream.setParameter("token", "query-token");
+        MockHttpServletRequest otherStream = new MockHttpServletRequest("GET", "/api/admin/reports/stream");
+        otherStream.setParameter("token", "query-token");
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", JwtAuthenticationFilter.DASHBOARD_STREAM_PATH);
+        post.setParameter("token", "query-token");
+
+        // When & Then
+        assertThat(JwtAuthenticationFilter.bearerToken(stream)).isEqualTo("query-token");
+        assertThat(JwtAuthenticationFilter.bearerToken(otherStream)).isNull();
+        assertThat(JwtAuthenticationFilter.bearerToken(post)).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.model.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtUtilTest {
+
+    static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 100, 60_000);
+    }
+
+    @Test
+    void testVerify_ReturnsTypedClaims() {
+        // Given
+        String token = jwtUtil.generateToken(7L, "employee@example.com", Role.EMPLOYEE);
+
+        // When
+        Optional<JwtClaims> claims = jwtUtil.verify(token);
+
+        // Then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().tokenId()).isNotBlank();
+        assertThat(claims.get().email()).isEqualTo("employee@example.com");
+        assertThat(claims.get().role()).isEqualTo(Role.EMPLOYEE);
+        assertThat(claims.get().userId()).isEqualTo(7L);
+        assertThat(claims.get().expiresAt()).isGreaterThan(System.currentTimeMillis());
+    }
+
+    @Test
+    void testVerify_CachesVerifiedToken() {
+        // Given
+        String token = jwtUtil.generateToken(7L, "employee@example.com", Role.EMPLOYEE);
+
+        // When
+        JwtClaims first = jwtUtil.verify(token).orElseThrow();
+        JwtClaims second = jwtUtil.verify(token).orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.verifiedCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testVerify_CachedTokenStillExpires() {
+        // Given
+        String token = jwtUtil.generateToken(7L, "employee@example.com", Role.EMPLOYEE);
+        JwtClaims claims = jwtUtil.verify(token).orElseThrow();
+
+        // When
+        jwtUtil.clock = () -> claims.expiresAt();
+
+        // Then
+        assertThat(jwtUtil.verify(token)).isEmpty();
+        assertThat(jwtUtil.verifiedCacheSize()).isZero();
+    }
+
+    @Test
+    void testVerify_RejectsTamperedToken() {
+        // Given
+        String token = jwtUtil.generateToken(7L, "employee@example.com", Role.EMPLOYEE);
+        String forged = new JwtUtil(Base64.getEncoder().encodeToString("another-secret-another-secret-32".getBytes()), 100, 60_000)
+                .generateToken(7L, "employee@example.com", Role.ADMIN);
+        String tampered = token.substring(0, token.lastIndexOf('.')) + forged.substring(forged.lastIndexOf('.'));
+
+        // When/Then
+        assertThat(jwtUtil.verify(forged)).isEmpty();
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+        assertThat(jwtUtil.verify("not-a-token")).isEmpty();
+        assertThat(jwtUtil.verify(null)).isEmpty();
+        assertThat(jwtUtil.verifiedCacheSize()).isZero();
+    }
+
+    @Test
+    void testVerify_RejectsExpiredToken() {
+        // Given
+        String token = new JwtUtil(SECRET, 100, -1_000).generateToken(7L, "employee@example.com", Role.EMPLOYEE);
+
+        // When/Then
+        assertThat(jwtUtil.verify(token)).isEmpty();
+    }
+
+    @Test
+    void testVerify_AcceptsTokenWithoutUserId() {
+        // Given
+        String legacy = Jwts.builder()
+                .setSubject("customer@example.com")
+                .claim("role", "ROLE_CUSTOMER")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // When
+        Optional<JwtClaims> claims = jwtUtil.verify(legacy);
+
+        // Then
+        assertThat(claims).map(JwtClaims::role).contains(Role.CUSTOMER);
+        assertThat(claims).map(JwtClaims::userId).isEmpty();
+    }
+
+    @Test
+    void testVerify_CacheStaysBounded() {
+        // Given
+        JwtUtil small = new JwtUtil(SECRET, 10, 60_000);
+
+        // When
+        for (long id = 0; id < 25; id++) {
+            small.verify(small.generateToken(id, "customer" + id + "@example.com", Role.CUSTOMER));
+        }
+
+        // Then
+        assertThat(small.verifiedCacheSize()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,146 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.model.RevokedToken;
+import com.gearsync.backend.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository);
+        revocationList.clock = now::get;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRevoke_RemembersAndPersists() {
+        // When
+        revocationList.revoke("jti-1", now.get() + 600_000);
+
+        // Then
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenId()).isEqualTo("jti-1");
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(at(now.get() + 600_000));
+    }
+
+    @Test
+    void testRevoke_RemembersOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        revocationList.revoke("jti-1", now.get() + 600_000);
+        revocationList.revoke("jti-2", now.get() + 600_000);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        verify(revokedTokenRepository, times(2)).save(any(RevokedToken.class));
+        assertThat(revocationList.isRevoked("jti-1")).isFalse();
+
+        // When: the first revocation commits, the second is rolled back
+        synchronizations.get(0).afterCommit();
+
+        // Then
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+    }
+
+    @Test
+    void testRevoke_IgnoresExpiredAndRepeatedTokens() {
+        // When
+        revocationList.revoke("expired", now.get() - 1);
+        revocationList.revoke("jti-1", now.get() + 600_000);
+        revocationList.revoke("jti-1", now.get() + 600_000);
+        revocationList.revoke(null, now.get() + 600_000);
+
+        // Then
+        assertThat(revocationList.isRevoked("expired")).isFalse();
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testLoad_ReadsUnexpiredRows() {
+        // Given
+        when(revokedTokenRepository.findByExpiresAtAfter(at(now.get())))
+                .thenReturn(List.of(new RevokedToken("jti-1", at(now.get() + 60_000), at(now.get() - 1_000))));
+
+        // When
+        revocationList.load();
+
+        // Then
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void testSync_PicksUpRevocationsFromOtherNodes() {
+        // Given
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        revocationList.load();
+        long loadedAt = now.get();
+        now.addAndGet(5_000);
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(at(loadedAt - 30_000), at(now.get())))
+                .thenReturn(List.of(new RevokedToken("jti-2", at(now.get() + 60_000), at(now.get() - 1_000))));
+
+        // When
+        revocationList.sync();
+
+        // Then
+        assertThat(revocationList.isRevoked("jti-2")).isTrue();
+    }
+
+    @Test
+    void testPurgeExpired_DropsWholeBuckets() {
+        // Given
+        revocationList.revoke("short", now.get() + 30_000);
+        revocationList.revoke("long", now.get() + 3_600_000);
+
+        // When
+        now.addAndGet(120_000);
+        revocationList.purgeExpired();
+
+        // Then
+        assertThat(revocationList.isRevoked("short")).isFalse();
+        assertThat(revocationList.isRevoked("long")).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+        verify(revokedTokenRepository).deleteExpired(at(now.get()));
+    }
+
+    private static LocalDateTime at(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
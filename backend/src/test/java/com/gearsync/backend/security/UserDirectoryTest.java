@@ -0,0 +1,151 @@
+package com.gearsync.backend.security;
+
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDirectory userDirectory;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        userDirectory = new UserDirectory(userRepository);
+        userDirectory.clock = now::get;
+
+        employee = user(1L, "employee@example.com", Role.EMPLOYEE);
+    }
+
+    @Test
+    void testFind_CachesPrincipal() {
+        // Given
+        when(userRepository.findByEmail("employee@example.com")).thenReturn(Optional.of(employee));
+
+        // When
+        Optional<AuthenticatedUser> first = userDirectory.find("employee@example.com");
+        Optional<AuthenticatedUser> second = userDirectory.find("employee@example.com");
+
+        // Then
+        assertThat(first).contains(new AuthenticatedUser(1L, "employee@example.com", Role.EMPLOYEE, true));
+        assertThat(second).isEqualTo(first);
+        verify(userRepository, times(1)).findByEmail("employee@example.com");
+    }
+
+    @Test
+    void testFind_ReloadsAfterTtl() {
+        // Given
+        when(userRepository.findByEmail("employee@example.com")).thenReturn(Optional.of(employee));
+        userDirectory.find("employee@example.com");
+
+        // When
+        now.addAndGet(300_000L);
+        userDirectory.find("employee@example.com");
+
+        // Then
+        verify(userRepository, times(2)).findByEmail("employee@example.com");
+    }
+
+    @Test
+    void testFind_DoesNotCacheUnknownEmail() {
+        // Given
+        when(userRepository.findByEmail("new@example.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(user(2L, "new@example.com", Role.CUSTOMER)));
+
+        // When
+        Optional<AuthenticatedUser> before = userDirectory.find("new@example.com");
+        Optional<AuthenticatedUser> after = userDirectory.find("new@example.com");
+
+        // Then
+        assertThat(before).isEmpty();
+        assertThat(after).map(AuthenticatedUser::userId).contains(2L);
+    }
+
+    @Test
+    void testInvalidate_ReloadsChangedUser() {
+        // Given
+        User deactivated = user(1L, "employee@example.com", Role.EMPLOYEE);
+        deactivated.setIsActive(false);
+        when(userRepository.findByEmail("employee@example.com"))
+                .thenReturn(Optional.of(employee))
+                .thenReturn(Optional.of(deactivated));
+        userDirectory.find("employee@example.com");
+
+        // When
+        userDirectory.invalidate("employee@example.com");
+
+        // Then
+        assertThat(userDirectory.find("employee@example.com")).map(AuthenticatedUser::active).contains(false);
+    }
+
+    @Test
+    void testInvalidate_AgainAfterCommit() {
+        // Given
+        when(userRepository.findByEmail("employee@example.com")).thenReturn(Optional.of(employee));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            userDirectory.invalidate("employee@example.com");
+            userDirectory.find("employee@example.com");
+
+            // Then
+            assertThat(userDirectory.size()).isEqualTo(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(userDirectory.size()).isZero();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testFind_StaysWithinMaxSize() {
+        // Given
+        ReflectionTestUtils.setField(userDirectory, "maxSize", 10);
+        when(userRepository.findByEmail(anyString()))
+                .thenAnswer(invocation -> Optional.of(user(1L, invocation.getArgument(0), Role.CUSTOMER)));
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            now.incrementAndGet();
+            userDirectory.find("customer" + i + "@example.com");
+        }
+
+        // Then
+        assertThat(userDirectory.size()).isLessThanOrEqualTo(10);
+        userDirectory.find("customer24@example.com");
+        verify(userRepository, times(1)).findByEmail("customer24@example.com");
+    }
+
+    private static User user(Long id, String email, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,134 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.*;
+import com.gearsync.backend.exception.*;
+import com.gearsync.backend.model.*;
+import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityNoteServiceTest {
+
+    @Mock
+    private ActivityNoteRepository activityNoteRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ActivityNoteService activityNoteService;
+
+    private AuthenticatedUser admin;
+    private AuthenticatedUser customer;
+
+    @BeforeEach
+    void setUp() {
+        admin = new AuthenticatedUser(3L, "admin@example.com", Role.ADMIN, true);
+        customer = new AuthenticatedUser(2L, "customer@example.com", Role.CUSTOMER, true);
+    }
+
+    @Test
+    void testAddAppointmentNote_InsertsOneRowWithAuthorReference() {
+        // Given
+        User author = new User();
+        author.setId(3L);
+        Appointment appointment = new Appointment();
+        appointment.setId(10L);
+        when(userRepository.getReferenceById(3L)).thenReturn(author);
+
+        // When
+        activityNoteService.addAppointmentNote(appointment, 3L, ActivityNote.NoteType.ADMIN_NOTE, "  Bring the spare key  ");
+
+        // Then
+        ArgumentCaptor<ActivityNote> captor = ArgumentCaptor.forClass(ActivityNote.class);
+        verify(activityNoteRepository).save(captor.capture());
+        ActivityNote note = captor.getValue();
+        assertThat(note.getAppointment()).isSameAs(appointment);
+        assertThat(note.getProject()).isNull();
+        assertThat(note.getAuthor()).isSameAs(author);
+        assertThat(note.getType()).isEqualTo(ActivityNote.NoteType.ADMIN_NOTE);
+        assertThat(note.getBody()).isEqualTo("Bring the spare key");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetProjectNotes_ReturnsNewestPageWithCursor() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<ActivityNoteDTO> rows = new ArrayList<>();
+        for (long id = 9; id >= 7; id--) {
+            rows.add(new ActivityNoteDTO(id, "EMPLOYEE_NOTE", "Note " + id, "John Doe", "EMPLOYEE", now.minusMinutes(10 - id)));
+        }
+        when(projectRepository.existsByIdAndCustomerId(20L, 2L)).thenReturn(true);
+        when(activityNoteRepository.findProjectNotes(eq(20L), any(Pageable.class))).thenReturn(rows);
+
+        // When
+        CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getProjectNotes(customer, 20L, null, 2);
+
+        // Then
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getItems()).extracting(ActivityNoteDTO::getId).containsExactly(9L, 8L);
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertThat(next.id()).isEqualTo(8L);
+        assertThat(next.at()).isEqualTo(rows.get(1).getCreatedAt());
+    }
+
+    @Test
+    void testGetAppointmentNotes_ContinuesAfterCursorForAdmin() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 9, 0);
+        when(appointmentRepository.existsById(10L)).thenReturn(true);
+        when(activityNoteRepository.findAppointmentNotesAfter(eq(10L), eq(at), eq(8L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // When
+        CursorPageDTO<ActivityNoteDTO> page = activityNoteService.getAppointmentNotes(
+                admin, 10L, new KeysetCursor(at, 8L).encode(), 500);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(activityNoteRepository).findAppointmentNotesAfter(eq(10L), eq(at), eq(8L), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(ActivityNoteService.MAX_PAGE_SIZE + 1);
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testGetAppointmentNotes_RejectsOtherCustomersAndUnknownIds() {
+        // Given
+        when(appointmentRepository.existsByIdAndCustomerId(anyLong(), eq(2L))).thenReturn(false);
+        when(appointmentRepository.existsById(10L)).thenReturn(true);
+        when(appointmentRepository.existsById(11L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> activityNoteService.getAppointmentNotes(customer, 10L, null, null))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> activityNoteService.getAppointmentNotes(customer, 11L, null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(activityNoteRepository);
+    }
+}
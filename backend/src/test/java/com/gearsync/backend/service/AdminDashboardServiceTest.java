@@ -1,10 +1,9 @@
 package com.gearsync.backend.service;
 
+import com.gearsync.backend.dto.AdminDashboardSnapshotDTO;
 import com.gearsync.backend.dto.AppointmentSummaryDTO;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.AppointmentRepository;
-import com.gearsync.backend.repository.UserRepository;
-import com.gearsync.backend.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,14 +22,11 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AdminDashboardServiceTest {
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private AppointmentRepository appointmentRepository;
 
     @Mock
-    private VehicleRepository vehicleRepository;
+    private OperationalCounters operationalCounters;
 
     @InjectMocks
     private AdminDashboardService adminDashboardService;
@@ -62,98 +58,111 @@ class AdminDashboardServiceTest {
         testVehicle.setModel("Camry");
     }
 
+    @Test
+    void testSnapshot_QueriesDatabaseUntilCountersAreSeeded() {
+        // Given
+        AdminDashboardSnapshotDTO snapshot = new AdminDashboardSnapshotDTO(100L, 50L, 75L, new BigDecimal("150000.00"), 15L);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot);
+
+        // When
+        AdminDashboardSnapshotDTO result = adminDashboardService.snapshot();
+
+        // Then
+        assertThat(result).isSameAs(snapshot);
+        verify(appointmentRepository).adminDashboardSnapshot();
+        verifyNoMoreInteractions(appointmentRepository);
+    }
+
+    @Test
+    void testSnapshot_ReadsSeededCountersWithoutQuerying() {
+        // Given
+        when(operationalCounters.isSeeded()).thenReturn(true);
+        when(operationalCounters.users()).thenReturn(100L);
+        when(operationalCounters.appointments()).thenReturn(50L);
+        when(operationalCounters.vehicles()).thenReturn(75L);
+        when(operationalCounters.completedEarnings()).thenReturn(new BigDecimal("150000.00"));
+        when(operationalCounters.appointments(AppointmentStatus.IN_PROGRESS)).thenReturn(15L);
+
+        // When
+        AdminDashboardSnapshotDTO result = adminDashboardService.snapshot();
+
+        // Then
+        assertThat(result).isEqualTo(new AdminDashboardSnapshotDTO(100L, 50L, 75L, new BigDecimal("150000.00"), 15L));
+        verifyNoInteractions(appointmentRepository);
+    }
+
     @Test
     void testGetUserCount_Success() {
         // Given
-        when(userRepository.count()).thenReturn(100L);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot(100L, 0L, 0L, BigDecimal.ZERO, 0L));
 
         // When
         Long result = adminDashboardService.getUserCount();
 
         // Then
         assertThat(result).isEqualTo(100L);
-        verify(userRepository).count();
+        verify(appointmentRepository).adminDashboardSnapshot();
     }
 
     @Test
     void testGetUserCount_NoUsers() {
         // Given
-        when(userRepository.count()).thenReturn(0L);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot(0L, 0L, 0L, BigDecimal.ZERO, 0L));
 
         // When
         Long result = adminDashboardService.getUserCount();
 
         // Then
         assertThat(result).isZero();
-        verify(userRepository).count();
     }
 
     @Test
     void testGetAppointmentCount_Success() {
         // Given
-        when(appointmentRepository.count()).thenReturn(50L);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot(0L, 50L, 0L, BigDecimal.ZERO, 0L));
 
         // When
         Long result = adminDashboardService.getAppointmentCount();
 
         // Then
         assertThat(result).isEqualTo(50L);
-        verify(appointmentRepository).count();
     }
 
     @Test
     void testGetVehicleCount_Success() {
         // Given
-        when(vehicleRepository.count()).thenReturn(75L);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot(0L, 0L, 75L, BigDecimal.ZERO, 0L));
 
         // When
         Long result = adminDashboardService.getVehicleCount();
 
         // Then
         assertThat(result).isEqualTo(75L);
-        verify(vehicleRepository).count();
     }
 
     @Test
     void testGetTotalEarningsCompleted_Success() {
         // Given
         BigDecimal expectedEarnings = new BigDecimal("150000.00");
-        when(appointmentRepository.sumFinalCostByStatus(AppointmentStatus.COMPLETED))
-                .thenReturn(expectedEarnings);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot(0L, 0L, 0L, expectedEarnings, 0L));
 
         // When
         BigDecimal result = adminDashboardService.getTotalEarningsCompleted();
 
         // Then
         assertThat(result).isEqualByComparingTo(expectedEarnings);
-        verify(appointmentRepository).sumFinalCostByStatus(AppointmentStatus.COMPLETED);
-    }
-
-    @Test
-    void testGetTotalEarningsCompleted_NullResult_ReturnsZero() {
-        // Given
-        when(appointmentRepository.sumFinalCostByStatus(AppointmentStatus.COMPLETED))
-                .thenReturn(null);
-
-        // When
-        BigDecimal result = adminDashboardService.getTotalEarningsCompleted();
-
-        // Then
-        assertThat(result).isEqualByComparingTo(BigDecimal.ZERO);
-        verify(appointmentRepository).sumFinalCostByStatus(AppointmentStatus.COMPLETED);
     }
 
     @Test
     void testGetActiveServiceCountInProgress_Success() {
         // Given
-        when(appointmentRepository.countByStatus(AppointmentStatus.IN_PROGRESS)).thenReturn(15L);
+        when(appointmentRepository.adminDashboardSnapshot()).thenReturn(snapshot(0L, 0L, 0L, BigDecimal.ZERO, 15L));
 
         // When
         Long result = adminDashboardService.getActiveServiceCountInProgress();
 
         // Then
         assertThat(result).isEqualTo(15L);
-        verify(appointmentRepository).countByStatus(AppointmentStatus.IN_PROGRESS);
     }
 
     @Test
@@ -287,4 +296,9 @@ class AdminDashboardServiceTest {
         appointment.setCreatedAt(LocalDateTime.now());
         return appointment;
     }
+
+    private static AdminDashboardSnapshotDTO snapshot(Long users, Long appointments, Long vehicles,
+                                                      BigDecimal earnings, Long active) {
+        return new AdminDashboardSnapshotDTO(users, appointments, vehicles, earnings, active);
+    }
 }
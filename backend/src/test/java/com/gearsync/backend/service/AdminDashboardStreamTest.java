@@ -0,0 +1,209 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.config.PostgresNotificationListener;
+import com.gearsync.backend.dto.AdminDashboardSnapshotDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminDashboardStreamTest {
+
+    @Mock
+    private AdminDashboardService adminDashboardService;
+
+    @Mock
+    private PostgresNotificationListener notificationListener;
+
+    private AdminDashboardStream stream;
+
+    @BeforeEach
+    void setUp() {
+        // A long debounce keeps the background refresh out of the way; tests call refresh() themselves
+        stream = new AdminDashboardStream(adminDashboardService, notificationListener, 60_000, 60_000, 2);
+        stream.emitterFactory = timeout -> new RecordingEmitter();
+
+        lenient().when(adminDashboardService.querySnapshot()).thenReturn(counters(10L, 20L, 3L));
+        lenient().when(adminDashboardService.getConfirmedAppointments()).thenReturn(List.of());
+        lenient().when(adminDashboardService.getTodayScheduledAppointments()).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void testSubscribe_RegistersChannelAndSendsOneSnapshotForAllAdmins() {
+        // When
+        RecordingEmitter first = (RecordingEmitter) stream.subscribe(null);
+        RecordingEmitter second = (RecordingEmitter) stream.subscribe(null);
+
+        // Then
+        verify(notificationListener).listen(eq(AdminDashboardStream.CHANNEL), any(), any());
+        assertThat(first.events).hasSize(1);
+        assertThat(first.events.get(0).name()).isEqualTo("snapshot");
+        assertThat(first.events.get(0).data()).containsEntry(AdminDashboardStream.USER_COUNT, 10L)
+                .containsEntry(AdminDashboardStream.TOTAL_EARNINGS, new BigDecimal("1500.00"))
+                .hasSize(7);
+        assertThat(second.events).hasSize(1);
+        verify(adminDashboardService, times(1)).querySnapshot();
+        verify(adminDashboardService, times(1)).getConfirmedAppointments();
+    }
+
+    @Test
+    void testRefresh_SendsOnlyChangedValuesAndSkipsListsForOtherTables() {
+        // Given
+        RecordingEmitter emitter = (RecordingEmitter) stream.subscribe(null);
+        when(adminDashboardService.querySnapshot()).thenReturn(counters(10L, 21L, 3L));
+
+        // When
+        stream.onChange("vehicles");
+        stream.refresh();
+        stream.onChange("users");
+        stream.refresh();
+
+        // Then: the unchanged user count produces no event
+        assertThat(emitter.events).hasSize(2);
+        assertThat(emitter.events.get(1).name()).isEqualTo("delta");
+        assertThat(emitter.events.get(1).data()).isEqualTo(Map.of(AdminDashboardStream.VEHICLE_COUNT, 21L));
+        verify(adminDashboardService, times(3)).querySnapshot();
+        verify(adminDashboardService, times(1)).getConfirmedAppointments();
+    }
+
+    @Test
+    void testSubscribe_ResumesFromLastEventId() {
+        // Given
+        RecordingEmitter first = (RecordingEmitter) stream.subscribe(null);
+        String seen = first.events.get(0).id();
+        when(adminDashboardService.querySnapshot()).thenReturn(counters(11L, 20L, 3L));
+        stream.onChange("users");
+        stream.refresh();
+        when(adminDashboardService.querySnapshot()).thenReturn(counters(11L, 20L, 4L));
+        stream.onChange("appointments");
+        stream.refresh();
+
+        // When
+        RecordingEmitter resumed = (RecordingEmitter) stream.subscribe(seen);
+        RecordingEmitter current = (RecordingEmitter) stream.subscribe(first.events.get(2).id());
+        RecordingEmitter foreign = (RecordingEmitter) stream.subscribe("other-node-1");
+
+        // Then
+        assertThat(resumed.events).extracting(Event::name).containsExactly("delta", "delta");
+        assertThat(resumed.events.get(0).data()).isEqualTo(Map.of(AdminDashboardStream.USER_COUNT, 11L));
+        // Wire names are the contract the admin UI reads; spelled out so a rename fails here
+        assertThat(resumed.events.get(1).data()).isEqualTo(Map.of("activeServices", 4L));
+        assertThat(current.events).isEmpty();
+        assertThat(foreign.events).extracting(Event::name).containsExactly("snapshot");
+    }
+
+    @Test
+    void testSubscribe_FallsBackToSnapshotWhenReplayBufferOverflowed() {
+        // Given: the buffer holds 2 deltas and 3 happen
+        RecordingEmitter first = (RecordingEmitter) stream.subscribe(null);
+        for (long count = 11; count <= 13; count++) {
+            when(adminDashboardService.querySnapshot()).thenReturn(counters(count, 20L, 3L));
+            stream.onChange("users");
+            stream.refresh();
+        }
+
+        // When
+        RecordingEmitter resumed = (RecordingEmitter) stream.subscribe(first.events.get(0).id());
+
+        // Then
+        assertThat(resumed.events).extracting(Event::name).containsExactly("snapshot");
+        assertThat(resumed.events.get(0).data()).containsEntry(AdminDashboardStream.USER_COUNT, 13L);
+    }
+
+    @Test
+    void testRefresh_DoesNotQueryWithoutSubscribers() {
+        // When
+        stream.onChange("appointments");
+        stream.refresh();
+
+        // Then
+        verifyNoInteractions(adminDashboardService);
+    }
+
+    @Test
+    void testRefresh_ForgetsSnapshotOnceEveryoneLeft() {
+        // Given
+        RecordingEmitter emitter = (RecordingEmitter) stream.subscribe(null);
+        String seen = emitter.events.get(0).id();
+        emitter.complete();
+        stream.heartbeat();
+        stream.onChange("users");
+        stream.refresh();
+        when(adminDashboardService.querySnapshot()).thenReturn(counters(12L, 20L, 3L));
+
+        // When
+        RecordingEmitter returning = (RecordingEmitter) stream.subscribe(seen);
+
+        // Then
+        assertThat(returning.events).extracting(Event::name).containsExactly("snapshot");
+        assertThat(returning.events.get(0).data()).containsEntry(AdminDashboardStream.USER_COUNT, 12L);
+    }
+
+    private static AdminDashboardSnapshotDTO counters(long users, long vehicles, long active) {
+        return new AdminDashboardSnapshotDTO(users, 30L, vehicles, new BigDecimal("1500.00"), active);
+    }
+
+    private record Event(String id, String name, Map<Object, Object> data) {
+    }
+
+    // Captures events instead of writing them to a response
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Event> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (completed) {
+                throw new IllegalStateException("completed");
+            }
+            String id = null;
+            String name = null;
+            Map<Object, Object> data = null;
+            Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+            for (ResponseBodyEmitter.DataWithMediaType part : parts) {
+                if (part.getData() instanceof Map<?, ?> map) {
+                    data = new LinkedHashMap<>(map);
+                } else {
+                    for (String line : part.getData().toString().split("\n")) {
+                        if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        }
+                    }
+                }
+            }
+            if (name != null) {
+                events.add(new Event(id, name, data));
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AppointmentFilterDTO;
+import com.gearsync.backend.dto.AppointmentSummaryDTO;
+import com.gearsync.backend.dto.CursorPageDTO;
+import com.gearsync.backend.dto.ProjectSummaryDTO;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.*;
+import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServicesTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private OperationalCounters operationalCounters;
+
+    @Mock
+    private ActivityNoteService activityNoteService;
+
+    @Mock
+    private WorkloadBalancer workloadBalancer;
+
+    @InjectMocks
+    private AdminServices adminServices;
+
+    private User admin;
+    private User customer;
+    private Vehicle vehicle;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setId(1L);
+        admin.setEmail("admin@example.com");
+        admin.setRole(Role.ADMIN);
+
+        customer = new User();
+        customer.setId(2L);
+        customer.setEmail("customer@example.com");
+        customer.setFirstName("John");
+        customer.setLastName("Doe");
+        customer.setRole(Role.CUSTOMER);
+
+        vehicle = new Vehicle();
+        vehicle.setId(1L);
+        vehicle.setRegistrationNumber("ABC123");
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Camry");
+
+        baseTime = LocalDateTime.of(2025, 1, 10, 9, 0);
+    }
+
+    private AppointmentSummaryDTO summary(long id, LocalDateTime scheduled) {
+        AppointmentSummaryDTO dto = new AppointmentSummaryDTO();
+        dto.setId(id);
+        dto.setScheduledDateTime(scheduled);
+        dto.setStatus(AppointmentStatus.SCHEDULED.name());
+        dto.setTimeLogsCount(0);
+        dto.setTotalTimeLoggedMinutes(0);
+        return dto;
+    }
+
+    @Test
+    void testGetAppointmentsPage_HasMore_ReturnsCursorOfLastItem() {
+        // Given
+        List<AppointmentSummaryDTO> rows = new ArrayList<>(List.of(
+                summary(3L, baseTime.plusHours(2)),
+                summary(2L, baseTime.plusHours(1)),
+                summary(1L, baseTime)
+        ));
+        when(appointmentRepository.findSummaryPage(any(AppointmentFilterDTO.class), isNull(), eq(3)))
+                .thenReturn(rows);
+
+        // When
+        CursorPageDTO<AppointmentSummaryDTO> page = adminServices.getAppointmentsPage(
+                AuthenticatedUser.of(admin), null, null, null, null, null, null, 2);
+
+        // Then
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getItems()).extracting(AppointmentSummaryDTO::getId).containsExactly(3L, 2L);
+        assertThat(KeysetCursor.decode(page.getNextCursor()))
+                .isEqualTo(new KeysetCursor(baseTime.plusHours(1), 2L));
+    }
+
+    @Test
+    void testGetAppointmentsPage_LastPage_NoCursor() {
+        // Given
+        when(appointmentRepository.findSummaryPage(any(AppointmentFilterDTO.class), any(), anyInt()))
+                .thenReturn(List.of(summary(1L, baseTime)));
+
+        // When
+        CursorPageDTO<AppointmentSummaryDTO> page = adminServices.getAppointmentsPage(
+                AuthenticatedUser.of(admin), null, null, null, null, null, null, null);
+
+        // Then
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getItems()).hasSize(1);
+    }
+
+    @Test
+    void testGetAppointmentsPage_PassesFiltersAndCursor() {
+        // Given
+        KeysetCursor after = new KeysetCursor(baseTime, 10L);
+        LocalDateTime to = baseTime.plusDays(7);
+        when(appointmentRepository.findSummaryPage(any(AppointmentFilterDTO.class), any(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        CursorPageDTO<AppointmentSummaryDTO> page = adminServices.getAppointmentsPage(
+                AuthenticatedUser.of(admin), "confirmed", 5L, 2L, baseTime.minusDays(7), to, after.encode(), 500);
+
+        // Then
+        ArgumentCaptor<AppointmentFilterDTO> filter = ArgumentCaptor.forClass(AppointmentFilterDTO.class);
+        verify(appointmentRepository).findSummaryPage(filter.capture(), eq(after), eq(201));
+        assertThat(filter.getValue().getStatus()).isEqualTo(AppointmentStatus.CONFIRMED);
+        assertThat(filter.getValue().getEmployeeId()).isEqualTo(5L);
+        assertThat(filter.getValue().getCustomerId()).isEqualTo(2L);
+        assertThat(filter.getValue().getTo()).isEqualTo(to);
+        assertThat(page.getItems()).isEmpty();
+    }
+
+    @Test
+    void testGetAppointmentsPage_InvalidStatus() {
+        // When/Then
+        assertThatThrownBy(() -> adminServices.getAppointmentsPage(
+                AuthenticatedUser.of(admin), "unknown", null, null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid status");
+    }
+
+    @Test
+    void testGetAppointmentsPage_InvalidCursor() {
+        // When/Then
+        assertThatThrownBy(() -> adminServices.getAppointmentsPage(
+                AuthenticatedUser.of(admin), null, null, null, null, null, "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void testGetAppointmentsPage_NonAdmin() {
+        // When/Then
+        assertThatThrownBy(() -> adminServices.getAppointmentsPage(
+                AuthenticatedUser.of(customer), null, null, null, null, null, null, null))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void testGetPendingAppointments_UsesProjection() {
+        // Given
+        List<AppointmentSummaryDTO> pending = List.of(summary(7L, baseTime));
+        when(appointmentRepository.findUnassignedSummariesByStatus(AppointmentStatus.SCHEDULED)).thenReturn(pending);
+
+        // When
+        List<AppointmentSummaryDTO> result = adminServices.getPendingAppointments(AuthenticatedUser.of(admin));
+
+        // Then
+        assertThat(result).isSameAs(pending);
+        verify(appointmentRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    void testGetProjectsByStatus_UsesProjection() {
+        // Given
+        ProjectSummaryDTO project = new ProjectSummaryDTO();
+        project.setId(1L);
+        project.setTimeLogsCount(3);
+        project.setTotalTimeLoggedHours(1.5);
+        when(projectRepository.findSummariesByStatus(ProjectStatus.APPROVED)).thenReturn(List.of(project));
+
+        // When
+        List<ProjectSummaryDTO> result = adminServices.getProjectsByStatus(AuthenticatedUser.of(admin), "approved");
+
+        // Then
+        assertThat(result).containsExactly(project);
+    }
+
+    @Test
+    void testGetProjectsByStatus_InvalidStatus() {
+        // When/Then
+        assertThatThrownBy(() -> adminServices.getProjectsByStatus(AuthenticatedUser.of(admin), "unknown"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid status");
+        verifyNoInteractions(projectRepository);
+    }
+}
@@ -0,0 +1,101 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AppointmentRequestDTO;
+import com.gearsync.backend.dto.AppointmentResponseDTO;
+import com.gearsync.backend.exception.SlotUnavailableException;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.ServiceCategory;
+import com.gearsync.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentBookingServiceTest {
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    @Mock
+    private ServiceCatalog serviceCatalog;
+
+    @Mock
+    private SlotAvailability slotAvailability;
+
+    @InjectMocks
+    private AppointmentBookingService appointmentBookingService;
+
+    private AuthenticatedUser customer;
+    private AppointmentRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        customer = new AuthenticatedUser(1L, "customer@test.com", Role.CUSTOMER, true);
+        request = new AppointmentRequestDTO();
+        request.setVehicleId(1L);
+        request.setScheduledDateTime(LocalDateTime.now().plusDays(1).withHour(10).withMinute(0));
+        request.setServiceIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void testBookAppointment_HoldsBaysBeforeTheTransactionAndClosesAfter() {
+        // Given
+        SlotAvailability.Hold hold = mock(SlotAvailability.Hold.class);
+        AppointmentResponseDTO response = new AppointmentResponseDTO();
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(1L, 30), entry(2L, 20)));
+        when(slotAvailability.hold(request.getScheduledDateTime(), 50)).thenReturn(hold);
+        when(appointmentService.bookAppointment(customer, request, hold)).thenReturn(response);
+
+        // When
+        AppointmentResponseDTO result = appointmentBookingService.bookAppointment(customer, request);
+
+        // Then
+        assertThat(result).isSameAs(response);
+        InOrder order = inOrder(slotAvailability, appointmentService, hold);
+        order.verify(slotAvailability).hold(request.getScheduledDateTime(), 50);
+        order.verify(appointmentService).bookAppointment(customer, request, hold);
+        order.verify(hold).close();
+    }
+
+    @Test
+    void testBookAppointment_FullSlotRejectedWithoutTransaction() {
+        // Given
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(1L, 30), entry(2L, 20)));
+        when(slotAvailability.hold(request.getScheduledDateTime(), 50))
+                .thenThrow(new SlotUnavailableException("No bay is free"));
+
+        // When & Then
+        assertThatThrownBy(() -> appointmentBookingService.bookAppointment(customer, request))
+                .isInstanceOf(SlotUnavailableException.class);
+        verifyNoInteractions(appointmentService);
+    }
+
+    @Test
+    void testBookAppointment_UnknownServiceLeftToTransactionalPath() {
+        // Given
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(1L, 30)));
+
+        // When
+        appointmentBookingService.bookAppointment(customer, request);
+
+        // Then
+        verify(appointmentService).bookAppointment(customer, request);
+        verifyNoInteractions(slotAvailability);
+    }
+
+    private static ServiceCatalog.Entry entry(Long id, int minutes) {
+        return new ServiceCatalog.Entry(id, "Service " + id, null, BigDecimal.TEN, minutes,
+                ServiceCategory.MAINTENANCE, true);
+    }
+}
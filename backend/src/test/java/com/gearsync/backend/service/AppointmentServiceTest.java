@@ -3,6 +3,7 @@ package com.gearsync.backend.service;
 import com.gearsync.backend.dto.AppointmentRequestDTO;
 import com.gearsync.backend.dto.AppointmentResponseDTO;
 import com.gearsync.backend.dto.MyAppointmentDTO;
+import com.gearsync.backend.dto.ServiceSummaryDTO;
 import com.gearsync.backend.dto.UpdateAppointmentRequestDTO;
 import com.gearsync.backend.exception.*;
 import com.gearsync.backend.model.*;
@@ -10,6 +11,7 @@ import com.gearsync.backend.repository.AppointmentRepository;
 import com.gearsync.backend.repository.ServiceRepository;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +19,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -41,9 +45,18 @@ class AppointmentServiceTest {
     @Mock
     private ServiceRepository serviceRepository;
 
+    @Mock
+    private ServiceCatalog serviceCatalog;
+
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private OperationalCounters operationalCounters;
+
+    @Mock
+    private SlotAvailability slotAvailability;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -123,34 +136,75 @@ class AppointmentServiceTest {
         request.setCustomerNotes("Test notes");
         request.setServiceIds(Arrays.asList(1L, 2L));
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(serviceRepository.findAllById(request.getServiceIds()))
-                .thenReturn(Arrays.asList(testService1, testService2));
-        when(appointmentRepository.existsByCustomerAndScheduledDateTime(any(User.class), any(LocalDateTime.class))).thenReturn(false);
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        when(serviceCatalog.findAll(request.getServiceIds()))
+                .thenReturn(Arrays.asList(entry(testService1), entry(testService2)));
+        when(serviceRepository.getReferenceById(1L)).thenReturn(testService1);
+        when(serviceRepository.getReferenceById(2L)).thenReturn(testService2);
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
+        when(appointmentRepository.existsOverlapping(eq(1L), eq(1L), eq(0L), eq(request.getScheduledDateTime()),
+                eq(request.getScheduledDateTime().plusMinutes(50)))).thenReturn(false);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
 
         // When
-        AppointmentResponseDTO result = appointmentService.bookAppointment(testCustomer.getEmail(), request);
+        AppointmentResponseDTO result = appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getCustomerEmail()).isEqualTo("customer@test.com");
         assertThat(result.getVehicleId()).isEqualTo(1L);
-        verify(appointmentRepository).save(any(Appointment.class));
+        assertThat(result.getServices()).extracting(ServiceSummaryDTO::getServiceName)
+                .containsExactly("Oil Change", "Tire Rotation");
+        assertThat(result.getEstimatedCost()).isEqualByComparingTo(new BigDecimal("79.98"));
+        verify(appointmentRepository).saveAndFlush(argThat(appointment ->
+                appointment.getFinalCost().compareTo(new BigDecimal("79.98")) == 0 &&
+                appointment.getScheduledEndDateTime().equals(request.getScheduledDateTime().plusMinutes(50)) &&
+                appointment.getAppointmentServices().containsAll(List.of(testService1, testService2))
+        ));
+        verify(serviceRepository, never()).findAllById(any());
+        verify(slotAvailability).reserve(1L, testAppointment.getScheduledDateTime(), 50);
+        verify(operationalCounters).appointmentCreated(AppointmentStatus.SCHEDULED, new BigDecimal("79.98"));
     }
 
     @Test
-    void testBookAppointment_CustomerNotFound() {
+    void testBookAppointment_SlotFull() {
         // Given
         AppointmentRequestDTO request = new AppointmentRequestDTO();
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        request.setVehicleId(1L);
+        request.setScheduledDateTime(LocalDateTime.now().plusDays(1));
+        request.setServiceIds(List.of(1L));
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(testService1)));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
+        doThrow(new SlotUnavailableException("No bay is free"))
+                .when(slotAvailability).reserve(eq(1L), any(LocalDateTime.class), eq(30));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment("unknown@test.com", request))
-                .isInstanceOf(UserNotFoundException.class)
-                .hasMessageContaining("Customer not found");
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
+                .isInstanceOf(SlotUnavailableException.class);
+        verify(operationalCounters, never()).appointmentCreated(any(), any());
+    }
+
+    @Test
+    void testBookAppointment_UnknownService() {
+        // Given
+        AppointmentRequestDTO request = new AppointmentRequestDTO();
+        request.setVehicleId(1L);
+        request.setScheduledDateTime(LocalDateTime.now().plusDays(1));
+        request.setServiceIds(Arrays.asList(1L, 99L));
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(testService1)));
+
+        // When/Then
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("One or more services not found");
+        verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
     @Test
@@ -159,11 +213,10 @@ class AppointmentServiceTest {
         AppointmentRequestDTO request = new AppointmentRequestDTO();
         request.setVehicleId(999L);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(VehicleNotFoundException.class)
                 .hasMessageContaining("Vehicle not found");
     }
@@ -182,11 +235,10 @@ class AppointmentServiceTest {
         AppointmentRequestDTO request = new AppointmentRequestDTO();
         request.setVehicleId(2L);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(2L)).thenReturn(Optional.of(otherVehicle));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("only book appointments for your own vehicles");
     }
@@ -199,31 +251,56 @@ class AppointmentServiceTest {
         request.setScheduledDateTime(LocalDateTime.now().minusDays(1)); // Past date
         request.setServiceIds(Arrays.asList(1L));
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Cannot schedule appointment in the past");
     }
 
     @Test
-    void testBookAppointment_DuplicateDateTime() {
+    void testBookAppointment_OverlapsExistingAppointment() {
         // Given
         AppointmentRequestDTO request = new AppointmentRequestDTO();
         request.setVehicleId(1L);
         request.setScheduledDateTime(LocalDateTime.now().plusDays(1));
         request.setServiceIds(Arrays.asList(1L));
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(appointmentRepository.existsByCustomerAndScheduledDateTime(any(User.class), any(LocalDateTime.class))).thenReturn(true);
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(testService1)));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
+        when(appointmentRepository.existsOverlapping(1L, 1L, 0L, request.getScheduledDateTime(),
+                request.getScheduledDateTime().plusMinutes(30))).thenReturn(true);
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(DuplicateResourceException.class)
-                .hasMessageContaining("already have an appointment scheduled");
+                .hasMessageContaining("already have an appointment");
+        verify(appointmentRepository, never()).saveAndFlush(any(Appointment.class));
+        verify(slotAvailability, never()).reserve(any(), any(), anyInt());
+    }
+
+    @Test
+    void testBookAppointment_ConcurrentOverlapRejectedByConstraint() {
+        // Given
+        AppointmentRequestDTO request = new AppointmentRequestDTO();
+        request.setVehicleId(1L);
+        request.setScheduledDateTime(LocalDateTime.now().plusDays(1));
+        request.setServiceIds(Arrays.asList(1L));
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(List.of(entry(testService1)));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \"ex_appointments_vehicle_overlap\"", "23P01")));
+
+        // When/Then
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
+                .isInstanceOf(AppointmentOverlapException.class);
+        verify(slotAvailability, never()).reserve(any(), any(), anyInt());
+        verify(operationalCounters, never()).appointmentCreated(any(), any());
     }
 
     @Test
@@ -234,11 +311,10 @@ class AppointmentServiceTest {
         request.setScheduledDateTime(LocalDateTime.now().plusDays(1));
         request.setServiceIds(new ArrayList<>()); // Empty list
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("At least one service must be selected");
     }
@@ -253,13 +329,12 @@ class AppointmentServiceTest {
         request.setScheduledDateTime(LocalDateTime.now().plusDays(1));
         request.setServiceIds(Arrays.asList(1L));
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(serviceRepository.findAllById(request.getServiceIds())).thenReturn(Arrays.asList(testService1));
-        when(appointmentRepository.existsByCustomerAndScheduledDateTime(any(User.class), any(LocalDateTime.class))).thenReturn(false);
+        when(serviceCatalog.findAll(request.getServiceIds())).thenReturn(Arrays.asList(entry(testService1)));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.bookAppointment(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> appointmentService.bookAppointment(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("not available");
     }
@@ -267,12 +342,11 @@ class AppointmentServiceTest {
     @Test
     void testGetMyAppointments_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findAllByCustomerId(testCustomer.getId()))
                 .thenReturn(Arrays.asList(testAppointment));
 
         // When
-        List<MyAppointmentDTO> results = appointmentService.getMyAppointments(testCustomer.getEmail());
+        List<MyAppointmentDTO> results = appointmentService.getMyAppointments(AuthenticatedUser.of(testCustomer));
 
         // Then
         assertThat(results).isNotEmpty();
@@ -286,12 +360,11 @@ class AppointmentServiceTest {
         MyAppointmentDTO expectedDTO = new MyAppointmentDTO();
         expectedDTO.setId(1L);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
         when(modelMapper.map(testAppointment, MyAppointmentDTO.class)).thenReturn(expectedDTO);
 
         // When
-        MyAppointmentDTO result = appointmentService.getAppointmentById(testCustomer.getEmail(), 1L);
+        MyAppointmentDTO result = appointmentService.getAppointmentById(AuthenticatedUser.of(testCustomer), 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -305,11 +378,10 @@ class AppointmentServiceTest {
         otherCustomer.setId(999L);
         otherCustomer.setEmail("other@test.com");
 
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.getAppointmentById("other@test.com", 1L))
+        assertThatThrownBy(() -> appointmentService.getAppointmentById(AuthenticatedUser.of(otherCustomer), 1L))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("only view your own appointments");
     }
@@ -320,17 +392,38 @@ class AppointmentServiceTest {
         UpdateAppointmentRequestDTO request = new UpdateAppointmentRequestDTO();
         request.setCustomerNotes("Updated notes");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
-        when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
 
         // When
         UpdateAppointmentRequestDTO result = appointmentService.updateAppointment(
-                testCustomer.getEmail(), 1L, request);
+                AuthenticatedUser.of(testCustomer), 1L, request);
 
         // Then
         assertThat(result).isNotNull();
-        verify(appointmentRepository).save(any(Appointment.class));
+        verify(appointmentRepository).saveAndFlush(any(Appointment.class));
+        verify(appointmentRepository, never()).existsOverlapping(any(), any(), any(), any(), any());
+        verify(slotAvailability, never()).reserve(any(), any(), anyInt());
+    }
+
+    @Test
+    void testUpdateAppointment_RescheduleMovesBooking() {
+        // Given
+        LocalDateTime newTime = LocalDateTime.now().plusDays(2);
+        UpdateAppointmentRequestDTO request = new UpdateAppointmentRequestDTO();
+        request.setScheduledDateTime(newTime);
+
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(serviceCatalog.findAll(anyList())).thenReturn(List.of(entry(testService1), entry(testService2)));
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenReturn(testAppointment);
+
+        // When
+        appointmentService.updateAppointment(AuthenticatedUser.of(testCustomer), 1L, request);
+
+        // Then
+        verify(appointmentRepository).existsOverlapping(1L, 1L, 1L, newTime, newTime.plusMinutes(50));
+        assertThat(testAppointment.getScheduledEndDateTime()).isEqualTo(newTime.plusMinutes(50));
+        verify(slotAvailability).reserve(1L, newTime, 50);
     }
 
     @Test
@@ -340,11 +433,10 @@ class AppointmentServiceTest {
         UpdateAppointmentRequestDTO request = new UpdateAppointmentRequestDTO();
         request.setCustomerNotes("New notes");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.updateAppointment(testCustomer.getEmail(), 1L, request))
+        assertThatThrownBy(() -> appointmentService.updateAppointment(AuthenticatedUser.of(testCustomer), 1L, request))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("currently in progress");
     }
@@ -352,16 +444,18 @@ class AppointmentServiceTest {
     @Test
     void testCancelAppointment_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(testAppointment);
 
         // When
-        AppointmentResponseDTO result = appointmentService.cancelAppointment(testCustomer.getEmail(), 1L);
+        AppointmentResponseDTO result = appointmentService.cancelAppointment(AuthenticatedUser.of(testCustomer), 1L);
 
         // Then
         assertThat(result).isNotNull();
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(operationalCounters).appointmentChanged(AppointmentStatus.SCHEDULED, new BigDecimal("79.98"),
+                AppointmentStatus.CANCELLED, new BigDecimal("79.98"));
+        verify(slotAvailability).release(1L);
     }
 
     @Test
@@ -369,11 +463,10 @@ class AppointmentServiceTest {
         // Given
         testAppointment.setStatus(AppointmentStatus.CANCELLED);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.cancelAppointment(testCustomer.getEmail(), 1L))
+        assertThatThrownBy(() -> appointmentService.cancelAppointment(AuthenticatedUser.of(testCustomer), 1L))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("already cancelled");
     }
@@ -381,15 +474,15 @@ class AppointmentServiceTest {
     @Test
     void testDeleteAppointment_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
 
         // When
-        appointmentService.deleteAppointment(testCustomer.getEmail(), 1L);
+        appointmentService.deleteAppointment(AuthenticatedUser.of(testCustomer), 1L);
 
         // Then
         verify(appointmentRepository).deleteById(1L);
         verify(appointmentRepository).flush();
+        verify(operationalCounters).appointmentDeleted(AppointmentStatus.SCHEDULED, new BigDecimal("79.98"));
     }
 
     @Test
@@ -397,12 +490,17 @@ class AppointmentServiceTest {
         // Given
         testAppointment.setStatus(AppointmentStatus.COMPLETED);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
 
         // When/Then
-        assertThatThrownBy(() -> appointmentService.deleteAppointment(testCustomer.getEmail(), 1L))
+        assertThatThrownBy(() -> appointmentService.deleteAppointment(AuthenticatedUser.of(testCustomer), 1L))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("SCHEDULED, CONFIRMED, or RESCHEDULED");
     }
+
+    private static ServiceCatalog.Entry entry(Services service) {
+        return new ServiceCatalog.Entry(service.getId(), service.getServiceName(), service.getDescription(),
+                service.getBasePrice(), service.getEstimatedDurationMinutes(), service.getCategory(),
+                service.getIsActive());
+    }
 }
@@ -31,6 +31,9 @@ class AuthServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private OperationalCounters operationalCounters;
+
     @InjectMocks
     private AuthService authService;
 
@@ -0,0 +1,182 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AutoAssignResultDTO;
+import com.gearsync.backend.dto.EmployeeSkillsDTO;
+import com.gearsync.backend.model.*;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutoAssignmentServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WorkloadBalancer workloadBalancer;
+
+    @Mock
+    private AdminServices adminServices;
+
+    @Mock
+    private OperationalCounters operationalCounters;
+
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private AutoAssignmentService autoAssignmentService;
+
+    private AuthenticatedUser admin;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        admin = new AuthenticatedUser(3L, "admin@example.com", Role.ADMIN, true);
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    void testAutoAssignDay_WritesOneUpdatePerEmployeeAndReportsLeftovers() {
+        // Given
+        LocalDateTime nine = tomorrow.atTime(9, 0);
+        User employee = new User();
+        employee.setId(7L);
+        employee.setRole(Role.EMPLOYEE);
+        employee.setIsActive(true);
+        when(appointmentRepository.lockUnassignedIdsBetween(AppointmentStatus.SCHEDULED,
+                tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay())).thenReturn(List.of(10L, 11L, 12L));
+        when(appointmentRepository.findJobServices(List.of(10L, 11L, 12L))).thenReturn(List.of(
+                new Object[]{10L, nine, ServiceCategory.MAINTENANCE, 30},
+                new Object[]{10L, nine, ServiceCategory.ELECTRICAL, 45},
+                new Object[]{11L, nine, ServiceCategory.REPAIR, 60},
+                new Object[]{12L, nine, null, null}));
+        when(workloadBalancer.autoAssignAll(anyList())).thenReturn(Map.of(10L, 7L, 12L, 7L));
+        when(userRepository.findAllById(Set.of(7L))).thenReturn(List.of(employee));
+        when(userRepository.getReferenceById(7L)).thenReturn(employee);
+        when(appointmentRepository.findConfirmationDetails(anyList())).thenReturn(List.<Object[]>of(
+                new Object[]{10L, "a@example.com", "Ann", "Lee", "CAB-1234", nine, new BigDecimal("80.00")},
+                new Object[]{12L, "b@example.com", "Ben", "Ray", "CAB-5678", nine, null}));
+
+        // When
+        AutoAssignResultDTO result = autoAssignmentService.autoAssignDay(admin, tomorrow);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<WorkloadBalancer.Job>> jobs = ArgumentCaptor.forClass(List.class);
+        verify(workloadBalancer).autoAssignAll(jobs.capture());
+        assertThat(jobs.getValue()).containsExactly(
+                new WorkloadBalancer.Job(10L, nine, 75,
+                        WorkloadBalancer.skillMask(List.of(ServiceCategory.MAINTENANCE, ServiceCategory.ELECTRICAL))),
+                new WorkloadBalancer.Job(11L, nine, 60, WorkloadBalancer.skillMask(List.of(ServiceCategory.REPAIR))),
+                new WorkloadBalancer.Job(12L, nine, 0, 0));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(appointmentRepository).assignEmployee(ids.capture(), eq(employee), eq(AppointmentStatus.CONFIRMED), any());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(10L, 12L);
+        verify(emailService).sendCustomerAppointmentConfirmation("a@example.com", "CAB-1234", "Ann Lee", nine, new BigDecimal("80.00"));
+        verify(operationalCounters, times(2)).appointmentChanged(eq(AppointmentStatus.SCHEDULED), any(),
+                eq(AppointmentStatus.CONFIRMED), any());
+        assertThat(result.pending()).isEqualTo(3);
+        assertThat(result.assigned()).isEqualTo(2);
+        assertThat(result.unassignedAppointmentIds()).containsExactly(11L);
+    }
+
+    @Test
+    void testAutoAssignAppointment_NoEmployeeFree() {
+        // Given
+        Services service = new Services();
+        service.setCategory(ServiceCategory.BODYWORK);
+        service.setEstimatedDurationMinutes(120);
+        Appointment appointment = new Appointment();
+        appointment.setId(10L);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setScheduledDateTime(tomorrow.atTime(9, 0));
+        appointment.setAppointmentServices(new HashSet<>(List.of(service)));
+        when(appointmentRepository.findById(10L)).thenReturn(Optional.of(appointment));
+        when(workloadBalancer.autoAssign(any())).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> autoAssignmentService.autoAssignAppointment(admin, 10L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No employee");
+        verify(workloadBalancer).autoAssign(new WorkloadBalancer.Job(10L, tomorrow.atTime(9, 0), 120,
+                WorkloadBalancer.skillMask(List.of(ServiceCategory.BODYWORK))));
+        verifyNoInteractions(adminServices);
+    }
+
+    @Test
+    void testAutoAssignAppointment_PickedEmployeeNoLongerActive() {
+        // Given
+        Appointment appointment = new Appointment();
+        appointment.setId(10L);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setScheduledDateTime(tomorrow.atTime(9, 0));
+        appointment.setAppointmentServices(new HashSet<>());
+        User employee = new User();
+        employee.setId(7L);
+        employee.setRole(Role.EMPLOYEE);
+        employee.setIsActive(false);
+        when(appointmentRepository.findById(10L)).thenReturn(Optional.of(appointment));
+        when(workloadBalancer.autoAssign(any())).thenReturn(7L);
+        when(userRepository.findAllById(List.of(7L))).thenReturn(List.of(employee));
+
+        // When & Then
+        assertThatThrownBy(() -> autoAssignmentService.autoAssignAppointment(admin, 10L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("no longer take appointments");
+        verify(workloadBalancer).forgetWorker(7L);
+        verifyNoInteractions(adminServices);
+    }
+
+    @Test
+    void testAutoAssignDay_PlannedEmployeeDeletedAssignsNothing() {
+        // Given
+        LocalDateTime nine = tomorrow.atTime(9, 0);
+        when(appointmentRepository.lockUnassignedIdsBetween(AppointmentStatus.SCHEDULED,
+                tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay())).thenReturn(List.of(10L));
+        when(appointmentRepository.findJobServices(List.of(10L))).thenReturn(List.<Object[]>of(
+                new Object[]{10L, nine, ServiceCategory.REPAIR, 60}));
+        when(workloadBalancer.autoAssignAll(anyList())).thenReturn(Map.of(10L, 7L));
+        when(userRepository.findAllById(Set.of(7L))).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> autoAssignmentService.autoAssignDay(admin, tomorrow))
+                .isInstanceOf(IllegalStateException.class);
+        verify(workloadBalancer).forgetWorker(7L);
+        verify(appointmentRepository, never()).assignEmployee(any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdateEmployeeSkills_RejectsHalfAShift() {
+        // Given
+        EmployeeSkillsDTO request = new EmployeeSkillsDTO(Set.of(ServiceCategory.REPAIR), LocalTime.of(8, 0), null);
+
+        // When & Then
+        assertThatThrownBy(() -> autoAssignmentService.updateEmployeeSkills(admin, 7L, request))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userRepository, workloadBalancer);
+    }
+}
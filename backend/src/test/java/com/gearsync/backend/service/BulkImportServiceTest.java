@@ -0,0 +1,240 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.ImportJobDTO;
+import com.gearsync.backend.exception.ResourceNotFoundException;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.*;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private BulkWriteService bulkWriteService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private OperationalCounters operationalCounters;
+
+    @InjectMocks
+    private BulkImportService bulkImportService;
+
+    @TempDir
+    Path tempDir;
+
+    private User admin;
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setId(1L);
+        admin.setEmail("admin@example.com");
+        admin.setRole(Role.ADMIN);
+
+        customer = new User();
+        customer.setId(2L);
+        customer.setEmail("owner@example.com");
+        customer.setRole(Role.CUSTOMER);
+    }
+
+    private ImportJobDTO run(ImportType type, String csv) throws IOException {
+        Path upload = Files.writeString(tempDir.resolve("upload.csv"), csv);
+        BulkImportService.ImportJob job = new BulkImportService.ImportJob("job-1", type, "upload.csv");
+        bulkImportService.runImport(job, upload);
+        assertThat(upload).doesNotExist();
+        return job.toDTO();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCustomers_SkipsDuplicatesAndQueuesWelcomeMails() throws IOException {
+        // Given
+        String csv = """
+                email,firstName,lastName,phoneNumber
+                new1@example.com,Ann,"Lee, Jr",0771
+                taken@example.com,Bob,Ray,0772
+                new1@example.com,Ann,Again,0773
+                not-an-email,Cat,Fox,0774
+
+                new2@example.com,Dan,Ito,0775
+                """;
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        // When
+        ImportJobDTO result = run(ImportType.CUSTOMERS, csv);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getProcessedRows()).isEqualTo(5);
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getFailedRows()).isEqualTo(3);
+        assertThat(result.getErrors()).containsExactlyInAnyOrder(
+                "Row 4: Duplicate email in file: new1@example.com",
+                "Row 5: Invalid email: not-an-email",
+                "Row 3: Email already registered: taken@example.com");
+
+        ArgumentCaptor<List<User>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkWriteService).insertAll(inserted.capture());
+        assertThat(inserted.getValue()).extracting(User::getEmail)
+                .containsExactly("new1@example.com", "new2@example.com");
+        User first = inserted.getValue().get(0);
+        assertThat(first.getLastName()).isEqualTo("Lee, Jr");
+        assertThat(first.getRole()).isEqualTo(Role.CUSTOMER);
+        assertThat(first.getPassword()).isEqualTo(BulkImportService.UNUSABLE_PASSWORD);
+        assertThat(first.getIsFirstLogin()).isTrue();
+        verify(emailService).sendImportedAccountWelcomeEmails(inserted.getValue(), "Customer");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportVehicles_AssignsOwnersAndRejectsUnknownOwners() throws IOException {
+        // Given
+        String csv = """
+                owner_email,registration_number,make,model,year,color,mileage
+                owner@example.com,ABC-1,Toyota,Corolla,2019,White,12000
+                nobody@example.com,ABC-2,Honda,Civic,2020,Black,
+                owner@example.com,ABC-3,Honda,Civic,twenty,Black,
+                """;
+        when(userRepository.findByEmailIn(anyCollection())).thenReturn(List.of(customer));
+        when(vehicleRepository.findExistingRegistrationNumbers(anyCollection())).thenReturn(List.of());
+
+        // When
+        ImportJobDTO result = run(ImportType.VEHICLES, csv);
+
+        // Then
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactlyInAnyOrder(
+                "Row 3: No customer with email: nobody@example.com",
+                "Row 4: Year and mileage must be whole numbers");
+
+        ArgumentCaptor<List<Vehicle>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkWriteService).insertAll(inserted.capture());
+        Vehicle vehicle = inserted.getValue().get(0);
+        assertThat(vehicle.getOwner()).isSameAs(customer);
+        assertThat(vehicle.getMileage()).isEqualTo(12000);
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void testImport_MissingColumn_FailsJob() throws IOException {
+        // When
+        ImportJobDTO result = run(ImportType.EMPLOYEES, "email,firstName\nx@example.com,X\n");
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getErrors()).containsExactly("Missing column: lastname");
+        assertThat(result.getFinishedAt()).isNotNull();
+        verifyNoInteractions(bulkWriteService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImport_BatchConflict_RetriesRowsIndividually() throws IOException {
+        // Given
+        String csv = """
+                email,firstName,lastName,phoneNumber
+                a@example.com,A,A,1
+                b@example.com,B,B,2
+                """;
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(bulkWriteService.insertAll(anyList()))
+                .thenThrow(new IllegalStateException("duplicate key"))
+                .thenReturn(1)
+                .thenThrow(new IllegalStateException("duplicate key"));
+
+        // When
+        ImportJobDTO result = run(ImportType.EMPLOYEES, csv);
+
+        // Then
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getFailedRows()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly("Row 3: Could not be saved: duplicate key");
+        verify(bulkWriteService, times(3)).insertAll(anyList());
+        ArgumentCaptor<List<User>> welcomed = ArgumentCaptor.forClass(List.class);
+        verify(emailService).sendImportedAccountWelcomeEmails(welcomed.capture(), eq("Employee"));
+        assertThat(welcomed.getValue()).extracting(User::getEmail).containsExactly("a@example.com");
+    }
+
+    @Test
+    void testEvictFinishedJobs_DropsJobsPastRetention() throws Exception {
+        // Given: a job that fails on its header finishes on the worker almost at once
+        AuthenticatedUser principal = AuthenticatedUser.of(admin);
+        MockMultipartFile file = new MockMultipartFile("file", "x.csv", "text/csv", "email\n".getBytes());
+        String jobId = bulkImportService.startImport(principal, "customers", file).getJobId();
+        try {
+            ImportJobDTO job = bulkImportService.getImportJob(principal, jobId);
+            for (int i = 0; i < 500 && job.getFinishedAt() == null; i++) {
+                Thread.sleep(10);
+                job = bulkImportService.getImportJob(principal, jobId);
+            }
+            assertThat(job.getStatus()).isEqualTo("FAILED");
+
+            // When: still within retention
+            bulkImportService.evictFinishedJobs(LocalDateTime.now());
+
+            // Then
+            assertThat(bulkImportService.getImportJob(principal, jobId).getJobId()).isEqualTo(jobId);
+
+            // When: past retention
+            bulkImportService.evictFinishedJobs(LocalDateTime.now().plus(BulkImportService.JOB_RETENTION).plusMinutes(1));
+
+            // Then
+            assertThatThrownBy(() -> bulkImportService.getImportJob(principal, jobId))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        } finally {
+            bulkImportService.shutdown();
+        }
+    }
+
+    @Test
+    void testStartImport_InvalidType() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "x.csv", "text/csv", "a".getBytes());
+
+        // When/Then
+        assertThatThrownBy(() -> bulkImportService.startImport(AuthenticatedUser.of(admin), "boats", file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid import type");
+    }
+
+    @Test
+    void testStartImport_NonAdmin() {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "x.csv", "text/csv", "a".getBytes());
+
+        // When/Then
+        assertThatThrownBy(() -> bulkImportService.startImport(AuthenticatedUser.of(customer), "customers", file))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(bulkWriteService);
+    }
+}
@@ -1,11 +1,10 @@
 package com.gearsync.backend.service;
 
+import com.gearsync.backend.dto.CustomerDashboardSnapshotDTO;
 import com.gearsync.backend.dto.MyAppointmentDTO;
-import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.AppointmentRepository;
-import com.gearsync.backend.repository.UserRepository;
-import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,17 +26,12 @@ class CustomerDashboardServiceTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
-    @Mock
-    private VehicleRepository vehicleRepository;
-
-    @Mock
-    private UserRepository userRepository;
-
     @InjectMocks
     private CustomerDashboardService customerDashboardService;
 
     private String customerEmail;
     private User testCustomer;
+    private AuthenticatedUser customer;
 
     @BeforeEach
     void setUp() {
@@ -47,115 +41,109 @@ class CustomerDashboardServiceTest {
         testCustomer.setEmail(customerEmail);
         testCustomer.setFirstName("John");
         testCustomer.setLastName("Doe");
+        customer = AuthenticatedUser.of(testCustomer);
     }
 
     @Test
-    void testMyAppointmentCount_Success() {
+    void testSnapshot_ReturnsAllCountersFromOneQuery() {
         // Given
-        Long expectedCount = 5L;
-        when(appointmentRepository.countByCustomer_Email(customerEmail)).thenReturn(expectedCount);
+        CustomerDashboardSnapshotDTO snapshot = new CustomerDashboardSnapshotDTO(5L, 3L, 2L, 3L, new BigDecimal("5000.00"));
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot);
 
         // When
-        Long result = customerDashboardService.myAppointmentCount(customerEmail);
+        CustomerDashboardSnapshotDTO result = customerDashboardService.snapshot(customer);
 
         // Then
-        assertThat(result).isEqualTo(expectedCount);
-        verify(appointmentRepository).countByCustomer_Email(customerEmail);
+        assertThat(result).isSameAs(snapshot);
+        verify(appointmentRepository).customerDashboardSnapshot(1L);
+        verifyNoMoreInteractions(appointmentRepository);
     }
 
     @Test
-    void testMyAppointmentCount_NoAppointments() {
+    void testMyAppointmentCount_Success() {
         // Given
-        when(appointmentRepository.countByCustomer_Email(customerEmail)).thenReturn(0L);
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot(5L, 0L, 0L, 0L));
 
         // When
-        Long result = customerDashboardService.myAppointmentCount(customerEmail);
+        Long result = customerDashboardService.myAppointmentCount(customer);
 
         // Then
-        assertThat(result).isZero();
-        verify(appointmentRepository).countByCustomer_Email(customerEmail);
+        assertThat(result).isEqualTo(5L);
+        verify(appointmentRepository).customerDashboardSnapshot(1L);
     }
 
     @Test
-    void testActiveAppointmentCount_Success() {
+    void testMyAppointmentCount_NoAppointments() {
         // Given
-        when(appointmentRepository.countByCustomer_EmailAndStatus(customerEmail, AppointmentStatus.IN_PROGRESS))
-                .thenReturn(3L);
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot(0L, 0L, 0L, 0L));
 
         // When
-        Integer result = customerDashboardService.activeAppointmentCount(customerEmail);
+        Long result = customerDashboardService.myAppointmentCount(customer);
 
         // Then
-        assertThat(result).isEqualTo(3);
-        verify(appointmentRepository).countByCustomer_EmailAndStatus(customerEmail, AppointmentStatus.IN_PROGRESS);
+        assertThat(result).isZero();
     }
 
     @Test
-    void testCompletedServicesCount_Success() {
+    void testActiveAppointmentCount_Success() {
         // Given
-        when(appointmentRepository.countByCustomer_EmailAndStatus(customerEmail, AppointmentStatus.COMPLETED))
-                .thenReturn(2L);
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot(0L, 3L, 0L, 0L));
 
         // When
-        Integer result = customerDashboardService.completedServicesCount(customerEmail);
+        Integer result = customerDashboardService.activeAppointmentCount(customer);
 
         // Then
-        assertThat(result).isEqualTo(2);
-        verify(appointmentRepository).countByCustomer_EmailAndStatus(customerEmail, AppointmentStatus.COMPLETED);
+        assertThat(result).isEqualTo(3);
     }
 
     @Test
-    void testMyVehicleCount_Success() {
+    void testCompletedServicesCount_Success() {
         // Given
-        Long expectedCount = 3L;
-        when(vehicleRepository.countByOwner_Email(customerEmail)).thenReturn(expectedCount);
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot(0L, 0L, 2L, 0L));
 
         // When
-        Long result = customerDashboardService.myVehicleCount(customerEmail);
+        Integer result = customerDashboardService.completedServicesCount(customer);
 
         // Then
-        assertThat(result).isEqualTo(expectedCount);
-        verify(vehicleRepository).countByOwner_Email(customerEmail);
+        assertThat(result).isEqualTo(2);
     }
 
     @Test
-    void testMyVehicleCount_NoVehicles() {
+    void testMyVehicleCount_Success() {
         // Given
-        when(vehicleRepository.countByOwner_Email(customerEmail)).thenReturn(0L);
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot(0L, 0L, 0L, 3L));
 
         // When
-        Long result = customerDashboardService.myVehicleCount(customerEmail);
+        Long result = customerDashboardService.myVehicleCount(customer);
 
         // Then
-        assertThat(result).isZero();
-        verify(vehicleRepository).countByOwner_Email(customerEmail);
+        assertThat(result).isEqualTo(3L);
     }
 
     @Test
     void testTotalSpentAmount_Success() {
         // Given
         BigDecimal expectedAmount = new BigDecimal("5000.00");
-        when(appointmentRepository.sumSpentByCustomerCompleted(customerEmail)).thenReturn(expectedAmount);
+        when(appointmentRepository.customerDashboardSnapshot(1L))
+                .thenReturn(new CustomerDashboardSnapshotDTO(0L, 0L, 0L, 0L, expectedAmount));
 
         // When
-        BigDecimal result = customerDashboardService.totalSpentAmount(customerEmail);
+        BigDecimal result = customerDashboardService.totalSpentAmount(customer);
 
         // Then
         assertThat(result).isEqualByComparingTo(expectedAmount);
-        verify(appointmentRepository).sumSpentByCustomerCompleted(customerEmail);
     }
 
     @Test
-    void testTotalSpentAmount_NullResult_ReturnsNull() {
+    void testTotalSpentAmount_NothingCompleted_ReturnsZero() {
         // Given
-        when(appointmentRepository.sumSpentByCustomerCompleted(customerEmail)).thenReturn(null);
+        when(appointmentRepository.customerDashboardSnapshot(1L)).thenReturn(snapshot(0L, 0L, 0L, 0L));
 
         // When
-        BigDecimal result = customerDashboardService.totalSpentAmount(customerEmail);
+        BigDecimal result = customerDashboardService.totalSpentAmount(customer);
 
         // Then
-        assertThat(result).isNull();
-        verify(appointmentRepository).sumSpentByCustomerCompleted(customerEmail);
+        assertThat(result).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -175,13 +163,12 @@ class CustomerDashboardServiceTest {
 
         List<Appointment> appointments = Arrays.asList(appointment1, appointment2);
         
-        when(userRepository.findByEmail(customerEmail)).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findAllByCustomerIdAndScheduledDateTimeGreaterThanEqualOrderByScheduledDateTimeAsc(
                 eq(testCustomer.getId()), any(LocalDateTime.class)))
                 .thenReturn(appointments);
 
         // When
-        List<MyAppointmentDTO> result = customerDashboardService.upcomingAppointments(customerEmail);
+        List<MyAppointmentDTO> result = customerDashboardService.upcomingAppointments(customer);
 
         // Then
         assertThat(result).hasSize(2);
@@ -194,13 +181,12 @@ class CustomerDashboardServiceTest {
     @Test
     void testUpcomingAppointments_NoUpcoming() {
         // Given
-        when(userRepository.findByEmail(customerEmail)).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findAllByCustomerIdAndScheduledDateTimeGreaterThanEqualOrderByScheduledDateTimeAsc(
                 eq(testCustomer.getId()), any(LocalDateTime.class)))
                 .thenReturn(Collections.emptyList());
 
         // When
-        List<MyAppointmentDTO> result = customerDashboardService.upcomingAppointments(customerEmail);
+        List<MyAppointmentDTO> result = customerDashboardService.upcomingAppointments(customer);
 
         // Then
         assertThat(result).isEmpty();
@@ -208,20 +194,6 @@ class CustomerDashboardServiceTest {
                 eq(testCustomer.getId()), any(LocalDateTime.class));
     }
 
-    @Test
-    void testUpcomingAppointments_CustomerNotFound() {
-        // Given
-        when(userRepository.findByEmail(customerEmail)).thenReturn(Optional.empty());
-
-        // When/Then
-        assertThatThrownBy(() -> customerDashboardService.upcomingAppointments(customerEmail))
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Customer not found");
-        
-        verify(userRepository).findByEmail(customerEmail);
-        verifyNoInteractions(appointmentRepository);
-    }
-
     @Test
     void testUpcomingAppointments_ConvertsToDTOCorrectly() {
         // Given
@@ -244,13 +216,12 @@ class CustomerDashboardServiceTest {
         appointment.setAppointmentServices(services);
         appointment.setFinalCost(new BigDecimal("50.00"));
 
-        when(userRepository.findByEmail(customerEmail)).thenReturn(Optional.of(testCustomer));
         when(appointmentRepository.findAllByCustomerIdAndScheduledDateTimeGreaterThanEqualOrderByScheduledDateTimeAsc(
                 eq(testCustomer.getId()), any(LocalDateTime.class)))
                 .thenReturn(Collections.singletonList(appointment));
 
         // When
-        List<MyAppointmentDTO> result = customerDashboardService.upcomingAppointments(customerEmail);
+        List<MyAppointmentDTO> result = customerDashboardService.upcomingAppointments(customer);
 
         // Then
         assertThat(result).hasSize(1);
@@ -263,4 +234,8 @@ class CustomerDashboardServiceTest {
         assertThat(dto.getServices()).hasSize(1);
         assertThat(dto.getEstimatedCost()).isEqualByComparingTo(new BigDecimal("50.00"));
     }
+
+    private static CustomerDashboardSnapshotDTO snapshot(Long appointments, Long active, Long completed, Long vehicles) {
+        return new CustomerDashboardSnapshotDTO(appointments, active, completed, vehicles, BigDecimal.ZERO);
+    }
 }
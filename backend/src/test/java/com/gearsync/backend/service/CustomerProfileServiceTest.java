@@ -7,6 +7,8 @@ import com.gearsync.backend.exception.UnauthorizedException;
 import com.gearsync.backend.model.Role;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.security.UserDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +29,9 @@ class CustomerProfileServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserDirectory userDirectory;
+
     @InjectMocks
     private CustomerProfileService customerProfileService;
 
@@ -51,10 +56,10 @@ class CustomerProfileServiceTest {
     @Test
     void testGetMyProfile_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
 
         // When
-        UserDto result = customerProfileService.getMyProfile(testCustomer.getEmail());
+        UserDto result = customerProfileService.getMyProfile(AuthenticatedUser.of(testCustomer));
 
         // Then
         assertThat(result).isNotNull();
@@ -66,16 +71,16 @@ class CustomerProfileServiceTest {
         assertThat(result.getPhoneNumber()).isEqualTo("1234567890");
         assertThat(result.getRole()).isEqualTo("CUSTOMER");
         assertThat(result.getIsActive()).isTrue();
-        verify(userRepository).findByEmail(testCustomer.getEmail());
+        verify(userRepository).findById(1L);
     }
 
     @Test
     void testGetMyProfile_UserNotFound() {
         // Given
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> customerProfileService.getMyProfile("nonexistent@example.com"))
+        assertThatThrownBy(() -> customerProfileService.getMyProfile(new AuthenticatedUser(99L, "nonexistent@example.com", Role.CUSTOMER, true)))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("User not found");
     }
@@ -88,11 +93,11 @@ class CustomerProfileServiceTest {
         request.setLastName("UpdatedDoe");
         request.setPhoneNumber("0987654321");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(userRepository.save(any(User.class))).thenReturn(testCustomer);
 
         // When
-        UserDto result = customerProfileService.updateMyProfile(testCustomer.getEmail(), request);
+        UserDto result = customerProfileService.updateMyProfile(AuthenticatedUser.of(testCustomer), request);
 
         // Then
         verify(userRepository).save(argThat(user ->
@@ -103,6 +108,7 @@ class CustomerProfileServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("UpdatedJohn");
         assertThat(result.getLastName()).isEqualTo("UpdatedDoe");
+        verify(userDirectory).invalidate("customer@example.com");
     }
 
     @Test
@@ -113,10 +119,10 @@ class CustomerProfileServiceTest {
         request.setLastName("Doe");
         request.setPhoneNumber("1234567890");
 
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> customerProfileService.updateMyProfile("nonexistent@example.com", request))
+        assertThatThrownBy(() -> customerProfileService.updateMyProfile(new AuthenticatedUser(99L, "nonexistent@example.com", Role.CUSTOMER, true), request))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("User not found");
     }
@@ -131,12 +137,11 @@ class CustomerProfileServiceTest {
         request.setLastName("Doe");
         request.setPhoneNumber("1234567890");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
-
         // When/Then
-        assertThatThrownBy(() -> customerProfileService.updateMyProfile(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> customerProfileService.updateMyProfile(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only customers can update profile");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -147,11 +152,11 @@ class CustomerProfileServiceTest {
         request.setLastName("  Doe  ");
         request.setPhoneNumber("  1234567890  ");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(userRepository.save(any(User.class))).thenReturn(testCustomer);
 
         // When
-        customerProfileService.updateMyProfile(testCustomer.getEmail(), request);
+        customerProfileService.updateMyProfile(AuthenticatedUser.of(testCustomer), request);
 
         // Then
         verify(userRepository).save(argThat(user ->
@@ -0,0 +1,126 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.model.OutboxEmail;
+import com.gearsync.backend.model.OutboxEmailStatus;
+import com.gearsync.backend.repository.OutboxEmailRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    @Test
+    void testEnqueue_SameMessageGetsSameDedupKey() {
+        // When
+        emailOutboxService.enqueue("Customer@Example.com", "Welcome", "<p>Hi</p>");
+        emailOutboxService.enqueue("customer@example.com", "Welcome", "<p>Hi</p>");
+        emailOutboxService.enqueue("customer@example.com", "Welcome", "<p>Hi again</p>");
+
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(outboxEmailRepository, times(3)).enqueue(keys.capture(), anyString(), anyString(), anyString(), any(LocalDateTime.class));
+        assertThat(keys.getAllValues().get(0)).hasSize(64).isEqualTo(keys.getAllValues().get(1));
+        assertThat(keys.getAllValues().get(2)).isNotEqualTo(keys.getAllValues().get(0));
+    }
+
+    @Test
+    void testClaim_LeasesDueMessages() {
+        // Given
+        OutboxEmail due = email(OutboxEmailStatus.PENDING, 0);
+        when(outboxEmailRepository.findDueForUpdate(any(LocalDateTime.class), eq(10))).thenReturn(List.of(due));
+
+        // When
+        List<OutboxEmail> claimed = emailOutboxService.claim(10);
+
+        // Then
+        assertThat(claimed).containsExactly(due);
+        assertThat(due.getStatus()).isEqualTo(OutboxEmailStatus.SENDING);
+        assertThat(due.getAttempts()).isEqualTo(1);
+        assertThat(due.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(5));
+    }
+
+    @Test
+    void testMarkFailed_SchedulesRetryWithBackoff() {
+        // Given
+        OutboxEmail email = email(OutboxEmailStatus.SENDING, 3);
+        when(outboxEmailRepository.findById(1L)).thenReturn(Optional.of(email));
+
+        // When
+        emailOutboxService.markFailed(1L, new MailSendException("451 try again later"), false);
+
+        // Then
+        assertThat(email.getStatus()).isEqualTo(OutboxEmailStatus.PENDING);
+        assertThat(email.getLastError()).contains("451 try again later");
+        assertThat(email.getNextAttemptAt())
+                .isAfter(LocalDateTime.now().plusSeconds(110))
+                .isBefore(LocalDateTime.now().plusSeconds(130));
+    }
+
+    @Test
+    void testMarkFailed_DeadLettersAfterMaxAttempts() {
+        // Given
+        OutboxEmail email = email(OutboxEmailStatus.SENDING, 8);
+        when(outboxEmailRepository.findById(1L)).thenReturn(Optional.of(email));
+
+        // When
+        emailOutboxService.markFailed(1L, new MailSendException("connection refused"), false);
+
+        // Then
+        assertThat(email.getStatus()).isEqualTo(OutboxEmailStatus.DEAD);
+    }
+
+    @Test
+    void testMarkFailed_PermanentFailureDeadLettersImmediately() {
+        // Given
+        OutboxEmail email = email(OutboxEmailStatus.SENDING, 1);
+        when(outboxEmailRepository.findById(1L)).thenReturn(Optional.of(email));
+
+        // When
+        emailOutboxService.markFailed(1L, new IllegalArgumentException("bad address"), true);
+
+        // Then
+        assertThat(email.getStatus()).isEqualTo(OutboxEmailStatus.DEAD);
+    }
+
+    @Test
+    void testBackoff_DoublesUpToCap() {
+        assertThat(emailOutboxService.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(emailOutboxService.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(emailOutboxService.backoff(5)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(emailOutboxService.backoff(20)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private static OutboxEmail email(OutboxEmailStatus status, int attempts) {
+        OutboxEmail email = new OutboxEmail();
+        email.setId(1L);
+        email.setDedupKey("key");
+        email.setRecipient("customer@example.com");
+        email.setSubject("Welcome");
+        email.setBody("<p>Hi</p>");
+        email.setStatus(status);
+        email.setAttempts(attempts);
+        email.setCreatedAt(LocalDateTime.now());
+        email.setNextAttemptAt(LocalDateTime.now());
+        return email;
+    }
+}
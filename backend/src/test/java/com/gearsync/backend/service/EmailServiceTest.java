@@ -0,0 +1,79 @@
+package com.gearsync.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @InjectMocks
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailService, "appName", "GearSync Automobile Service");
+        ReflectionTestUtils.setField(emailService, "appUrl", "http://localhost:3000");
+        emailService.compileTemplates();
+    }
+
+    @Test
+    void testSendCustomerAppointmentConfirmation_QueuesRenderedHtml() {
+        // When
+        emailService.sendCustomerAppointmentConfirmation("customer@example.com", "CAB-1234", "Nimal Perera",
+                LocalDateTime.of(2026, 3, 14, 9, 30), new BigDecimal("12500.00"));
+
+        // Then
+        ArgumentCaptor<String> html = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxService).enqueue(eq("customer@example.com"), eq("Appointment Confirmation - GearSync Automobile Service"), html.capture());
+        assertThat(html.getValue())
+                .contains("Hello Nimal Perera,")
+                .contains("2026-03-14 09:30 AM")
+                .contains("LKR 12500.00")
+                .contains("href=\"http://localhost:3000/appointments\"")
+                .contains("© " + LocalDateTime.now().getYear() + " GearSync Automobile Service.")
+                .contains("linear-gradient(135deg, #00b09b 0%, #96c93d 100%)")
+                .doesNotContain("{{");
+    }
+
+    @Test
+    void testSendEmployeeWelcomeEmail_EscapesUserInput() {
+        // When
+        emailService.sendEmployeeWelcomeEmail("emp@example.com", "<b>Kamal</b>", "Tmp&Pass1", "Employee");
+
+        // Then
+        ArgumentCaptor<String> html = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxService).enqueue(eq("emp@example.com"), anyString(), html.capture());
+        assertThat(html.getValue())
+                .contains("Hello &lt;b&gt;Kamal&lt;/b&gt;!")
+                .contains("Tmp&amp;Pass1")
+                .doesNotContain("<b>Kamal</b>");
+    }
+
+    @Test
+    void testSendPasswordChangedConfirmation_EnqueueFailurePropagates() {
+        // Given: the insert failed, so the caller's transaction can no longer commit
+        IllegalStateException failure = new IllegalStateException("outbox insert failed");
+        doThrow(failure).when(emailOutboxService).enqueue(anyString(), anyString(), anyString());
+
+        // When & Then
+        assertThatThrownBy(() -> emailService.sendPasswordChangedConfirmation("user@example.com", "Nimal"))
+                .isInstanceOf(RuntimeException.class)
+                .hasCause(failure);
+    }
+}
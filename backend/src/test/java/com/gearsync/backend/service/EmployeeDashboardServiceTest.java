@@ -1,7 +1,9 @@
 package com.gearsync.backend.service;
 
-import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.dto.EmployeeDashboardSnapshotDTO;
+import com.gearsync.backend.model.Role;
 import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,95 +23,86 @@ class EmployeeDashboardServiceTest {
     @InjectMocks
     private EmployeeDashboardService employeeDashboardService;
 
-    private String employeeEmail;
+    private AuthenticatedUser employee;
 
     @BeforeEach
     void setUp() {
-        employeeEmail = "employee@example.com";
+        employee = new AuthenticatedUser(7L, "employee@example.com", Role.EMPLOYEE, true);
     }
 
     @Test
-    void testAssignedAppointmentCount_Success() {
+    void testSnapshot_ReturnsAllCountersFromOneQuery() {
         // Given
-        Long expectedCount = 10L;
-        when(appointmentRepository.countByAssignedEmployee_Email(employeeEmail)).thenReturn(expectedCount);
+        EmployeeDashboardSnapshotDTO snapshot = new EmployeeDashboardSnapshotDTO(10L, 5L, 3L);
+        when(appointmentRepository.employeeDashboardSnapshot(7L)).thenReturn(snapshot);
 
         // When
-        Long result = employeeDashboardService.assignedAppointmentCount(employeeEmail);
+        EmployeeDashboardSnapshotDTO result = employeeDashboardService.snapshot(employee);
 
         // Then
-        assertThat(result).isEqualTo(expectedCount);
-        verify(appointmentRepository).countByAssignedEmployee_Email(employeeEmail);
+        assertThat(result).isSameAs(snapshot);
+        verify(appointmentRepository).employeeDashboardSnapshot(7L);
+        verifyNoMoreInteractions(appointmentRepository);
     }
 
     @Test
-    void testAssignedAppointmentCount_NoAssignments() {
+    void testAssignedAppointmentCount_Success() {
         // Given
-        when(appointmentRepository.countByAssignedEmployee_Email(employeeEmail)).thenReturn(0L);
+        when(appointmentRepository.employeeDashboardSnapshot(7L)).thenReturn(new EmployeeDashboardSnapshotDTO(10L, 0L, 0L));
 
         // When
-        Long result = employeeDashboardService.assignedAppointmentCount(employeeEmail);
+        Long result = employeeDashboardService.assignedAppointmentCount(employee);
 
         // Then
-        assertThat(result).isZero();
-        verify(appointmentRepository).countByAssignedEmployee_Email(employeeEmail);
+        assertThat(result).isEqualTo(10L);
+        verify(appointmentRepository).employeeDashboardSnapshot(7L);
     }
 
     @Test
-    void testCompletedAppointmentCount_Success() {
+    void testAssignedAppointmentCount_NoAssignments() {
         // Given
-        Long expectedCount = 5L;
-        when(appointmentRepository.countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.COMPLETED))
-                .thenReturn(expectedCount);
+        when(appointmentRepository.employeeDashboardSnapshot(7L)).thenReturn(new EmployeeDashboardSnapshotDTO(0L, 0L, 0L));
 
         // When
-        Long result = employeeDashboardService.completedAppointmentCount(employeeEmail);
+        Long result = employeeDashboardService.assignedAppointmentCount(employee);
 
         // Then
-        assertThat(result).isEqualTo(expectedCount);
-        verify(appointmentRepository).countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.COMPLETED);
+        assertThat(result).isZero();
     }
 
     @Test
-    void testCompletedAppointmentCount_NoCompleted() {
+    void testCompletedAppointmentCount_Success() {
         // Given
-        when(appointmentRepository.countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.COMPLETED))
-                .thenReturn(0L);
+        when(appointmentRepository.employeeDashboardSnapshot(7L)).thenReturn(new EmployeeDashboardSnapshotDTO(10L, 5L, 0L));
 
         // When
-        Long result = employeeDashboardService.completedAppointmentCount(employeeEmail);
+        Long result = employeeDashboardService.completedAppointmentCount(employee);
 
         // Then
-        assertThat(result).isZero();
-        verify(appointmentRepository).countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.COMPLETED);
+        assertThat(result).isEqualTo(5L);
     }
 
     @Test
     void testInProgressAppointmentCount_Success() {
         // Given
-        Long expectedCount = 3L;
-        when(appointmentRepository.countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.IN_PROGRESS))
-                .thenReturn(expectedCount);
+        when(appointmentRepository.employeeDashboardSnapshot(7L)).thenReturn(new EmployeeDashboardSnapshotDTO(10L, 5L, 3L));
 
         // When
-        Long result = employeeDashboardService.inProgressAppointmentCount(employeeEmail);
+        Long result = employeeDashboardService.inProgressAppointmentCount(employee);
 
         // Then
-        assertThat(result).isEqualTo(expectedCount);
-        verify(appointmentRepository).countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.IN_PROGRESS);
+        assertThat(result).isEqualTo(3L);
     }
 
     @Test
     void testInProgressAppointmentCount_NoInProgress() {
         // Given
-        when(appointmentRepository.countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.IN_PROGRESS))
-                .thenReturn(0L);
+        when(appointmentRepository.employeeDashboardSnapshot(7L)).thenReturn(new EmployeeDashboardSnapshotDTO(10L, 5L, 0L));
 
         // When
-        Long result = employeeDashboardService.inProgressAppointmentCount(employeeEmail);
+        Long result = employeeDashboardService.inProgressAppointmentCount(employee);
 
         // Then
         assertThat(result).isZero();
-        verify(appointmentRepository).countByAssignedEmployee_EmailAndStatus(employeeEmail, AppointmentStatus.IN_PROGRESS);
     }
 }
@@ -4,6 +4,7 @@ import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.*;
 import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +37,12 @@ class EmployeeTimeLogServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OperationalCounters operationalCounters;
+
+    @Mock
+    private SlotAvailability slotAvailability;
+
     @InjectMocks
     private EmployeeTimeLogService employeeTimeLogService;
 
@@ -100,17 +107,17 @@ class EmployeeTimeLogServiceTest {
         request.setWorkDescription("Oil change");
         request.setNotes("Completed successfully");
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
         when(timeLogRepository.save(any(TimeLog.class))).thenReturn(timeLog);
 
         // When
-        TimeLogResponseDTO result = employeeTimeLogService.createTimeLog(employee.getEmail(), request);
+        TimeLogResponseDTO result = employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         verify(timeLogRepository).save(any(TimeLog.class));
+        verify(appointmentRepository).adjustTimeLogTotals(1L, 60, 1);
     }
 
     @Test
@@ -126,28 +133,16 @@ class EmployeeTimeLogServiceTest {
         request.setWorkDescription("Engine repair");
         request.setNotes("Progress update");
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
         when(timeLogRepository.save(any(TimeLog.class))).thenReturn(timeLog);
 
         // When
-        TimeLogResponseDTO result = employeeTimeLogService.createTimeLog(employee.getEmail(), request);
+        TimeLogResponseDTO result = employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request);
 
         // Then
         assertThat(result).isNotNull();
         verify(timeLogRepository).save(any(TimeLog.class));
-    }
-
-    @Test
-    void testCreateTimeLog_EmployeeNotFound() {
-        // Given
-        TimeLogRequestDTO request = new TimeLogRequestDTO();
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-
-        // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog("unknown@example.com", request))
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Employee not found");
+        verify(projectRepository).adjustTimeLogTotals(1L, 60, 1);
     }
 
     @Test
@@ -157,10 +152,9 @@ class EmployeeTimeLogServiceTest {
         TimeLogRequestDTO request = new TimeLogRequestDTO();
         request.setAppointmentId(1L);
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(employee.getEmail(), request))
+        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only employees can log time");
     }
@@ -172,10 +166,9 @@ class EmployeeTimeLogServiceTest {
         request.setAppointmentId(1L);
         request.setProjectId(1L);
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(employee.getEmail(), request))
+        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Cannot log time for both appointment and project");
     }
@@ -187,10 +180,9 @@ class EmployeeTimeLogServiceTest {
         request.setStartTime(LocalDateTime.now().minusHours(2));
         request.setEndTime(LocalDateTime.now().minusHours(1));
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(employee.getEmail(), request))
+        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Either appointmentId or projectId must be provided");
     }
@@ -203,10 +195,9 @@ class EmployeeTimeLogServiceTest {
         request.setStartTime(LocalDateTime.now());
         request.setEndTime(LocalDateTime.now().minusHours(1));
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(employee.getEmail(), request))
+        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("End time must be after start time");
     }
@@ -219,10 +210,9 @@ class EmployeeTimeLogServiceTest {
         request.setStartTime(LocalDateTime.now().minusHours(1));
         request.setEndTime(LocalDateTime.now().plusHours(1));
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(employee.getEmail(), request))
+        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("End time cannot be in the future");
     }
@@ -238,11 +228,10 @@ class EmployeeTimeLogServiceTest {
         request.setEndTime(LocalDateTime.now().minusHours(1));
         request.setWorkDescription("Work");
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(employee.getEmail(), request))
+        assertThatThrownBy(() -> employeeTimeLogService.createTimeLog(AuthenticatedUser.of(employee), request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("This appointment is not assigned to you");
     }
@@ -250,12 +239,11 @@ class EmployeeTimeLogServiceTest {
     @Test
     void testGetTimeLogsForAppointment_Success() {
         // Given
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(appointmentRepository.findById(1L)).thenReturn(Optional.of(appointment));
         when(timeLogRepository.findByAppointmentId(1L)).thenReturn(Arrays.asList(timeLog));
 
         // When
-        List<TimeLogResponseDTO> result = employeeTimeLogService.getTimeLogsForAppointment(employee.getEmail(), 1L);
+        List<TimeLogResponseDTO> result = employeeTimeLogService.getTimeLogsForAppointment(AuthenticatedUser.of(employee), 1L);
 
         // Then
         assertThat(result).hasSize(1);
@@ -268,12 +256,11 @@ class EmployeeTimeLogServiceTest {
         timeLog.setAppointment(null);
         timeLog.setProject(project);
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
         when(timeLogRepository.findByProjectId(1L)).thenReturn(Arrays.asList(timeLog));
 
         // When
-        List<TimeLogResponseDTO> result = employeeTimeLogService.getTimeLogsForProject(employee.getEmail(), 1L);
+        List<TimeLogResponseDTO> result = employeeTimeLogService.getTimeLogsForProject(AuthenticatedUser.of(employee), 1L);
 
         // Then
         assertThat(result).hasSize(1);
@@ -282,11 +269,10 @@ class EmployeeTimeLogServiceTest {
     @Test
     void testGetMyTimeLogs_Success() {
         // Given
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(timeLogRepository.findByEmployeeId(employee.getId())).thenReturn(Arrays.asList(timeLog));
 
         // When
-        List<TimeLogResponseDTO> result = employeeTimeLogService.getMyTimeLogs(employee.getEmail());
+        List<TimeLogResponseDTO> result = employeeTimeLogService.getMyTimeLogs(AuthenticatedUser.of(employee));
 
         // Then
         assertThat(result).hasSize(1);
@@ -300,16 +286,33 @@ class EmployeeTimeLogServiceTest {
         request.setWorkDescription("Updated description");
         request.setNotes("Updated notes");
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(timeLogRepository.findById(1L)).thenReturn(Optional.of(timeLog));
         when(timeLogRepository.save(any(TimeLog.class))).thenReturn(timeLog);
 
         // When
-        TimeLogResponseDTO result = employeeTimeLogService.updateTimeLog(employee.getEmail(), 1L, request);
+        TimeLogResponseDTO result = employeeTimeLogService.updateTimeLog(AuthenticatedUser.of(employee), 1L, request);
 
         // Then
         assertThat(result).isNotNull();
         verify(timeLogRepository).save(any(TimeLog.class));
+        verify(appointmentRepository, never()).adjustTimeLogTotals(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testUpdateTimeLog_DurationChanged_AdjustsTotalsByDelta() {
+        // Given
+        TimeLogUpdateDTO request = new TimeLogUpdateDTO();
+        request.setStartTime(timeLog.getEndTime().minusMinutes(90));
+
+        when(timeLogRepository.findById(1L)).thenReturn(Optional.of(timeLog));
+        when(timeLogRepository.save(any(TimeLog.class))).thenReturn(timeLog);
+
+        // When
+        employeeTimeLogService.updateTimeLog(AuthenticatedUser.of(employee), 1L, request);
+
+        // Then
+        assertThat(timeLog.getDurationMinutes()).isEqualTo(90);
+        verify(appointmentRepository).adjustTimeLogTotals(1L, 30, 0);
     }
 
     @Test
@@ -324,11 +327,10 @@ class EmployeeTimeLogServiceTest {
         TimeLogUpdateDTO request = new TimeLogUpdateDTO();
         request.setWorkDescription("Updated");
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(timeLogRepository.findById(1L)).thenReturn(Optional.of(timeLog));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.updateTimeLog(employee.getEmail(), 1L, request))
+        assertThatThrownBy(() -> employeeTimeLogService.updateTimeLog(AuthenticatedUser.of(employee), 1L, request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("You can only edit your own time logs");
     }
@@ -336,15 +338,15 @@ class EmployeeTimeLogServiceTest {
     @Test
     void testDeleteTimeLog_Success() {
         // Given
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(timeLogRepository.findById(1L)).thenReturn(Optional.of(timeLog));
         doNothing().when(timeLogRepository).delete(timeLog);
 
         // When
-        employeeTimeLogService.deleteTimeLog(employee.getEmail(), 1L);
+        employeeTimeLogService.deleteTimeLog(AuthenticatedUser.of(employee), 1L);
 
         // Then
         verify(timeLogRepository).delete(timeLog);
+        verify(appointmentRepository).adjustTimeLogTotals(1L, -60, -1);
     }
 
     @Test
@@ -354,11 +356,10 @@ class EmployeeTimeLogServiceTest {
         otherEmployee.setId(999L);
         timeLog.setEmployee(otherEmployee);
 
-        when(userRepository.findByEmail(employee.getEmail())).thenReturn(Optional.of(employee));
         when(timeLogRepository.findById(1L)).thenReturn(Optional.of(timeLog));
 
         // When/Then
-        assertThatThrownBy(() -> employeeTimeLogService.deleteTimeLog(employee.getEmail(), 1L))
+        assertThatThrownBy(() -> employeeTimeLogService.deleteTimeLog(AuthenticatedUser.of(employee), 1L))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("You can only delete your own time logs");
     }
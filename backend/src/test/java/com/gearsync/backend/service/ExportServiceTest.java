@@ -0,0 +1,128 @@
+package com.gearsync.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.security.AuthenticatedUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @InjectMocks
+    private ExportService exportService;
+
+    private AuthenticatedUser admin;
+    private AuthenticatedUser customer;
+
+    @BeforeEach
+    void setUp() {
+        admin = new AuthenticatedUser(1L, "admin@example.com", Role.ADMIN, true);
+        customer = new AuthenticatedUser(2L, "customer@example.com", Role.CUSTOMER, true);
+    }
+
+    @Test
+    void testPrepareExport_DefaultsToCsv() {
+        // When
+        ExportService.ExportRequest request = exportService.prepareExport(
+                admin, "TimeLogs", null, null, null, true);
+
+        // Then
+        assertThat(request.type()).isEqualTo(ExportService.ExportType.TIMELOGS);
+        assertThat(request.format()).isEqualTo(ExportService.ExportFormat.CSV);
+        assertThat(request.contentType()).isEqualTo("application/gzip");
+        assertThat(request.fileName()).startsWith("timelogs-").endsWith(".csv.gz");
+    }
+
+    @Test
+    void testPrepareExport_InvalidTypeAndFormat() {
+        // When/Then
+        assertThatThrownBy(() -> exportService.prepareExport(admin, "boats", null, null, null, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid export type");
+        assertThatThrownBy(() -> exportService.prepareExport(admin, "projects", "xml", null, null, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid format");
+    }
+
+    @Test
+    void testPrepareExport_FromAfterTo() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        // When/Then
+        assertThatThrownBy(() -> exportService.prepareExport(
+                admin, "appointments", "ndjson", from, from.minusDays(1), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'from' must be before 'to'");
+    }
+
+    @Test
+    void testPrepareExport_NonAdmin() {
+        // When/Then
+        assertThatThrownBy(() -> exportService.prepareExport(customer, "appointments", null, null, null, false))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(entityManagerFactory);
+    }
+
+    @Test
+    void testCsvRowWriter_QuotesOnlyWhenNeeded() throws IOException {
+        // Given
+        StringWriter out = new StringWriter();
+        ExportService.CsvRowWriter writer = new ExportService.CsvRowWriter(out, List.of("id", "status", "notes", "cost"));
+
+        // When
+        writer.writeHeader();
+        writer.writeRow(new Object[]{1L, AppointmentStatus.COMPLETED, "Oil, filter \"OEM\"", new BigDecimal("1E+3")});
+        writer.writeRow(new Object[]{2L, AppointmentStatus.SCHEDULED, null, null});
+
+        // Then
+        assertThat(out.toString()).isEqualTo("""
+                id,status,notes,cost
+                1,COMPLETED,"Oil, filter ""OEM\""",1000
+                2,SCHEDULED,,
+                """);
+    }
+
+    @Test
+    void testNdjsonRowWriter_WritesOneObjectPerLine() throws IOException {
+        // Given
+        StringWriter out = new StringWriter();
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ExportService.NdjsonRowWriter writer = new ExportService.NdjsonRowWriter(out, List.of("id", "status", "at"), mapper);
+
+        // When
+        writer.writeHeader();
+        writer.writeRow(new Object[]{1L, AppointmentStatus.COMPLETED, LocalDateTime.of(2025, 1, 10, 9, 30)});
+        writer.writeRow(new Object[]{2L, null, null});
+
+        // Then
+        assertThat(out.toString()).isEqualTo("""
+                {"id":1,"status":"COMPLETED","at":"2025-01-10T09:30"}
+                {"id":2,"status":null,"at":null}
+                """);
+    }
+}
@@ -0,0 +1,135 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.EmailOutboxStatsDTO;
+import com.gearsync.backend.model.OutboxEmail;
+import com.gearsync.backend.model.OutboxEmailStatus;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    private FakeSmtpServer smtp;
+    private SmtpTransportPool smtpTransportPool;
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+        smtpTransportPool = new SmtpTransportPool(mailSender, 2, 100, 60_000, 0);
+        mailDispatcher = new MailDispatcher(emailOutboxService, mailSender, smtpTransportPool, "noreply@gearsync.test", 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mailDispatcher.shutdown();
+        smtpTransportPool.shutdown();
+        smtp.close();
+    }
+
+    @Test
+    void testDrain_SendsEveryClaimedBatchAndMarksSent() {
+        // Given
+        when(emailOutboxService.claim(2))
+                .thenReturn(List.of(email(1L, "a@example.com"), email(2L, "b@example.com")))
+                .thenReturn(List.of(email(3L, "c@example.com")));
+        when(emailOutboxService.countQueued()).thenReturn(0L);
+
+        // When
+        mailDispatcher.drain();
+
+        // Then
+        assertThat(smtp.getMessages()).hasSize(3);
+        assertThat(smtp.getMessages()).anySatisfy(message -> assertThat(message).contains("To: c@example.com"));
+        verify(emailOutboxService).markSent(1L);
+        verify(emailOutboxService).markSent(2L);
+        verify(emailOutboxService).markSent(3L);
+        verify(emailOutboxService, never()).markFailed(anyLong(), any(), anyBoolean());
+
+        EmailOutboxStatsDTO stats = mailDispatcher.stats();
+        assertThat(stats.getSent()).isEqualTo(3);
+        assertThat(stats.getFailedAttempts()).isZero();
+        assertThat(stats.getMaxSendMillis()).isGreaterThanOrEqualTo(stats.getAverageSendMillis());
+        assertThat(stats.getSentLastMinute()).isEqualTo(3);
+        assertThat(stats.getSmtpConnectionsOpened()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testDrain_TemporaryFailureIsRetried() {
+        // Given
+        smtp.rejectRecipient("busy@example.com");
+        when(emailOutboxService.claim(2)).thenReturn(List.of(email(1L, "busy@example.com")));
+
+        // When
+        mailDispatcher.drain();
+
+        // Then
+        verify(emailOutboxService).markFailed(eq(1L), any(MessagingException.class), eq(false));
+        verify(emailOutboxService, never()).markSent(anyLong());
+        assertThat(mailDispatcher.stats().getFailedAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void testDrain_MalformedMessageIsDeadLettered() {
+        // Given
+        OutboxEmail broken = email(1L, "not an address@@");
+        when(emailOutboxService.claim(2)).thenReturn(List.of(broken));
+
+        // When
+        mailDispatcher.drain();
+
+        // Then
+        verify(emailOutboxService).markFailed(eq(1L), any(Exception.class), eq(true));
+        assertThat(smtp.getMessages()).isEmpty();
+    }
+
+    @Test
+    void testDrain_UpdatesQueueDepth() {
+        // Given
+        when(emailOutboxService.claim(2)).thenReturn(List.of());
+        when(emailOutboxService.countQueued()).thenReturn(7L);
+        when(emailOutboxService.countDead()).thenReturn(1L);
+
+        // When
+        mailDispatcher.drain();
+
+        // Then
+        assertThat(mailDispatcher.stats().getQueued()).isEqualTo(7);
+        assertThat(mailDispatcher.stats().getDeadLettered()).isEqualTo(1);
+        assertThat(smtp.getConnections()).isZero();
+    }
+
+    private static OutboxEmail email(Long id, String recipient) {
+        OutboxEmail email = new OutboxEmail();
+        email.setId(id);
+        email.setDedupKey("key-" + id);
+        email.setRecipient(recipient);
+        email.setSubject("Appointment Confirmation");
+        email.setBody("<p>Your appointment is confirmed</p>");
+        email.setStatus(OutboxEmailStatus.SENDING);
+        email.setAttempts(1);
+        email.setCreatedAt(LocalDateTime.now());
+        email.setNextAttemptAt(LocalDateTime.now());
+        return email;
+    }
+}
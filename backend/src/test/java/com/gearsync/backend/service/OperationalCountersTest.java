@@ -0,0 +1,152 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.model.AppointmentStatus;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.repository.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperationalCountersTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OperationalCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(appointmentRepository.countAndSumFinalCostByStatus()).thenReturn(List.of(
+                new Object[]{AppointmentStatus.SCHEDULED, 4L, new BigDecimal("400.00")},
+                new Object[]{AppointmentStatus.COMPLETED, 2L, new BigDecimal("150.50")}));
+        lenient().when(userRepository.countGroupedByRole()).thenReturn(List.<Object[]>of(
+                new Object[]{Role.CUSTOMER, 10L},
+                new Object[]{Role.EMPLOYEE, 3L}));
+        lenient().when(vehicleRepository.count()).thenReturn(12L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSeed_LoadsTotalsFromDatabase() {
+        // When
+        counters.seed();
+
+        // Then
+        assertThat(counters.isSeeded()).isTrue();
+        assertThat(counters.appointments()).isEqualTo(6L);
+        assertThat(counters.appointments(AppointmentStatus.SCHEDULED)).isEqualTo(4L);
+        assertThat(counters.completedEarnings()).isEqualByComparingTo("150.50");
+        assertThat(counters.users()).isEqualTo(13L);
+        assertThat(counters.users(Role.ADMIN)).isZero();
+        assertThat(counters.vehicles()).isEqualTo(12L);
+        assertThat(counters.getCorrections()).isZero();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testAppointmentChanged_MovesCountAndEarningsBetweenStatuses() {
+        // Given
+        counters.seed();
+
+        // When
+        counters.appointmentChanged(AppointmentStatus.SCHEDULED, new BigDecimal("80.00"),
+                AppointmentStatus.COMPLETED, new BigDecimal("99.99"));
+        counters.appointmentChanged(AppointmentStatus.COMPLETED, new BigDecimal("50.50"),
+                AppointmentStatus.COMPLETED, new BigDecimal("60.50"));
+        counters.appointmentDeleted(AppointmentStatus.SCHEDULED, null);
+
+        // Then
+        assertThat(counters.appointments(AppointmentStatus.SCHEDULED)).isEqualTo(2L);
+        assertThat(counters.appointments(AppointmentStatus.COMPLETED)).isEqualTo(3L);
+        assertThat(counters.appointments()).isEqualTo(5L);
+        assertThat(counters.completedEarnings()).isEqualByComparingTo("260.49");
+    }
+
+    @Test
+    void testRecord_AppliesOnlyAfterCommit() {
+        // Given
+        counters.seed();
+        TransactionSynchronizationManager.initSynchronization();
+        counters.vehicleAdded();
+        counters.userAdded(Role.CUSTOMER);
+        List<TransactionSynchronization> committed = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        counters.vehicleAdded();
+        List<TransactionSynchronization> rolledBack = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When
+        assertThat(counters.vehicles()).isEqualTo(12L);
+        committed.forEach(TransactionSynchronization::afterCommit);
+        committed.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        rolledBack.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(counters.vehicles()).isEqualTo(13L);
+        assertThat(counters.users(Role.CUSTOMER)).isEqualTo(11L);
+    }
+
+    @Test
+    void testReconcile_CorrectsDriftFromTheDatabase() {
+        // Given
+        counters.seed();
+        counters.vehicleRemoved();
+        when(vehicleRepository.count()).thenReturn(20L);
+
+        // When
+        counters.reconcile();
+
+        // Then
+        assertThat(counters.vehicles()).isEqualTo(20L);
+        assertThat(counters.getCorrections()).isEqualTo(1L);
+    }
+
+    @Test
+    void testReconcile_SkipsWhileAChangeIsPending() {
+        // Given
+        counters.seed();
+        TransactionSynchronizationManager.initSynchronization();
+        counters.vehicleAdded();
+
+        // When
+        boolean reconciled = counters.reconcileOnce();
+
+        // Then
+        assertThat(reconciled).isFalse();
+        assertThat(counters.vehicles()).isEqualTo(12L);
+        verify(vehicleRepository, times(1)).count();
+    }
+}
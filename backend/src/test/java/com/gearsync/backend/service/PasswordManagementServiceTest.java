@@ -4,6 +4,7 @@ import com.gearsync.backend.dto.*;
 import com.gearsync.backend.exception.ResourceNotFoundException;
 import com.gearsync.backend.model.User;
 import com.gearsync.backend.repository.UserRepository;
+import com.gearsync.backend.security.UserDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +32,12 @@ class PasswordManagementServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private PasswordManagementService passwordManagementService;
 
@@ -72,6 +79,8 @@ class PasswordManagementServiceTest {
                 !user.getIsFirstLogin() &&
                 user.getPasswordChangedAt() != null
         ));
+        verify(userDirectory).invalidate(testUser.getEmail());
+        verify(refreshTokenService).revokeAllForUser(testUser.getId());
         verify(emailService).sendPasswordChangedConfirmation(eq(testUser.getEmail()), anyString());
     }
 
@@ -288,6 +297,8 @@ class PasswordManagementServiceTest {
                 user.getPasswordResetToken() == null &&
                 user.getPasswordResetTokenExpiry() == null
         ));
+        verify(userDirectory).invalidate(testUser.getEmail());
+        verify(refreshTokenService).revokeAllForUser(testUser.getId());
         verify(emailService).sendPasswordChangedConfirmation(eq(testUser.getEmail()), anyString());
     }
 
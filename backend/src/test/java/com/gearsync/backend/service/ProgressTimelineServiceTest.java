@@ -0,0 +1,191 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.*;
+import com.gearsync.backend.exception.*;
+import com.gearsync.backend.model.*;
+import com.gearsync.backend.model.ServiceProgress.ProgressStatus;
+import com.gearsync.backend.repository.*;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressTimelineServiceTest {
+
+    @Mock
+    private ServiceProgressRepository serviceProgressRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ProgressTimelineWriter progressTimelineWriter;
+
+    @InjectMocks
+    private ProgressTimelineService progressTimelineService;
+
+    private AuthenticatedUser employee;
+    private AuthenticatedUser customer;
+    private ProgressEntryRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        employee = new AuthenticatedUser(1L, "employee@example.com", Role.EMPLOYEE, true);
+        customer = new AuthenticatedUser(2L, "customer@example.com", Role.CUSTOMER, true);
+        request = new ProgressEntryRequestDTO("AWAITING_PARTS", 40, "Waiting for the brake pads", "Pads on back order");
+    }
+
+    @Test
+    void testAppendToAppointment_WritesEntryForAssignedEmployee() {
+        // Given
+        User user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        when(appointmentRepository.existsByIdAndAssignedEmployeeId(10L, 1L)).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(progressTimelineWriter.append(any())).thenAnswer(invocation -> {
+            ServiceProgress entry = invocation.getArgument(0);
+            entry.setId(100L);
+            entry.setTimestamp(LocalDateTime.now());
+            return CompletableFuture.completedFuture(entry);
+        });
+
+        // When
+        ProgressEntryDTO result = progressTimelineService.appendToAppointment(employee, 10L, request);
+
+        // Then
+        ArgumentCaptor<ServiceProgress> captor = ArgumentCaptor.forClass(ServiceProgress.class);
+        verify(progressTimelineWriter).append(captor.capture());
+        ServiceProgress written = captor.getValue();
+        assertThat(written.getAppointment().getId()).isEqualTo(10L);
+        assertThat(written.getProject()).isNull();
+        assertThat(written.getUpdatedByEmployee().getId()).isEqualTo(1L);
+        assertThat(written.getStatus()).isEqualTo(ProgressStatus.AWAITING_PARTS);
+        assertThat(result.getId()).isEqualTo(100L);
+        assertThat(result.getAppointmentId()).isEqualTo(10L);
+        assertThat(result.getEmployeeName()).isEqualTo("John Doe");
+        assertThat(result.getTechnicalNotes()).isEqualTo("Pads on back order");
+    }
+
+    @Test
+    void testAppendToAppointment_RejectsUnassignedAndUnknownAppointments() {
+        // Given
+        when(appointmentRepository.existsByIdAndAssignedEmployeeId(anyLong(), eq(1L))).thenReturn(false);
+        when(appointmentRepository.existsById(10L)).thenReturn(true);
+        when(appointmentRepository.existsById(11L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> progressTimelineService.appendToAppointment(employee, 10L, request))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> progressTimelineService.appendToAppointment(employee, 11L, request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(progressTimelineWriter);
+    }
+
+    @Test
+    void testAppendToProject_ReportsFailedWrite() {
+        // Given
+        when(projectRepository.existsByIdAndAssignedEmployeeId(20L, 1L)).thenReturn(true);
+        when(progressTimelineWriter.append(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("queue full")));
+
+        // When & Then
+        assertThatThrownBy(() -> progressTimelineService.appendToProject(employee, 20L, request))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not save the progress entry");
+    }
+
+    @Test
+    void testGetAppointmentTimeline_ReturnsLatestPageForCustomerWithoutTechnicalNotes() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<ProgressEntryDTO> rows = new ArrayList<>();
+        for (long id = 5; id >= 3; id--) {
+            rows.add(new ProgressEntryDTO(id, 10L, null, "IN_PROGRESS", 50, "Update " + id, "internal",
+                    "John Doe", now.minusMinutes(10 - id)));
+        }
+        when(appointmentRepository.existsByIdAndCustomerId(10L, 2L)).thenReturn(true);
+        when(serviceProgressRepository.findAppointmentTimeline(eq(10L), any(Pageable.class))).thenReturn(rows);
+
+        // When
+        CursorPageDTO<ProgressEntryDTO> page = progressTimelineService.getAppointmentTimeline(customer, 10L, null, 2);
+
+        // Then
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(serviceProgressRepository).findAppointmentTimeline(eq(10L), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(3);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getItems()).extracting(ProgressEntryDTO::getId).containsExactly(5L, 4L);
+        assertThat(page.getItems()).allMatch(item -> item.getTechnicalNotes() == null);
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertThat(next.id()).isEqualTo(4L);
+        assertThat(next.at()).isEqualTo(rows.get(1).getTimestamp());
+    }
+
+    @Test
+    void testGetAppointmentTimeline_ContinuesAfterCursor() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 10, 30);
+        String cursor = new KeysetCursor(at, 4L).encode();
+        when(appointmentRepository.existsByIdAndAssignedEmployeeId(10L, 1L)).thenReturn(true);
+        when(serviceProgressRepository.findAppointmentTimelineAfter(eq(10L), eq(at), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(new ProgressEntryDTO(3L, 10L, null, "STARTED", 0, "Started", "internal", "John Doe", at)));
+
+        // When
+        CursorPageDTO<ProgressEntryDTO> page = progressTimelineService.getAppointmentTimeline(employee, 10L, cursor, null);
+
+        // Then
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getItems().get(0).getTechnicalNotes()).isEqualTo("internal");
+        verify(serviceProgressRepository, never()).findAppointmentTimeline(any(), any());
+    }
+
+    @Test
+    void testGetProjectTimeline_RejectsOtherCustomers() {
+        // Given
+        when(projectRepository.existsByIdAndCustomerId(20L, 2L)).thenReturn(false);
+        when(projectRepository.existsById(20L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> progressTimelineService.getProjectTimeline(customer, 20L, null, null))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(serviceProgressRepository);
+    }
+
+    @Test
+    void testRecordAppointmentStatus_AppendsAfterCommitWithDefaultMessage() {
+        // When
+        progressTimelineService.recordAppointmentStatus(1L, 10L, ProgressStatus.ON_HOLD, 30, " ");
+
+        // Then
+        ArgumentCaptor<ServiceProgress> captor = ArgumentCaptor.forClass(ServiceProgress.class);
+        verify(progressTimelineWriter).appendAfterCommit(captor.capture());
+        assertThat(captor.getValue().getMessage()).isEqualTo("Status changed to ON_HOLD");
+        assertThat(captor.getValue().getAppointment().getId()).isEqualTo(10L);
+        assertThat(captor.getValue().getProgressPercentage()).isEqualTo(30);
+    }
+}
@@ -0,0 +1,179 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.model.Appointment;
+import com.gearsync.backend.model.ServiceProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressTimelineWriterTest {
+
+    @Mock
+    private BulkWriteService bulkWriteService;
+
+    private ProgressTimelineWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void testAppend_WritesEntryAndStampsIt() throws Exception {
+        // Given
+        writer = new ProgressTimelineWriter(bulkWriteService, 50, 100);
+        ServiceProgress entry = entry("first");
+
+        // When
+        ServiceProgress saved = writer.append(entry).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(saved).isSameAs(entry);
+        assertThat(saved.getTimestamp()).isNotNull();
+        verify(bulkWriteService).insertAll(List.of(entry));
+        assertThat(writer.getWritten()).isEqualTo(1L);
+    }
+
+    @Test
+    void testAppend_BatchesEntriesQueuedWhileAWriteIsInFlight() throws Exception {
+        // Given: the first write blocks until the others are queued
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        when(bulkWriteService.insertAll(any())).thenAnswer(invocation -> {
+            Iterable<?> batch = invocation.getArgument(0);
+            int size = 0;
+            for (Object ignored : batch) {
+                size++;
+            }
+            batchSizes.add(size);
+            firstStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return size;
+        });
+        writer = new ProgressTimelineWriter(bulkWriteService, 3, 100);
+        CompletableFuture<ServiceProgress> first = writer.append(entry("first"));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<CompletableFuture<ServiceProgress>> rest = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rest.add(writer.append(entry("queued " + i)));
+        }
+        release.countDown();
+        CompletableFuture.allOf(rest.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then: four queued entries go out as a full batch of three and one more
+        assertThat(first).isCompleted();
+        assertThat(batchSizes).containsExactly(1, 3, 1);
+        assertThat(writer.getBatches()).isEqualTo(3L);
+        assertThat(writer.getWritten()).isEqualTo(5L);
+    }
+
+    @Test
+    void testAppend_RetriesFailedBatchRowByRow() throws Exception {
+        // Given
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ServiceProgress bad = entry("bad");
+        when(bulkWriteService.insertAll(any())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            if (batch.size() == 1 && ((ServiceProgress) batch.get(0)).getMessage().equals("blocker")) {
+                firstStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            if (batch.contains(bad)) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return batch.size();
+        });
+        writer = new ProgressTimelineWriter(bulkWriteService, 50, 100);
+        writer.append(entry("blocker"));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<ServiceProgress> good = writer.append(entry("good"));
+        CompletableFuture<ServiceProgress> failed = writer.append(bad);
+        release.countDown();
+
+        // Then
+        assertThat(good.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("good");
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("constraint violated");
+    }
+
+    @Test
+    void testAppend_FailsWhenQueueIsFull() throws Exception {
+        // Given: the flusher is stuck on the first entry and the queue holds one more
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bulkWriteService.insertAll(any())).thenAnswer(invocation -> {
+            firstStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        writer = new ProgressTimelineWriter(bulkWriteService, 50, 1);
+        writer.append(entry("first"));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ServiceProgress> queued = writer.append(entry("queued"));
+
+        // When
+        CompletableFuture<ServiceProgress> rejected = writer.append(entry("rejected"));
+
+        // Then
+        assertThat(rejected).isCompletedExceptionally();
+        release.countDown();
+        assertThat(queued.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("queued");
+    }
+
+    @Test
+    void testAppendAfterCommit_WaitsForCommit() throws Exception {
+        // Given
+        writer = new ProgressTimelineWriter(bulkWriteService, 50, 100);
+        TransactionSynchronizationManager.initSynchronization();
+        writer.appendAfterCommit(entry("status change"));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        verifyNoInteractions(bulkWriteService);
+
+        // When
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        verify(bulkWriteService, timeout(5_000)).insertAll(any());
+    }
+
+    private static ServiceProgress entry(String message) {
+        Appointment appointment = new Appointment();
+        appointment.setId(10L);
+        ServiceProgress entry = new ServiceProgress();
+        entry.setAppointment(appointment);
+        entry.setStatus(ServiceProgress.ProgressStatus.IN_PROGRESS);
+        entry.setProgressPercentage(50);
+        entry.setMessage(message);
+        return entry;
+    }
+}
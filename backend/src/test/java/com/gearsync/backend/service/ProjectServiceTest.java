@@ -8,6 +8,7 @@ import com.gearsync.backend.model.*;
 import com.gearsync.backend.repository.ProjectRepository;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +24,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +39,9 @@ class ProjectServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private ActivityNoteService activityNoteService;
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -96,12 +101,11 @@ class ProjectServiceTest {
         request.setDescription("Complete engine rebuild");
         request.setVehicleId(1L);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
 
         // When
-        ProjectResponseDTO result = projectService.createProject(testCustomer.getEmail(), request);
+        ProjectResponseDTO result = projectService.createProject(AuthenticatedUser.of(testCustomer), request);
 
         // Then
         assertThat(result).isNotNull();
@@ -110,28 +114,15 @@ class ProjectServiceTest {
         verify(projectRepository).save(any(Project.class));
     }
 
-    @Test
-    void testCreateProject_CustomerNotFound() {
-        // Given
-        ProjectRequestDTO request = new ProjectRequestDTO();
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-
-        // When/Then
-        assertThatThrownBy(() -> projectService.createProject("unknown@test.com", request))
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Customer not found");
-    }
-
     @Test
     void testCreateProject_NotCustomerRole() {
         // Given
         testEmployee.setRole(Role.EMPLOYEE); // Not a customer
         ProjectRequestDTO request = new ProjectRequestDTO();
 
-        when(userRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
 
         // When/Then
-        assertThatThrownBy(() -> projectService.createProject(testEmployee.getEmail(), request))
+        assertThatThrownBy(() -> projectService.createProject(AuthenticatedUser.of(testEmployee), request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only customers can create project requests");
     }
@@ -142,11 +133,10 @@ class ProjectServiceTest {
         ProjectRequestDTO request = new ProjectRequestDTO();
         request.setVehicleId(999L);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> projectService.createProject(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> projectService.createProject(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Vehicle not found");
     }
@@ -167,11 +157,10 @@ class ProjectServiceTest {
         request.setProjectName("Test Project");
         request.setDescription("Test Description");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(2L)).thenReturn(Optional.of(otherVehicle));
 
         // When/Then
-        assertThatThrownBy(() -> projectService.createProject(testCustomer.getEmail(), request))
+        assertThatThrownBy(() -> projectService.createProject(AuthenticatedUser.of(testCustomer), request))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("only create projects for your own vehicles");
     }
@@ -179,11 +168,10 @@ class ProjectServiceTest {
     @Test
     void testGetMyProjects_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(projectRepository.findByCustomerId(testCustomer.getId())).thenReturn(Arrays.asList(testProject));
 
         // When
-        List<ProjectResponseDTO> results = projectService.getMyProjects(testCustomer.getEmail());
+        List<ProjectResponseDTO> results = projectService.getMyProjects(AuthenticatedUser.of(testCustomer));
 
         // Then
         assertThat(results).isNotEmpty();
@@ -191,26 +179,14 @@ class ProjectServiceTest {
         verify(projectRepository).findByCustomerId(testCustomer.getId());
     }
 
-    @Test
-    void testGetMyProjects_UserNotFound() {
-        // Given
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-
-        // When/Then
-        assertThatThrownBy(() -> projectService.getMyProjects("unknown@test.com"))
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Customer not found");
-    }
-
     @Test
     void testGetMyActiveProjects_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(projectRepository.findActiveProjectsByCustomer(testCustomer.getId()))
                 .thenReturn(Arrays.asList(testProject));
 
         // When
-        List<ProjectResponseDTO> results = projectService.getMyActiveProjects(testCustomer.getEmail());
+        List<ProjectResponseDTO> results = projectService.getMyActiveProjects(AuthenticatedUser.of(testCustomer));
 
         // Then
         assertThat(results).isNotEmpty();
@@ -221,11 +197,10 @@ class ProjectServiceTest {
     @Test
     void testGetProjectById_Success() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
         // When
-        ProjectResponseDTO result = projectService.getProjectById(testCustomer.getEmail(), 1L);
+        ProjectResponseDTO result = projectService.getProjectById(AuthenticatedUser.of(testCustomer), 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -236,11 +211,10 @@ class ProjectServiceTest {
     @Test
     void testGetProjectById_NotFound() {
         // Given
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(projectRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> projectService.getProjectById(testCustomer.getEmail(), 999L))
+        assertThatThrownBy(() -> projectService.getProjectById(AuthenticatedUser.of(testCustomer), 999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Project not found");
     }
@@ -253,11 +227,10 @@ class ProjectServiceTest {
         otherCustomer.setEmail("other@test.com");
         otherCustomer.setRole(Role.CUSTOMER);
 
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherCustomer));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
         // When/Then
-        assertThatThrownBy(() -> projectService.getProjectById("other@test.com", 1L))
+        assertThatThrownBy(() -> projectService.getProjectById(AuthenticatedUser.of(otherCustomer), 1L))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission to view this project");
     }
@@ -265,11 +238,10 @@ class ProjectServiceTest {
     @Test
     void testGetProjectById_EmployeeCanViewAny() {
         // Given
-        when(userRepository.findByEmail(testEmployee.getEmail())).thenReturn(Optional.of(testEmployee));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
         // When
-        ProjectResponseDTO result = projectService.getProjectById(testEmployee.getEmail(), 1L);
+        ProjectResponseDTO result = projectService.getProjectById(AuthenticatedUser.of(testEmployee), 1L);
 
         // Then
         assertThat(result).isNotNull();
@@ -286,8 +258,8 @@ class ProjectServiceTest {
         request.setVehicleId(1L);
         request.setAdditionalNotes("Customer requested premium parts");
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
         when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> {
             Project savedProject = invocation.getArgument(0);
             savedProject.setId(1L);
@@ -295,13 +267,15 @@ class ProjectServiceTest {
         });
 
         // When
-        ProjectResponseDTO result = projectService.createProject(testCustomer.getEmail(), request);
+        ProjectResponseDTO result = projectService.createProject(AuthenticatedUser.of(testCustomer), request);
 
         // Then
         assertThat(result).isNotNull();
         verify(projectRepository).save(argThat(project ->
-                project.getDescription().contains("Additional Notes:")
+                project.getDescription().equals("Complete engine rebuild")
         ));
+        verify(activityNoteService).addProjectNote(any(Project.class), eq(testCustomer.getId()),
+                eq(ActivityNote.NoteType.CUSTOMER_NOTE), eq("Customer requested premium parts"));
     }
 
     @Test
@@ -312,8 +286,8 @@ class ProjectServiceTest {
         request.setDescription("Test Description");
         request.setVehicleId(1L);
 
-        when(userRepository.findByEmail(testCustomer.getEmail())).thenReturn(Optional.of(testCustomer));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(userRepository.getReferenceById(testCustomer.getId())).thenReturn(testCustomer);
         when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> {
             Project savedProject = invocation.getArgument(0);
             savedProject.setId(1L);
@@ -321,7 +295,7 @@ class ProjectServiceTest {
         });
 
         // When
-        projectService.createProject(testCustomer.getEmail(), request);
+        projectService.createProject(AuthenticatedUser.of(testCustomer), request);
 
         // Then
         verify(projectRepository).save(argThat(project ->
@@ -0,0 +1,142 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.exception.UnauthorizedException;
+import com.gearsync.backend.model.RefreshToken;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.User;
+import com.gearsync.backend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User customer;
+
+    // Token hash -> row, standing in for the table
+    private final Map<String, RefreshToken> rows = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        customer = new User();
+        customer.setId(1L);
+        customer.setEmail("customer@example.com");
+        customer.setRole(Role.CUSTOMER);
+        customer.setIsActive(true);
+
+        lenient().when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken row = invocation.getArgument(0);
+            rows.put(row.getTokenHash(), row);
+            return row;
+        });
+        lenient().when(refreshTokenRepository.findForRotation(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+    }
+
+    @Test
+    void testIssue_StoresOnlyTheHash() {
+        // When
+        String token = refreshTokenService.issue(customer);
+
+        // Then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash()).hasSize(64).isNotEqualTo(token);
+        assertThat(saved.getValue().getFamilyId()).isNotBlank();
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+    }
+
+    @Test
+    void testRotate_SpendsTokenAndKeepsFamily() {
+        // Given
+        String first = refreshTokenService.issue(customer);
+
+        // When
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        // Then
+        assertThat(rotation.user()).isSameAs(customer);
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(rows.values()).extracting(RefreshToken::getFamilyId).containsOnly(rows.values().iterator().next().getFamilyId());
+        assertThat(rows.values()).filteredOn(row -> row.getUsedAt() != null).hasSize(1);
+    }
+
+    @Test
+    void testRotate_ReuseRevokesFamily() {
+        // Given
+        String first = refreshTokenService.issue(customer);
+        refreshTokenService.rotate(first);
+        String familyId = rows.values().iterator().next().getFamilyId();
+
+        // When/Then
+        assertThatThrownBy(() -> refreshTokenService.rotate(first))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRotate_UnknownToken() {
+        // When/Then
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("Invalid refresh token");
+    }
+
+    @Test
+    void testRotate_ExpiredToken() {
+        // Given
+        String token = refreshTokenService.issue(customer);
+        rows.values().forEach(row -> row.setExpiresAt(LocalDateTime.now().minusMinutes(1)));
+
+        // When/Then
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void testRotate_InactiveUser() {
+        // Given
+        String token = refreshTokenService.issue(customer);
+        customer.setIsActive(false);
+
+        // When/Then
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("inactive");
+    }
+
+    @Test
+    void testRevoke_RevokesFamilyOfPresentedToken() {
+        // Given
+        String token = refreshTokenService.issue(customer);
+        RefreshToken row = rows.values().iterator().next();
+        when(refreshTokenRepository.findByTokenHash(row.getTokenHash())).thenReturn(Optional.of(row));
+
+        // When
+        refreshTokenService.revoke(token);
+
+        // Then
+        verify(refreshTokenRepository).revokeFamily(eq(row.getFamilyId()), any(LocalDateTime.class));
+    }
+}
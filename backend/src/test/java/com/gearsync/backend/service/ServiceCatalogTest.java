@@ -0,0 +1,156 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.ServiceCatalogStatsDTO;
+import com.gearsync.backend.model.ServiceCategory;
+import com.gearsync.backend.model.Services;
+import com.gearsync.backend.repository.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceCatalogTest {
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    private ServiceCatalog serviceCatalog;
+
+    private Services oilChange;
+    private Services brakeCheck;
+
+    @BeforeEach
+    void setUp() {
+        serviceCatalog = new ServiceCatalog(serviceRepository);
+
+        oilChange = service(1L, "Oil Change", "50.00", 60, true);
+        brakeCheck = service(2L, "Brake Check", "75.00", 45, false);
+    }
+
+    @Test
+    void testFindAll_ResolvesIdsInRequestOrder() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(brakeCheck, oilChange));
+
+        // When
+        List<ServiceCatalog.Entry> result = serviceCatalog.findAll(List.of(1L, 2L));
+
+        // Then
+        assertThat(result).extracting(ServiceCatalog.Entry::serviceName).containsExactly("Oil Change", "Brake Check");
+        assertThat(result.get(0).basePrice()).isEqualByComparingTo("50.00");
+        assertThat(result.get(0).active()).isTrue();
+        assertThat(result.get(1).active()).isFalse();
+    }
+
+    @Test
+    void testFindAll_SkipsUnknownAndDuplicateIds() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(oilChange));
+
+        // When
+        List<ServiceCatalog.Entry> result = serviceCatalog.findAll(List.of(1L, 1L, 99L));
+
+        // Then
+        assertThat(result).extracting(ServiceCatalog.Entry::id).containsExactly(1L);
+    }
+
+    @Test
+    void testServices_KeepsRepositoryOrder() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(brakeCheck, oilChange));
+
+        // When/Then
+        assertThat(serviceCatalog.services()).extracting("serviceName").containsExactly("Brake Check", "Oil Change");
+        verify(serviceRepository).findAll(Sort.by(Sort.Direction.ASC, "serviceName"));
+    }
+
+    @Test
+    void testGetStats_CountsHitsMissesAndRebuilds() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(oilChange, brakeCheck));
+
+        // When
+        serviceCatalog.services();
+        serviceCatalog.services();
+        serviceCatalog.findAll(List.of(1L));
+        ServiceCatalogStatsDTO stats = serviceCatalog.getStats();
+
+        // Then
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.rebuilds()).isEqualTo(1);
+        assertThat(stats.lastRebuiltAt()).isNotNull();
+    }
+
+    @Test
+    void testWarm_LoadsSnapshotUpFront() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(oilChange));
+
+        // When
+        serviceCatalog.warm();
+        serviceCatalog.services();
+
+        // Then
+        assertThat(serviceCatalog.getStats().misses()).isZero();
+        verify(serviceRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void testWarm_FailureFallsBackToLazyLoad() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class)))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of(oilChange));
+
+        // When
+        serviceCatalog.warm();
+
+        // Then
+        assertThat(serviceCatalog.services()).hasSize(1);
+    }
+
+    @Test
+    void testRefresh_WaitsForCommit() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(oilChange), List.of(oilChange, brakeCheck));
+        serviceCatalog.warm();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            serviceCatalog.refresh();
+
+            // Then
+            assertThat(serviceCatalog.services()).hasSize(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(serviceCatalog.services()).hasSize(2);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Services service(Long id, String name, String price, int minutes, boolean active) {
+        Services service = new Services();
+        service.setId(id);
+        service.setServiceName(name);
+        service.setBasePrice(new BigDecimal(price));
+        service.setEstimatedDurationMinutes(minutes);
+        service.setCategory(ServiceCategory.MAINTENANCE);
+        service.setIsActive(active);
+        return service;
+    }
+}
@@ -0,0 +1,182 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AvailableSlotDTO;
+import com.gearsync.backend.exception.SlotUnavailableException;
+import com.gearsync.backend.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Hammers {@link SlotAvailability} from many threads released at once by a shared start gate.
+ * One platform thread per caller stands in for the request threads of a booking burst.
+ */
+@ExtendWith(MockitoExtension.class)
+class SlotAvailabilityConcurrencyTest {
+
+    private static final int CALLERS = 1000;
+    private static final int BAYS = 4;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SlotAvailability slotAvailability;
+    private LocalDate monday;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        slotAvailability = new SlotAvailability(appointmentRepository, transactionManager, BAYS, "08:00", "18:00", "SUNDAY", false);
+        monday = LocalDate.now().plusWeeks(1).with(DayOfWeek.MONDAY);
+        executor = Executors.newFixedThreadPool(CALLERS);
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testHold_OneSlotAdmitsExactlyItsBays() throws Exception {
+        // Given
+        LocalDateTime start = monday.atTime(10, 0);
+        Queue<SlotAvailability.Hold> admitted = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        burst(caller -> {
+            try {
+                admitted.add(slotAvailability.hold(start, 60));
+            } catch (SlotUnavailableException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // Then
+        assertThat(admitted).hasSize(BAYS);
+        assertThat(rejected).hasValue(CALLERS - BAYS);
+        assertThat(freeBays(start, 60)).isZero();
+        admitted.forEach(SlotAvailability.Hold::close);
+        assertThat(freeBays(start, 60)).isEqualTo(BAYS);
+        assertThat(slotAvailability.reloadOnce(false)).isTrue();
+    }
+
+    @Test
+    void testHoldAndClaim_OverlappingRangesNeverExceedBaysAndRollbacksGiveThemBack() throws Exception {
+        // Given: starts and lengths spread over the morning so ranges overlap across many stripes
+        Random random = new Random(42);
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            starts.add(monday.atTime(8, 0).plusMinutes(15L * random.nextInt(12)));
+            lengths.add(15 * (1 + random.nextInt(6)));
+        }
+        int[] booked = new int[24];
+        AtomicLong ids = new AtomicLong();
+        Queue<int[]> committed = new ConcurrentLinkedQueue<>();
+
+        // When: every caller holds, claims in a transaction of its own, and every third one rolls back
+        burst(caller -> {
+            LocalDateTime start = starts.get(caller);
+            int minutes = lengths.get(caller);
+            try (SlotAvailability.Hold hold = slotAvailability.hold(start, minutes)) {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    slotAvailability.claim(hold, ids.incrementAndGet());
+                    int status = caller % 3 == 0
+                            ? TransactionSynchronization.STATUS_ROLLED_BACK
+                            : TransactionSynchronization.STATUS_COMMITTED;
+                    TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        int first = (start.getHour() - 8) * 4 + start.getMinute() / 15;
+                        committed.add(new int[]{first, minutes / 15});
+                    }
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            } catch (SlotUnavailableException e) {
+                // Turned away before any transaction, as intended
+            }
+        });
+
+        // Then: what stayed booked never overfills a slot, and the occupancy agrees with it
+        for (int[] booking : committed) {
+            for (int slot = booking[0]; slot < booking[0] + booking[1]; slot++) {
+                booked[slot]++;
+            }
+        }
+        assertThat(Arrays.stream(booked).max().orElse(0)).isLessThanOrEqualTo(BAYS);
+        assertThat(committed).isNotEmpty();
+        for (int slot = 0; slot < 12; slot++) {
+            assertThat(freeBays(monday.atTime(8, 0).plusMinutes(15L * slot), 15)).isEqualTo(BAYS - booked[slot]);
+        }
+        assertThat(slotAvailability.reloadOnce(false)).isTrue();
+    }
+
+    private interface Caller {
+        void call(int caller) throws Exception;
+    }
+
+    // Starts every caller together and waits for all of them, rethrowing the first failure
+    private void burst(Caller body) throws Exception {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            int caller = i;
+            Callable<Void> task = () -> {
+                ready.countDown();
+                go.await();
+                body.call(caller);
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+        assertThat(ready.await(30, TimeUnit.SECONDS)).isTrue();
+        go.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private int freeBays(LocalDateTime start, int minutes) {
+        return slotAvailability.availability(start.toLocalDate(), minutes).slots().stream()
+                .filter(slot -> slot.start().equals(start))
+                .mapToInt(AvailableSlotDTO::freeBays)
+                .findFirst()
+                .orElse(0);
+    }
+}
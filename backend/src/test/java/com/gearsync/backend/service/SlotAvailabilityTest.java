@@ -0,0 +1,251 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.AvailabilityDTO;
+import com.gearsync.backend.dto.AvailableSlotDTO;
+import com.gearsync.backend.exception.SlotUnavailableException;
+import com.gearsync.backend.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotAvailabilityTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SlotAvailability slotAvailability;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        slotAvailability = new SlotAvailability(appointmentRepository, transactionManager, 2, "08:00", "18:00", "SUNDAY", false);
+        monday = LocalDate.now().plusWeeks(1).with(DayOfWeek.MONDAY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReserve_RejectsOnceEveryBayIsTaken() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        slotAvailability.reserve(1L, at(10, 0), 30);
+        slotAvailability.reserve(2L, at(10, 0), 30);
+
+        // When & Then: 10:15 overlaps both, 10:30 is clear again
+        assertThatThrownBy(() -> slotAvailability.reserve(3L, at(10, 15), 30))
+                .isInstanceOf(SlotUnavailableException.class);
+        slotAvailability.reserve(3L, at(10, 30), 30);
+    }
+
+    @Test
+    void testAvailability_SkipsFullSlotsAndCountsFreeBays() {
+        // Given: one job loaded from the database, one booked here
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, at(8, 0), 45L});
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(rows);
+        slotAvailability.reserve(2L, at(8, 30), 15);
+
+        // When
+        AvailabilityDTO availability = slotAvailability.availability(monday, 30);
+
+        // Then
+        List<AvailableSlotDTO> slots = availability.slots();
+        assertThat(slots).extracting(slot -> slot.start().toLocalTime())
+                .startsWith(LocalTime.of(8, 0), LocalTime.of(8, 45), LocalTime.of(9, 0))
+                .doesNotContain(LocalTime.of(8, 15), LocalTime.of(8, 30))
+                .endsWith(LocalTime.of(17, 30));
+        assertThat(slots.get(0).freeBays()).isEqualTo(1);
+        assertThat(slots.get(1).freeBays()).isEqualTo(2);
+        assertThat(availability.slotMinutes()).isEqualTo(SlotAvailability.SLOT_MINUTES);
+    }
+
+    @Test
+    void testReserve_MovesExistingBooking() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        slotAvailability.reserve(1L, at(10, 0), 60);
+        slotAvailability.reserve(2L, at(10, 0), 60);
+
+        // When
+        slotAvailability.reserve(1L, at(14, 0), 60);
+
+        // Then
+        slotAvailability.reserve(3L, at(10, 0), 60);
+        assertThatThrownBy(() -> slotAvailability.reserve(4L, at(10, 30), 15))
+                .isInstanceOf(SlotUnavailableException.class);
+    }
+
+    @Test
+    void testReserve_UndoneWhenTransactionRollsBack() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        slotAvailability.reserve(1L, at(9, 0), 30);
+        TransactionSynchronizationManager.initSynchronization();
+        slotAvailability.reserve(2L, at(9, 0), 30);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThatThrownBy(() -> slotAvailability.reserve(3L, at(9, 0), 30))
+                .isInstanceOf(SlotUnavailableException.class);
+
+        // When
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        slotAvailability.reserve(3L, at(9, 0), 30);
+    }
+
+    @Test
+    void testRelease_FreesBayAfterCommit() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        slotAvailability.reserve(1L, at(11, 0), 15);
+        slotAvailability.reserve(2L, at(11, 0), 15);
+        TransactionSynchronizationManager.initSynchronization();
+        slotAvailability.release(1L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(freeBaysAt(LocalTime.of(11, 0))).isZero();
+
+        // When
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertThat(freeBaysAt(LocalTime.of(11, 0))).isEqualTo(1);
+    }
+
+    @Test
+    void testReserve_RejectsClosedDaysAndHours() {
+        // When & Then
+        assertThatThrownBy(() -> slotAvailability.reserve(1L, monday.minusDays(1).atTime(10, 0), 30))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("closed on Sundays");
+        assertThatThrownBy(() -> slotAvailability.reserve(1L, at(17, 30), 60))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 08:00 and 18:00");
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void testReloadOnce_SkipsSwapWhileBookingIsPending() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        slotAvailability.reserve(1L, at(12, 0), 30);
+        TransactionSynchronizationManager.initSynchronization();
+        slotAvailability.reserve(2L, at(12, 0), 30);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When
+        boolean swapped = slotAvailability.reloadOnce(false);
+
+        // Then: the uncommitted booking still holds its bay
+        assertThat(swapped).isFalse();
+        assertThat(freeBaysAt(LocalTime.of(12, 0))).isZero();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(slotAvailability.reloadOnce(false)).isTrue();
+    }
+
+    @Test
+    void testHold_ClaimedBaysSurviveCommitAndCloseIsNoOp() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        SlotAvailability.Hold hold = slotAvailability.hold(at(13, 0), 30);
+        slotAvailability.reserve(1L, at(13, 0), 30);
+        assertThatThrownBy(() -> slotAvailability.hold(at(13, 15), 15))
+                .isInstanceOf(SlotUnavailableException.class);
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        slotAvailability.claim(hold, 2L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        hold.close();
+
+        // Then: the claimed bay stays with appointment 2 and is freed with it
+        assertThat(freeBaysAt(LocalTime.of(13, 0))).isZero();
+        slotAvailability.release(2L);
+        assertThat(freeBaysAt(LocalTime.of(13, 0))).isEqualTo(1);
+        assertThat(slotAvailability.reloadOnce(false)).isTrue();
+    }
+
+    @Test
+    void testHold_FreedWhenClaimRollsBackOrHoldIsClosed() {
+        // Given
+        when(appointmentRepository.findBookedDurationsFrom(any(), any())).thenReturn(List.of());
+        SlotAvailability.Hold claimed = slotAvailability.hold(at(15, 0), 15);
+        SlotAvailability.Hold abandoned = slotAvailability.hold(at(15, 0), 15);
+        TransactionSynchronizationManager.initSynchronization();
+        slotAvailability.claim(claimed, 5L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(slotAvailability.reloadOnce(false)).isFalse();
+
+        // When
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        claimed.close();
+        abandoned.close();
+
+        // Then
+        assertThat(freeBaysAt(LocalTime.of(15, 0))).isEqualTo(2);
+        assertThat(slotAvailability.reloadOnce(false)).isTrue();
+    }
+
+    @Test
+    void testLockAcrossNodes_LocksSlotKeysAndChecksCommittedBays() {
+        // Given
+        SlotAvailability clustered = new SlotAvailability(
+                appointmentRepository, transactionManager, 2, "08:00", "18:00", "SUNDAY", true);
+        int base = (int) (monday.toEpochDay() * Long.SIZE);
+        when(appointmentRepository.countBusiestSlot(0L, at(9, 0), at(9, 30))).thenReturn(1L);
+        when(appointmentRepository.countBusiestSlot(7L, at(9, 0), at(9, 30))).thenReturn(2L);
+
+        // When & Then: 09:10 for 30 minutes covers the 09:00, 09:15 and 09:30 slots
+        clustered.lockAcrossNodes(0L, at(9, 10), 30);
+        assertThatThrownBy(() -> clustered.lockAcrossNodes(7L, at(9, 10), 30))
+                .isInstanceOf(SlotUnavailableException.class);
+        verify(appointmentRepository, times(2)).lockSlots(SlotAvailability.CLUSTER_LOCK_NAMESPACE, base + 4, base + 6);
+
+        slotAvailability.lockAcrossNodes(0L, at(9, 10), 30);
+        verifyNoMoreInteractions(appointmentRepository);
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return monday.atTime(hour, minute);
+    }
+
+    private int freeBaysAt(LocalTime start) {
+        return slotAvailability.availability(monday, 15).slots().stream()
+                .filter(slot -> slot.start().toLocalTime().equals(start))
+                .mapToInt(AvailableSlotDTO::freeBays)
+                .findFirst()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,112 @@
+package com.gearsync.backend.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SmtpTransportPoolTest {
+
+    private FakeSmtpServer smtp;
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void testSend_ReusesOneConnection() throws MessagingException {
+        // Given
+        pool = new SmtpTransportPool(mailSender, 2, 100, 60_000, 0);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            pool.send(message("customer" + i + "@example.com"));
+        }
+
+        // Then
+        assertThat(smtp.getMessages()).hasSize(5);
+        assertThat(smtp.getConnections()).isEqualTo(1);
+        assertThat(pool.getConnectionsOpened()).isEqualTo(1);
+        assertThat(pool.getSent()).isEqualTo(5);
+        assertThat(pool.getSentLastMinute()).isEqualTo(5);
+    }
+
+    @Test
+    void testSend_RecyclesConnectionAfterMaxMessages() throws MessagingException {
+        // Given
+        pool = new SmtpTransportPool(mailSender, 2, 2, 60_000, 0);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            pool.send(message("customer" + i + "@example.com"));
+        }
+
+        // Then
+        assertThat(smtp.getMessages()).hasSize(5);
+        assertThat(pool.getConnectionsOpened()).isEqualTo(3);
+    }
+
+    @Test
+    void testSend_FailedConnectionIsNotReused() throws MessagingException {
+        // Given
+        pool = new SmtpTransportPool(mailSender, 2, 100, 60_000, 0);
+        smtp.rejectRecipient("busy@example.com");
+
+        // When
+        assertThatThrownBy(() -> pool.send(message("busy@example.com")))
+                .isInstanceOf(MessagingException.class);
+        pool.send(message("customer@example.com"));
+
+        // Then
+        assertThat(smtp.getMessages()).hasSize(1);
+        assertThat(pool.getConnectionsOpened()).isEqualTo(2);
+    }
+
+    @Test
+    void testSend_PacesToRateLimit() throws MessagingException {
+        // Given: 600/min is one send every 100 ms, with a burst of one per pooled connection
+        pool = new SmtpTransportPool(mailSender, 1, 100, 60_000, 600);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            pool.send(message("customer" + i + "@example.com"));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(300);
+        assertThat(pool.getThrottledMillis()).isPositive();
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@gearsync.test");
+        helper.setTo(to);
+        helper.setSubject("Appointment Confirmation");
+        helper.setText("<p>Confirmed</p>", true);
+        return message;
+    }
+}
@@ -9,7 +9,6 @@ import com.gearsync.backend.repository.ServiceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
@@ -28,7 +27,8 @@ class TaskServiceTest {
     @Mock
     private ServiceRepository serviceRepository;
 
-    @InjectMocks
+    private ServiceCatalog serviceCatalog;
+
     private TaskService taskService;
 
     private ServiceDTO testServiceDTO;
@@ -36,6 +36,9 @@ class TaskServiceTest {
 
     @BeforeEach
     void setUp() {
+        serviceCatalog = new ServiceCatalog(serviceRepository);
+        taskService = new TaskService(serviceRepository, serviceCatalog);
+
         testServiceDTO = new ServiceDTO();
         testServiceDTO.setServiceName("Oil Change");
         testServiceDTO.setDescription("Standard oil change service");
@@ -166,4 +169,33 @@ class TaskServiceTest {
         assertThat(result.get(0).serviceName()).isEqualTo("A Service");
         assertThat(result.get(1).serviceName()).isEqualTo("Z Service");
     }
+
+    @Test
+    void testGetAllServiceDetails_ServedFromCatalogAfterFirstLoad() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(testService));
+
+        // When
+        taskService.getAllServiceDetails();
+        List<ServiceResponseDTO> result = taskService.getAllServiceDetails();
+
+        // Then
+        assertThat(result).extracting(ServiceResponseDTO::serviceName).containsExactly("Oil Change");
+        verify(serviceRepository, times(1)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void testNewServiceAdd_RebuildsCatalog() {
+        // Given
+        when(serviceRepository.findAll(any(Sort.class))).thenReturn(List.of(), List.of(testService));
+        when(serviceRepository.existsByServiceName(testServiceDTO.getServiceName())).thenReturn(false);
+        assertThat(taskService.getAllServiceDetails()).isEmpty();
+
+        // When
+        taskService.newServiceAdd(testServiceDTO);
+
+        // Then
+        assertThat(taskService.getAllServiceDetails()).extracting(ServiceResponseDTO::id).containsExactly(1L);
+        assertThat(serviceCatalog.getStats().rebuilds()).isEqualTo(2);
+    }
 }
@@ -0,0 +1,130 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.repository.AppointmentRepository;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Interleaves a time log write with a reconcile of the same appointment on PostgreSQL: the write
+ * has adjusted the totals but not committed when the reconcile starts. Run with
+ * {@code mvn test -Pintegration} (needs the .env datasource). Rows use negative ids and are removed afterwards.
+ */
+@Tag("integration")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class TimeLogTotalsReconcilerConcurrencyTest {
+
+    private static final long ID = -990_001L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TimeLogTotalsReconciler reconciler;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    static void loadEnvironment() {
+        Dotenv.configure().ignoreIfMissing().load().entries()
+                .forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        cleanUp();
+        jdbcTemplate.update("""
+                insert into users (id, is_active, created_at, updated_at, email, first_name, last_name, password, phone_number, role)
+                values (?, true, now(), now(), 'reconcile-employee@example.com', 'Re', 'Concile', '!', '0', 'EMPLOYEE'),
+                       (? - 1, true, now(), now(), 'reconcile-customer@example.com', 'Re', 'Concile', '!', '0', 'CUSTOMER')
+                """, ID, ID);
+        jdbcTemplate.update("""
+                insert into vehicles (id, year, created_at, updated_at, owner_id, color, make, model, registration_number)
+                values (?, 2020, now(), now(), ? - 1, 'Grey', 'Make', 'Model', 'RECONCILE-1')
+                """, ID, ID);
+        jdbcTemplate.update("""
+                insert into appointments (id, progress_percentage, created_at, updated_at, customer_id, vehicle_id,
+                                          scheduled_date_time, scheduled_end_date_time, status, assigned_employee_id,
+                                          logged_minutes, time_log_count)
+                values (?, 0, now(), now(), ? - 1, ?, now(), now() + interval '1 hour', 'COMPLETED', ?, 30, 1)
+                """, ID, ID, ID, ID);
+        insertTimeLog(ID, 30);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        cleanUp();
+    }
+
+    @Test
+    void testRepair_TimeLogCommittedDuringReconcileIsKept() throws Exception {
+        // Given: a second log is written and adjusted, and its transaction holds the appointment row
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch adjusted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Future<?> writer = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            insertTimeLog(ID - 1, 45);
+            appointmentRepository.adjustTimeLogTotals(ID, 45, 1);
+            adjusted.countDown();
+            try {
+                assertThat(commit.await(30, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(adjusted.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // When: the reconcile starts before the write commits, and is still waiting when it does
+        Future<Integer> repair = executor.submit(() -> transaction.execute(status -> reconciler.repairAppointments(ID, ID)));
+        Thread.sleep(500);
+        assertThat(repair.isDone()).isFalse();
+        commit.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(repair.get(30, TimeUnit.SECONDS)).isZero();
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "select logged_minutes, time_log_count from appointments where id = ?", ID);
+        assertThat(totals).containsEntry("logged_minutes", 75).containsEntry("time_log_count", 2);
+    }
+
+    private void insertTimeLog(long id, int minutes) {
+        jdbcTemplate.update("""
+                insert into time_logs (id, duration_minutes, created_at, updated_at, employee_id, start_time, end_time, appointment_id)
+                values (?, ?, now(), now(), ?, now() - interval '2 hours', now() - interval '1 hour', ?)
+                """, id, minutes, ID, ID);
+    }
+
+    private void cleanUp() {
+        jdbcTemplate.update("delete from time_logs where appointment_id = ?", ID);
+        jdbcTemplate.update("delete from appointments where id = ?", ID);
+        jdbcTemplate.update("delete from vehicles where id = ?", ID);
+        jdbcTemplate.update("delete from users where id in (?, ? - 1)", ID, ID);
+    }
+}
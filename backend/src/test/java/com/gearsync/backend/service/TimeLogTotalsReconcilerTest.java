@@ -0,0 +1,126 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimeLogTotalsReconcilerTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TimeLogTotalsReconciler reconciler;
+
+    @Test
+    void testReconcileAll_SplitsIdSpaceIntoRanges() {
+        // Given
+        when(appointmentRepository.findMaxId()).thenReturn(12000L);
+        when(appointmentRepository.findDriftedTimeLogTotals(anyLong(), anyLong())).thenReturn(List.of());
+        when(projectRepository.findMaxId()).thenReturn(10L);
+        when(projectRepository.findDriftedTimeLogTotals(1L, 10L)).thenReturn(List.<Object[]>of(new Object[]{3L, 90L, 2L}));
+
+        // When
+        reconciler.reconcileAll();
+
+        // Then
+        verify(appointmentRepository).lockIdsBetween(1L, 5000L);
+        verify(appointmentRepository).lockIdsBetween(5001L, 10000L);
+        verify(appointmentRepository).lockIdsBetween(10001L, 12000L);
+        verify(appointmentRepository, never()).setTimeLogTotals(anyLong(), anyInt(), anyInt());
+        verify(projectRepository).lockIdsBetween(1L, 10L);
+        verify(projectRepository).setTimeLogTotals(3L, 90, 2);
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void testReconcile_EmptyTable_DoesNothing() {
+        // When
+        int repaired = reconciler.reconcile(0L, (from, to) -> {
+            throw new AssertionError("no range expected");
+        });
+
+        // Then
+        assertThat(repaired).isZero();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void testReconcile_RangeFailure_Propagates() {
+        // When/Then
+        assertThatThrownBy(() -> reconciler.reconcile(3L, (from, to) -> {
+            throw new IllegalArgumentException("boom");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("boom");
+    }
+
+    @Test
+    void testRepairAppointments_AdjustmentCommittedWhileWaitingForLockIsKept() {
+        // Given: appointment 7 is correct at 30 minutes over one log; appointment 8 has drifted
+        Map<Long, int[]> stored = new HashMap<>(Map.of(7L, new int[]{30, 1}, 8L, new int[]{99, 3}));
+        Map<Long, List<Integer>> logs = new HashMap<>(Map.of(
+                7L, new ArrayList<>(List.of(30)),
+                8L, new ArrayList<>(List.of(20))));
+        // A 45-minute log and its adjustTimeLogTotals commit while the reconciler waits for the range lock
+        when(appointmentRepository.lockIdsBetween(1L, 10L)).thenAnswer(invocation -> {
+            logs.get(7L).add(45);
+            stored.get(7L)[0] += 45;
+            stored.get(7L)[1] += 1;
+            return List.of(7L, 8L);
+        });
+        when(appointmentRepository.findDriftedTimeLogTotals(1L, 10L)).thenAnswer(invocation -> drifted(stored, logs));
+        when(appointmentRepository.setTimeLogTotals(anyLong(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            stored.put(invocation.getArgument(0), new int[]{invocation.getArgument(1), invocation.getArgument(2)});
+            return 1;
+        });
+
+        // When
+        int repaired = reconciler.repairAppointments(1L, 10L);
+
+        // Then
+        assertThat(repaired).isEqualTo(1);
+        assertThat(stored.get(7L)).containsExactly(75, 2);
+        assertThat(stored.get(8L)).containsExactly(20, 1);
+        InOrder order = inOrder(appointmentRepository);
+        order.verify(appointmentRepository).lockIdsBetween(1L, 10L);
+        order.verify(appointmentRepository).findDriftedTimeLogTotals(1L, 10L);
+        order.verify(appointmentRepository).setTimeLogTotals(8L, 20, 1);
+        verify(appointmentRepository, never()).setTimeLogTotals(eq(7L), anyInt(), anyInt());
+    }
+
+    // What findDriftedTimeLogTotals returns for the given stored totals and committed logs
+    private static List<Object[]> drifted(Map<Long, int[]> stored, Map<Long, List<Integer>> logs) {
+        List<Object[]> rows = new ArrayList<>();
+        stored.forEach((id, totals) -> {
+            long minutes = logs.get(id).stream().mapToLong(Integer::longValue).sum();
+            long count = logs.get(id).size();
+            if (totals[0] != minutes || totals[1] != count) {
+                rows.add(new Object[]{id, minutes, count});
+            }
+        });
+        return rows;
+    }
+}
@@ -2,7 +2,6 @@ package com.gearsync.backend.service;
 
 import com.gearsync.backend.dto.VehicleRequestDTO;
 import com.gearsync.backend.dto.VehicleResponseDTO;
-import com.gearsync.backend.exception.UserNotFoundException;
 import com.gearsync.backend.exception.VehicleAlreadyExistsException;
 import com.gearsync.backend.exception.VehicleNotFoundException;
 import com.gearsync.backend.model.Role;
@@ -10,6 +9,7 @@ import com.gearsync.backend.model.User;
 import com.gearsync.backend.model.Vehicle;
 import com.gearsync.backend.repository.UserRepository;
 import com.gearsync.backend.repository.VehicleRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,6 +42,9 @@ class VehicleServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private OperationalCounters operationalCounters;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -82,38 +85,25 @@ class VehicleServiceTest {
     @Test
     void testListMyVehicles_Success() {
         // Given
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
-        when(vehicleRepository.findByOwner(testUser)).thenReturn(Arrays.asList(testVehicle));
+        when(vehicleRepository.findByOwnerId(testUser.getId())).thenReturn(Arrays.asList(testVehicle));
 
         // When
-        List<Vehicle> vehicles = vehicleService.listMyVehicles("customer@example.com");
+        List<Vehicle> vehicles = vehicleService.listMyVehicles(AuthenticatedUser.of(testUser));
 
         // Then
         assertThat(vehicles).hasSize(1);
         assertThat(vehicles.get(0).getMake()).isEqualTo("Toyota");
-        verify(userRepository, times(1)).findByEmail("customer@example.com");
-        verify(vehicleRepository, times(1)).findByOwner(testUser);
-    }
-
-    @Test
-    void testListMyVehicles_UserNotFound() {
-        // Given
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
-        // When & Then
-        assertThatThrownBy(() -> vehicleService.listMyVehicles("nonexistent@example.com"))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("User not found");
+        verify(vehicleRepository, times(1)).findByOwnerId(testUser.getId());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void testGetMyVehicle_Success() {
         // Given
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
 
         // When
-        Vehicle vehicle = vehicleService.getMyVehicle("customer@example.com", 1L);
+        Vehicle vehicle = vehicleService.getMyVehicle(AuthenticatedUser.of(testUser), 1L);
 
         // Then
         assertThat(vehicle).isNotNull();
@@ -125,11 +115,10 @@ class VehicleServiceTest {
     @Test
     void testGetMyVehicle_VehicleNotFound() {
         // Given
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> vehicleService.getMyVehicle("customer@example.com", 999L))
+        assertThatThrownBy(() -> vehicleService.getMyVehicle(AuthenticatedUser.of(testUser), 999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Vehicle not found");
     }
@@ -143,14 +132,14 @@ class VehicleServiceTest {
         responseDTO.setModel("Civic");
         responseDTO.setOwnerEmail("customer@example.com");
 
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.existsByRegistrationNumber("XYZ-789")).thenReturn(false);
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(testUser);
         when(modelMapper.map(vehicleRequestDTO, Vehicle.class)).thenReturn(testVehicle);
         when(vehicleRepository.save(any(Vehicle.class))).thenReturn(testVehicle);
         when(modelMapper.map(testVehicle, VehicleResponseDTO.class)).thenReturn(responseDTO);
 
         // When
-        VehicleResponseDTO result = vehicleService.addMyVehicle("customer@example.com", vehicleRequestDTO);
+        VehicleResponseDTO result = vehicleService.addMyVehicle(AuthenticatedUser.of(testUser), vehicleRequestDTO);
 
         // Then
         assertThat(result).isNotNull();
@@ -158,25 +147,13 @@ class VehicleServiceTest {
         verify(vehicleRepository, times(1)).save(any(Vehicle.class));
     }
 
-    @Test
-    void testAddMyVehicle_UserNotFound() {
-        // Given
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
-        // When & Then
-        assertThatThrownBy(() -> vehicleService.addMyVehicle("nonexistent@example.com", vehicleRequestDTO))
-                .isInstanceOf(UserNotFoundException.class)
-                .hasMessageContaining("User not found");
-    }
-
     @Test
     void testAddMyVehicle_VehicleAlreadyExists() {
         // Given
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.existsByRegistrationNumber("XYZ-789")).thenReturn(true);
 
         // When & Then
-        assertThatThrownBy(() -> vehicleService.addMyVehicle("customer@example.com", vehicleRequestDTO))
+        assertThatThrownBy(() -> vehicleService.addMyVehicle(AuthenticatedUser.of(testUser), vehicleRequestDTO))
                 .isInstanceOf(VehicleAlreadyExistsException.class)
                 .hasMessageContaining("already exists");
     }
@@ -188,12 +165,11 @@ class VehicleServiceTest {
         updateDTO.setMileage(55000);
         updateDTO.setColor("White");
 
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
         when(vehicleRepository.save(any(Vehicle.class))).thenReturn(testVehicle);
 
         // When
-        Vehicle updated = vehicleService.updateMyVehicle("customer@example.com", 1L, updateDTO);
+        Vehicle updated = vehicleService.updateMyVehicle(AuthenticatedUser.of(testUser), 1L, updateDTO);
 
         // Then
         assertThat(updated).isNotNull();
@@ -205,12 +181,11 @@ class VehicleServiceTest {
     @Test
     void testDeleteMyVehicle_Success() {
         // Given
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
         doNothing().when(vehicleRepository).delete(testVehicle);
 
         // When
-        vehicleService.deleteMyVehicle("customer@example.com", 1L);
+        vehicleService.deleteMyVehicle(AuthenticatedUser.of(testUser), 1L);
 
         // Then
         verify(vehicleRepository, times(1)).delete(testVehicle);
@@ -219,11 +194,10 @@ class VehicleServiceTest {
     @Test
     void testDeleteMyVehicle_VehicleNotFound() {
         // Given
-        when(userRepository.findByEmail("customer@example.com")).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> vehicleService.deleteMyVehicle("customer@example.com", 999L))
+        assertThatThrownBy(() -> vehicleService.deleteMyVehicle(AuthenticatedUser.of(testUser), 999L))
                 .isInstanceOf(VehicleNotFoundException.class);
     }
 }
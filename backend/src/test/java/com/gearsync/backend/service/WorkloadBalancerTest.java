@@ -0,0 +1,176 @@
+package com.gearsync.backend.service;
+
+import com.gearsync.backend.dto.EmployeeWorkloadDTO;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.model.ServiceCategory;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadBalancerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WorkloadBalancer workloadBalancer;
+    private LocalDate monday;
+    private final List<Object[]> shifts = new ArrayList<>();
+    private final List<Object[]> skills = new ArrayList<>();
+    private final List<Object[]> assigned = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        SlotAvailability slotAvailability = new SlotAvailability(
+                appointmentRepository, transactionManager, 4, "08:00", "18:00", "SUNDAY", false);
+        workloadBalancer = new WorkloadBalancer(userRepository, appointmentRepository, slotAvailability, transactionManager);
+        monday = LocalDate.now().plusWeeks(1).with(DayOfWeek.MONDAY);
+        when(userRepository.findActiveShiftsByRole(Role.EMPLOYEE)).thenReturn(shifts);
+        when(userRepository.findActiveSkillsByRole(Role.EMPLOYEE)).thenReturn(skills);
+        when(appointmentRepository.findAssignedDurationsFrom(any(), any())).thenReturn(assigned);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testAutoAssign_PicksLeastLoadedEmployee() {
+        // Given
+        employee(1L, null, null, ServiceCategory.values());
+        employee(2L, null, null, ServiceCategory.values());
+        assigned.add(new Object[]{100L, 1L, at(8, 0), 60L});
+
+        // When
+        Long employeeId = workloadBalancer.autoAssign(job(10L, at(10, 0), 30, ServiceCategory.MAINTENANCE));
+
+        // Then
+        assertThat(employeeId).isEqualTo(2L);
+        assertThat(workloadBalancer.workload(monday))
+                .extracting(EmployeeWorkloadDTO::employeeId, EmployeeWorkloadDTO::scheduledMinutes)
+                .containsExactly(tuple(2L, 30), tuple(1L, 60));
+    }
+
+    @Test
+    void testAutoAssign_RespectsSkillsShiftsAndOverlap() {
+        // Given: employee 1 only does maintenance in the morning, employee 2 does anything all day
+        employee(1L, LocalTime.of(8, 0), LocalTime.of(12, 0), ServiceCategory.MAINTENANCE);
+        employee(2L, null, null);
+        assigned.add(new Object[]{100L, 2L, at(13, 0), 60L});
+
+        // When & Then
+        assertThat(workloadBalancer.autoAssign(job(10L, at(9, 0), 30, ServiceCategory.BODYWORK))).isEqualTo(2L);
+        assertThat(workloadBalancer.autoAssign(job(11L, at(13, 30), 30, ServiceCategory.MAINTENANCE))).isNull();
+        assertThat(workloadBalancer.autoAssign(job(12L, at(11, 0), 30, ServiceCategory.MAINTENANCE))).isEqualTo(1L);
+    }
+
+    @Test
+    void testAutoAssignAll_PlacesMostConstrainedJobsFirst() {
+        // Given: only employee 1 can do electrical work; in arrival order they would take the maintenance job
+        employee(1L, null, null, ServiceCategory.ELECTRICAL, ServiceCategory.MAINTENANCE);
+        employee(2L, null, null, ServiceCategory.MAINTENANCE, ServiceCategory.TIRE_SERVICE);
+
+        // When
+        Map<Long, Long> plan = workloadBalancer.autoAssignAll(List.of(
+                job(10L, at(10, 0), 60, ServiceCategory.MAINTENANCE),
+                job(11L, at(10, 0), 60, ServiceCategory.ELECTRICAL),
+                job(12L, at(10, 30), 30, ServiceCategory.BODYWORK)));
+
+        // Then
+        assertThat(plan).containsExactlyInAnyOrderEntriesOf(Map.of(10L, 2L, 11L, 1L));
+    }
+
+    @Test
+    void testAutoAssign_UndoneWhenTransactionRollsBack() {
+        // Given
+        employee(1L, null, null);
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(workloadBalancer.autoAssign(job(10L, at(9, 0), 45, ServiceCategory.REPAIR))).isEqualTo(1L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(workloadBalancer.workload(monday).get(0).scheduledMinutes()).isZero();
+        assertThat(workloadBalancer.reloadOnce(false)).isTrue();
+    }
+
+    @Test
+    void testRelease_FreesEmployeeAfterCommit() {
+        // Given
+        employee(1L, null, null);
+        workloadBalancer.recordAssignment(10L, 1L, at(9, 0), 60);
+        assertThat(workloadBalancer.autoAssign(job(11L, at(9, 30), 30, ServiceCategory.REPAIR))).isNull();
+        TransactionSynchronizationManager.initSynchronization();
+        workloadBalancer.release(10L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        assertThat(workloadBalancer.autoAssign(job(11L, at(9, 30), 30, ServiceCategory.REPAIR))).isEqualTo(1L);
+    }
+
+    @Test
+    void testForgetWorker_StopsPickingEmployeeImmediately() {
+        // Given
+        employee(1L, null, null);
+        employee(2L, null, null);
+        assigned.add(new Object[]{100L, 2L, at(8, 0), 60L});
+
+        // When
+        workloadBalancer.forgetWorker(1L);
+
+        // Then
+        assertThat(workloadBalancer.autoAssign(job(10L, at(10, 0), 30, ServiceCategory.REPAIR))).isEqualTo(2L);
+    }
+
+    private void employee(Long id, LocalTime shiftStart, LocalTime shiftEnd, ServiceCategory... categories) {
+        shifts.add(new Object[]{id, "Employee", String.valueOf(id), shiftStart, shiftEnd});
+        for (ServiceCategory category : categories) {
+            skills.add(new Object[]{id, category});
+        }
+    }
+
+    private WorkloadBalancer.Job job(Long appointmentId, LocalDateTime start, int minutes, ServiceCategory category) {
+        return new WorkloadBalancer.Job(appointmentId, start, minutes, WorkloadBalancer.skillMask(List.of(category)));
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return monday.atTime(hour, minute);
+    }
+}
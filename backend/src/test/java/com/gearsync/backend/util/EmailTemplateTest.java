@@ -0,0 +1,96 @@
+package com.gearsync.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    @Test
+    void testRender_FillsPlaceholdersInParameterOrder() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("greeting",
+                "<p>Hello {{name}}, you owe LKR {{ amount }}. Bye {{name}}!</p>", "amount", "name");
+
+        // When
+        String html = template.render("1500.00", "Nimal");
+
+        // Then
+        assertThat(html).isEqualTo("<p>Hello Nimal, you owe LKR 1500.00. Bye Nimal!</p>");
+    }
+
+    @Test
+    void testRender_EscapesValues() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("greeting", "<a title=\"{{name}}\">{{name}}</a>", "name");
+
+        // When
+        String html = template.render("<script>alert('x')</script> & \"co\"");
+
+        // Then
+        assertThat(html).isEqualTo("<a title=\"&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;co&quot;\">"
+                + "&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;co&quot;</a>");
+    }
+
+    @Test
+    void testRender_NumbersAndNulls() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("footer", "© {{year}} {{company}}", "year", "company");
+
+        // When/Then
+        assertThat(template.render(2026, null)).isEqualTo("© 2026 ");
+    }
+
+    @Test
+    void testBind_FoldsConstantIntoStaticText() {
+        // Given
+        EmailTemplate template = EmailTemplate.compile("welcome",
+                "<h1>{{appName}}</h1><p>Hi {{name}}</p><a href=\"{{appUrl}}/login\">{{appName}}</a>",
+                "appName", "name", "appUrl");
+
+        // When
+        EmailTemplate bound = template.bind("appName", "GearSync & Co").bind("appUrl", "http://localhost:3000");
+
+        // Then
+        assertThat(bound.parameters()).containsExactly("name");
+        assertThat(bound.render("Kamal")).isEqualTo(
+                "<h1>GearSync &amp; Co</h1><p>Hi Kamal</p><a href=\"http://localhost:3000/login\">GearSync &amp; Co</a>");
+    }
+
+    @Test
+    void testCompile_RejectsUnknownPlaceholder() {
+        assertThatThrownBy(() -> EmailTemplate.compile("broken", "Hi {{nmae}}", "name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{{nmae}}");
+        assertThatThrownBy(() -> EmailTemplate.compile("broken", "Hi {{name", "name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unclosed");
+    }
+
+    @Test
+    void testRender_RejectsWrongValueCount() {
+        EmailTemplate template = EmailTemplate.compile("greeting", "Hi {{name}}", "name");
+
+        assertThatThrownBy(() -> template.render("a", "b"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testLoad_BundledTemplatesHaveNoUnknownPlaceholders() {
+        // Given
+        List<String> names = List.of("appointment-confirmation", "employee-welcome", "customer-welcome",
+                "imported-account-welcome", "password-reset-otp", "password-changed", "project-confirmation");
+        String[] parameters = {"appName", "appUrl", "year", "name", "email", "role", "tempPassword", "otp",
+                "changedAt", "customerName", "scheduledAt", "registrationNumber", "finalCost", "projectName",
+                "estimatedCost", "estimatedDuration"};
+
+        // When/Then
+        for (String name : names) {
+            assertThat(EmailTemplate.load(name, parameters).render((Object[]) parameters))
+                    .startsWith("<!DOCTYPE html>")
+                    .doesNotContain("{{");
+        }
+    }
+}
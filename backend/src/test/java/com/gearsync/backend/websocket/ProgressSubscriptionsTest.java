@@ -0,0 +1,161 @@
+package com.gearsync.backend.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearsync.backend.dto.ProgressUpdateDTO;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.security.AuthenticatedUser;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProgressSubscriptionsTest {
+
+    private static final AuthenticatedUser CUSTOMER = new AuthenticatedUser(7L, "customer@example.com", Role.CUSTOMER, true);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ProgressSubscriptions subscriptions;
+
+    @BeforeEach
+    void setUp() {
+        subscriptions = new ProgressSubscriptions(objectMapper, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscriptions.shutdown();
+    }
+
+    @Test
+    void testDispatch_ReachesEntityAndCustomerTopicsOncePerSocket() throws IOException {
+        // Given
+        FakeSocket both = new FakeSocket(true);
+        FakeSocket customerOnly = new FakeSocket(true);
+        FakeSocket otherAppointment = new FakeSocket(true);
+
+        ProgressSubscriber bothSubscriber = subscriptions.register(both.session, CUSTOMER);
+        subscriptions.subscribe(bothSubscriber, "appointment:42");
+        subscriptions.subscribe(bothSubscriber, "customer:7");
+        subscriptions.subscribe(subscriptions.register(customerOnly.session, CUSTOMER), "customer:7");
+        subscriptions.subscribe(subscriptions.register(otherAppointment.session, CUSTOMER), "appointment:43");
+
+        // When
+        subscriptions.dispatch(update("APPOINTMENT", 42L, 7L, 60));
+
+        // Then
+        assertThat(both.sent).hasSize(1);
+        assertThat(customerOnly.sent).hasSize(1);
+        assertThat(otherAppointment.sent).isEmpty();
+        assertThat(objectMapper.readTree(both.sent.get(0)).path("type").asText()).isEqualTo("progress");
+        assertThat(objectMapper.readTree(both.sent.get(0)).path("data").path("progressPercentage").asInt()).isEqualTo(60);
+        assertThat(subscriptions.getDelivered()).isEqualTo(2);
+    }
+
+    @Test
+    void testDispatch_ProjectUpdatesUseProjectTopic() {
+        // Given
+        FakeSocket project = new FakeSocket(true);
+        FakeSocket appointment = new FakeSocket(true);
+        subscriptions.subscribe(subscriptions.register(project.session, CUSTOMER), "project:42");
+        subscriptions.subscribe(subscriptions.register(appointment.session, CUSTOMER), "appointment:42");
+
+        // When
+        subscriptions.dispatch(update("PROJECT", 42L, 8L, 10));
+
+        // Then
+        assertThat(project.sent).hasSize(1);
+        assertThat(appointment.sent).isEmpty();
+    }
+
+    @Test
+    void testDispatch_SlowConsumerIsDroppedWithoutAffectingOthers() throws IOException {
+        // Given: the slow socket never completes a send, so its buffer of 2 fills up
+        FakeSocket slow = new FakeSocket(false);
+        FakeSocket fast = new FakeSocket(true);
+        subscriptions.subscribe(subscriptions.register(slow.session, CUSTOMER), "customer:7");
+        subscriptions.subscribe(subscriptions.register(fast.session, CUSTOMER), "customer:7");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            subscriptions.dispatch(update("APPOINTMENT", 42L, 7L, i * 10));
+        }
+
+        // Then
+        assertThat(fast.sent).hasSize(5);
+        assertThat(subscriptions.getDroppedSubscribers()).isEqualTo(1);
+        assertThat(subscriptions.getSessionCount()).isEqualTo(1);
+        verify(slow.session, timeout(1_000)).close(argThat(reason ->
+                reason.getCloseCode() == CloseReason.CloseCodes.TRY_AGAIN_LATER));
+        verify(fast.session, never()).close(any());
+    }
+
+    @Test
+    void testRemove_StopsDelivery() {
+        // Given
+        FakeSocket socket = new FakeSocket(true);
+        ProgressSubscriber subscriber = subscriptions.register(socket.session, CUSTOMER);
+        subscriptions.subscribe(subscriber, "appointment:42");
+
+        // When
+        subscriptions.remove(socket.session);
+        subscriptions.dispatch(update("APPOINTMENT", 42L, 7L, 50));
+
+        // Then
+        assertThat(socket.sent).isEmpty();
+        assertThat(subscriptions.getSessionCount()).isZero();
+    }
+
+    @Test
+    void testResync_ReachesEverySocket() throws IOException {
+        // Given
+        FakeSocket first = new FakeSocket(true);
+        FakeSocket second = new FakeSocket(true);
+        subscriptions.register(first.session, CUSTOMER);
+        subscriptions.register(second.session, CUSTOMER);
+
+        // When
+        subscriptions.resync();
+
+        // Then
+        assertThat(first.sent).hasSize(1);
+        assertThat(second.sent).hasSize(1);
+        assertThat(objectMapper.readTree(first.sent.get(0)).path("type").asText()).isEqualTo("resync");
+    }
+
+    private static ProgressUpdateDTO update(String type, Long id, Long customerId, int progress) {
+        return new ProgressUpdateDTO(type, id, customerId, "IN_PROGRESS", progress, LocalDateTime.now());
+    }
+
+    // A mocked session whose async sends either complete immediately or never
+    private static final class FakeSocket {
+        private final Session session = mock(Session.class);
+        private final List<String> sent = new ArrayList<>();
+
+        private FakeSocket(boolean completes) {
+            RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+            lenient().when(session.getAsyncRemote()).thenReturn(remote);
+            lenient().when(session.getId()).thenReturn("session-" + System.identityHashCode(this));
+            lenient().doAnswer(invocation -> {
+                sent.add(invocation.getArgument(0));
+                if (completes) {
+                    invocation.<SendHandler>getArgument(1).onResult(new SendResult());
+                }
+                return null;
+            }).when(remote).sendText(anyString(), any(SendHandler.class));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.gearsync.backend.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gearsync.backend.dto.ProgressUpdateDTO;
+import com.gearsync.backend.model.Role;
+import com.gearsync.backend.repository.AppointmentRepository;
+import com.gearsync.backend.repository.ProjectRepository;
+import com.gearsync.backend.security.AuthenticatedUser;
+import com.gearsync.backend.security.JwtClaims;
+import com.gearsync.backend.security.JwtUtil;
+import com.gearsync.backend.security.TokenRevocationList;
+import com.gearsync.backend.security.UserDirectory;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+import jakarta.websocket.WebSocketContainer;
+import jakarta.websocket.server.ServerContainer;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.websocket.server.WsSci;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressWebSocketHandlerTest {
+
+    private static final AuthenticatedUser CUSTOMER = new AuthenticatedUser(7L, "customer@example.com", Role.CUSTOMER, true);
+    private static final AuthenticatedUser EMPLOYEE = new AuthenticatedUser(3L, "employee@example.com", Role.EMPLOYEE, true);
+    private static final AuthenticatedUser ADMIN = new AuthenticatedUser(1L, "admin@example.com", Role.ADMIN, true);
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ProgressSubscriptions subscriptions;
+    private ProgressWebSocketHandler handler;
+    private Tomcat tomcat;
+
+    @BeforeEach
+    void setUp() {
+        subscriptions = new ProgressSubscriptions(objectMapper, 16);
+        handler = new ProgressWebSocketHandler(jwtUtil, tokenRevocationList, userDirectory,
+                appointmentRepository, projectRepository, subscriptions, objectMapper, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (tomcat != null) {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+        subscriptions.shutdown();
+    }
+
+    @Test
+    void testMayWatch_CustomerOnlyOwnAppointmentsAndTopic() {
+        // Given
+        when(appointmentRepository.existsByIdAndCustomerId(42L, 7L)).thenReturn(true);
+        when(appointmentRepository.existsByIdAndCustomerId(43L, 7L)).thenReturn(false);
+
+        // Then
+        assertThat(handler.mayWatch(CUSTOMER, "appointment:42")).isTrue();
+        assertThat(handler.mayWatch(CUSTOMER, "appointment:43")).isFalse();
+        assertThat(handler.mayWatch(CUSTOMER, "customer:7")).isTrue();
+        assertThat(handler.mayWatch(CUSTOMER, "customer:8")).isFalse();
+        assertThat(handler.mayWatch(CUSTOMER, "appointment:abc")).isFalse();
+        assertThat(handler.mayWatch(CUSTOMER, "invoice:1")).isFalse();
+    }
+
+    @Test
+    void testMayWatch_EmployeeOnlyAssignedWorkAndAdminEverything() {
+        // Given
+        when(projectRepository.existsByIdAndAssignedEmployeeId(5L, 3L)).thenReturn(true);
+
+        // Then
+        assertThat(handler.mayWatch(EMPLOYEE, "project:5")).isTrue();
+        assertThat(handler.mayWatch(EMPLOYEE, "customer:7")).isFalse();
+        assertThat(handler.mayWatch(ADMIN, "customer:7")).isTrue();
+        assertThat(handler.mayWatch(ADMIN, "appointment:99")).isTrue();
+        verifyNoInteractions(appointmentRepository);
+    }
+
+    @Test
+    void testAuthenticate_RejectsRevokedAndInactiveUsers() {
+        // Given
+        when(jwtUtil.verify("good")).thenReturn(Optional.of(claims("jti-1", CUSTOMER)));
+        when(jwtUtil.verify("revoked")).thenReturn(Optional.of(claims("jti-2", CUSTOMER)));
+        when(jwtUtil.verify("inactive")).thenReturn(Optional.of(claims("jti-3", EMPLOYEE)));
+        when(tokenRevocationList.isRevoked(anyString())).thenAnswer(invocation -> "jti-2".equals(invocation.getArgument(0)));
+        when(userDirectory.find(CUSTOMER.email())).thenReturn(Optional.of(CUSTOMER));
+        when(userDirectory.find(EMPLOYEE.email()))
+                .thenReturn(Optional.of(new AuthenticatedUser(3L, EMPLOYEE.email(), Role.EMPLOYEE, false)));
+
+        // Then
+        assertThat(handler.authenticate("good")).contains(CUSTOMER);
+        assertThat(handler.authenticate("revoked")).isEmpty();
+        assertThat(handler.authenticate("inactive")).isEmpty();
+    }
+
+    @Test
+    void testSocket_CustomerReceivesOwnProgressAfterSubscribing() throws Exception {
+        // Given
+        when(jwtUtil.verify("good")).thenReturn(Optional.of(claims("jti-1", CUSTOMER)));
+        when(userDirectory.find(CUSTOMER.email())).thenReturn(Optional.of(CUSTOMER));
+        when(appointmentRepository.existsByIdAndCustomerId(42L, 7L)).thenReturn(true);
+        int port = startServer();
+        ClientSocket client = connect(port, "good");
+
+        // When
+        client.session.getBasicRemote().sendText("{\"action\":\"subscribe\",\"topic\":\"appointment:42\"}");
+        JsonNode ack = client.next();
+        client.session.getBasicRemote().sendText("{\"action\":\"subscribe\",\"topic\":\"appointment:43\"}");
+        JsonNode denied = client.next();
+        subscriptions.dispatch(new ProgressUpdateDTO("APPOINTMENT", 42L, 7L, "IN_PROGRESS", 75, LocalDateTime.now()));
+        JsonNode progress = client.next();
+
+        // Then
+        assertThat(ack.path("type").asText()).isEqualTo("subscribed");
+        assertThat(denied.path("type").asText()).isEqualTo("error");
+        assertThat(progress.path("type").asText()).isEqualTo("progress");
+        assertThat(progress.path("data").path("id").asLong()).isEqualTo(42L);
+        assertThat(progress.path("data").path("progressPercentage").asInt()).isEqualTo(75);
+        assertThat(client.next()).isNull();
+        client.session.close();
+    }
+
+    @Test
+    void testSocket_MissingTokenIsClosed() throws Exception {
+        // Given
+        int port = startServer();
+
+        // When
+        ClientSocket client = connect(port, null);
+
+        // Then
+        CloseReason reason = client.closed.get(5, TimeUnit.SECONDS);
+        assertThat(reason.getCloseCode()).isEqualTo(CloseReason.CloseCodes.VIOLATED_POLICY);
+        assertThat(subscriptions.getSessionCount()).isZero();
+    }
+
+    private static JwtClaims claims(String tokenId, AuthenticatedUser user) {
+        return new JwtClaims(tokenId, user.email(), user.role(), user.userId(), Long.MAX_VALUE);
+    }
+
+    private int startServer() throws Exception {
+        File baseDir = Files.createTempDirectory("progress-ws").toFile();
+        baseDir.deleteOnExit();
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.getAbsolutePath());
+        tomcat.setPort(0);
+        Context context = tomcat.addContext("", baseDir.getAbsolutePath());
+        context.addServletContainerInitializer(new WsSci(), null);
+        Tomcat.addServlet(context, "default", new HttpServlet() {
+        });
+        context.addServletMappingDecoded("/", "default");
+        tomcat.getConnector();
+        tomcat.start();
+
+        ServerContainer container = (ServerContainer) context.getServletContext()
+                .getAttribute(ServerContainer.class.getName());
+        container.addEndpoint(handler.endpointConfig());
+        return tomcat.getConnector().getLocalPort();
+    }
+
+    private static ClientSocket connect(int port, String token) throws Exception {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        ClientSocket client = new ClientSocket();
+        String query = token != null ? "?token=" + token : "";
+        client.session = container.connectToServer(client, ClientEndpointConfig.Builder.create().build(),
+                URI.create("ws://localhost:" + port + ProgressWebSocketHandler.PATH + query));
+        return client;
+    }
+
+    private static final class ClientSocket extends Endpoint {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        private final CompletableFuture<CloseReason> closed = new CompletableFuture<>();
+        private Session session;
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+            session.addMessageHandler(String.class, received::add);
+        }
+
+        @Override
+        public void onClose(Session session, CloseReason closeReason) {
+            closed.complete(closeReason);
+        }
+
+        private JsonNode next() throws Exception {
+            String frame = received.poll(2, TimeUnit.SECONDS);
+            return frame != null ? objectMapper.readTree(frame) : null;
+        }
+    }
+}
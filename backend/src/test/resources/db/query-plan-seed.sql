@@ -0,0 +1,70 @@
+-- Realistic spread for the query plan tests. Negative ids never collide with sequence ids,
+-- and the script runs inside a transaction that is rolled back afterwards.
+
+-- 50 employees (-1..-50) and 1000 customers (-51..-1050), one vehicle each
+insert into users (id, is_active, created_at, updated_at, email, first_name, last_name, password, phone_number, role)
+select -g, true, now(), now(), 'plan-' || g || '@example.com', 'Plan', 'User', '!', '0',
+       case when g <= 50 then 'EMPLOYEE' else 'CUSTOMER' end
+from generate_series(1, 1050) g;
+
+insert into vehicles (id, year, created_at, updated_at, owner_id, color, make, model, registration_number)
+select -g, 2020, now(), now(), -g, 'Grey', 'Make', 'Model', 'PLAN-' || g
+from generate_series(51, 1050) g;
+
+-- 80% completed history, a few open appointments per status, 1 in 40 unassigned
+insert into appointments (id, progress_percentage, created_at, updated_at, customer_id, vehicle_id,
+                          scheduled_date_time, scheduled_end_date_time, status, assigned_employee_id)
+select -g, 0, now(), now(), -(51 + g % 1000), -(51 + g % 1000), now() - (g || ' minutes')::interval,
+       now() - (g || ' minutes')::interval + interval '30 seconds',
+       case g % 20
+           when 0 then 'SCHEDULED'
+           when 1 then 'CONFIRMED'
+           when 2 then 'IN_PROGRESS'
+           when 3 then 'CANCELLED'
+           else 'COMPLETED'
+       end,
+       case when g % 40 = 0 then null else -(1 + g % 50) end
+from generate_series(1, 50000) g;
+
+insert into projects (id, estimated_cost, estimated_duration_hours, progress_percentage, created_at, updated_at,
+                      customer_id, vehicle_id, description, project_name, status, assigned_employee_id)
+select -g, 100, 1, 0, now() - (g || ' minutes')::interval, now(), -(51 + g % 1000), -(51 + g % 1000), 'Plan', 'Plan',
+       case g % 10
+           when 0 then 'PENDING'
+           when 1 then 'APPROVED'
+           when 2 then 'IN_PROGRESS'
+           else 'COMPLETED'
+       end,
+       -(1 + g % 50)
+from generate_series(1, 10000) g;
+
+insert into time_logs (id, duration_minutes, created_at, updated_at, employee_id, start_time, end_time, appointment_id)
+select -g, 30, now(), now(), -(1 + g % 50), now() - (g || ' minutes')::interval,
+       now() - (g || ' minutes')::interval + interval '30 minutes', -(1 + g % 50000)
+from generate_series(1, 50000) g;
+
+-- Four progress entries per appointment and two per project
+insert into service_progress (id, progress_percentage, timestamp, updated_by_employee_id, message, status, appointment_id)
+select -g, 50, now() - (g || ' minutes')::interval, -(1 + g % 50), 'Plan', 'IN_PROGRESS', -(1 + g % 50000)
+from generate_series(1, 200000) g;
+
+insert into service_progress (id, progress_percentage, timestamp, updated_by_employee_id, message, status, project_id)
+select -g, 50, now() - (g || ' minutes')::interval, -(1 + g % 50), 'Plan', 'IN_PROGRESS', -(1 + g % 10000)
+from generate_series(200001, 220000) g;
+
+-- Two notes per appointment and three per project
+insert into activity_notes (id, type, body, created_at, author_id, appointment_id)
+select -g, 'EMPLOYEE_NOTE', 'Plan', now() - (g || ' minutes')::interval, -(1 + g % 50), -(1 + g % 50000)
+from generate_series(1, 100000) g;
+
+insert into activity_notes (id, type, body, created_at, author_id, project_id)
+select -g, 'ADMIN_NOTE', 'Plan', now() - (g || ' minutes')::interval, -(1 + g % 50), -(1 + g % 10000)
+from generate_series(100001, 130000) g;
+
+analyze users;
+analyze vehicles;
+analyze appointments;
+analyze projects;
+analyze time_logs;
+analyze service_progress;
+analyze activity_notes;
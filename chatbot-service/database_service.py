@@ -4,8 +4,11 @@ from psycopg2.extras import RealDictCursor
 from psycopg2 import pool
 from typing import List, Dict, Optional
 from datetime import datetime, timedelta
+import json
 import logging
 from contextlib import contextmanager
+from urllib.parse import urlencode
+from urllib.request import urlopen
 
 logger = logging.getLogger(__name__)
 
@@ -47,6 +50,9 @@ class DatabaseService:
         self.db_username = db_username
         self.db_password = db_password
         
+        # Slot availability is answered by the backend rather than by scanning appointments here
+        self.backend_url = os.getenv("BACKEND_URL", "http://localhost:8080").rstrip("/")
+        
         # Create connection pool
         try:
             self.connection_pool = psycopg2.pool.SimpleConnectionPool(
@@ -109,70 +115,22 @@ class DatabaseService:
             logger.error(f"Error fetching service by name: {e}")
             return None
     
-    def get_appointments_by_date_range(self, start_date: datetime, end_date: datetime) -> List[Dict]:
-        """Get appointments within a date range"""
-        try:
-            with self.get_connection() as conn:
-                with conn.cursor(cursor_factory=RealDictCursor) as cur:
-                    cur.execute("""
-                        SELECT a.id, a.scheduled_datetime, a.status, a.customer_id, 
-                               a.vehicle_id, a.assigned_employee_id, a.progress_percentage,
-                               v.make, v.model, v.year,
-                               u.email as customer_email, u.first_name, u.last_name
-                        FROM appointments a
-                        LEFT JOIN vehicles v ON a.vehicle_id = v.id
-                        LEFT JOIN users u ON a.customer_id = u.id
-                        WHERE a.scheduled_datetime BETWEEN %s AND %s
-                        AND a.status NOT IN ('CANCELLED', 'COMPLETED', 'NO_SHOW')
-                        ORDER BY a.scheduled_datetime
-                    """, (start_date, end_date))
-                    return cur.fetchall()
-        except Exception as e:
-            logger.error(f"Error fetching appointments: {e}")
-            return []
-    
     def get_available_slots(self, date: datetime, service_duration_minutes: int = 60) -> List[Dict]:
         """
-        Get available appointment slots for a specific date
-        Business hours: 8 AM - 6 PM, Monday to Saturday
-        Slot duration: 30 minutes
+        Get available appointment slots for a specific date from the backend, which keeps bay
+        occupancy in memory and knows every booking's real duration
         """
         try:
-            # Define business hours
-            start_time = date.replace(hour=8, minute=0, second=0, microsecond=0)
-            end_time = date.replace(hour=18, minute=0, second=0, microsecond=0)
-            
-            # Get existing appointments for the date
-            existing_appointments = self.get_appointments_by_date_range(start_time, end_time)
-            
-            # Create all possible slots (every 30 minutes)
+            availability = self._fetch_availability(date, service_duration_minutes)
             slots = []
-            current_time = start_time
-            slot_duration = timedelta(minutes=30)
-            
-            while current_time + timedelta(minutes=service_duration_minutes) <= end_time:
-                # Check if this slot conflicts with existing appointments
-                slot_end = current_time + timedelta(minutes=service_duration_minutes)
-                is_available = True
-                
-                for apt in existing_appointments:
-                    apt_start = apt['scheduled_datetime']
-                    apt_end = apt_start + timedelta(minutes=service_duration_minutes)  # Assume same duration
-                    
-                    # Check for overlap
-                    if not (slot_end <= apt_start or current_time >= apt_end):
-                        is_available = False
-                        break
-                
-                if is_available:
-                    slots.append({
-                        'start_time': current_time.isoformat(),
-                        'end_time': slot_end.isoformat(),
-                        'formatted_time': current_time.strftime("%I:%M %p")
-                    })
-                
-                current_time += slot_duration
-            
+            for slot in availability.get('slots', []):
+                start_time = datetime.fromisoformat(slot['start'])
+                slots.append({
+                    'start_time': start_time.isoformat(),
+                    'end_time': datetime.fromisoformat(slot['end']).isoformat(),
+                    'formatted_time': start_time.strftime("%I:%M %p"),
+                    'free_bays': slot.get('freeBays')
+                })
             return slots
         except Exception as e:
             logger.error(f"Error getting available slots: {e}")
@@ -222,26 +180,21 @@ class DatabaseService:
             if requested_time.tzinfo:
                 requested_time = requested_time.replace(tzinfo=None)
             
-            slot_end = requested_time + timedelta(minutes=service_duration_minutes)
-            
-            # Get appointments for the same day
-            start_date = requested_time.replace(hour=0, minute=0, second=0, microsecond=0)
-            end_date = requested_time.replace(hour=23, minute=59, second=59, microsecond=0)
-            
-            existing_appointments = self.get_appointments_by_date_range(start_date, end_date)
-            
-            for apt in existing_appointments:
-                apt_start = apt['scheduled_datetime']
-                apt_end = apt_start + timedelta(minutes=service_duration_minutes)
-                
-                # Check for overlap
-                if not (slot_end <= apt_start or requested_time >= apt_end):
-                    return False
-            
-            return True
+            availability = self._fetch_availability(requested_time, service_duration_minutes)
+            return any(datetime.fromisoformat(slot['start']) == requested_time
+                       for slot in availability.get('slots', []))
         except Exception as e:
             logger.error(f"Error checking slot availability: {e}")
             return False
+    
+    def _fetch_availability(self, date: datetime, service_duration_minutes: int) -> Dict:
+        """Call GET /api/service/availability on the backend"""
+        query = urlencode({
+            'date': date.date().isoformat(),
+            'durationMinutes': max(service_duration_minutes, 1)
+        })
+        with urlopen(f"{self.backend_url}/api/service/availability?{query}", timeout=5) as response:
+            return json.load(response)
 
 # Singleton instance
 _db_service = None
@@ -1,5 +1,5 @@
 // src/api/admin.ts
-import api from "./auth";
+import api, { renewAccessToken } from "./auth";
 
 export interface EmployeeRegisterPayload {
   email: string;
@@ -110,6 +110,20 @@ export interface AdminCustomerWithVehiclesDTO {
 }
 
 // Dashboard API Calls
+export interface DashboardSnapshot {
+  userCount: number;
+  appointmentCount: number;
+  vehicleCount: number;
+  totalEarnings: number;
+  activeServiceCount: number;
+}
+
+// All counters from one request (and one query on the server)
+export const getDashboardSnapshot = async (): Promise<DashboardSnapshot> => {
+  const res = await api.get<DashboardSnapshot>("admin/dashboard/snapshot");
+  return res.data;
+};
+
 export const getDashboardUserCount = async (): Promise<number> => {
   const res = await api.get("admin/dashboard/user/count");
   return res.data;
@@ -145,6 +159,65 @@ export const getDashboardTodayAppointments = async (): Promise<any[]> => {
   return Array.isArray(res.data) ? res.data : [];
 };
 
+// Keys carried by the dashboard stream; a delta holds only the ones that changed
+export interface DashboardStreamValues {
+  userCount?: number;
+  appointmentCount?: number;
+  vehicleCount?: number;
+  totalEarnings?: number;
+  activeServices?: number;
+  confirmedAppointments?: any[];
+  todayAppointments?: any[];
+}
+
+const STREAM_RETRY_MS = 5000;
+
+/**
+ * Subscribes to the admin dashboard stream. Both event kinds go to onValues: "snapshot" carries
+ * every key (on first connect or when missed deltas can't be replayed), "delta" only changed ones.
+ * EventSource can't send headers, so the token rides in ?token=; when the server closes the stream
+ * (expired token) it is reopened with a renewed one. Returns a function that closes the stream.
+ */
+export const openDashboardStream = (
+  onValues: (values: DashboardStreamValues) => void
+): (() => void) => {
+  let source: EventSource | null = null;
+  let retry: ReturnType<typeof setTimeout> | undefined;
+  let closed = false;
+
+  const handle = (event: MessageEvent) => {
+    try {
+      onValues(JSON.parse(event.data));
+    } catch (err) {
+      console.error("Bad dashboard stream event:", err);
+    }
+  };
+
+  const connect = (token: string | null) => {
+    if (closed || !token) return;
+    source = new EventSource(
+      `${api.defaults.baseURL}/admin/dashboard/stream?token=${encodeURIComponent(token)}`
+    );
+    source.addEventListener("snapshot", handle as EventListener);
+    source.addEventListener("delta", handle as EventListener);
+    source.onerror = () => {
+      // Network drops are retried by EventSource itself; a refused stream ends up CLOSED
+      if (source?.readyState === EventSource.CLOSED) {
+        source = null;
+        retry = setTimeout(() => renewAccessToken().then(connect), STREAM_RETRY_MS);
+      }
+    };
+  };
+
+  connect(localStorage.getItem("token"));
+
+  return () => {
+    closed = true;
+    clearTimeout(retry);
+    source?.close();
+  };
+};
+
 // Customer Management Functions
 export const listCustomersWithVehicles = async (): Promise<AdminCustomerWithVehiclesDTO[]> => {
   const res = await api.get<AdminCustomerWithVehiclesDTO[]>("admin/customers");
@@ -188,30 +261,14 @@ export interface ServiceCategoryData {
 
 // Get all dashboard stats in one call
 export const getAllDashboardStats = async (): Promise<DashboardStats> => {
-  const [
-    userCount,
-    appointmentCount,
-    vehicleCount,
-    totalEarnings,
-    activeServiceCount,
-    confirmedAppointments,
-    todayAppointments
-  ] = await Promise.all([
-    getDashboardUserCount(),
-    getDashboardAppointmentCount(),
-    getDashboardVehicleCount(),
-    getDashboardTotalEarnings(),
-    getDashboardActiveServiceCount(),
+  const [snapshot, confirmedAppointments, todayAppointments] = await Promise.all([
+    getDashboardSnapshot(),
     getDashboardConfirmedAppointments(),
     getDashboardTodayAppointments()
   ]);
 
   return {
-    userCount,
-    appointmentCount,
-    vehicleCount,
-    totalEarnings,
-    activeServiceCount,
+    ...snapshot,
     confirmedAppointments,
     todayAppointments
   };
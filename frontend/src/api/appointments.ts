@@ -112,11 +112,40 @@ export const deleteMyAppointment = async (id: number) => {
   await api.delete(`customer/appointments/${id}`);
 };
 
-/** GET all appointments for admin (you need this endpoint in your backend) */
+export interface AppointmentPageParams {
+  status?: string;
+  employeeId?: number;
+  customerId?: number;
+  from?: string;
+  to?: string;
+  cursor?: string;
+  limit?: number;
+}
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+/** GET one keyset page of admin appointments, newest first */
+export const listAppointmentsPage = async (
+  params: AppointmentPageParams = {}
+): Promise<CursorPage<AdminAppointmentDTO>> => {
+  const res = await api.get<CursorPage<AdminAppointmentDTO>>("admin/appointments", { params });
+  return res.data;
+};
+
+/** GET all appointments for admin by walking the cursor pages */
 export const listAllAppointments = async (): Promise<AdminAppointmentDTO[]> => {
-  const res = await api.get<AdminAppointmentDTO[]>("admin/appointments");
-  const data = res.data;
-  return Array.isArray(data) ? data : [];
+  const all: AdminAppointmentDTO[] = [];
+  let cursor: string | undefined;
+  do {
+    const page = await listAppointmentsPage({ cursor, limit: 200 });
+    all.push(...(page.items ?? []));
+    cursor = page.hasMore && page.nextCursor ? page.nextCursor : undefined;
+  } while (cursor);
+  return all;
 };
 
 export interface AssignAppointmentPayload {
@@ -32,6 +32,7 @@ api.interceptors.request.use((config) => {
     "/auth/forgot-password",
     "/auth/verify-otp",
     "/auth/reset-password",
+    "/auth/refresh",
     "/auth/test",
   ];
   
@@ -45,6 +46,30 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Access tokens are short-lived: concurrent 401s share one refresh call
+let pendingRefresh: Promise<string | null> | null = null;
+
+export const renewAccessToken = (): Promise<string | null> => {
+  const stored = localStorage.getItem("refreshToken");
+  if (!stored) {
+    return Promise.resolve(null);
+  }
+  if (!pendingRefresh) {
+    pendingRefresh = axios
+      .post<RefreshTokenResponse>(`${API_URL}/api/auth/refresh`, { refreshToken: stored })
+      .then((res) => {
+        localStorage.setItem("token", res.data.token);
+        localStorage.setItem("refreshToken", res.data.refreshToken);
+        return res.data.token;
+      })
+      .catch(() => null)
+      .finally(() => {
+        pendingRefresh = null;
+      });
+  }
+  return pendingRefresh;
+};
+
 // Response interceptor to handle token refresh on 401 and 403 for public endpoints
 api.interceptors.response.use(
   (response) => response,
@@ -52,9 +77,19 @@ api.interceptors.response.use(
     const url = error.config?.url || "";
     const status = error.response?.status;
     
+    if (status === 401 && error.config && !error.config._retried && !url.includes("/auth/")) {
+      const token = await renewAccessToken();
+      if (token) {
+        error.config._retried = true;
+        error.config.headers.Authorization = `Bearer ${token}`;
+        return api.request(error.config);
+      }
+    }
+
     if (status === 401) {
       // Token expired or invalid - clear auth and redirect to login
       localStorage.removeItem("token");
+      localStorage.removeItem("refreshToken");
       localStorage.removeItem("role");
       localStorage.removeItem("isFirstLogin");
       // Only redirect if not already on login/register pages
@@ -126,6 +161,7 @@ export interface ResetPasswordRequest {
 
 export interface LoginResponse {
   token: string;
+  refreshToken: string;
   role: "CUSTOMER" | "EMPLOYEE" | "ADMIN";
   isFirstLogin: boolean;
 }
@@ -144,6 +180,7 @@ export interface UserDto {
 
 export interface RefreshTokenResponse {
   token: string;
+  refreshToken: string;
 }
 
 export interface LogoutResponse {
@@ -186,6 +223,7 @@ export const register = async (data: RegisterRequest) => {
  */
 export const login = async (data: LoginRequest): Promise<LoginResponse> => {
   const res = await api.post<LoginResponse>("/auth/login", data);
+  localStorage.setItem("refreshToken", res.data.refreshToken);
   return res.data;
 };
 
@@ -199,19 +237,25 @@ export const getCurrentUser = async (): Promise<UserDto> => {
 };
 
 /**
- * Refresh JWT token
- * Requires authentication
+ * Exchange the stored refresh token for a new access token; the refresh token is rotated
  */
 export const refreshToken = async (): Promise<RefreshTokenResponse> => {
-  const res = await api.post<RefreshTokenResponse>("/auth/refresh", {});
+  const res = await api.post<RefreshTokenResponse>("/auth/refresh", {
+    refreshToken: localStorage.getItem("refreshToken"),
+  });
+  localStorage.setItem("token", res.data.token);
+  localStorage.setItem("refreshToken", res.data.refreshToken);
   return res.data;
 };
 
 /**
- * Logout (clears session on server if needed)
+ * Logout - revokes the current access token and refresh token on the server
  */
 export const logout = async (): Promise<LogoutResponse> => {
-  const res = await api.post<LogoutResponse>("/auth/logout", {});
+  const res = await api.post<LogoutResponse>("/auth/logout", {
+    refreshToken: localStorage.getItem("refreshToken"),
+  });
+  localStorage.removeItem("refreshToken");
   return res.data;
 };
 
@@ -40,21 +40,24 @@ export const getUpcomingAppointments = async (): Promise<MyAppointmentDTO[]> =>
   return res.data;
 };
 
+interface CustomerDashboardSnapshot {
+  appointmentCount: number;
+  activeAppointmentCount: number;
+  completedServicesCount: number;
+  vehicleCount: number;
+  totalSpent: number;
+}
+
+// All counters from one request (and one query on the server)
 export const getAllDashboardStats = async (): Promise<DashboardStats> => {
-  const [totalAppointments, activeAppointments, completedServices, totalVehicles, totalSpent] =
-    await Promise.all([
-      getMyAppointmentCount(),
-      getActiveAppointmentCount(),
-      getCompletedServicesCount(),
-      getMyVehicleCount(),
-      getTotalSpent(),
-    ]);
+  const res = await api.get<CustomerDashboardSnapshot>("customer/dashboard/snapshot");
+  const snapshot = res.data;
 
   return {
-    totalAppointments,
-    activeAppointments,
-    completedServices,
-    totalVehicles,
-    totalSpent,
+    totalAppointments: snapshot.appointmentCount,
+    activeAppointments: snapshot.activeAppointmentCount,
+    completedServices: snapshot.completedServicesCount,
+    totalVehicles: snapshot.vehicleCount,
+    totalSpent: snapshot.totalSpent,
   };
 };
@@ -22,16 +22,20 @@ export const getOngoingAppointmentCount = async (): Promise<number> => {
   return res.data;
 };
 
+interface EmployeeDashboardSnapshot {
+  assignedAppointmentCount: number;
+  completedAppointmentCount: number;
+  inProgressAppointmentCount: number;
+}
+
+// All counters from one request (and one query on the server)
 export const getAllEmployeeDashboardStats = async (): Promise<EmployeeDashboardStats> => {
-  const [assignedAppointments, completedAppointments, ongoingAppointments] = await Promise.all([
-    getAssignedAppointmentCount(),
-    getCompletedAppointmentCount(),
-    getOngoingAppointmentCount(),
-  ]);
+  const res = await api.get<EmployeeDashboardSnapshot>("employee/dashboard/snapshot");
+  const snapshot = res.data;
 
   return {
-    assignedAppointments,
-    completedAppointments,
-    ongoingAppointments,
+    assignedAppointments: snapshot.assignedAppointmentCount,
+    completedAppointments: snapshot.completedAppointmentCount,
+    ongoingAppointments: snapshot.inProgressAppointmentCount,
   };
 };
@@ -1,5 +1,6 @@
 // src/api/projects.ts
 import api from "./auth";
+import { CursorPage } from "./appointments";
 
 /** Matches backend ProjectRequestDTO */
 export interface ProjectRequest {
@@ -204,4 +205,32 @@ export const rejectProject = async (
 ): Promise<AdminProjectDTO> => {
   const res = await api.put<AdminProjectDTO>(`admin/projects/${projectId}/reject`, payload);
   return res.data;
-};
\ No newline at end of file
+};
+
+/** ---- Activity notes (approvals, rejections, assignments, customer and employee notes) ---- */
+
+/** Mirrors ActivityNoteDTO */
+export interface ActivityNoteDTO {
+  id: number;
+  type: string;
+  body: string;
+  authorName?: string | null;
+  authorRole?: string | null;
+  createdAt: string;
+}
+
+/** Which of the project controllers to ask; each checks that the caller may see the project */
+export type NotesScope = "customer" | "admin" | "employee";
+
+/** GET one keyset page of a project's notes, newest first */
+export const listProjectNotes = async (
+  scope: NotesScope,
+  projectId: number,
+  cursor?: string,
+  limit = 20
+): Promise<CursorPage<ActivityNoteDTO>> => {
+  const res = await api.get<CursorPage<ActivityNoteDTO>>(`${scope}/projects/${projectId}/notes`, {
+    params: { cursor, limit },
+  });
+  return res.data;
+};
@@ -0,0 +1,114 @@
+import React, { useState } from "react";
+import { ChevronDown, ChevronUp, MessageSquare } from "lucide-react";
+import { ActivityNoteDTO, listProjectNotes, NotesScope } from "../../api/projects";
+
+/**
+ * ProjectNotes — collapsible history of a project's activity notes
+ * - Nothing is fetched until the panel is first opened
+ * - Pages through the notes endpoint with "Load older"
+ */
+
+const TYPE_LABELS: Record<string, string> = {
+  APPROVAL: "Approved",
+  REJECTION: "Rejected",
+  ASSIGNMENT: "Assigned",
+  ADMIN_NOTE: "Admin note",
+  CUSTOMER_NOTE: "Customer note",
+  EMPLOYEE_NOTE: "Technician note",
+};
+
+const TYPE_CHIPS: Record<string, string> = {
+  APPROVAL: "bg-emerald-500/15 ring-emerald-400/30 text-emerald-200",
+  REJECTION: "bg-rose-500/15 ring-rose-400/30 text-rose-200",
+  ASSIGNMENT: "bg-cyan-500/15 ring-cyan-400/30 text-cyan-200",
+};
+
+interface ProjectNotesProps {
+  scope: NotesScope;
+  projectId: number;
+}
+
+const ProjectNotes: React.FC<ProjectNotesProps> = ({ scope, projectId }) => {
+  const [open, setOpen] = useState(false);
+  const [loaded, setLoaded] = useState(false);
+  const [loading, setLoading] = useState(false);
+  const [error, setError] = useState<string | null>(null);
+  const [notes, setNotes] = useState<ActivityNoteDTO[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+
+  const load = async (cursor?: string) => {
+    try {
+      setLoading(true);
+      setError(null);
+      const page = await listProjectNotes(scope, projectId, cursor);
+      setNotes((prev) => (cursor ? [...prev, ...(page.items ?? [])] : page.items ?? []));
+      setNextCursor(page.hasMore ? page.nextCursor : null);
+      setLoaded(true);
+    } catch (e: any) {
+      setError(e?.response?.data || "Failed to load notes");
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  const toggle = () => {
+    if (!open && !loaded && !loading) {
+      load();
+    }
+    setOpen((o) => !o);
+  };
+
+  return (
+    <div className="mt-3">
+      <button
+        type="button"
+        onClick={toggle}
+        className="inline-flex items-center gap-1.5 text-xs text-slate-300 hover:text-white"
+      >
+        <MessageSquare className="w-3.5 h-3.5" />
+        Notes & history
+        {open ? <ChevronUp className="w-3.5 h-3.5" /> : <ChevronDown className="w-3.5 h-3.5" />}
+      </button>
+
+      {open && (
+        <div className="mt-2 rounded-xl bg-white/5 ring-1 ring-white/10 p-3 space-y-3">
+          {error && <div className="text-xs text-rose-200">{error}</div>}
+          {loaded && notes.length === 0 && !error && (
+            <div className="text-xs text-slate-400">No notes yet</div>
+          )}
+          {notes.map((n) => (
+            <div key={n.id} className="text-sm">
+              <div className="flex items-center gap-2 flex-wrap text-xs text-slate-400">
+                <span
+                  className={`px-2 py-0.5 rounded-full ring-1 ${
+                    TYPE_CHIPS[n.type] || "bg-white/10 ring-white/10 text-slate-200"
+                  }`}
+                >
+                  {TYPE_LABELS[n.type] || n.type}
+                </span>
+                {n.authorName && <span>{n.authorName}</span>}
+                <span>• {new Date(n.createdAt).toLocaleString()}</span>
+              </div>
+              <p className="mt-1 text-slate-200 whitespace-pre-line">{n.body}</p>
+            </div>
+          ))}
+          {loading ? (
+            <div className="text-xs text-slate-400">Loading notes…</div>
+          ) : (
+            nextCursor && (
+              <button
+                type="button"
+                onClick={() => load(nextCursor)}
+                className="text-xs text-cyan-300 hover:text-cyan-200"
+              >
+                Load older notes
+              </button>
+            )
+          )}
+        </div>
+      )}
+    </div>
+  );
+};
+
+export default ProjectNotes;
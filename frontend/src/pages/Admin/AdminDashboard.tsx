@@ -1,4 +1,4 @@
-import React, { useContext, useEffect, useMemo, useState } from "react";
+import React, { useContext, useEffect, useMemo, useRef, useState } from "react";
 import { AuthContext } from "../../context/AuthContext";
 import { useNavigate } from "react-router-dom";
 import {
@@ -12,13 +12,10 @@ import {
   Loader2,
 } from "lucide-react";
 import {
-  getDashboardUserCount,
-  getDashboardAppointmentCount,
-  getDashboardVehicleCount,
-  getDashboardTotalEarnings,
-  getDashboardActiveServiceCount,
+  getDashboardSnapshot,
   getDashboardConfirmedAppointments,
   getDashboardTodayAppointments,
+  openDashboardStream,
 } from "../../api/admin";
 import { motion } from "framer-motion";
 import {
@@ -59,6 +56,9 @@ const AdminDashboard: React.FC = () => {
     todayAppointmentsCount: 0,
   });
 
+  // Set once the stream has delivered; a slower initial fetch must not overwrite its numbers
+  const streamed = useRef(false);
+
   // --- Local demo series (replace with API series when available) ---
   const [range, setRange] = useState<7 | 30>(7);
 
@@ -66,34 +66,10 @@ const AdminDashboard: React.FC = () => {
     (async () => {
       try {
         setLoading(true);
-        const [
-          userCount,
-          appointmentCount,
-          vehicleCount,
-          totalEarnings,
-          activeServiceCount,
-          confirmedAppointments,
-          todayAppointments,
-        ] = await Promise.all([
-          getDashboardUserCount().catch((err) => {
-            console.error("Error fetching user count:", err);
-            return 0;
-          }),
-          getDashboardAppointmentCount().catch((err) => {
-            console.error("Error fetching appointment count:", err);
-            return 0;
-          }),
-          getDashboardVehicleCount().catch((err) => {
-            console.error("Error fetching vehicle count:", err);
-            return 0;
-          }),
-          getDashboardTotalEarnings().catch((err) => {
-            console.error("Error fetching total earnings:", err);
-            return 0;
-          }),
-          getDashboardActiveServiceCount().catch((err) => {
-            console.error("Error fetching active service count:", err);
-            return 0;
+        const [snapshot, confirmedAppointments, todayAppointments] = await Promise.all([
+          getDashboardSnapshot().catch((err) => {
+            console.error("Error fetching dashboard counters:", err);
+            return null;
           }),
           getDashboardConfirmedAppointments().catch((err) => {
             console.error("Error fetching confirmed appointments:", err);
@@ -105,22 +81,13 @@ const AdminDashboard: React.FC = () => {
           }),
         ]);
 
-        console.log("Dashboard data received:", {
-          userCount,
-          appointmentCount,
-          vehicleCount,
-          totalEarnings,
-          activeServiceCount,
-          confirmedAppointments,
-          todayAppointments,
-        });
-
+        if (streamed.current) return;
         setStats({
-          userCount: Number(userCount) || 0,
-          appointmentCount: Number(appointmentCount) || 0,
-          vehicleCount: Number(vehicleCount) || 0,
-          totalEarnings: Number(totalEarnings) || 0,
-          activeServiceCount: Number(activeServiceCount) || 0,
+          userCount: Number(snapshot?.userCount) || 0,
+          appointmentCount: Number(snapshot?.appointmentCount) || 0,
+          vehicleCount: Number(snapshot?.vehicleCount) || 0,
+          totalEarnings: Number(snapshot?.totalEarnings) || 0,
+          activeServiceCount: Number(snapshot?.activeServiceCount) || 0,
           confirmedAppointmentsCount: (confirmedAppointments as any[])?.length || 0,
           todayAppointmentsCount: (todayAppointments as any[])?.length || 0,
         });
@@ -132,6 +99,29 @@ const AdminDashboard: React.FC = () => {
     })();
   }, []);
 
+  // Live updates: the fetch above paints the first numbers, the stream keeps them current
+  useEffect(
+    () =>
+      openDashboardStream((values) => {
+        streamed.current = true;
+        setStats((prev) => ({
+          ...prev,
+          ...(values.userCount !== undefined && { userCount: Number(values.userCount) || 0 }),
+          ...(values.appointmentCount !== undefined && { appointmentCount: Number(values.appointmentCount) || 0 }),
+          ...(values.vehicleCount !== undefined && { vehicleCount: Number(values.vehicleCount) || 0 }),
+          ...(values.totalEarnings !== undefined && { totalEarnings: Number(values.totalEarnings) || 0 }),
+          ...(values.activeServices !== undefined && { activeServiceCount: Number(values.activeServices) || 0 }),
+          ...(values.confirmedAppointments !== undefined && {
+            confirmedAppointmentsCount: values.confirmedAppointments?.length || 0,
+          }),
+          ...(values.todayAppointments !== undefined && {
+            todayAppointmentsCount: values.todayAppointments?.length || 0,
+          }),
+        }));
+      }),
+    []
+  );
+
   const nf = useMemo(() => new Intl.NumberFormat(undefined, { maximumFractionDigits: 0 }), []);
   const cf = useMemo(() => new Intl.NumberFormat(undefined, { style: "currency", currency: "USD" }), []);
 
@@ -1,5 +1,5 @@
 // src/pages/Admin/AppointmentsManagement.tsx
-import React, { useEffect, useMemo, useState } from "react";
+import React, { useCallback, useEffect, useMemo, useRef, useState } from "react";
 import {
   Calendar,
   Search,
@@ -12,13 +12,20 @@ import {
   ShieldCheck,
 } from "lucide-react";
 import {
-  listAllAppointments,
+  listAppointmentsPage,
+  AppointmentPageParams,
   AdminAppointmentDTO,
   assignAppointment,
   reassignAppointment,
   unassignAppointment,
 } from "../../api/appointments";
-import { listEmployees, EmployeeLite } from "../../api/admin";
+import {
+  listEmployees,
+  EmployeeLite,
+  listCustomersWithVehicles,
+  AdminCustomerWithVehiclesDTO,
+  getDashboardAppointmentCount,
+} from "../../api/admin";
 import { motion } from "framer-motion";
 
 /** ---- UI TOKENS (match Home) ---- */
@@ -34,6 +41,16 @@ const MUTED = "text-slate-300/90";
 
 type AssignMode = "assign" | "reassign";
 
+const PAGE_SIZE = 50;
+
+// The server filters on [from, to), so a "to" day covers up to the start of the next one
+const nextDay = (date: string) => {
+  const d = new Date(`${date}T00:00:00`);
+  d.setDate(d.getDate() + 1);
+  const pad = (n: number) => String(n).padStart(2, "0");
+  return `${d.getFullYear()}-${pad(d.getMonth() + 1)}-${pad(d.getDate())}T00:00:00`;
+};
+
 const badgeFor = (status: string) => {
   const map: Record<
     string,
@@ -54,13 +71,25 @@ const badgeFor = (status: string) => {
 
 const AppointmentsManagement: React.FC = () => {
   const [appointments, setAppointments] = useState<AdminAppointmentDTO[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [totalCount, setTotalCount] = useState<number | null>(null);
   const [employees, setEmployees] = useState<EmployeeLite[]>([]);
+  const [customers, setCustomers] = useState<AdminCustomerWithVehiclesDTO[]>([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [empLoading, setEmpLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
+  // Status, employee, customer and dates are filtered by the server; the search box only narrows the loaded rows
   const [searchTerm, setSearchTerm] = useState("");
   const [statusFilter, setStatusFilter] = useState<string>("ALL");
+  const [employeeFilter, setEmployeeFilter] = useState<number | "">("");
+  const [customerFilter, setCustomerFilter] = useState<number | "">("");
+  const [fromDate, setFromDate] = useState("");
+  const [toDate, setToDate] = useState("");
+
+  // Guards against a slow response for old filters overwriting the list for new ones
+  const requestSeq = useRef(0);
 
   // Assign modal state
   const [showAssign, setShowAssign] = useState(false);
@@ -73,19 +102,67 @@ const AppointmentsManagement: React.FC = () => {
   const [submitting, setSubmitting] = useState(false);
   const [submitErr, setSubmitErr] = useState<string | null>(null);
 
-  // Load appointments
+  const pageParams = useMemo((): AppointmentPageParams => ({
+    status: statusFilter === "ALL" ? undefined : statusFilter,
+    employeeId: employeeFilter === "" ? undefined : employeeFilter,
+    customerId: customerFilter === "" ? undefined : customerFilter,
+    from: fromDate ? `${fromDate}T00:00:00` : undefined,
+    to: toDate ? nextDay(toDate) : undefined,
+    limit: PAGE_SIZE,
+  }), [statusFilter, employeeFilter, customerFilter, fromDate, toDate]);
+
+  // Load the first page for the current filters
+  const loadFirstPage = useCallback(async () => {
+    const seq = ++requestSeq.current;
+    try {
+      setLoading(true);
+      setError(null);
+      const page = await listAppointmentsPage(pageParams);
+      if (seq !== requestSeq.current) return;
+      setAppointments(page.items ?? []);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
+    } catch (e: any) {
+      if (seq !== requestSeq.current) return;
+      setAppointments([]);
+      setNextCursor(null);
+      setError(e?.response?.data || "Failed to load appointments");
+    } finally {
+      if (seq === requestSeq.current) setLoading(false);
+    }
+  }, [pageParams]);
+
   useEffect(() => {
-    (async () => {
-      try {
-        setLoading(true);
-        const data = await listAllAppointments();
-        setAppointments(data);
-      } catch (e: any) {
-        setError(e?.response?.data || "Failed to load appointments");
-      } finally {
-        setLoading(false);
-      }
-    })();
+    loadFirstPage();
+  }, [loadFirstPage]);
+
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    const seq = requestSeq.current;
+    try {
+      setLoadingMore(true);
+      const page = await listAppointmentsPage({ ...pageParams, cursor: nextCursor });
+      if (seq !== requestSeq.current) return;
+      setAppointments((prev) => [...prev, ...(page.items ?? [])]);
+      setNextCursor(page.hasMore ? page.nextCursor : null);
+    } catch (e: any) {
+      alert(e?.response?.data || "Failed to load more appointments");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Total across all pages comes from the dashboard counter, not from the loaded rows
+  useEffect(() => {
+    getDashboardAppointmentCount()
+      .then(setTotalCount)
+      .catch(() => setTotalCount(null));
+  }, []);
+
+  // Load customers for the filter
+  useEffect(() => {
+    listCustomersWithVehicles()
+      .then(setCustomers)
+      .catch(() => setCustomers([]));
   }, []);
 
   // Load employees
@@ -106,7 +183,6 @@ const AppointmentsManagement: React.FC = () => {
   const filtered = useMemo(() => {
     const search = searchTerm.trim().toLowerCase();
     return appointments.filter((a) => {
-      const matchStatus = statusFilter === "ALL" || a.status === statusFilter;
       const summary = [
         a.customerName,
         a.customerEmail,
@@ -117,17 +193,16 @@ const AppointmentsManagement: React.FC = () => {
         .filter(Boolean)
         .join(" ")
         .toLowerCase();
-      const matchSearch = !search || summary.includes(search);
-      return matchStatus && matchSearch;
+      return !search || summary.includes(search);
     });
-  }, [appointments, statusFilter, searchTerm]);
+  }, [appointments, searchTerm]);
 
+  // Status tiles count the loaded rows; only the total is known for the whole table
   const stats = useMemo(() => {
-    const total = appointments.length;
     const byStatus = (s: string) => appointments.filter((a) => a.status === s).length;
     return {
-      total,
-      pending: byStatus("PENDING") + byStatus("SCHEDULED"),
+      total: totalCount ?? appointments.length,
+      pending: byStatus("SCHEDULED"),
       inProgress: byStatus("IN_PROGRESS"),
       completed: byStatus("COMPLETED"),
     };
@@ -172,8 +247,7 @@ const AppointmentsManagement: React.FC = () => {
       } else {
         await reassignAppointment(targetAppointment.id, payload);
       }
-      const refreshed = await listAllAppointments();
-      setAppointments(refreshed);
+      await loadFirstPage();
       closeAssign();
     } catch (e: any) {
       setSubmitErr(e?.response?.data || "Failed to submit assignment");
@@ -186,8 +260,7 @@ const AppointmentsManagement: React.FC = () => {
     if (!confirm("Unassign the employee from this appointment?")) return;
     try {
       await unassignAppointment(a.id);
-      const refreshed = await listAllAppointments();
-      setAppointments(refreshed);
+      await loadFirstPage();
     } catch (e: any) {
       alert(e?.response?.data || "Failed to unassign");
     }
@@ -262,6 +335,9 @@ const AppointmentsManagement: React.FC = () => {
             </motion.div>
           ))}
         </section>
+        <p className={`${MUTED} text-xs -mt-3`}>
+          Pending, In Progress and Completed count the appointments loaded below.
+        </p>
 
         {/* Filters */}
         <section className={`${CARD} p-6`}>
@@ -273,7 +349,7 @@ const AppointmentsManagement: React.FC = () => {
                 <input
                   id="search"
                   type="text"
-                  placeholder="Search by customer, email or vehicle..."
+                  placeholder="Search loaded appointments by customer, email or vehicle..."
                   value={searchTerm}
                   onChange={(e) => setSearchTerm(e.target.value)}
                   className={`${INPUT} pl-10`}
@@ -290,7 +366,6 @@ const AppointmentsManagement: React.FC = () => {
               >
                 <option className="bg-slate-900" value="ALL">All Status</option>
                 {[
-                  "PENDING",
                   "SCHEDULED",
                   "CONFIRMED",
                   "RESCHEDULED",
@@ -307,6 +382,63 @@ const AppointmentsManagement: React.FC = () => {
               </select>
             </div>
           </div>
+          <div className="grid grid-cols-1 md:grid-cols-4 gap-4 mt-4">
+            <div>
+              <label className={LABEL} htmlFor="employee">Employee</label>
+              <select
+                id="employee"
+                value={employeeFilter}
+                onChange={(e) => setEmployeeFilter(e.target.value === "" ? "" : Number(e.target.value))}
+                className={`${SELECT} mt-1 appearance-none`}
+              >
+                <option className="bg-slate-900" value="">All Employees</option>
+                {employees.map((e) => (
+                  <option className="bg-slate-900" value={e.id} key={e.id}>
+                    {e.name}
+                  </option>
+                ))}
+              </select>
+            </div>
+            <div>
+              <label className={LABEL} htmlFor="customer">Customer</label>
+              <select
+                id="customer"
+                value={customerFilter}
+                onChange={(e) => setCustomerFilter(e.target.value === "" ? "" : Number(e.target.value))}
+                className={`${SELECT} mt-1 appearance-none`}
+              >
+                <option className="bg-slate-900" value="">All Customers</option>
+                {customers
+                  .filter((c) => c.id !== undefined)
+                  .map((c) => (
+                    <option className="bg-slate-900" value={c.id} key={c.id}>
+                      {c.name || [c.firstName, c.lastName].filter(Boolean).join(" ") || c.email}
+                    </option>
+                  ))}
+              </select>
+            </div>
+            <div>
+              <label className={LABEL} htmlFor="from">From</label>
+              <input
+                id="from"
+                type="date"
+                value={fromDate}
+                onChange={(e) => setFromDate(e.target.value)}
+                className={`${INPUT} mt-1`}
+              />
+            </div>
+            <div>
+              <label className={LABEL} htmlFor="to">To</label>
+              <input
+                id="to"
+                type="date"
+                value={toDate}
+                min={fromDate || undefined}
+                onChange={(e) => setToDate(e.target.value)}
+                className={`${INPUT} mt-1`}
+              />
+            </div>
+          </div>
         </section>
 
         {/* List */}
@@ -318,7 +450,7 @@ const AppointmentsManagement: React.FC = () => {
               <div className="inline-block w-8 h-8 border-4 border-cyan-300 border-t-transparent rounded-full animate-spin"></div>
               <p className={`${MUTED} mt-4`}>Loading appointments...</p>
             </div>
-          ) : filtered.length === 0 ? (
+          ) : filtered.length === 0 && !nextCursor ? (
             <div className="p-12 text-center">
               <Calendar className="w-16 h-16 text-white/20 mx-auto mb-4" />
               <p className={MUTED}>No appointments found</p>
@@ -397,7 +529,7 @@ const AppointmentsManagement: React.FC = () => {
                         </div>
 
                         <div className="flex flex-col gap-2 shrink-0 text-sm">
-                          {!a.assignedEmployeeId ? (
+                          {!a.assignedEmployeeId && !a.assignedEmployeeName ? (
                             <button
                               onClick={() => openAssignModal(a, "assign")}
                               className={`${ACCENT_GRADIENT} text-slate-950 px-3 py-1.5 rounded-lg ring-1 ring-white/10 hover:brightness-110`}
@@ -426,6 +558,17 @@ const AppointmentsManagement: React.FC = () => {
                   );
                 })}
               </ul>
+              {nextCursor && (
+                <div className="flex justify-center pt-6">
+                  <button
+                    onClick={loadMore}
+                    disabled={loadingMore}
+                    className="px-4 py-2 rounded-xl bg-white/5 ring-1 ring-white/10 hover:bg-white/10 disabled:opacity-60"
+                  >
+                    {loadingMore ? "Loading..." : "Load more"}
+                  </button>
+                </div>
+              )}
             </div>
           )}
         </section>
@@ -21,6 +21,7 @@ import {
   ProjectStatus,
 } from "../../api/projects";
 import { listEmployees, EmployeeLite } from "../../api/admin";
+import ProjectNotes from "../../components/shared/ProjectNotes";
 import { motion } from "framer-motion";
 
 /** ---- UI TOKENS (match Home) ---- */
@@ -404,6 +405,8 @@ const ProjectsManagement: React.FC = () => {
                               )}
                             </div>
                           )}
+
+                          <ProjectNotes key={`${p.id}-${p.updatedAt ?? ""}`} scope="admin" projectId={p.id} />
                         </div>
 
                         <div className="flex flex-col gap-2 shrink-0 text-sm">
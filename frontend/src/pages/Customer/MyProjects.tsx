@@ -11,6 +11,7 @@ import {
 } from "../../api/projects";
 import { listMyVehicles } from "../../api/vehicles";
 import useApi from "../../hooks/useApi";
+import ProjectNotes from "../../components/shared/ProjectNotes";
 
 /* ---- Theme tokens (match Admin/UserManagement) ---- */
 const ACCENT_GRADIENT = "bg-gradient-to-r from-cyan-400 via-sky-400 to-indigo-400";
@@ -321,6 +322,9 @@ const MyProjects: React.FC = () => {
                       <span>ETA: {new Date(p.expectedCompletionDate).toLocaleDateString()}</span>
                     )}
                   </div>
+
+                  {/* Approval, rejection and technician notes */}
+                  <ProjectNotes key={`${p.id}-${p.updatedAt ?? ""}`} scope="customer" projectId={p.id} />
                 </li>
               ))}
             </ul>
@@ -12,6 +12,7 @@ import {
   Search,
 } from "lucide-react";
 import { listAssignedProjects, AssignedProjectDTO, ProjectStatus } from "../../api/employee";
+import ProjectNotes from "../../components/shared/ProjectNotes";
 
 /** ---- Theme tokens (match Admin/UserManagement glass) ---- */
 const ACCENT_GRADIENT =
@@ -219,6 +220,8 @@ const ActiveProjects: React.FC = () => {
                               {p.description}
                             </div>
                           )}
+
+                          <ProjectNotes key={`${p.id}-${p.updatedAt ?? ""}`} scope="employee" projectId={p.id} />
                         </div>
 
                         {/* Actions placeholder */}